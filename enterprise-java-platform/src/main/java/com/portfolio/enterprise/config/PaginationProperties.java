@@ -0,0 +1,42 @@
+package com.portfolio.enterprise.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Page size settings for listing endpoints (app.pagination.*).
+ */
+@Component
+@ConfigurationProperties(prefix = "app.pagination")
+public class PaginationProperties {
+
+    private int defaultSize = 20;
+    private int maxSize = 100;
+
+    /**
+     * Resolves the requested page size: the default when absent,
+     * clamped to [1, maxSize] otherwise.
+     */
+    public int resolve(Integer requested) {
+        if (requested == null) {
+            return defaultSize;
+        }
+        return Math.max(1, Math.min(requested, maxSize));
+    }
+
+    public int getDefaultSize() {
+        return defaultSize;
+    }
+
+    public void setDefaultSize(int defaultSize) {
+        this.defaultSize = defaultSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+}
@@ -1,14 +1,22 @@
 package com.portfolio.enterprise.controller;
 
+import com.portfolio.enterprise.config.PaginationProperties;
+import com.portfolio.enterprise.dto.BatchCreateOrderRequest;
 import com.portfolio.enterprise.dto.CreateOrderRequest;
+import com.portfolio.enterprise.dto.CursorPage;
 import com.portfolio.enterprise.dto.OrderResponse;
 import com.portfolio.enterprise.entity.Order.OrderStatus;
+import com.portfolio.enterprise.service.OrderExportService;
 import com.portfolio.enterprise.service.OrderService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -18,10 +26,17 @@ import java.util.List;
 @RequestMapping("/api/orders")
 public class OrderController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final PaginationProperties pagination;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderExportService orderExportService,
+                           PaginationProperties pagination) {
         this.orderService = orderService;
+        this.orderExportService = orderExportService;
+        this.pagination = pagination;
     }
 
     @PostMapping
@@ -30,6 +45,12 @@ public class OrderController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<OrderResponse>> createOrders(@Valid @RequestBody BatchCreateOrderRequest request) {
+        List<OrderResponse> responses = orderService.createOrders(request.getOrders());
+        return ResponseEntity.status(HttpStatus.CREATED).body(responses);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OrderResponse> getOrderById(@PathVariable Long id) {
         return ResponseEntity.ok(orderService.getOrderById(id));
@@ -41,13 +62,33 @@ public class OrderController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<OrderResponse>> getOrdersByUser(@PathVariable Long userId) {
-        return ResponseEntity.ok(orderService.getOrdersByUserId(userId));
+    public ResponseEntity<CursorPage<OrderResponse>> getOrdersByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(orderService.getOrdersByUserId(userId, cursor, pagination.resolve(size)));
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<OrderResponse>> getOrdersByStatus(@PathVariable OrderStatus status) {
-        return ResponseEntity.ok(orderService.getOrdersByStatus(status));
+    public ResponseEntity<CursorPage<OrderResponse>> getOrdersByStatus(
+            @PathVariable OrderStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(orderService.getOrdersByStatus(status, cursor, pagination.resolve(size)));
+    }
+
+    /**
+     * Streams all orders created in [from, to] as NDJSON, oldest first.
+     * The body is written after this method returns, on an async thread.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        // Checked here, before the 200 is committed
+        OrderExportService.checkRange(from, to);
+        StreamingResponseBody body = out -> orderExportService.exportOrdersBetween(from, to, out);
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
     }
 
     @PatchMapping("/{id}/confirm")
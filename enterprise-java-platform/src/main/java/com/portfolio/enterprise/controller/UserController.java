@@ -1,6 +1,8 @@
 package com.portfolio.enterprise.controller;
 
+import com.portfolio.enterprise.config.PaginationProperties;
 import com.portfolio.enterprise.dto.CreateUserRequest;
+import com.portfolio.enterprise.dto.CursorPage;
 import com.portfolio.enterprise.dto.UserResponse;
 import com.portfolio.enterprise.entity.User.UserRole;
 import com.portfolio.enterprise.service.UserService;
@@ -19,9 +21,11 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final PaginationProperties pagination;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, PaginationProperties pagination) {
         this.userService = userService;
+        this.pagination = pagination;
     }
 
     @PostMapping
@@ -41,13 +45,17 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<CursorPage<UserResponse>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(userService.getAllUsers(cursor, pagination.resolve(size)));
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<UserResponse>> getActiveUsers() {
-        return ResponseEntity.ok(userService.getActiveUsers());
+    public ResponseEntity<CursorPage<UserResponse>> getActiveUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(userService.getActiveUsers(cursor, pagination.resolve(size)));
     }
 
     @GetMapping("/role/{role}")
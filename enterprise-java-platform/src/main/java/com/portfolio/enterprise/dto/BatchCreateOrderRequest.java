@@ -0,0 +1,25 @@
+package com.portfolio.enterprise.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * DTO for creating many orders in one request and one transaction.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchCreateOrderRequest {
+
+    @NotEmpty(message = "At least one order is required")
+    @Size(max = 1000, message = "At most 1000 orders per batch")
+    @Valid
+    private List<CreateOrderRequest> orders;
+}
@@ -0,0 +1,33 @@
+package com.portfolio.enterprise.dto;
+
+import com.portfolio.enterprise.entity.Order.OrderStatus;
+import com.portfolio.enterprise.entity.Order.OrderType;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of an order row joined with its user's email.
+ * Built by JPQL constructor expressions, so listing orders never
+ * touches the lazy user association.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderHeaderView {
+    private Long id;
+    private String orderNumber;
+    private Long userId;
+    private String userEmail;
+    private OrderStatus status;
+    private OrderType type;
+    private BigDecimal totalAmount;
+    private String notes;
+    private String shippingAddress;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,24 @@
+package com.portfolio.enterprise.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only projection of an order item, tagged with its order ID so the
+ * items of many orders can be loaded in one query and grouped in memory.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderItemView {
+    private Long orderId;
+    private Long id;
+    private String productName;
+    private String productCode;
+    private Integer quantity;
+    private BigDecimal unitPrice;
+    private BigDecimal discount;
+}
@@ -0,0 +1,60 @@
+package com.portfolio.enterprise.dto;
+
+import com.portfolio.enterprise.exception.InvalidCursorException;
+import lombok.Data;
+import lombok.AllArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a listing ordered by (createdAt DESC, id DESC).
+ * Clients only see it as an opaque URL-safe token; the next page starts
+ * strictly after the encoded row, so it costs one index seek no matter
+ * how deep the client has paged.
+ */
+@Data
+@AllArgsConstructor
+public class PageCursor {
+
+    /**
+     * Position before the newest row, used for the first page.
+     * Kept within the TIMESTAMP range of common databases.
+     */
+    public static final PageCursor FIRST =
+            new PageCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    /**
+     * Encodes this position as a continuation token.
+     */
+    public String encode() {
+        String raw = createdAt + "," + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a continuation token; a missing token means the first page.
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int comma = raw.indexOf(',');
+            if (comma < 0) {
+                throw new InvalidCursorException(token);
+            }
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, comma)),
+                    Long.parseLong(raw.substring(comma + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+}
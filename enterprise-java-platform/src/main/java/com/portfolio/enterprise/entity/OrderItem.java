@@ -21,7 +21,8 @@ import java.math.BigDecimal;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -50,6 +51,13 @@ public class OrderItem {
      * Subtotal = (unitPrice * quantity) - discount
      */
     public BigDecimal getSubtotal() {
+        return subtotal(unitPrice, quantity, discount);
+    }
+
+    /**
+     * Subtotal of an item given its columns, shared with the read-only projections.
+     */
+    public static BigDecimal subtotal(BigDecimal unitPrice, Integer quantity, BigDecimal discount) {
         BigDecimal gross = unitPrice.multiply(BigDecimal.valueOf(quantity));
         return gross.subtract(discount != null ? discount : BigDecimal.ZERO);
     }
@@ -17,7 +17,10 @@ import java.util.Set;
  * Demonstrates JPA entity design with proper annotations.
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_created", columnList = "created_at, id"),
+        @Index(name = "idx_users_active_created", columnList = "active, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,18 @@
+package com.portfolio.enterprise.exception;
+
+/**
+ * Exception for continuation tokens that cannot be decoded.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    private final String cursor;
+
+    public InvalidCursorException(String cursor) {
+        super(String.format("Invalid page cursor: '%s'", cursor));
+        this.cursor = cursor;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+}
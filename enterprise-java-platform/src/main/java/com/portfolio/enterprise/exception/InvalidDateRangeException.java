@@ -0,0 +1,26 @@
+package com.portfolio.enterprise.exception;
+
+import java.time.LocalDateTime;
+
+/**
+ * Exception for date ranges whose start is after their end.
+ */
+public class InvalidDateRangeException extends RuntimeException {
+
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+
+    public InvalidDateRangeException(LocalDateTime from, LocalDateTime to) {
+        super(String.format("Invalid date range: from %s is after to %s", from, to));
+        this.from = from;
+        this.to = to;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+}
@@ -1,19 +1,36 @@
 package com.portfolio.enterprise.repository;
 
+import com.portfolio.enterprise.dto.OrderHeaderView;
+import com.portfolio.enterprise.dto.OrderItemView;
 import com.portfolio.enterprise.entity.Order;
 import com.portfolio.enterprise.entity.Order.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for Order entity.
  * Demonstrates Spring Data JPA query methods.
+ *
+ * The *View* queries are the listing paths: one query for a page of
+ * order rows with the user's email joined in, and one for the items of
+ * those orders, both projected straight into DTOs instead of entities
+ * with lazy associations. Pages are keyset-paginated on (createdAt, id),
+ * newest first, and are served by the matching composite indexes on Order.
+ *
+ * streamOrdersBetweenDates is the export path: a forward-only cursor
+ * that the caller must consume inside a transaction and close.
  */
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
@@ -37,6 +54,49 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
 
+    /**
+     * Streams orders with their users in creation order. The fetch size
+     * lets drivers that support cursors (PostgreSQL inside a transaction)
+     * hold one window of rows instead of the whole result; entities are
+     * loaded read-only so they carry no dirty-checking snapshots.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT o FROM Order o JOIN FETCH o.user "
+            + "WHERE o.createdAt BETWEEN :startDate AND :endDate ORDER BY o.createdAt, o.id")
+    Stream<Order> streamOrdersBetweenDates(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    String ORDER_HEADER_VIEW = "SELECT new com.portfolio.enterprise.dto.OrderHeaderView("
+            + "o.id, o.orderNumber, u.id, u.email, o.status, o.type, o.totalAmount, o.notes, "
+            + "o.shippingAddress, o.createdAt, o.updatedAt, o.completedAt) "
+            + "FROM Order o JOIN o.user u ";
+
+    // The redundant createdAt <= bound gives the planner an index range to seek
+    String AFTER_CURSOR = "AND o.createdAt <= :createdAt AND (o.createdAt < :createdAt OR o.id < :id) "
+            + "ORDER BY o.createdAt DESC, o.id DESC";
+
+    @Query(ORDER_HEADER_VIEW + "WHERE u.id = :userId " + AFTER_CURSOR)
+    List<OrderHeaderView> findOrderViewPageByUserId(@Param("userId") Long userId,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("id") Long id,
+                                                    Limit limit);
+
+    @Query(ORDER_HEADER_VIEW + "WHERE o.status = :status " + AFTER_CURSOR)
+    List<OrderHeaderView> findOrderViewPageByStatus(@Param("status") OrderStatus status,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("id") Long id,
+                                                    Limit limit);
+
+    @Query("SELECT new com.portfolio.enterprise.dto.OrderItemView("
+            + "i.order.id, i.id, i.productName, i.productCode, i.quantity, i.unitPrice, i.discount) "
+            + "FROM OrderItem i WHERE i.order.id IN :orderIds ORDER BY i.order.id, i.id")
+    List<OrderItemView> findItemViewsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
     @Query("SELECT COUNT(o) FROM Order o WHERE o.status = :status")
     long countByStatus(@Param("status") OrderStatus status);
 }
@@ -1,17 +1,22 @@
 package com.portfolio.enterprise.repository;
 
 import com.portfolio.enterprise.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository for User entity.
  * Demonstrates Spring Data JPA query methods.
+ *
+ * The *Page queries are keyset-paginated on (createdAt, id), newest
+ * first, and are served by the matching composite indexes on User.
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -31,6 +36,20 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.active = true AND u.role = :role")
     List<User> findActiveUsersByRole(@Param("role") User.UserRole role);
 
+    @Query("SELECT u FROM User u "
+            + "WHERE u.createdAt <= :createdAt AND (u.createdAt < :createdAt OR u.id < :id) "
+            + "ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findPage(@Param("createdAt") LocalDateTime createdAt,
+                        @Param("id") Long id,
+                        Limit limit);
+
+    @Query("SELECT u FROM User u WHERE u.active = true "
+            + "AND u.createdAt <= :createdAt AND (u.createdAt < :createdAt OR u.id < :id) "
+            + "ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findActivePage(@Param("createdAt") LocalDateTime createdAt,
+                              @Param("id") Long id,
+                              Limit limit);
+
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.orders WHERE u.id = :id")
     Optional<User> findByIdWithOrders(@Param("id") Long id);
 }
@@ -0,0 +1,195 @@
+package com.portfolio.enterprise.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.enterprise.dto.OrderItemResponse;
+import com.portfolio.enterprise.dto.OrderItemView;
+import com.portfolio.enterprise.dto.OrderResponse;
+import com.portfolio.enterprise.entity.Order;
+import com.portfolio.enterprise.exception.InvalidDateRangeException;
+import com.portfolio.enterprise.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Service for bulk order export as NDJSON (one OrderResponse per line).
+ * Demonstrates:
+ * - Streaming query results instead of materialising a List
+ * - Bounded persistence context through periodic clear()
+ * - Batched item loading through DTO projections
+ *
+ * Memory stays proportional to the batch size, not to the number of
+ * exported orders.
+ */
+@Service
+public class OrderExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderExportService.class);
+
+    private final OrderRepository orderRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public OrderExportService(OrderRepository orderRepository,
+                              EntityManager entityManager,
+                              ObjectMapper objectMapper,
+                              @Value("${app.export.batch-size:500}") int batchSize) {
+        // A batch that never fills would never be cleared, so heap would grow with the export
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("app.export.batch-size must be at least 1, got " + batchSize);
+        }
+        this.orderRepository = orderRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Rejects ranges that end before they start. Callers that stream the
+     * export should check before committing the response.
+     */
+    public static void checkRange(LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new InvalidDateRangeException(startDate, endDate);
+        }
+    }
+
+    /**
+     * Writes every order created in [startDate, endDate] to the stream,
+     * oldest first, and returns the number of orders written.
+     * The stream is flushed after each batch but not closed.
+     *
+     * If the export fails part way, a final {"error": ...} line is written
+     * (when the stream still accepts it) before the exception propagates,
+     * so a client that already received a 200 can tell the output is
+     * incomplete.
+     */
+    @Transactional(readOnly = true)
+    public long exportOrdersBetween(LocalDateTime startDate, LocalDateTime endDate,
+                                    OutputStream out) throws IOException {
+        checkRange(startDate, endDate);
+        logger.info("Exporting orders between {} and {}", startDate, endDate);
+
+        Progress progress = new Progress();
+        List<Order> batch = new ArrayList<>(batchSize);
+        try (Stream<Order> orders = orderRepository.streamOrdersBetweenDates(startDate, endDate);
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Never close a half-written object after an error line
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            // Lines are terminated explicitly; drop Jackson's default space between root values
+            generator.setRootValueSeparator(null);
+            try {
+                for (Order order : (Iterable<Order>) orders::iterator) {
+                    batch.add(order);
+                    if (batch.size() == batchSize) {
+                        writeBatch(batch, generator, progress);
+                    }
+                }
+                writeBatch(batch, generator, progress);
+            } catch (RuntimeException | IOException e) {
+                logger.error("Export failed after {} orders", progress.written, e);
+                writeErrorLine(out, generator, progress);
+                throw e;
+            }
+        }
+
+        logger.info("Exported {} orders", progress.written);
+        return progress.written;
+    }
+
+    /**
+     * Loads the batch's items in one query, writes one line per order and
+     * detaches everything read so far so the persistence context stays small.
+     */
+    private void writeBatch(List<Order> batch, JsonGenerator generator, Progress progress) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Long> orderIds = batch.stream().map(Order::getId).toList();
+        Map<Long, List<OrderItemResponse>> itemsByOrder = new HashMap<>();
+        for (OrderItemView item : orderRepository.findItemViewsByOrderIds(orderIds)) {
+            itemsByOrder.computeIfAbsent(item.getOrderId(), id -> new ArrayList<>())
+                    .add(OrderService.mapItemViewToResponse(item));
+        }
+
+        for (Order order : batch) {
+            progress.lineOpen = true;
+            generator.writeObject(mapToResponse(order,
+                    itemsByOrder.getOrDefault(order.getId(), new ArrayList<>())));
+            generator.writeRaw('\n');
+            progress.lineOpen = false;
+            progress.written++;
+        }
+        generator.flush();
+
+        batch.clear();
+        entityManager.clear();
+    }
+
+    /**
+     * Terminates a failed export with an error line. Best effort: if the
+     * client is gone there is nobody left to tell.
+     */
+    private void writeErrorLine(OutputStream out, JsonGenerator generator, Progress progress) {
+        try {
+            generator.flush();
+            StringBuilder line = new StringBuilder();
+            if (progress.lineOpen) {
+                line.append('\n');
+            }
+            line.append(objectMapper.writeValueAsString(Map.of(
+                    "error", "Export failed; output is incomplete",
+                    "exported", progress.written)));
+            line.append('\n');
+            out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        } catch (IOException | RuntimeException ignored) {
+            // The original failure is rethrown by the caller
+        }
+    }
+
+    /**
+     * Maps a streamed Order (user already fetched) to OrderResponse DTO.
+     */
+    private OrderResponse mapToResponse(Order order, List<OrderItemResponse> items) {
+        return OrderResponse.builder()
+                .id(order.getId())
+                .orderNumber(order.getOrderNumber())
+                .userId(order.getUser().getId())
+                .userEmail(order.getUser().getEmail())
+                .status(order.getStatus())
+                .type(order.getType())
+                .totalAmount(order.getTotalAmount())
+                .notes(order.getNotes())
+                .shippingAddress(order.getShippingAddress())
+                .items(items)
+                .createdAt(order.getCreatedAt())
+                .updatedAt(order.getUpdatedAt())
+                .completedAt(order.getCompletedAt())
+                .build();
+    }
+
+    /**
+     * Orders written so far, and whether a line was left unterminated.
+     */
+    private static final class Progress {
+        private long written;
+        private boolean lineOpen;
+    }
+}
@@ -12,11 +12,18 @@ import com.portfolio.enterprise.repository.UserRepository;
 import com.portfolio.enterprise.workflow.OrderStateMachine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -26,6 +33,9 @@ import java.util.stream.Collectors;
  * - Complex business logic
  * - State machine integration
  * - Transaction management
+ * - N+1-free listing through DTO projections
+ * - Keyset pagination
+ * - Batched inserts for bulk order creation
  */
 @Service
 @Transactional
@@ -33,6 +43,9 @@ public class OrderService {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
 
+    /** Order IDs per item query; keeps IN lists within driver parameter limits. */
+    private static final int ITEM_QUERY_CHUNK = 1000;
+
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final OrderStateMachine stateMachine;
@@ -53,6 +66,49 @@ public class OrderService {
         User user = userRepository.findById(request.getUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", request.getUserId()));
 
+        Order savedOrder = orderRepository.save(buildOrder(request, user));
+        logger.info("Order created: {}", savedOrder.getOrderNumber());
+
+        return mapToResponse(savedOrder);
+    }
+
+    /**
+     * Creates many orders in one transaction.
+     * Users are loaded in one query and the inserts are sent as JDBC
+     * batches (hibernate.jdbc.batch_size) at flush; if any user is missing
+     * nothing is created.
+     */
+    public List<OrderResponse> createOrders(List<CreateOrderRequest> requests) {
+        logger.info("Creating {} orders", requests.size());
+
+        Set<Long> userIds = new HashSet<>();
+        for (CreateOrderRequest request : requests) {
+            userIds.add(request.getUserId());
+        }
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<Order> orders = new ArrayList<>(requests.size());
+        for (CreateOrderRequest request : requests) {
+            User user = users.get(request.getUserId());
+            if (user == null) {
+                throw new ResourceNotFoundException("User", "id", request.getUserId());
+            }
+            orders.add(buildOrder(request, user));
+        }
+
+        List<Order> savedOrders = orderRepository.saveAll(orders);
+        logger.info("{} orders created", savedOrders.size());
+
+        return savedOrders.stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Builds a new PENDING order with its items from a creation request.
+     */
+    private Order buildOrder(CreateOrderRequest request, User user) {
         Order order = Order.builder()
                 .orderNumber(generateOrderNumber())
                 .user(user)
@@ -73,11 +129,7 @@ public class OrderService {
                     .build();
             order.addItem(item);
         }
-
-        Order savedOrder = orderRepository.save(order);
-        logger.info("Order created: {}", savedOrder.getOrderNumber());
-
-        return mapToResponse(savedOrder);
+        return order;
     }
 
     /**
@@ -100,26 +152,6 @@ public class OrderService {
         return mapToResponse(order);
     }
 
-    /**
-     * Gets all orders for a user.
-     */
-    @Transactional(readOnly = true)
-    public List<OrderResponse> getOrdersByUserId(Long userId) {
-        return orderRepository.findByUserId(userId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Gets orders by status.
-     */
-    @Transactional(readOnly = true)
-    public List<OrderResponse> getOrdersByStatus(OrderStatus status) {
-        return orderRepository.findByStatus(status).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-    }
-
     /**
      * Transitions order to next status.
      * Uses state machine for validation.
@@ -181,6 +213,111 @@ public class OrderService {
         return "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
 
+    /**
+     * Gets one page of a user's orders, newest first.
+     * Two queries regardless of the page size.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> getOrdersByUserId(Long userId, String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        return toPage(orderRepository.findOrderViewPageByUserId(
+                userId, after.getCreatedAt(), after.getId(), Limit.of(size + 1)), size);
+    }
+
+    /**
+     * Gets one page of orders with a status, newest first.
+     * Two queries regardless of the page size.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> getOrdersByStatus(OrderStatus status, String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        return toPage(orderRepository.findOrderViewPageByStatus(
+                status, after.getCreatedAt(), after.getId(), Limit.of(size + 1)), size);
+    }
+
+    /**
+     * Builds a page from up to size + 1 headers; the extra row only signals
+     * that another page exists.
+     */
+    private CursorPage<OrderResponse> toPage(List<OrderHeaderView> rows, int size) {
+        boolean hasMore = rows.size() > size;
+        List<OrderHeaderView> headers = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            OrderHeaderView last = headers.get(headers.size() - 1);
+            nextCursor = new PageCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return CursorPage.<OrderResponse>builder()
+                .items(assembleResponses(headers))
+                .size(headers.size())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Loads the items of all listed orders in one query per 1000 orders and
+     * maps the projections to OrderResponse DTOs, keeping the order of headers.
+     */
+    private List<OrderResponse> assembleResponses(List<OrderHeaderView> headers) {
+        if (headers.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> orderIds = headers.stream()
+                .map(OrderHeaderView::getId)
+                .collect(Collectors.toList());
+
+        Map<Long, List<OrderItemResponse>> itemsByOrder = new HashMap<>();
+        for (int from = 0; from < orderIds.size(); from += ITEM_QUERY_CHUNK) {
+            List<Long> chunk = orderIds.subList(from, Math.min(from + ITEM_QUERY_CHUNK, orderIds.size()));
+            for (OrderItemView item : orderRepository.findItemViewsByOrderIds(chunk)) {
+                itemsByOrder.computeIfAbsent(item.getOrderId(), id -> new ArrayList<>())
+                        .add(mapItemViewToResponse(item));
+            }
+        }
+
+        return headers.stream()
+                .map(header -> mapHeaderToResponse(header,
+                        itemsByOrder.getOrDefault(header.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Maps an order projection and its items to OrderResponse DTO.
+     */
+    private OrderResponse mapHeaderToResponse(OrderHeaderView header, List<OrderItemResponse> items) {
+        return OrderResponse.builder()
+                .id(header.getId())
+                .orderNumber(header.getOrderNumber())
+                .userId(header.getUserId())
+                .userEmail(header.getUserEmail())
+                .status(header.getStatus())
+                .type(header.getType())
+                .totalAmount(header.getTotalAmount())
+                .notes(header.getNotes())
+                .shippingAddress(header.getShippingAddress())
+                .items(items)
+                .createdAt(header.getCreatedAt())
+                .updatedAt(header.getUpdatedAt())
+                .completedAt(header.getCompletedAt())
+                .build();
+    }
+
+    /**
+     * Maps an item projection to OrderItemResponse DTO.
+     * Shared with OrderExportService.
+     */
+    static OrderItemResponse mapItemViewToResponse(OrderItemView item) {
+        return OrderItemResponse.builder()
+                .id(item.getId())
+                .productName(item.getProductName())
+                .productCode(item.getProductCode())
+                .quantity(item.getQuantity())
+                .unitPrice(item.getUnitPrice())
+                .discount(item.getDiscount())
+                .subtotal(OrderItem.subtotal(item.getUnitPrice(), item.getQuantity(), item.getDiscount()))
+                .build();
+    }
+
     /**
      * Maps Order entity to OrderResponse DTO.
      */
@@ -1,6 +1,8 @@
 package com.portfolio.enterprise.service;
 
 import com.portfolio.enterprise.dto.CreateUserRequest;
+import com.portfolio.enterprise.dto.CursorPage;
+import com.portfolio.enterprise.dto.PageCursor;
 import com.portfolio.enterprise.dto.UserResponse;
 import com.portfolio.enterprise.entity.User;
 import com.portfolio.enterprise.exception.DuplicateResourceException;
@@ -8,6 +10,7 @@ import com.portfolio.enterprise.exception.ResourceNotFoundException;
 import com.portfolio.enterprise.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +24,7 @@ import java.util.stream.Collectors;
  * - Transaction management
  * - DTO/Entity mapping
  * - Business validation
+ * - Keyset pagination
  * - SOLID: Single Responsibility Principle
  */
 @Service
@@ -89,23 +93,21 @@ public class UserService {
     }
 
     /**
-     * Gets all users.
+     * Gets one page of all users, newest first.
      */
     @Transactional(readOnly = true)
-    public List<UserResponse> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public CursorPage<UserResponse> getAllUsers(String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        return toPage(userRepository.findPage(after.getCreatedAt(), after.getId(), Limit.of(size + 1)), size);
     }
 
     /**
-     * Gets active users.
+     * Gets one page of active users, newest first.
      */
     @Transactional(readOnly = true)
-    public List<UserResponse> getActiveUsers() {
-        return userRepository.findByActiveTrue().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public CursorPage<UserResponse> getActiveUsers(String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        return toPage(userRepository.findActivePage(after.getCreatedAt(), after.getId(), Limit.of(size + 1)), size);
     }
 
     /**
@@ -132,6 +134,25 @@ public class UserService {
         return mapToResponse(savedUser);
     }
 
+    /**
+     * Builds a page from up to size + 1 rows; the extra row only signals
+     * that another page exists.
+     */
+    private CursorPage<UserResponse> toPage(List<User> rows, int size) {
+        boolean hasMore = rows.size() > size;
+        List<User> users = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            User last = users.get(users.size() - 1);
+            nextCursor = new PageCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return CursorPage.<UserResponse>builder()
+                .items(users.stream().map(this::mapToResponse).collect(Collectors.toList()))
+                .size(users.size())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
     /**
      * Maps User entity to UserResponse DTO.
      * Manual mapping - in production, use MapStruct.
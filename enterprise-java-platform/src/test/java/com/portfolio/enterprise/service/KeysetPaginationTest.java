@@ -0,0 +1,143 @@
+package com.portfolio.enterprise.service;
+
+import com.portfolio.enterprise.config.PaginationProperties;
+import com.portfolio.enterprise.dto.CursorPage;
+import com.portfolio.enterprise.dto.OrderResponse;
+import com.portfolio.enterprise.dto.PageCursor;
+import com.portfolio.enterprise.dto.UserResponse;
+import com.portfolio.enterprise.entity.Order.OrderStatus;
+import com.portfolio.enterprise.entity.User;
+import com.portfolio.enterprise.exception.InvalidCursorException;
+import com.portfolio.enterprise.workflow.OrderStateMachineImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for keyset pagination of user and order listings on H2.
+ */
+@DataJpaTest
+@Import({OrderService.class, UserService.class, OrderStateMachineImpl.class})
+@DisplayName("Keyset Pagination Tests")
+class KeysetPaginationTest {
+
+    private static final int USERS = 23;
+    private static final int ORDERS = 57;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    private User buyer;
+
+    @BeforeEach
+    void setUp() {
+        buyer = OrderFixtures.builder()
+                .users(USERS)
+                .activeWhen(u -> u % 3 != 0)
+                .orders(ORDERS)
+                .ownedBy(o -> 0)
+                .persist(entityManager)
+                .get(0);
+        // Force ties on createdAt so pages must break them by ID
+        entityManager.createQuery("UPDATE Order o SET o.createdAt = :t WHERE MOD(o.id, 2) = 0")
+                .setParameter("t", LocalDateTime.of(2024, 1, 1, 12, 0))
+                .executeUpdate();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should walk every order exactly once, newest first")
+    void testOrderPagesCoverListing() {
+        List<OrderResponse> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<OrderResponse> page = orderService.getOrdersByStatus(OrderStatus.PENDING, cursor, 10);
+            assertEquals(page.getItems().size(), page.getSize());
+            assertTrue(page.getSize() <= 10);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(6, pages);
+        assertEquals(ORDERS, seen.size());
+        assertEquals(ORDERS, seen.stream().map(OrderResponse::getId).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            OrderResponse newer = seen.get(i - 1);
+            OrderResponse older = seen.get(i);
+            int byTime = newer.getCreatedAt().compareTo(older.getCreatedAt());
+            assertTrue(byTime > 0 || (byTime == 0 && newer.getId() > older.getId()));
+        }
+        assertTrue(seen.stream().allMatch(r -> r.getItems().size() == 1));
+        assertEquals(seen, orderService.getOrdersByUserId(buyer.getId(), null, ORDERS).getItems());
+    }
+
+    @Test
+    @DisplayName("Should page active users and stop with no cursor on the last page")
+    void testUserPages() {
+        Set<Long> ids = new HashSet<>();
+        CursorPage<UserResponse> page = userService.getActiveUsers(null, 5);
+        while (true) {
+            page.getItems().forEach(u -> assertTrue(u.getActive()));
+            page.getItems().forEach(u -> ids.add(u.getId()));
+            if (page.getNextCursor() == null) {
+                break;
+            }
+            page = userService.getActiveUsers(page.getNextCursor(), 5);
+        }
+        assertEquals(15, ids.size());
+
+        CursorPage<UserResponse> all = userService.getAllUsers(null, USERS);
+        assertEquals(USERS, all.getSize());
+        assertNull(all.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should round-trip cursors and reject malformed ones")
+    void testCursorTokens() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2024, 5, 6, 7, 8, 9, 123_456_000), 42L);
+        assertEquals(cursor, PageCursor.decode(cursor.encode()));
+        assertEquals(PageCursor.FIRST, PageCursor.decode(null));
+        assertEquals(PageCursor.FIRST, PageCursor.decode(""));
+
+        assertThrows(InvalidCursorException.class, () -> PageCursor.decode("not a cursor!"));
+        assertThrows(InvalidCursorException.class, () -> userService.getAllUsers("Zm9v", 5));
+    }
+
+    @Test
+    @DisplayName("Should default and clamp the requested page size")
+    void testPageSizeResolution() {
+        PaginationProperties properties = new PaginationProperties();
+        properties.setDefaultSize(20);
+        properties.setMaxSize(100);
+
+        assertEquals(20, properties.resolve(null));
+        assertEquals(7, properties.resolve(7));
+        assertEquals(100, properties.resolve(5000));
+        assertEquals(1, properties.resolve(0));
+    }
+}
@@ -0,0 +1,85 @@
+package com.portfolio.enterprise.service;
+
+import com.portfolio.enterprise.dto.CreateOrderRequest;
+import com.portfolio.enterprise.dto.OrderResponse;
+import com.portfolio.enterprise.entity.User;
+import com.portfolio.enterprise.workflow.OrderStateMachineImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for bulk order creation on H2.
+ * Counts JDBC statements through Hibernate statistics.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({OrderService.class, OrderStateMachineImpl.class})
+@DisplayName("Order Batch Creation Tests")
+class OrderBatchCreationTest {
+
+    private static final int ORDERS = 100;
+    private static final int ITEMS_PER_ORDER = 10;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private List<CreateOrderRequest> requests;
+
+    @BeforeEach
+    void setUp() {
+        List<Long> userIds = OrderFixtures.builder()
+                .users(3)
+                .persist(entityManager)
+                .stream()
+                .map(User::getId)
+                .toList();
+        requests = OrderFixtures.createRequests(userIds, ORDERS, ITEMS_PER_ORDER);
+        statistics = OrderFixtures.statistics(entityManagerFactory);
+    }
+
+    @Test
+    @DisplayName("Should insert a batch of orders in a handful of JDBC batches")
+    void testBatchedInserts() {
+        List<OrderResponse> responses = orderService.createOrders(requests);
+        entityManager.flush();
+
+        assertEquals(ORDERS, responses.size());
+        assertTrue(responses.stream().allMatch(r -> r.getId() != null && r.getItems().size() == ITEMS_PER_ORDER));
+        assertEquals(ORDERS, statistics.getEntityInsertCount() / (1 + ITEMS_PER_ORDER));
+        // 1100 rows: one user lookup, one sequence call per 50 IDs and one
+        // prepared insert per table reused across 22 batches (25 measured)
+        assertTrue(statistics.getPrepareStatementCount() <= 30,
+                "statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should give new orders and items distinct sequence IDs")
+    void testSequenceIds() {
+        List<OrderResponse> responses = orderService.createOrders(requests.subList(0, 60));
+        entityManager.flush();
+
+        assertEquals(60, responses.stream().map(OrderResponse::getId).distinct().count());
+        assertEquals(600, responses.stream()
+                .flatMap(r -> r.getItems().stream())
+                .map(item -> item.getId())
+                .distinct()
+                .count());
+    }
+}
@@ -0,0 +1,78 @@
+package com.portfolio.enterprise.service;
+
+import com.portfolio.enterprise.dto.CreateOrderRequest;
+import com.portfolio.enterprise.entity.User;
+import com.portfolio.enterprise.repository.UserRepository;
+import com.portfolio.enterprise.workflow.OrderStateMachineImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Throughput benchmark for single versus batch order creation on H2.
+ * Every service call commits its own transaction, as it would behind
+ * the REST endpoints. Skipped unless run with:
+ *
+ * mvn test -Dtest=OrderCreationBenchmarkTest -Dbenchmark=true
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.portfolio.enterprise=INFO",
+        "logging.level.AUDIT=WARN"
+})
+@Import({OrderService.class, OrderStateMachineImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Order Creation Benchmark")
+class OrderCreationBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderCreationBenchmarkTest.class);
+
+    private static final int ORDERS = 2000;
+    private static final int ITEMS_PER_ORDER = 50;
+    private static final int BATCH = 100;
+    private static final int ROUNDS = 3;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Should report orders per second for single and batch creation")
+    void benchmark() {
+        User user = userRepository.save(User.builder()
+                .username("bench")
+                .email("bench@example.com")
+                .password("secret")
+                .build());
+        List<CreateOrderRequest> requests = OrderFixtures.createRequests(List.of(user.getId()), ORDERS, ITEMS_PER_ORDER);
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (CreateOrderRequest request : requests) {
+                orderService.createOrder(request);
+            }
+            double single = ORDERS / ((System.nanoTime() - start) / 1e9);
+
+            start = System.nanoTime();
+            for (int from = 0; from < ORDERS; from += BATCH) {
+                orderService.createOrders(requests.subList(from, from + BATCH));
+            }
+            double batch = ORDERS / ((System.nanoTime() - start) / 1e9);
+
+            logger.info("Round {}: {} orders x {} items, single {} orders/s, batch of {} {} orders/s",
+                    round, ORDERS, ITEMS_PER_ORDER, Math.round(single), BATCH, Math.round(batch));
+        }
+    }
+}
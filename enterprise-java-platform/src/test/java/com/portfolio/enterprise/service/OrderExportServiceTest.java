@@ -0,0 +1,109 @@
+package com.portfolio.enterprise.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.enterprise.dto.OrderResponse;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for OrderExportService on H2.
+ * Checks the NDJSON output and that the persistence context stays bounded.
+ */
+@DataJpaTest(properties = "app.export.batch-size=50")
+@Import({OrderExportService.class, JacksonAutoConfiguration.class})
+@DisplayName("OrderExportService Tests")
+class OrderExportServiceTest {
+
+    private static final int USERS = 3;
+    private static final int ORDERS = 400;
+    private static final LocalDateTime FROM = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2100, 1, 1, 0, 0);
+
+    @Autowired
+    private OrderExportService exportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        OrderFixtures.builder()
+                .users(USERS)
+                .orders(ORDERS)
+                .itemsPerOrder(2)
+                .unitPrice(BigDecimal::valueOf)
+                .persist(entityManager);
+    }
+
+    @Test
+    @DisplayName("Should write one order per line, oldest first, with items and user email")
+    void testExportLines() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = exportService.exportOrdersBetween(FROM, TO, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(ORDERS, written);
+        assertEquals(ORDERS, lines.length);
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("}\n"));
+        long previousId = 0;
+        for (String line : lines) {
+            assertTrue(line.startsWith("{\"id\":"), line);
+            OrderResponse order = objectMapper.readValue(line, OrderResponse.class);
+            assertTrue(order.getId() > previousId);
+            previousId = order.getId();
+            int n = OrderFixtures.orderIndex(order.getOrderNumber());
+            assertEquals(OrderFixtures.email(n % USERS), order.getUserEmail());
+            assertEquals(2, order.getItems().size());
+            assertEquals(0, BigDecimal.valueOf(n).compareTo(order.getItems().get(0).getSubtotal()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep at most one batch of orders in the persistence context")
+    void testBoundedPersistenceContext() throws IOException {
+        Session session = entityManager.unwrap(Session.class);
+        int[] maxManaged = {0};
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public synchronized void write(byte[] b, int off, int len) {
+                maxManaged[0] = Math.max(maxManaged[0], session.getStatistics().getEntityCount());
+                super.write(b, off, len);
+            }
+        };
+
+        exportService.exportOrdersBetween(FROM, TO, out);
+
+        // 50 orders plus the users they reference
+        assertTrue(maxManaged[0] > 0);
+        assertTrue(maxManaged[0] <= 50 + USERS, "managed entities: " + maxManaged[0]);
+        assertEquals(0, session.getStatistics().getEntityCount());
+    }
+
+    @Test
+    @DisplayName("Should write nothing for an empty range")
+    void testEmptyRange() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, exportService.exportOrdersBetween(FROM, FROM.plusDays(1), out));
+        assertEquals(0, out.size());
+    }
+}
@@ -0,0 +1,139 @@
+package com.portfolio.enterprise.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.enterprise.exception.InvalidDateRangeException;
+import com.portfolio.enterprise.repository.OrderRepository;
+import com.portfolio.enterprise.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests for OrderExportService outside the test transaction.
+ * The export runs on another thread, as StreamingResponseBody does, and
+ * must open its own read-only transaction.
+ */
+@DataJpaTest(properties = "app.export.batch-size=50")
+@Import({OrderExportService.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("OrderExportService Transaction Tests")
+class OrderExportTransactionTest {
+
+    private static final int ORDERS = 120;
+    private static final LocalDateTime FROM = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2100, 1, 1, 0, 0);
+
+    @Autowired
+    private OrderExportService exportService;
+
+    @MockitoSpyBean
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        OrderFixtures.builder()
+                .orders(ORDERS)
+                .save(userRepository, orderRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should stream in its own read-only transaction on another thread")
+    void testReadOnlyTransactionOnWorkerThread() throws Exception {
+        boolean[] readOnly = {false};
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public synchronized void write(byte[] b, int off, int len) {
+                readOnly[0] = TransactionSynchronizationManager.isActualTransactionActive()
+                        && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+                super.write(b, off, len);
+            }
+        };
+
+        long written = CompletableFuture.supplyAsync(() -> {
+            try {
+                return exportService.exportOrdersBetween(FROM, TO, out);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).get();
+
+        assertEquals(ORDERS, written);
+        assertEquals(ORDERS, out.toString(StandardCharsets.UTF_8).split("\n").length);
+        assertTrue(readOnly[0]);
+    }
+
+    @Test
+    @DisplayName("Should end a failed export with an error line and rethrow")
+    void testMidStreamFailure() throws Exception {
+        // The first batch goes out without items, the second fails
+        doReturn(List.of())
+                .doThrow(new DataAccessResourceFailureException("connection lost"))
+                .when(orderRepository).findItemViewsByOrderIds(any());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThrows(DataAccessResourceFailureException.class,
+                () -> exportService.exportOrdersBetween(FROM, TO, out));
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(50 + 1, lines.length);
+        JsonNode last = objectMapper.readTree(lines[lines.length - 1]);
+        assertTrue(last.has("error"));
+        assertEquals(50, last.get("exported").asLong());
+        assertTrue(objectMapper.readTree(lines[0]).has("orderNumber"));
+    }
+
+    @Test
+    @DisplayName("Should reject a range that ends before it starts")
+    void testInvalidRange() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThrows(InvalidDateRangeException.class,
+                () -> exportService.exportOrdersBetween(TO, FROM, out));
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    @DisplayName("Should reject a batch size below one")
+    void testInvalidBatchSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new OrderExportService(orderRepository, entityManager, objectMapper, 0));
+    }
+}
@@ -0,0 +1,186 @@
+package com.portfolio.enterprise.service;
+
+import com.portfolio.enterprise.dto.CreateOrderRequest;
+import com.portfolio.enterprise.dto.OrderItemRequest;
+import com.portfolio.enterprise.entity.Order;
+import com.portfolio.enterprise.entity.Order.OrderStatus;
+import com.portfolio.enterprise.entity.OrderItem;
+import com.portfolio.enterprise.entity.User;
+import com.portfolio.enterprise.repository.OrderRepository;
+import com.portfolio.enterprise.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Seeds users and orders for the H2 integration tests.
+ *
+ * Users are named user0..userN with matching emails; orders are numbered
+ * ORD-0..ORD-N and their items "Product 0".."Product N" with quantity
+ * i + 1. Everything else is set per test through the builder.
+ */
+final class OrderFixtures {
+
+    private int users = 1;
+    private IntPredicate active = u -> true;
+    private int orders;
+    private IntUnaryOperator owner;
+    private IntFunction<OrderStatus> status = o -> OrderStatus.PENDING;
+    private int itemsPerOrder = 1;
+    private IntFunction<BigDecimal> unitPrice = o -> BigDecimal.ONE;
+
+    private OrderFixtures() {
+    }
+
+    static OrderFixtures builder() {
+        return new OrderFixtures();
+    }
+
+    OrderFixtures users(int count) {
+        this.users = count;
+        return this;
+    }
+
+    OrderFixtures activeWhen(IntPredicate active) {
+        this.active = active;
+        return this;
+    }
+
+    OrderFixtures orders(int count) {
+        this.orders = count;
+        return this;
+    }
+
+    /**
+     * Maps an order index to the index of its user; round-robin by default.
+     */
+    OrderFixtures ownedBy(IntUnaryOperator owner) {
+        this.owner = owner;
+        return this;
+    }
+
+    OrderFixtures status(IntFunction<OrderStatus> status) {
+        this.status = status;
+        return this;
+    }
+
+    OrderFixtures itemsPerOrder(int count) {
+        this.itemsPerOrder = count;
+        return this;
+    }
+
+    OrderFixtures unitPrice(IntFunction<BigDecimal> unitPrice) {
+        this.unitPrice = unitPrice;
+        return this;
+    }
+
+    /**
+     * Persists inside the current (test) transaction, then flushes and
+     * clears so the tests start from an empty persistence context.
+     */
+    List<User> persist(EntityManager entityManager) {
+        List<User> created = buildUsers();
+        created.forEach(entityManager::persist);
+        buildOrders(created).forEach(entityManager::persist);
+        entityManager.flush();
+        entityManager.clear();
+        return created;
+    }
+
+    /**
+     * Saves through the repositories, each call committing on its own,
+     * for tests that run outside a test transaction.
+     */
+    List<User> save(UserRepository userRepository, OrderRepository orderRepository) {
+        List<User> created = userRepository.saveAll(buildUsers());
+        orderRepository.saveAll(buildOrders(created));
+        return created;
+    }
+
+    private List<User> buildUsers() {
+        List<User> created = new ArrayList<>();
+        for (int u = 0; u < users; u++) {
+            created.add(User.builder()
+                    .username("user" + u)
+                    .email(email(u))
+                    .password("secret")
+                    .active(active.test(u))
+                    .build());
+        }
+        return created;
+    }
+
+    private List<Order> buildOrders(List<User> owners) {
+        IntUnaryOperator ownerOf = owner != null ? owner : o -> o % owners.size();
+        List<Order> created = new ArrayList<>();
+        for (int o = 0; o < orders; o++) {
+            Order order = Order.builder()
+                    .orderNumber("ORD-" + o)
+                    .user(owners.get(ownerOf.applyAsInt(o)))
+                    .status(status.apply(o))
+                    .build();
+            for (int i = 0; i < itemsPerOrder; i++) {
+                order.addItem(OrderItem.builder()
+                        .productName("Product " + i)
+                        .quantity(i + 1)
+                        .unitPrice(unitPrice.apply(o))
+                        .build());
+            }
+            created.add(order);
+        }
+        return created;
+    }
+
+    static String email(int user) {
+        return "user" + user + "@example.com";
+    }
+
+    /**
+     * Parses the index back out of an ORD-n order number.
+     */
+    static int orderIndex(String orderNumber) {
+        return Integer.parseInt(orderNumber.substring("ORD-".length()));
+    }
+
+    /**
+     * Builds create requests spread round-robin over the given users, each
+     * with itemsPerOrder items of one unit at 1.00.
+     */
+    static List<CreateOrderRequest> createRequests(List<Long> userIds, int orders, int itemsPerOrder) {
+        List<CreateOrderRequest> requests = new ArrayList<>();
+        for (int o = 0; o < orders; o++) {
+            List<OrderItemRequest> items = new ArrayList<>();
+            for (int i = 0; i < itemsPerOrder; i++) {
+                items.add(OrderItemRequest.builder()
+                        .productName("Product " + i)
+                        .quantity(1)
+                        .unitPrice(BigDecimal.ONE)
+                        .build());
+            }
+            requests.add(CreateOrderRequest.builder()
+                    .userId(userIds.get(o % userIds.size()))
+                    .shippingAddress("1 Main St")
+                    .items(items)
+                    .build());
+        }
+        return requests;
+    }
+
+    /**
+     * Returns Hibernate's statistics, cleared. Needs
+     * hibernate.generate_statistics=true on the test.
+     */
+    static Statistics statistics(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,110 @@
+package com.portfolio.enterprise.service;
+
+import com.portfolio.enterprise.dto.CursorPage;
+import com.portfolio.enterprise.dto.OrderResponse;
+import com.portfolio.enterprise.entity.Order.OrderStatus;
+import com.portfolio.enterprise.entity.User;
+import com.portfolio.enterprise.workflow.OrderStateMachineImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the order listing paths.
+ * Counts JDBC statements through Hibernate statistics on H2.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({OrderService.class, OrderStateMachineImpl.class})
+@DisplayName("Order Listing Query Tests")
+class OrderListingQueryTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private static final int USERS = 5;
+    private static final int ORDERS_PER_USER = 100;
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final int PAGE_SIZE = 100;
+
+    private Statistics statistics;
+    private User firstUser;
+
+    /**
+     * Seeds the listing data; every other order of each user is PENDING.
+     */
+    @BeforeEach
+    void setUp() {
+        firstUser = OrderFixtures.builder()
+                .users(USERS)
+                .orders(USERS * ORDERS_PER_USER)
+                .ownedBy(o -> o / ORDERS_PER_USER)
+                .status(o -> o % 2 == 0 ? OrderStatus.PENDING : OrderStatus.SHIPPED)
+                .itemsPerOrder(ITEMS_PER_ORDER)
+                .unitPrice(o -> BigDecimal.TEN)
+                .persist(entityManager)
+                .get(0);
+        statistics = OrderFixtures.statistics(entityManagerFactory);
+    }
+
+    @Test
+    @DisplayName("Should load each page of orders by status with items and user emails in two statements")
+    void testOrdersByStatusStatementCount() {
+        int total = 0;
+        String cursor = null;
+        do {
+            statistics.clear();
+            CursorPage<OrderResponse> page = orderService.getOrdersByStatus(OrderStatus.PENDING, cursor, PAGE_SIZE);
+            assertEquals(2, statistics.getPrepareStatementCount());
+            for (OrderResponse response : page.getItems()) {
+                int n = OrderFixtures.orderIndex(response.getOrderNumber());
+                assertEquals(OrderStatus.PENDING, response.getStatus());
+                assertEquals(OrderFixtures.email(n / ORDERS_PER_USER), response.getUserEmail());
+                assertEquals(ITEMS_PER_ORDER, response.getItems().size());
+                assertEquals(0, BigDecimal.valueOf(30).compareTo(response.getItems().get(2).getSubtotal()));
+            }
+            total += page.getSize();
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(USERS * ORDERS_PER_USER / 2, total);
+    }
+
+    @Test
+    @DisplayName("Should load a page of a user's orders newest first in two statements")
+    void testOrdersByUserStatementCount() {
+        List<OrderResponse> responses = orderService.getOrdersByUserId(firstUser.getId(), null, PAGE_SIZE).getItems();
+
+        assertEquals(PAGE_SIZE, responses.size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        for (int i = 1; i < responses.size(); i++) {
+            OrderResponse newer = responses.get(i - 1);
+            OrderResponse older = responses.get(i);
+            assertFalse(newer.getCreatedAt().isBefore(older.getCreatedAt()));
+        }
+        assertTrue(responses.stream().allMatch(r -> r.getItems().size() == ITEMS_PER_ORDER));
+    }
+
+    @Test
+    @DisplayName("Should run a single statement when nothing matches")
+    void testEmptyListing() {
+        assertTrue(orderService.getOrdersByStatus(OrderStatus.CANCELLED, null, PAGE_SIZE).getItems().isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
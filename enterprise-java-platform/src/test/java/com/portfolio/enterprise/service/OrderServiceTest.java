@@ -26,6 +26,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -110,6 +111,36 @@ class OrderServiceTest {
                 () -> orderService.createOrder(createRequest));
     }
 
+    @Test
+    @DisplayName("Should create a batch of orders with one user lookup and one save")
+    void testCreateOrders_Success() {
+        when(userRepository.findAllById(any())).thenReturn(Arrays.asList(user));
+        when(orderRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<OrderResponse> responses = orderService.createOrders(Arrays.asList(createRequest, createRequest));
+
+        assertEquals(2, responses.size());
+        assertEquals(0, BigDecimal.valueOf(100.00).compareTo(responses.get(1).getTotalAmount()));
+        verify(userRepository).findAllById(any());
+        verify(orderRepository).saveAll(any());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("Should create no orders when a batch references a missing user")
+    void testCreateOrders_UserNotFound() {
+        CreateOrderRequest unknown = CreateOrderRequest.builder()
+                .userId(999L)
+                .shippingAddress("123 Test St")
+                .items(createRequest.getItems())
+                .build();
+        when(userRepository.findAllById(any())).thenReturn(Arrays.asList(user));
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> orderService.createOrders(Arrays.asList(createRequest, unknown)));
+        verify(orderRepository, never()).saveAll(any());
+    }
+
     @Test
     @DisplayName("Should get order by ID")
     void testGetOrderById_Success() {
@@ -124,11 +155,22 @@ class OrderServiceTest {
     @Test
     @DisplayName("Should get orders by user ID")
     void testGetOrdersByUserId() {
-        when(orderRepository.findByUserId(1L)).thenReturn(Arrays.asList(order));
+        OrderHeaderView header = new OrderHeaderView(1L, "ORD-12345678", 1L, "test@example.com",
+                OrderStatus.PENDING, OrderType.STANDARD, BigDecimal.valueOf(100.00), null,
+                "123 Test St", null, null, null);
+        OrderItemView item = new OrderItemView(1L, 1L, "Test Product", null, 2,
+                BigDecimal.valueOf(50.00), null);
+        when(orderRepository.findOrderViewPageByUserId(eq(1L), any(), any(), any()))
+                .thenReturn(Arrays.asList(header));
+        when(orderRepository.findItemViewsByOrderIds(List.of(1L))).thenReturn(Arrays.asList(item));
 
-        List<OrderResponse> responses = orderService.getOrdersByUserId(1L);
+        List<OrderResponse> responses = orderService.getOrdersByUserId(1L, null, 20).getItems();
 
         assertEquals(1, responses.size());
+        assertEquals("test@example.com", responses.get(0).getUserEmail());
+        assertEquals(1, responses.get(0).getItems().size());
+        assertEquals(0, BigDecimal.valueOf(100.00).compareTo(responses.get(0).getItems().get(0).getSubtotal()));
+        verify(orderRepository, never()).findByUserId(any());
     }
 
     @Test
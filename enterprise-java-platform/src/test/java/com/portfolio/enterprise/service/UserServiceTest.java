@@ -1,6 +1,7 @@
 package com.portfolio.enterprise.service;
 
 import com.portfolio.enterprise.dto.CreateUserRequest;
+import com.portfolio.enterprise.dto.CursorPage;
 import com.portfolio.enterprise.dto.UserResponse;
 import com.portfolio.enterprise.entity.User;
 import com.portfolio.enterprise.entity.User.UserRole;
@@ -138,22 +139,23 @@ class UserServiceTest {
         User user2 = User.builder()
                 .id(2L).username("user2").email("user2@example.com")
                 .role(UserRole.USER).active(true).build();
-        when(userRepository.findAll()).thenReturn(Arrays.asList(user, user2));
+        when(userRepository.findPage(any(), any(), any())).thenReturn(Arrays.asList(user, user2));
 
-        List<UserResponse> responses = userService.getAllUsers();
+        CursorPage<UserResponse> page = userService.getAllUsers(null, 20);
 
-        assertEquals(2, responses.size());
+        assertEquals(2, page.getSize());
+        assertNull(page.getNextCursor());
     }
 
     @Test
     @DisplayName("Should get active users")
     void testGetActiveUsers() {
-        when(userRepository.findByActiveTrue()).thenReturn(Arrays.asList(user));
+        when(userRepository.findActivePage(any(), any(), any())).thenReturn(Arrays.asList(user));
 
-        List<UserResponse> responses = userService.getActiveUsers();
+        CursorPage<UserResponse> page = userService.getActiveUsers(null, 20);
 
-        assertEquals(1, responses.size());
-        assertTrue(responses.get(0).getActive());
+        assertEquals(1, page.getSize());
+        assertTrue(page.getItems().get(0).getActive());
     }
 
     @Test
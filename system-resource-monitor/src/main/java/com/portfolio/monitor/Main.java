@@ -1,15 +1,24 @@
 package com.portfolio.monitor;
 
+import com.portfolio.monitor.core.ParallelCollector;
+import com.portfolio.monitor.core.ProcessLifecycle;
 import com.portfolio.monitor.core.SharedMetricsStore;
 import com.portfolio.monitor.core.ThreadPoolManager;
+import com.portfolio.monitor.http.MetricsHttpServer;
 import com.portfolio.monitor.monitors.*;
+import com.portfolio.monitor.shm.SnapshotPublisher;
 import com.portfolio.monitor.utils.GracefulShutdown;
+import com.portfolio.monitor.utils.ProcFileReader;
+import com.portfolio.monitor.utils.SystemInfoHolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import oshi.SystemInfo;
 import oshi.hardware.HardwareAbstractionLayer;
 import oshi.software.os.OperatingSystem;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.nio.file.Paths;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -33,6 +42,53 @@ public class Main {
     // Configuration
     private static final int THREAD_POOL_SIZE = 4;
     private static final long MONITORING_INTERVAL_MS = 5000; // 5 seconds
+    private static final long HANDLE_TICK_MS = 1000;
+    private static final ThreadPoolManager.SchedulerType SCHEDULER_TYPE =
+            Boolean.getBoolean("monitor.timingWheel")
+                    ? ThreadPoolManager.SchedulerType.TIMING_WHEEL
+                    : ThreadPoolManager.SchedulerType.EXECUTOR;
+    // e.g. -Dmonitor.watch=pid:1234,name:postgres.*,cgroup:/system.slice/nginx.service
+    private static final String WATCH_LIST = System.getProperty("monitor.watch", "");
+    private static final long WATCH_INTERVAL_MS = Long.getLong("monitor.watch.intervalMs", 250);
+    // Set by GraalVM inside a native image
+    private static final boolean NATIVE_IMAGE = System.getProperty("org.graalvm.nativeimage.imagecode") != null;
+    // Read CPU, memory, process and disk I/O straight from /proc and /sys instead of through OSHI.
+    // Default in the native image, where it keeps JNA and most of OSHI off the startup path.
+    private static final boolean PROC_FAST_PATH = ProcFileReader.isProcAvailable()
+            && Boolean.parseBoolean(System.getProperty("monitor.procFastPath", String.valueOf(NATIVE_IMAGE)));
+    // JFR event streaming is not available in native images
+    private static final boolean JFR_TELEMETRY =
+            Boolean.parseBoolean(System.getProperty("monitor.jfr", String.valueOf(!NATIVE_IMAGE)));
+    // e.g. -Dmonitor.psi.triggers=memory:some:150000:2000000,io:full:100000:2000000
+    private static final String PSI_TRIGGERS = System.getProperty("monitor.psi.triggers", "");
+    // Mount filter rules, e.g. -Dmonitor.disk.mounts=+type:tmpfs,-mount:/var/lib/docker
+    private static final String DISK_MOUNTS = System.getProperty("monitor.disk.mounts", "");
+    // Collect one sample from every collector and exit; used for CDS training runs and startup timing
+    private static final boolean RUN_ONCE = Boolean.getBoolean("monitor.once");
+    // Query endpoint, e.g. -Dmonitor.http.port=9464; disabled when unset
+    private static final int HTTP_PORT = Integer.getInteger("monitor.http.port", -1);
+    // Address the query endpoint binds to; loopback unless opted in, e.g. -Dmonitor.http.bind=0.0.0.0
+    private static final String HTTP_BIND = System.getProperty("monitor.http.bind", "127.0.0.1");
+    // Shared-memory snapshot for co-located readers, e.g. -Dmonitor.snapshot.file=/dev/shm/monitor.snapshot
+    private static final String SNAPSHOT_FILE = System.getProperty("monitor.snapshot.file", "");
+    private static final long SNAPSHOT_INTERVAL_MS = Long.getLong("monitor.snapshot.intervalMs", 1000);
+    // Warn when a filesystem or memory is forecast to fill within this many hours; 0 disables
+    private static final long FORECAST_ALERT_HOURS = Long.getLong("monitor.forecast.alertHours", 24);
+    // Run all collectors of a tick in parallel on the worker pool instead of staggered one by one
+    private static final boolean PARALLEL_COLLECTION =
+            Boolean.parseBoolean(System.getProperty("monitor.parallel", "true"));
+    // How long a parallel tick waits for its collectors before marking the late ones stale
+    private static final long TICK_DEADLINE_MS = Long.getLong("monitor.tick.deadlineMs", 2000);
+    // CPU the whole monitor process may use, in percent of one core. Collectors get what the rest
+    // (JFR alone is ~0.5%) leaves, but at least half, and the costliest are stretched beyond it. 0 disables
+    private static final double OVERHEAD_BUDGET_PCT =
+            Double.parseDouble(System.getProperty("monitor.overheadBudgetPct", "1.0"));
+
+    // Incident flight recorder: 100 ms samples, the window around each alert or a touched <dir>/trigger dumped to disk
+    private static final boolean FLIGHT_RECORDER = Boolean.getBoolean("monitor.flightRecorder");
+    private static final String FLIGHT_RECORDER_DIR = System.getProperty("monitor.flightRecorder.dir", "flight-recordings");
+    private static final long FLIGHT_RECORDER_PRE_SECONDS = Long.getLong("monitor.flightRecorder.preSeconds", 120);
+    private static final long FLIGHT_RECORDER_POST_SECONDS = Long.getLong("monitor.flightRecorder.postSeconds", 30);
 
     public static void main(String[] args) {
         printBanner();
@@ -40,30 +96,168 @@ public class Main {
 
         // Initialize shared components
         SharedMetricsStore metricsStore = new SharedMetricsStore();
-        ThreadPoolManager threadPool = new ThreadPoolManager(THREAD_POOL_SIZE);
+        declareForecasts(metricsStore);
+        ThreadPoolManager threadPool = new ThreadPoolManager(THREAD_POOL_SIZE, SCHEDULER_TYPE);
 
         // Initialize monitors
-        CPUMonitor cpuMonitor = new CPUMonitor(metricsStore);
-        MemoryMonitor memoryMonitor = new MemoryMonitor(metricsStore);
-        DiskMonitor diskMonitor = new DiskMonitor(metricsStore);
-        ProcessMonitor processMonitor = new ProcessMonitor(metricsStore);
+        CPUMonitor cpuMonitor = new CPUMonitor(metricsStore, PROC_FAST_PATH ? CPUMonitor.PROC_STAT : null);
+        MemoryMonitor memoryMonitor = new MemoryMonitor(metricsStore, PROC_FAST_PATH ? MemoryMonitor.PROC_MEMINFO : null);
+        DiskMonitor diskMonitor = MountInventory.isSupported()
+                ? new DiskMonitor(metricsStore, new MountInventory().configure(DISK_MOUNTS), PROC_FAST_PATH)
+                : new DiskMonitor(metricsStore);
+        ProcessMonitor processMonitor = new ProcessMonitor(metricsStore, PROC_FAST_PATH ? ProcFileReader.PROC : null);
+        NetworkMonitor networkMonitor = new NetworkMonitor(metricsStore);
+
+        PressureMonitor pressureMonitor = PressureMonitor.isSupported() ? new PressureMonitor(metricsStore) : null;
+        SchedulerMonitor schedulerMonitor = SchedulerMonitor.isSupported() ? new SchedulerMonitor(metricsStore) : null;
+        NumaMemoryMonitor numaMemoryMonitor = NumaMemoryMonitor.isSupported() ? new NumaMemoryMonitor(metricsStore) : null;
+        HandleMonitor handleMonitor = HandleMonitor.isSupported() ? new HandleMonitor(metricsStore) : null;
+        PressureTriggerWatcher pressureTriggers = new PressureTriggerWatcher();
+        JvmTelemetryMonitor jvmTelemetry = new JvmTelemetryMonitor(metricsStore);
+        MetricsHttpServer httpServer = createHttpServer(metricsStore);
+        SnapshotPublisher snapshotPublisher = createSnapshotPublisher(metricsStore);
+        FlightRecorder flightRecorder = FLIGHT_RECORDER && !RUN_ONCE
+                ? new FlightRecorder(metricsStore, Paths.get(FLIGHT_RECORDER_DIR),
+                        FLIGHT_RECORDER_PRE_SECONDS, FLIGHT_RECORDER_POST_SECONDS)
+                : null;
+
+        ParallelCollector collectors = new ParallelCollector(threadPool, metricsStore, TICK_DEADLINE_MS)
+                .overheadBudget(RUN_ONCE ? 0 : OVERHEAD_BUDGET_PCT)
+                .add("cpu", cpuMonitor)
+                .add("memory", memoryMonitor)
+                .add("disk", diskMonitor)
+                .add("process", processMonitor)
+                .add("network", networkMonitor);
+        if (pressureMonitor != null) {
+            collectors.add("pressure", pressureMonitor);
+        }
+        if (schedulerMonitor != null) {
+            collectors.add("scheduler", schedulerMonitor);
+        }
+        if (numaMemoryMonitor != null) {
+            collectors.add("numa", numaMemoryMonitor);
+        }
 
         // Register graceful shutdown
         GracefulShutdown shutdown = new GracefulShutdown(threadPool, () -> {
             logger.info("Saving final metrics snapshot...");
             // Could persist metrics here
+            pressureTriggers.close();
+            if (flightRecorder != null) {
+                flightRecorder.close();
+            }
+            jvmTelemetry.close();
+            if (httpServer != null) {
+                httpServer.close();
+            }
+            if (snapshotPublisher != null) {
+                try {
+                    snapshotPublisher.close();
+                } catch (IOException e) {
+                    logger.warn("Could not close snapshot file: {}", e.getMessage());
+                }
+            }
         });
 
+        if (RUN_ONCE && PARALLEL_COLLECTION) {
+            int stale = collectors.collect();
+            logger.info("First sample collected {} ms after JVM start{}",
+                    ManagementFactory.getRuntimeMXBean().getUptime(),
+                    stale > 0 ? " (" + stale + " collectors missed the deadline)" : "");
+            System.exit(0);
+        } else if (RUN_ONCE) {
+            // CPU last: its baseline interval elapses while the others collect
+            memoryMonitor.run();
+            diskMonitor.run();
+            processMonitor.run();
+            networkMonitor.run();
+            if (pressureMonitor != null) {
+                pressureMonitor.run();
+            }
+            if (schedulerMonitor != null) {
+                schedulerMonitor.run();
+            }
+            if (numaMemoryMonitor != null) {
+                numaMemoryMonitor.run();
+            }
+            cpuMonitor.run();
+            logger.info("First sample collected {} ms after JVM start",
+                    ManagementFactory.getRuntimeMXBean().getUptime());
+            System.exit(0);
+        }
+
         logger.info("Starting monitoring threads...");
         logger.info("Refresh interval: {} seconds", MONITORING_INTERVAL_MS / 1000);
         logger.info("Press Ctrl+C to stop.\n");
 
-        // Schedule monitoring tasks at fixed intervals
-        // Stagger start times to prevent thundering herd
-        threadPool.scheduleAtFixedRate(cpuMonitor, 0, MONITORING_INTERVAL_MS, TimeUnit.MILLISECONDS);
-        threadPool.scheduleAtFixedRate(memoryMonitor, 500, MONITORING_INTERVAL_MS, TimeUnit.MILLISECONDS);
-        threadPool.scheduleAtFixedRate(diskMonitor, 1000, MONITORING_INTERVAL_MS, TimeUnit.MILLISECONDS);
-        threadPool.scheduleAtFixedRate(processMonitor, 1500, MONITORING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        if (PARALLEL_COLLECTION) {
+            // One tick fans all collectors out onto the worker pool; it lasts as long as the slowest
+            threadPool.scheduleAtFixedRate(collectors, 0, MONITORING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        } else {
+            // Schedule monitoring tasks at fixed intervals
+            // Stagger start times to prevent thundering herd
+            threadPool.scheduleAtFixedRate(cpuMonitor, 0, MONITORING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            threadPool.scheduleAtFixedRate(memoryMonitor, 500, MONITORING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            threadPool.scheduleAtFixedRate(diskMonitor, 1000, MONITORING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            threadPool.scheduleAtFixedRate(processMonitor, 1500, MONITORING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            threadPool.scheduleAtFixedRate(networkMonitor, 2500, MONITORING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            if (pressureMonitor != null) {
+                threadPool.scheduleAtFixedRate(pressureMonitor, 2000, MONITORING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            }
+            if (schedulerMonitor != null) {
+                threadPool.scheduleAtFixedRate(schedulerMonitor, 3000, MONITORING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            }
+            if (numaMemoryMonitor != null) {
+                threadPool.scheduleAtFixedRate(numaMemoryMonitor, 3500, MONITORING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        // Started before the PSI triggers so a stall at startup already has history to dump
+        if (flightRecorder != null) {
+            flightRecorder.start();
+            flightRecorder.triggerOnFile(Paths.get(FLIGHT_RECORDER_DIR, "trigger"));
+            pressureTriggers.addListener(resource -> flightRecorder.trigger("psi " + resource));
+            metricsStore.getDerivedMetrics()
+                    .addExhaustionListener((series, seconds) -> flightRecorder.trigger("forecast " + series));
+            metricsStore.getProcessLifecycle().addListener(event -> {
+                if (event.type() == ProcessLifecycle.Type.RESTART_LOOP) {
+                    flightRecorder.trigger("restart loop " + event.command());
+                }
+            });
+        }
+
+        if (pressureMonitor != null) {
+            // Kernel PSI triggers wake us within milliseconds of a stall instead of at the next poll
+            pressureTriggers.addTriggers(PSI_TRIGGERS);
+            pressureTriggers.addListener(pressureMonitor::onTrigger);
+            pressureTriggers.start();
+        }
+
+        // fd, socket and thread counts; 1 s base tick, each process sampled on its own adaptive interval
+        if (handleMonitor != null) {
+            threadPool.scheduleAtFixedRate(handleMonitor, 3000, HANDLE_TICK_MS, TimeUnit.MILLISECONDS);
+        }
+
+        // Latest values into shared memory; readers poll it without touching this process
+        if (snapshotPublisher != null) {
+            threadPool.scheduleAtFixedRate(snapshotPublisher, 0, SNAPSHOT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+
+        // The monitor's own JVM: event-driven, so it needs no scheduled task
+        if (JFR_TELEMETRY) {
+            jvmTelemetry.start();
+        }
+
+        if (httpServer != null) {
+            httpServer.start();
+        }
+
+        // High-frequency sampling of selected processes; matching runs on the slow interval
+        ProcessWatchList watchList = new ProcessWatchList(metricsStore, threadPool, WATCH_INTERVAL_MS)
+                .watchAll(WATCH_LIST);
+        if (!watchList.isEmpty()) {
+            threadPool.scheduleAtFixedRate(watchList, 0, MONITORING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
 
         // Print separator for readability
         threadPool.scheduleAtFixedRate(() -> {
@@ -80,6 +274,82 @@ public class Main {
         }
     }
 
+    /**
+     * Prints system information from /proc, without initialising OSHI.
+     */
+    private static void printProcSystemInfo() {
+        ProcFileReader reader = new ProcFileReader(16384);
+        String cpuModel = "unknown";
+        int logical = 0;
+        if (reader.read(ProcFileReader.PROC.resolve("cpuinfo"))) {
+            do {
+                if (reader.tokenStartsWith("processor")) {
+                    logical++;
+                } else if (logical == 1 && reader.tokenStartsWith("model name")) {
+                    reader.skipPast((byte) ':');
+                    cpuModel = reader.restOfLine();
+                }
+            } while (reader.nextLine());
+        }
+        long memTotalKb = 0;
+        if (reader.read(MemoryMonitor.PROC_MEMINFO) && reader.tokenStartsWith("MemTotal:")) {
+            reader.skipPast((byte) ':');
+            memTotalKb = reader.nextLong();
+        }
+
+        logger.info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        logger.info("  SYSTEM INFORMATION");
+        logger.info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        logger.info("  OS:        {} {}", System.getProperty("os.name"), System.getProperty("os.version"));
+        logger.info("  CPU:       {}", cpuModel);
+        logger.info("  Cores:     {} logical", logical > 0 ? logical : Runtime.getRuntime().availableProcessors());
+        logger.info("  Memory:    {} GB total", String.format("%.2f", memTotalKb / (1024.0 * 1024)));
+        logger.info("  Runtime:   {} ({})",
+                NATIVE_IMAGE ? "native image" : "JVM " + System.getProperty("java.version"),
+                "/proc fast path");
+        logger.info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
+    }
+
+    /**
+     * Declares time-to-full forecasts for every filesystem and for memory,
+     * and logs a warning when one drops below the alert threshold.
+     */
+    private static void declareForecasts(SharedMetricsStore metricsStore) {
+        long alertSeconds = TimeUnit.HOURS.toSeconds(FORECAST_ALERT_HOURS);
+        metricsStore.getDerivedMetrics()
+                .timeToFull("fs.*.used_bytes", "fs.*.total_bytes", "fs.*.time_to_full_sec", alertSeconds)
+                .timeToFull("memory.usage", "100", "memory.time_to_full_sec", alertSeconds)
+                .addExhaustionListener((series, seconds) -> logger.warn("⚠️  {} forecast to reach capacity in {} h",
+                        series.substring(0, series.lastIndexOf('.')), String.format("%.1f", seconds / 3600)));
+    }
+
+    /**
+     * Creates the query endpoint if a port is configured.
+     */
+    private static MetricsHttpServer createHttpServer(SharedMetricsStore metricsStore) {
+        if (HTTP_PORT < 0) {
+            return null;
+        }
+        try {
+            return new MetricsHttpServer(metricsStore, InetAddress.getByName(HTTP_BIND), HTTP_PORT);
+        } catch (IOException e) {
+            logger.warn("Could not start metrics endpoint on {}:{}: {}", HTTP_BIND, HTTP_PORT, e.getMessage());
+            return null;
+        }
+    }
+
+    private static SnapshotPublisher createSnapshotPublisher(SharedMetricsStore metricsStore) {
+        if (SNAPSHOT_FILE.isEmpty()) {
+            return null;
+        }
+        try {
+            return new SnapshotPublisher(metricsStore, Paths.get(SNAPSHOT_FILE));
+        } catch (IOException e) {
+            logger.warn("Could not publish snapshots to {}: {}", SNAPSHOT_FILE, e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Prints the application banner.
      */
@@ -103,10 +373,13 @@ public class Main {
      * Prints system information on startup.
      */
     private static void printSystemInfo() {
+        if (PROC_FAST_PATH) {
+            printProcSystemInfo();
+            return;
+        }
         try {
-            SystemInfo si = new SystemInfo();
-            HardwareAbstractionLayer hal = si.getHardware();
-            OperatingSystem os = si.getOperatingSystem();
+            HardwareAbstractionLayer hal = SystemInfoHolder.hardware();
+            OperatingSystem os = SystemInfoHolder.operatingSystem();
 
             logger.info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
             logger.info("  SYSTEM INFORMATION");
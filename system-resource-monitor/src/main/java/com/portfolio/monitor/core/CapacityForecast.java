@@ -0,0 +1,235 @@
+package com.portfolio.monitor.core;
+
+import java.util.Arrays;
+
+/**
+ * Online "time until full" forecast for one resource (a filesystem, memory),
+ * combining two models that each update in O(1) per sample:
+ *
+ * - Linear: exponentially weighted least-squares fit of usage over time,
+ *   with a configurable half-life, so it follows the recent fill rate
+ * - Holt-Winters (additive): level, trend and one seasonal offset per
+ *   bucket of the season (by default 24 hourly buckets, aligned to UTC),
+ *   updated with the mean of each closed bucket; it catches daily
+ *   patterns such as nightly log rotation or batch jobs
+ *
+ * Until a full season has been seen only the linear model is used; after
+ * that the earlier of the two predictions is reported, so a sudden fill
+ * is never hidden by a calm seasonal history. State is a handful of
+ * doubles plus one array of seasonBuckets, independent of sample count.
+ *
+ * Not thread-safe; DerivedMetrics guards each instance with its monitor.
+ *
+ * Key Concepts:
+ * - Origin shifted to the newest sample, so the regression sums stay small
+ * - Horizon scan only when a bucket closes, amortized O(1) per sample
+ */
+public final class CapacityForecast {
+
+    public static final long DEFAULT_BUCKET_MILLIS = 3_600_000;         // 1 hour
+    public static final int DEFAULT_SEASON_BUCKETS = 24;                 // 1 day
+    public static final long DEFAULT_HALF_LIFE_MILLIS = 3_600_000;       // 1 hour
+    public static final long DEFAULT_HORIZON_SECONDS = 30L * 24 * 3600;  // 30 days
+
+    private static final double ALPHA = 0.3;    // level
+    private static final double BETA = 0.05;    // trend
+    private static final double GAMMA = 0.2;    // season
+
+    private final long bucketMillis;
+    private final long halfLifeMillis;
+    private final long horizonSeconds;
+
+    // Linear model: decayed sums with t in seconds relative to the newest
+    // sample and y relative to the first sample (origin)
+    private double origin = Double.NaN;
+    private long lastTimestamp = -1;
+    private double sumW;
+    private double sumT;
+    private double sumY;
+    private double sumTT;
+    private double sumTY;
+    private double lastValue;
+    private double lastCapacity;
+
+    // Holt-Winters over bucket means; seasonal holds the raw seed values
+    // (NaN where unseen) until the first season completes
+    private final double[] seasonal;
+    private long firstBucket = -1;
+    private long openBucket = -1;
+    private double openSum;
+    private int openCount;
+    private long lastClosedBucket = -1;
+    private boolean seasoned;
+    private double level;
+    private double trend;          // per bucket
+    private long fullAtMillis = Long.MAX_VALUE;
+
+    public CapacityForecast() {
+        this(DEFAULT_BUCKET_MILLIS, DEFAULT_SEASON_BUCKETS, DEFAULT_HALF_LIFE_MILLIS, DEFAULT_HORIZON_SECONDS);
+    }
+
+    /**
+     * @param bucketMillis   Holt-Winters step; season slots are aligned to multiples of it
+     * @param seasonBuckets  Buckets per season (e.g. 24 hourly buckets for a daily cycle)
+     * @param halfLifeMillis Age at which a sample weighs half in the linear fit
+     * @param horizonSeconds Longest prediction; also reported when usage is not growing
+     */
+    public CapacityForecast(long bucketMillis, int seasonBuckets, long halfLifeMillis, long horizonSeconds) {
+        if (bucketMillis <= 0 || seasonBuckets < 2 || halfLifeMillis <= 0 || horizonSeconds <= 0) {
+            throw new IllegalArgumentException("Invalid forecast parameters");
+        }
+        this.bucketMillis = bucketMillis;
+        this.halfLifeMillis = halfLifeMillis;
+        this.horizonSeconds = horizonSeconds;
+        this.seasonal = new double[seasonBuckets];
+        Arrays.fill(seasonal, Double.NaN);
+    }
+
+    /**
+     * Adds a sample. Samples at or before the previous timestamp are ignored.
+     */
+    public void update(long timestampMillis, double used, double capacity) {
+        if (timestampMillis <= lastTimestamp) {
+            return;
+        }
+        if (Double.isNaN(origin)) {
+            origin = used;
+        } else {
+            double dt = (timestampMillis - lastTimestamp) / 1000.0;
+            // Move the time origin to the new sample: t' = t - dt
+            sumTT += -2 * dt * sumT + dt * dt * sumW;
+            sumTY -= dt * sumY;
+            sumT -= dt * sumW;
+            double decay = Math.pow(0.5, (timestampMillis - lastTimestamp) / (double) halfLifeMillis);
+            sumW *= decay;
+            sumT *= decay;
+            sumY *= decay;
+            sumTT *= decay;
+            sumTY *= decay;
+        }
+        double y = used - origin;
+        sumW += 1;
+        sumY += y;
+        lastTimestamp = timestampMillis;
+        lastValue = used;
+        lastCapacity = capacity;
+
+        long bucket = Math.floorDiv(timestampMillis, bucketMillis);
+        if (bucket != openBucket) {
+            if (openCount > 0) {
+                closeBucket(openBucket, openSum / openCount);
+            }
+            openBucket = bucket;
+            openSum = 0;
+            openCount = 0;
+        }
+        openSum += used;
+        openCount++;
+    }
+
+    /**
+     * Growth in units per second from the linear fit, or 0 before two samples.
+     */
+    public double growthPerSecond() {
+        double denominator = sumW * sumTT - sumT * sumT;
+        if (sumW < 1 || denominator <= 1e-9 * sumW * sumTT) {
+            return 0;
+        }
+        return (sumW * sumTY - sumT * sumY) / denominator;
+    }
+
+    /**
+     * Predicted seconds until usage reaches capacity, capped at the horizon
+     * (also returned when usage is flat or shrinking), or NaN before the
+     * first sample.
+     */
+    public double secondsToFull() {
+        if (lastTimestamp < 0) {
+            return Double.NaN;
+        }
+        if (lastValue >= lastCapacity) {
+            return 0;
+        }
+        double linear = horizonSeconds;
+        double slope = growthPerSecond();
+        if (slope > 0) {
+            double fitted = origin + (sumY - slope * sumT) / sumW;   // value of the fit at t = 0
+            linear = Math.max(0, (lastCapacity - fitted) / slope);
+        }
+        double seasonalModel = fullAtMillis == Long.MAX_VALUE
+                ? horizonSeconds
+                : Math.max(0, (fullAtMillis - lastTimestamp) / 1000.0);
+        return Math.min(horizonSeconds, Math.min(linear, seasonalModel));
+    }
+
+    /**
+     * True once a full season has been seen and Holt-Winters contributes.
+     */
+    public boolean isSeasoned() {
+        return seasoned;
+    }
+
+    private void closeBucket(long bucket, double mean) {
+        int m = seasonal.length;
+        int slot = (int) Math.floorMod(bucket, (long) m);
+        if (!seasoned) {
+            if (firstBucket < 0) {
+                firstBucket = bucket;
+            }
+            seasonal[slot] = mean;
+            lastClosedBucket = bucket;
+            if (bucket - firstBucket >= m - 1) {
+                initializeSeason();
+            }
+            return;
+        }
+
+        long steps = bucket - lastClosedBucket;
+        double previousLevel = level;
+        level = ALPHA * (mean - seasonal[slot]) + (1 - ALPHA) * (level + steps * trend);
+        trend = BETA * (level - previousLevel) / steps + (1 - BETA) * trend;
+        seasonal[slot] = GAMMA * (mean - level) + (1 - GAMMA) * seasonal[slot];
+        lastClosedBucket = bucket;
+        fullAtMillis = scanHorizon();
+    }
+
+    /**
+     * Seeds level and seasonal offsets from the first season's bucket means.
+     * The trend starts at zero: a slope fitted within one season mostly
+     * measures the season itself. The linear model covers growth meanwhile.
+     */
+    private void initializeSeason() {
+        double sum = 0;
+        int count = 0;
+        for (double value : seasonal) {
+            if (!Double.isNaN(value)) {
+                sum += value;
+                count++;
+            }
+        }
+        level = sum / count;
+        trend = 0;
+        for (int i = 0; i < seasonal.length; i++) {
+            seasonal[i] = Double.isNaN(seasonal[i]) ? 0 : seasonal[i] - level;
+        }
+        seasoned = true;
+        fullAtMillis = scanHorizon();
+    }
+
+    /**
+     * Start of the first future bucket whose forecast reaches capacity,
+     * or Long.MAX_VALUE if none does within the horizon.
+     */
+    private long scanHorizon() {
+        int m = seasonal.length;
+        long steps = horizonSeconds * 1000 / bucketMillis + 1;
+        for (long h = 1; h <= steps; h++) {
+            long bucket = lastClosedBucket + h;
+            double forecast = level + h * trend + seasonal[(int) Math.floorMod(bucket, (long) m)];
+            if (forecast >= lastCapacity) {
+                return bucket * bucketMillis;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,462 @@
+package com.portfolio.monitor.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/**
+ * Pipeline stage between collectors and the series map: computes declared
+ * derived series incrementally as raw samples arrive, and records them
+ * through the store like any other series (so they can feed further
+ * derivations, queries and the HTTP endpoint).
+ *
+ * Declarations:
+ * - rate(source, target): per-second rate of a monotonically increasing
+ *   counter, with reset (and optionally 32-bit wrap) detection
+ * - ratio(numerator, denominator, target)
+ * - expression(expression, target): arithmetic over series, see MetricExpression
+ * - timeToFull(used, capacity, target): seconds until used reaches capacity,
+ *   forecast by a CapacityForecast; exhaustion listeners are told when
+ *   the forecast drops below the declared alert threshold
+ *
+ * A '*' segment in the names matches one name segment, so one declaration
+ * covers every device or interface, e.g.
+ * {@code rate("net.*.rx_bytes", "net.*.rx_bytes_per_sec")}. Expressions are
+ * joined on timestamp: they are evaluated once every input has a sample at
+ * the same timestamp, which holds for inputs written by one collector run.
+ * Non-finite results (e.g. a ratio over a zero denominator) are not recorded.
+ *
+ * Key Concepts:
+ * - Source name to derivations resolved once per name, then a map lookup per sample
+ * - Per-instance state guarded by its own monitor; collectors never contend
+ * - Expressions compiled once at declaration time
+ */
+public class DerivedMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(DerivedMetrics.class);
+
+    /** Modulus of a counter kept in 32 bits. */
+    public static final long WRAP_32 = 1L << 32;
+    private static final Derivation[] NONE = new Derivation[0];
+    // An exhaustion alert re-arms once the forecast is this much above its threshold
+    private static final double ALERT_HYSTERESIS = 1.1;
+
+    private enum Kind { RATE, EXPRESSION, FORECAST }
+
+    private final SharedMetricsStore store;
+
+    // Declarations keyed by target pattern; re-declaring a target replaces it
+    private final Map<String, Rule> rules = new ConcurrentHashMap<>();
+    // Concrete derivations keyed by target name
+    private final ConcurrentHashMap<String, Derivation> instances = new ConcurrentHashMap<>();
+    // Derivations fed by each recorded series name
+    private final ConcurrentHashMap<String, Derivation[]> bindings = new ConcurrentHashMap<>();
+    private final List<BiConsumer<String, Double>> exhaustionListeners = new CopyOnWriteArrayList<>();
+
+    DerivedMetrics(SharedMetricsStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Declares target as the per-second rate of the counter source.
+     * A counter that goes backwards was reset, and its new value is the
+     * increment since the reset.
+     */
+    public DerivedMetrics rate(String source, String target) {
+        return rate(source, target, false);
+    }
+
+    /**
+     * Declares target as the per-second rate of the counter source.
+     *
+     * @param wraps32 if true, a drop from the upper half of the 32-bit
+     *                range is a wraparound (e.g. network counters on 32-bit
+     *                kernels); any other drop is a reset and skipped
+     */
+    public DerivedMetrics rate(String source, String target, boolean wraps32) {
+        checkPattern(source, target);
+        Rule rule = new Rule(Kind.RATE, target, new String[]{source});
+        rule.wraps32 = wraps32;
+        return declare(rule);
+    }
+
+    /**
+     * Declares target as numerator / denominator.
+     */
+    public DerivedMetrics ratio(String numerator, String denominator, String target) {
+        return expression(numerator + " / " + denominator, target);
+    }
+
+    /**
+     * Declares target as an arithmetic expression over other series.
+     *
+     * @throws IllegalArgumentException on a syntax error, or if the target
+     *                                  and references disagree on wildcards
+     */
+    public DerivedMetrics expression(String expression, String target) {
+        MetricExpression compiled = MetricExpression.compile(expression);
+        String[] inputs = compiled.references().toArray(new String[0]);
+        boolean wildcard = false;
+        for (String input : inputs) {
+            checkPattern(input, target);
+            wildcard |= input.indexOf('*') >= 0;
+        }
+        if (!wildcard && target.indexOf('*') >= 0) {
+            throw new IllegalArgumentException("Wildcard target " + target + " needs a wildcard input");
+        }
+        Rule rule = new Rule(Kind.EXPRESSION, target, inputs);
+        rule.expression = compiled;
+        return declare(rule);
+    }
+
+    /**
+     * Declares target as the forecast seconds until the series used reaches
+     * capacity, without alerting.
+     *
+     * @see #timeToFull(String, String, String, long)
+     */
+    public DerivedMetrics timeToFull(String used, String capacity, String target) {
+        return timeToFull(used, capacity, target, 0);
+    }
+
+    /**
+     * Declares target as the forecast seconds until the series used reaches
+     * capacity, capped at the forecast horizon.
+     *
+     * @param capacity     a series name joined on timestamp with used
+     *                     (e.g. "fs.*.total_bytes"), or a constant such as "100"
+     * @param alertSeconds notify exhaustion listeners when the forecast drops
+     *                     below this many seconds; 0 disables the alert
+     */
+    public DerivedMetrics timeToFull(String used, String capacity, String target, long alertSeconds) {
+        checkPattern(used, target);
+        if (used.indexOf('*') < 0 && target.indexOf('*') >= 0) {
+            throw new IllegalArgumentException("Wildcard target " + target + " needs a wildcard input");
+        }
+        Rule rule;
+        try {
+            double constant = Double.parseDouble(capacity);
+            rule = new Rule(Kind.FORECAST, target, new String[]{used});
+            rule.capacity = constant;
+        } catch (NumberFormatException e) {
+            checkPattern(capacity, target);
+            rule = new Rule(Kind.FORECAST, target, new String[]{used, capacity});
+            rule.capacity = Double.NaN;
+        }
+        rule.alertSeconds = alertSeconds;
+        return declare(rule);
+    }
+
+    /**
+     * Registers a listener called with (target series name, forecast seconds)
+     * when a timeToFull forecast drops below its alert threshold. It is not
+     * called again for that series until the forecast has recovered.
+     */
+    public void addExhaustionListener(BiConsumer<String, Double> listener) {
+        exhaustionListeners.add(listener);
+    }
+
+    /**
+     * Removes the declaration of a target pattern; already derived samples stay.
+     */
+    public void remove(String target) {
+        if (rules.remove(target) != null) {
+            forget(target);
+        }
+    }
+
+    /**
+     * Drops all per-series state (previous counter readings), keeping declarations.
+     */
+    public void reset() {
+        instances.clear();
+        bindings.clear();
+    }
+
+    private DerivedMetrics declare(Rule rule) {
+        rules.put(rule.target, rule);
+        forget(rule.target);
+        logger.debug("Derived series {} declared", rule.target);
+        return this;
+    }
+
+    /**
+     * Drops the state derived for one target pattern; other targets keep
+     * theirs and are re-bound from the instance map.
+     */
+    private void forget(String target) {
+        instances.keySet().removeIf(name -> match(target, name) != null);
+        bindings.clear();
+    }
+
+    /**
+     * Called by the store after a sample was appended to a series.
+     */
+    void onSample(String name, long timestampMillis, double value) {
+        if (rules.isEmpty()) {
+            return;
+        }
+        Derivation[] derivations = bindings.get(name);
+        if (derivations == null) {
+            derivations = bindings.computeIfAbsent(name, this::bind);
+        }
+        for (Derivation derivation : derivations) {
+            derivation.onSample(timestampMillis, value);
+        }
+    }
+
+    private Derivation[] bind(String name) {
+        List<Derivation> result = new ArrayList<>();
+        for (Rule rule : rules.values()) {
+            for (String input : rule.inputs) {
+                String capture = match(input, name);
+                if (capture != null) {
+                    String target = substitute(rule.target, capture);
+                    result.add(instances.computeIfAbsent(target, t -> rule.instantiate(t, capture)));
+                    break;
+                }
+            }
+        }
+        return result.isEmpty() ? NONE : result.toArray(NONE);
+    }
+
+    /**
+     * Matches a name against a pattern with at most one '*' segment.
+     *
+     * @return the text matched by '*' ("" for a literal pattern), or null
+     */
+    static String match(String pattern, String name) {
+        int star = pattern.indexOf('*');
+        if (star < 0) {
+            return pattern.equals(name) ? "" : null;
+        }
+        int suffix = pattern.length() - star - 1;
+        if (name.length() <= star + suffix
+                || !name.regionMatches(0, pattern, 0, star)
+                || !name.regionMatches(name.length() - suffix, pattern, star + 1, suffix)) {
+            return null;
+        }
+        String capture = name.substring(star, name.length() - suffix);
+        return capture.indexOf('.') < 0 ? capture : null;
+    }
+
+    private static String substitute(String pattern, String capture) {
+        int star = pattern.indexOf('*');
+        return star < 0 ? pattern : pattern.substring(0, star) + capture + pattern.substring(star + 1);
+    }
+
+    private static void checkPattern(String source, String target) {
+        if (source.indexOf('*') != source.lastIndexOf('*') || target.indexOf('*') != target.lastIndexOf('*')) {
+            throw new IllegalArgumentException("At most one '*' per name: " + source + " -> " + target);
+        }
+        if (source.indexOf('*') >= 0 && target.indexOf('*') < 0) {
+            throw new IllegalArgumentException("Wildcard input " + source + " needs a wildcard target, got "
+                    + target);
+        }
+    }
+
+    /**
+     * Increase of a counter that wraps at modulus (0 for one that never
+     * wraps). A drop is taken as a wrap only if the previous value was in the
+     * upper half of the range and the wrapped increase is under half of it;
+     * anything else is a reset (counters cleared, device re-created),
+     * returned as NaN so the sample is skipped.
+     */
+    public static double counterDelta(double previous, double current, double modulus) {
+        if (current >= previous) {
+            return current - previous;
+        }
+        double half = modulus / 2;
+        if (previous >= half && previous < modulus && current + (modulus - previous) < half) {
+            return current + (modulus - previous);
+        }
+        return Double.NaN;
+    }
+
+    private final class Rule {
+
+        final Kind kind;
+        final String target;
+        final String[] inputs;
+        MetricExpression expression;    // EXPRESSION
+        boolean wraps32;                // RATE
+        double capacity;                // FORECAST: constant, or NaN for the second input
+        long alertSeconds;              // FORECAST
+
+        Rule(Kind kind, String target, String[] inputs) {
+            this.kind = kind;
+            this.target = target;
+            this.inputs = inputs;
+        }
+
+        Derivation instantiate(String targetName, String capture) {
+            if (kind == Kind.RATE) {
+                return new Rate(targetName, wraps32 ? WRAP_32 : 0);
+            }
+            String[] names = new String[inputs.length];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = substitute(inputs[i], capture);
+            }
+            return kind == Kind.EXPRESSION
+                    ? new Expression(targetName, names, expression)
+                    : new Forecast(targetName, names, capacity, alertSeconds);
+        }
+    }
+
+    private abstract static class Derivation {
+
+        abstract void onSample(long timestampMillis, double value);
+    }
+
+    private final class Rate extends Derivation {
+
+        private final String target;
+        private final double modulus;
+        private long previousTimestamp = -1;
+        private double previous;
+
+        Rate(String target, double modulus) {
+            this.target = target;
+            this.modulus = modulus;
+        }
+
+        @Override
+        void onSample(long timestampMillis, double value) {
+            double rate;
+            synchronized (this) {
+                long elapsed = timestampMillis - previousTimestamp;
+                boolean first = previousTimestamp < 0;
+                if (!first && elapsed <= 0) {
+                    return;
+                }
+                rate = first ? Double.NaN : counterDelta(previous, value, modulus) * 1000.0 / elapsed;
+                previousTimestamp = timestampMillis;
+                previous = value;
+            }
+            if (!Double.isNaN(rate)) {
+                store.recordSeries(target, timestampMillis, rate);
+            }
+        }
+    }
+
+    /**
+     * A derivation over several inputs, evaluated once per timestamp when
+     * every input has a sample at that timestamp.
+     */
+    private abstract class Joined extends Derivation {
+
+        final String target;
+        private final String[] inputNames;
+        final double[] inputs;
+        private long lastEvaluated = -1;
+
+        Joined(String target, String[] inputNames) {
+            this.target = target;
+            this.inputNames = inputNames;
+            this.inputs = new double[inputNames.length];
+        }
+
+        @Override
+        void onSample(long timestampMillis, double value) {
+            double result;
+            synchronized (this) {
+                if (timestampMillis <= lastEvaluated || !gather(timestampMillis)) {
+                    return;
+                }
+                lastEvaluated = timestampMillis;
+                result = evaluate(timestampMillis);
+            }
+            if (Double.isFinite(result)) {
+                store.recordSeries(target, timestampMillis, result);
+                recorded(result);
+            }
+        }
+
+        /**
+         * Computes the derived value from inputs; called with this monitor held.
+         */
+        abstract double evaluate(long timestampMillis);
+
+        /**
+         * Called after a finite result was recorded, without the monitor held.
+         */
+        void recorded(double result) {
+        }
+
+        /**
+         * Loads the latest value of every input, if all are at timestampMillis.
+         */
+        private boolean gather(long timestampMillis) {
+            for (int i = 0; i < inputNames.length; i++) {
+                MetricSeries series = store.getSeries(inputNames[i]);
+                if (series == null) {
+                    return false;
+                }
+                synchronized (series) {
+                    int last = series.sizeUnlocked() - 1;
+                    if (last < 0 || series.timestampAt(last) != timestampMillis) {
+                        return false;
+                    }
+                    inputs[i] = series.valueAt(last);
+                }
+            }
+            return true;
+        }
+    }
+
+    private final class Expression extends Joined {
+
+        private final MetricExpression expression;
+
+        Expression(String target, String[] inputNames, MetricExpression expression) {
+            super(target, inputNames);
+            this.expression = expression;
+        }
+
+        @Override
+        double evaluate(long timestampMillis) {
+            return expression.evaluate(inputs);
+        }
+    }
+
+    private final class Forecast extends Joined {
+
+        private final CapacityForecast forecast = new CapacityForecast();
+        private final double capacity;
+        private final long alertSeconds;
+        private volatile boolean alerting;
+
+        Forecast(String target, String[] inputNames, double capacity, long alertSeconds) {
+            super(target, inputNames);
+            this.capacity = capacity;
+            this.alertSeconds = alertSeconds;
+        }
+
+        @Override
+        double evaluate(long timestampMillis) {
+            forecast.update(timestampMillis, inputs[0], Double.isNaN(capacity) ? inputs[1] : capacity);
+            return forecast.secondsToFull();
+        }
+
+        @Override
+        void recorded(double seconds) {
+            if (alertSeconds <= 0) {
+                return;
+            }
+            if (!alerting && seconds < alertSeconds) {
+                alerting = true;
+                for (BiConsumer<String, Double> listener : exhaustionListeners) {
+                    listener.accept(target, seconds);
+                }
+            } else if (alerting && seconds > alertSeconds * ALERT_HYSTERESIS) {
+                alerting = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,426 @@
+package com.portfolio.monitor.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed timing-wheel scheduler for large numbers of periodic tasks.
+ * A single ticker thread advances the wheel; tasks are hashed into buckets
+ * by deadline, so scheduling and cancelling are O(1) regardless of how many
+ * tasks exist (a ScheduledThreadPoolExecutor pays O(log n) per operation on
+ * its delay heap).
+ *
+ * Key Concurrency Concepts:
+ * - Lock-free handoff: callers enqueue into ConcurrentLinkedQueue, only the
+ *   ticker thread touches the wheel buckets
+ * - Batching: every task expiring on the same tick runs in one dispatch
+ * - Atomic state: cancellation is a CAS, removal happens on the next tick
+ */
+public class HashedWheelScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(HashedWheelScheduler.class);
+
+    private static final int STATE_ACTIVE = 0;
+    private static final int STATE_CANCELLED = 1;
+    private static final int STATE_DONE = 2;
+
+    private final long tickNanos;
+    private final int mask;
+    private final Bucket[] wheel;
+    private final Executor dispatcher;
+    private final Queue<WheelTimeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTimeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger activeTimeouts = new AtomicInteger();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final Thread ticker;
+
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private volatile long startNanos;
+    private long tick;
+
+    /**
+     * Creates a timing wheel.
+     *
+     * @param tickDuration Resolution of the wheel
+     * @param unit         Time unit for tickDuration
+     * @param wheelSize    Number of buckets (rounded up to a power of two)
+     * @param dispatcher   Executor that runs each batch of expired tasks
+     */
+    public HashedWheelScheduler(long tickDuration, TimeUnit unit, int wheelSize, Executor dispatcher) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be positive: " + tickDuration);
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("wheelSize out of range: " + wheelSize);
+        }
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.mask = size - 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.dispatcher = dispatcher;
+        this.ticker = new Thread(this::runTicker, "wheel-ticker");
+        this.ticker.setDaemon(true);
+    }
+
+    /**
+     * Schedules a task to run repeatedly at a fixed rate.
+     * An execution that is still running when the next one is due is skipped
+     * rather than run concurrently.
+     *
+     * @return ScheduledFuture that cancels the task in O(1)
+     */
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive: " + period);
+        }
+        return schedule(task, unit.toNanos(initialDelay), unit.toNanos(period));
+    }
+
+    /**
+     * Schedules a one-shot task.
+     */
+    public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        return schedule(task, unit.toNanos(delay), 0);
+    }
+
+    private ScheduledFuture<?> schedule(Runnable task, long delayNanos, long periodNanos) {
+        if (task == null) {
+            throw new NullPointerException("task");
+        }
+        if (stopped) {
+            throw new RejectedExecutionException("Scheduler has been stopped");
+        }
+        start();
+        long deadline = System.nanoTime() - startNanos + Math.max(0, delayNanos);
+        WheelTimeout timeout = new WheelTimeout(task, deadline, periodNanos);
+        activeTimeouts.incrementAndGet();
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    private synchronized void start() {
+        if (started.compareAndSet(false, true)) {
+            startNanos = System.nanoTime();
+            running = true;
+            ticker.start();
+            logger.debug("Timing wheel started: {} buckets, {}ms tick",
+                    wheel.length, TimeUnit.NANOSECONDS.toMillis(tickNanos));
+        }
+    }
+
+    /**
+     * Stops the ticker and cancels every outstanding task.
+     * Batches already handed to the dispatcher are not interrupted.
+     */
+    public void stop() {
+        stopped = true;
+        running = false;
+        if (!started.get()) {
+            return;
+        }
+        ticker.interrupt();
+        try {
+            ticker.join(TimeUnit.NANOSECONDS.toMillis(tickNanos) * 10 + 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Bucket bucket : wheel) {
+            bucket.cancelAll();
+        }
+        WheelTimeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            timeout.cancel(false);
+        }
+        cancelledTimeouts.clear();
+    }
+
+    /**
+     * Returns the number of tasks that are scheduled and not cancelled or done.
+     */
+    public int getActiveCount() {
+        return activeTimeouts.get();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runTicker() {
+        List<WheelTimeout> batch = new ArrayList<>();
+        List<WheelTimeout> rescheduled = new ArrayList<>();
+
+        while (running) {
+            if (!awaitNextTick()) {
+                break;
+            }
+            processCancelled();
+            transferPending();
+
+            Bucket bucket = wheel[(int) (tick & mask)];
+            bucket.expire(batch, rescheduled);
+            for (WheelTimeout timeout : rescheduled) {
+                timeout.deadline += timeout.periodNanos;
+                // A period shorter than the tick must not land back in the bucket just expired
+                place(timeout, tick + 1);
+            }
+            rescheduled.clear();
+
+            if (!batch.isEmpty()) {
+                dispatch(batch.toArray(new WheelTimeout[0]));
+                batch.clear();
+            }
+            tick++;
+        }
+    }
+
+    /**
+     * Sleeps until the end of the current tick.
+     *
+     * @return false if the ticker was interrupted
+     */
+    private boolean awaitNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long sleepNanos = deadline - (System.nanoTime() - startNanos);
+            if (sleepNanos <= 0) {
+                return true;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException e) {
+                return false;
+            }
+        }
+    }
+
+    private void processCancelled() {
+        WheelTimeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferPending() {
+        WheelTimeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.state.get() == STATE_ACTIVE) {
+                place(timeout, tick);
+            }
+        }
+    }
+
+    /**
+     * Places a timeout in its bucket. earliestTick is the first tick whose
+     * bucket has not been expired yet, so rounds are counted from it: a
+     * periodic task re-placed after the current bucket expired would
+     * otherwise fire a rotation late whenever its period is a multiple
+     * of the wheel span.
+     */
+    private void place(WheelTimeout timeout, long earliestTick) {
+        long expiryTick = Math.max(timeout.deadline / tickNanos, earliestTick);
+        timeout.remainingRounds = (expiryTick - earliestTick) / wheel.length;
+        wheel[(int) (expiryTick & mask)].add(timeout);
+    }
+
+    private void dispatch(WheelTimeout[] expired) {
+        Runnable batch = () -> {
+            for (WheelTimeout timeout : expired) {
+                timeout.execute();
+            }
+        };
+        try {
+            if (dispatcher != null) {
+                dispatcher.execute(batch);
+            } else {
+                batch.run();
+            }
+        } catch (RejectedExecutionException e) {
+            logger.debug("Dispatcher rejected batch of {} tasks", expired.length);
+        }
+    }
+
+    /**
+     * Doubly-linked list of timeouts; only touched by the ticker thread.
+     */
+    private final class Bucket {
+        private WheelTimeout head;
+        private WheelTimeout tail;
+
+        void add(WheelTimeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(WheelTimeout timeout) {
+            WheelTimeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        void expire(List<WheelTimeout> batch, List<WheelTimeout> rescheduled) {
+            WheelTimeout timeout = head;
+            while (timeout != null) {
+                WheelTimeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.state.get() == STATE_ACTIVE) {
+                        batch.add(timeout);
+                        if (timeout.periodNanos > 0) {
+                            rescheduled.add(timeout);
+                        }
+                    }
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void cancelAll() {
+            WheelTimeout timeout = head;
+            while (timeout != null) {
+                WheelTimeout next = timeout.next;
+                timeout.cancel(false);
+                timeout = next;
+            }
+            head = tail = null;
+        }
+    }
+
+    /**
+     * Handle for a scheduled task. Implements ScheduledFuture so callers can
+     * treat it exactly like a future from ScheduledExecutorService.
+     */
+    private final class WheelTimeout implements ScheduledFuture<Object> {
+        private final Runnable task;
+        private final long periodNanos;
+        private final AtomicInteger state = new AtomicInteger(STATE_ACTIVE);
+        private final AtomicBoolean executing = new AtomicBoolean();
+        private final CountDownLatch completion = new CountDownLatch(1);
+
+        // Nanoseconds since wheel start; written by the ticker thread only
+        private volatile long deadline;
+        private long remainingRounds;
+        private Bucket bucket;
+        private WheelTimeout prev;
+        private WheelTimeout next;
+
+        WheelTimeout(Runnable task, long deadline, long periodNanos) {
+            this.task = task;
+            this.deadline = deadline;
+            this.periodNanos = periodNanos;
+        }
+
+        void execute() {
+            if (state.get() != STATE_ACTIVE || !executing.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Exception e) {
+                logger.error("Error in wheel task", e);
+            } finally {
+                executing.set(false);
+            }
+            if (periodNanos == 0 && state.compareAndSet(STATE_ACTIVE, STATE_DONE)) {
+                activeTimeouts.decrementAndGet();
+                completion.countDown();
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (!state.compareAndSet(STATE_ACTIVE, STATE_CANCELLED)) {
+                return false;
+            }
+            activeTimeouts.decrementAndGet();
+            cancelledTimeouts.add(this);
+            completion.countDown();
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state.get() == STATE_CANCELLED;
+        }
+
+        @Override
+        public boolean isDone() {
+            return state.get() != STATE_ACTIVE;
+        }
+
+        @Override
+        public Object get() throws InterruptedException {
+            completion.await();
+            return result();
+        }
+
+        @Override
+        public Object get(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+            if (!completion.await(timeout, unit)) {
+                throw new TimeoutException();
+            }
+            return result();
+        }
+
+        private Object result() {
+            if (isCancelled()) {
+                throw new CancellationException();
+            }
+            return null;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(startNanos + deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.portfolio.monitor.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Arithmetic over series values, compiled once into a tree of closures.
+ *
+ * Grammar: numbers, series names, + - * /, unary minus and parentheses,
+ * e.g. {@code 100 * disk.*.read_bytes_per_sec / (disk.*.read_bytes_per_sec + disk.*.write_bytes_per_sec)}.
+ * A series name starts with a letter and may contain letters, digits,
+ * '_' and '.'; a '*' between two dots is a wildcard segment, not a
+ * multiplication. Each distinct name becomes an input slot, so evaluation
+ * is a walk over pre-built lambdas reading a double[] with no parsing,
+ * lookups or boxing.
+ *
+ * Key Concepts:
+ * - Recursive-descent parser run once at declaration time
+ * - Closures over slot indexes instead of an interpreted AST
+ */
+public final class MetricExpression {
+
+    @FunctionalInterface
+    private interface Node {
+        double eval(double[] inputs);
+    }
+
+    private final String source;
+    private final List<String> references;
+    private final Node root;
+
+    private MetricExpression(String source, List<String> references, Node root) {
+        this.source = source;
+        this.references = Collections.unmodifiableList(references);
+        this.root = root;
+    }
+
+    /**
+     * Parses and compiles an expression.
+     *
+     * @throws IllegalArgumentException on a syntax error
+     */
+    public static MetricExpression compile(String expression) {
+        Parser parser = new Parser(expression);
+        Node root = parser.parseSum();
+        parser.skipSpaces();
+        if (parser.pos < expression.length()) {
+            throw parser.error("unexpected '" + expression.charAt(parser.pos) + "'");
+        }
+        return new MetricExpression(expression, parser.references, root);
+    }
+
+    /**
+     * Evaluates with inputs[i] holding the value of references().get(i).
+     * Division by zero yields an infinity or NaN, as in Java arithmetic.
+     */
+    public double evaluate(double[] inputs) {
+        return root.eval(inputs);
+    }
+
+    /**
+     * Distinct series names in order of first appearance; may contain '*'.
+     */
+    public List<String> references() {
+        return references;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    private static final class Parser {
+
+        private final String text;
+        private final List<String> references = new ArrayList<>();
+        private int pos;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        // sum := product (('+' | '-') product)*
+        Node parseSum() {
+            Node left = parseProduct();
+            while (true) {
+                skipSpaces();
+                if (accept('+')) {
+                    Node l = left;
+                    Node r = parseProduct();
+                    left = in -> l.eval(in) + r.eval(in);
+                } else if (accept('-')) {
+                    Node l = left;
+                    Node r = parseProduct();
+                    left = in -> l.eval(in) - r.eval(in);
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        // product := unary (('*' | '/') unary)*
+        Node parseProduct() {
+            Node left = parseUnary();
+            while (true) {
+                skipSpaces();
+                if (accept('*')) {
+                    Node l = left;
+                    Node r = parseUnary();
+                    left = in -> l.eval(in) * r.eval(in);
+                } else if (accept('/')) {
+                    Node l = left;
+                    Node r = parseUnary();
+                    left = in -> l.eval(in) / r.eval(in);
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        // unary := '-' unary | primary
+        Node parseUnary() {
+            skipSpaces();
+            if (accept('-')) {
+                Node operand = parseUnary();
+                return in -> -operand.eval(in);
+            }
+            return parsePrimary();
+        }
+
+        // primary := number | name | '(' sum ')'
+        Node parsePrimary() {
+            skipSpaces();
+            if (accept('(')) {
+                Node inner = parseSum();
+                skipSpaces();
+                if (!accept(')')) {
+                    throw error("expected ')'");
+                }
+                return inner;
+            }
+            if (pos < text.length() && (Character.isDigit(text.charAt(pos)) || text.charAt(pos) == '.')) {
+                int start = pos;
+                while (pos < text.length() && (Character.isDigit(text.charAt(pos)) || text.charAt(pos) == '.'
+                        || text.charAt(pos) == 'e' || text.charAt(pos) == 'E')) {
+                    char c = text.charAt(pos++);
+                    // The exponent may carry a sign: 1e-3, 2.5E+6
+                    if ((c == 'e' || c == 'E') && pos < text.length()
+                            && (text.charAt(pos) == '-' || text.charAt(pos) == '+')) {
+                        pos++;
+                    }
+                }
+                double value;
+                try {
+                    value = Double.parseDouble(text.substring(start, pos));
+                } catch (NumberFormatException e) {
+                    throw error("bad number '" + text.substring(start, pos) + "'");
+                }
+                return in -> value;
+            }
+            if (pos < text.length() && Character.isLetter(text.charAt(pos))) {
+                String name = parseName();
+                int slot = references.indexOf(name);
+                if (slot < 0) {
+                    slot = references.size();
+                    references.add(name);
+                }
+                int index = slot;
+                return in -> in[index];
+            }
+            throw error(pos < text.length() ? "unexpected '" + text.charAt(pos) + "'" : "unexpected end");
+        }
+
+        String parseName() {
+            int start = pos;
+            while (pos < text.length()) {
+                char c = text.charAt(pos);
+                boolean wildcard = c == '*' && text.charAt(pos - 1) == '.'
+                        && pos + 1 < text.length() && text.charAt(pos + 1) == '.';
+                if (Character.isLetterOrDigit(c) || c == '_' || c == '.' || wildcard) {
+                    pos++;
+                } else {
+                    break;
+                }
+            }
+            return text.substring(start, pos);
+        }
+
+        boolean accept(char c) {
+            if (pos < text.length() && text.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        void skipSpaces() {
+            while (pos < text.length() && text.charAt(pos) == ' ') {
+                pos++;
+            }
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Bad expression '" + text + "' at " + pos + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.portfolio.monitor.core;
+
+/**
+ * Fixed-capacity, time-ordered ring of (timestamp, value) samples.
+ * Samples live in two primitive arrays, so a series costs 16 bytes per
+ * retained sample and appending never allocates.
+ *
+ * Key Concurrency Concepts:
+ * - Intrinsic locking: one writer (the collector) and any number of
+ *   readers; critical sections are a handful of array accesses
+ * - Timestamps are non-decreasing, so readers can binary-search them
+ */
+public class MetricSeries {
+
+    private final String name;
+    private final int capacity;
+    private final long[] timestamps;
+    private final double[] values;
+
+    private int head;   // index of the next write
+    private int size;
+
+    public MetricSeries(String name, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.timestamps = new long[capacity];
+        this.values = new double[capacity];
+    }
+
+    /**
+     * Appends a sample, overwriting the oldest once full.
+     * Samples older than the latest one are dropped to keep the series ordered.
+     *
+     * @return false if the sample was out of order and dropped
+     */
+    public synchronized boolean add(long timestampMillis, double value) {
+        if (size > 0 && timestampMillis < timestamps[physical(size - 1)]) {
+            return false;
+        }
+        timestamps[head] = timestampMillis;
+        values[head] = value;
+        head = (head + 1) % capacity;
+        if (size < capacity) {
+            size++;
+        }
+        return true;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns the most recent value, or NaN if the series is empty.
+     */
+    public synchronized double latestValue() {
+        return size == 0 ? Double.NaN : values[physical(size - 1)];
+    }
+
+    /**
+     * Returns the most recent timestamp, or -1 if the series is empty.
+     */
+    public synchronized long latestTimestamp() {
+        return size == 0 ? -1 : timestamps[physical(size - 1)];
+    }
+
+    /**
+     * Returns a copy of the retained timestamps, oldest first.
+     */
+    public synchronized long[] timestamps() {
+        long[] result = new long[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = timestamps[physical(i)];
+        }
+        return result;
+    }
+
+    /**
+     * Returns a copy of the retained values, oldest first.
+     */
+    public synchronized double[] values() {
+        double[] result = new double[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = values[physical(i)];
+        }
+        return result;
+    }
+
+    // Unsynchronized accessors for MetricsQuery and DerivedMetrics, which
+    // hold this series' monitor so they can read without copying.
+
+    /**
+     * Returns the first logical index whose timestamp is >= timestampMillis,
+     * or size if there is none. Caller must hold the monitor.
+     */
+    int lowerBound(long timestampMillis) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (timestamps[physical(mid)] < timestampMillis) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    long timestampAt(int logicalIndex) {
+        return timestamps[physical(logicalIndex)];
+    }
+
+    double valueAt(int logicalIndex) {
+        return values[physical(logicalIndex)];
+    }
+
+    int sizeUnlocked() {
+        return size;
+    }
+
+    public synchronized void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Maps a logical index (0 = oldest) to an array slot.
+     */
+    private int physical(int logicalIndex) {
+        int index = head - size + logicalIndex;
+        return index < 0 ? index + capacity : index;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,229 @@
+package com.portfolio.monitor.core;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Time-range queries over the named series in a SharedMetricsStore.
+ *
+ * A query selects the samples in [from, to) of one series and, optionally,
+ * aggregates them into fixed-width buckets of {@code step} milliseconds.
+ * Both ends of the range are located by binary search, and the scan runs
+ * while holding the series' own monitor, so nothing but the result arrays
+ * is allocated (plus a bucket-sized scratch array for percentiles).
+ *
+ * Aggregations are capped at MAX_BUCKETS. A range reaching back before the
+ * oldest retained sample is first moved forward by whole steps, so asking
+ * for "everything since 1970" costs no more than the retained window.
+ *
+ * Key Concepts:
+ * - Binary search over a time-ordered ring buffer
+ * - Short critical sections on a single series, never on the whole store
+ * - Results as parallel primitive arrays
+ */
+public class MetricsQuery {
+
+    /**
+     * Bucket aggregation functions.
+     */
+    public enum Aggregation {
+        AVG, MIN, MAX,
+        /** Per-second change between the first and last sample of a bucket. */
+        RATE,
+        /** Nearest-rank percentile; the rank is passed separately. */
+        PERCENTILE;
+
+        /**
+         * Parses "avg", "min", "max", "rate" or "pNN" (e.g. "p95", "p99.9").
+         */
+        public static Aggregation parse(String name) {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (lower.startsWith("p") && lower.length() > 1 && Character.isDigit(lower.charAt(1))) {
+                return PERCENTILE;
+            }
+            return valueOf(lower.toUpperCase(Locale.ROOT));
+        }
+
+        /**
+         * Extracts the rank from a "pNN" name, or NaN for other functions.
+         */
+        public static double parsePercentile(String name) {
+            return parse(name) == PERCENTILE ? Double.parseDouble(name.substring(1)) : Double.NaN;
+        }
+    }
+
+    /**
+     * Query result as parallel arrays. For aggregated queries each timestamp
+     * is the start of a bucket and empty buckets hold NaN.
+     */
+    public record Result(String series, long[] timestamps, double[] values) {
+
+        public static final Result EMPTY = new Result("", new long[0], new double[0]);
+
+        public int size() {
+            return timestamps.length;
+        }
+    }
+
+    /** Most buckets one aggregation may return. */
+    public static final int MAX_BUCKETS = 10_000;
+
+    private final SharedMetricsStore metricsStore;
+
+    public MetricsQuery(SharedMetricsStore metricsStore) {
+        this.metricsStore = metricsStore;
+    }
+
+    /**
+     * Returns the raw samples of a series in [from, to).
+     */
+    public Result range(String name, long from, long to) {
+        MetricSeries series = metricsStore.getSeries(name);
+        if (series == null || to <= from) {
+            return new Result(name, new long[0], new double[0]);
+        }
+        synchronized (series) {
+            int start = series.lowerBound(from);
+            int end = series.lowerBound(to);
+            long[] timestamps = new long[end - start];
+            double[] values = new double[end - start];
+            for (int i = start; i < end; i++) {
+                timestamps[i - start] = series.timestampAt(i);
+                values[i - start] = series.valueAt(i);
+            }
+            return new Result(name, timestamps, values);
+        }
+    }
+
+    /**
+     * Aggregates a series over [from, to) in buckets of step milliseconds.
+     * A step of 0 or less aggregates the whole range into one bucket.
+     *
+     * @throws IllegalArgumentException if the range needs more than MAX_BUCKETS
+     */
+    public Result aggregate(String name, long from, long to, long step, Aggregation aggregation) {
+        if (aggregation == Aggregation.PERCENTILE) {
+            throw new IllegalArgumentException("Use percentile() for percentile aggregation");
+        }
+        return query(name, from, to, step, aggregation, Double.NaN);
+    }
+
+    /**
+     * Computes the nearest-rank percentile (0-100) per bucket over [from, to).
+     */
+    public Result percentile(String name, long from, long to, long step, double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("percentile must be in [0, 100]: " + percentile);
+        }
+        return query(name, from, to, step, Aggregation.PERCENTILE, percentile);
+    }
+
+    private Result query(String name, long from, long to, long step, Aggregation aggregation, double percentile) {
+        if (to <= from) {
+            return new Result(name, new long[0], new double[0]);
+        }
+        MetricSeries series = metricsStore.getSeries(name);
+        if (series == null) {
+            return emptyBuckets(name, from, to, step);
+        }
+        synchronized (series) {
+            long beforeOldest = series.size() > 0 ? series.timestampAt(0) - from : 0;
+            if (step > 0 && beforeOldest > 0) {
+                // Skip the whole buckets before the oldest sample; they would all be NaN
+                from += beforeOldest / step * step;
+            }
+            Result result = emptyBuckets(name, from, to, step);
+            long[] timestamps = result.timestamps();
+            double[] values = result.values();
+            long width = step > 0 ? step : to - from;
+            int index = series.lowerBound(from);
+            int end = series.lowerBound(to);
+            double[] scratch = null;
+            for (int b = 0; b < timestamps.length && index < end; b++) {
+                long bucketEnd = Math.min(to, timestamps[b] + width);
+                int bucketStart = index;
+                // Buckets are usually small, so scan forward instead of searching again
+                while (index < end && series.timestampAt(index) < bucketEnd) {
+                    index++;
+                }
+                if (index == bucketStart) {
+                    continue;
+                }
+                if (aggregation == Aggregation.PERCENTILE) {
+                    if (scratch == null || scratch.length < index - bucketStart) {
+                        scratch = new double[index - bucketStart];
+                    }
+                    values[b] = percentile(series, bucketStart, index, percentile, scratch);
+                } else {
+                    values[b] = reduce(series, bucketStart, index, aggregation);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Allocates the buckets of step milliseconds covering [from, to), or a
+     * single bucket for a step of 0 or less, all NaN.
+     */
+    private static Result emptyBuckets(String name, long from, long to, long step) {
+        long span = to - from;      // negative on overflow
+        long buckets = step <= 0 ? 1 : span < 0 ? Long.MAX_VALUE : (span - 1) / step + 1;
+        if (buckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException("step " + step + " over [" + from + ", " + to
+                    + ") needs more than " + MAX_BUCKETS + " buckets");
+        }
+        long[] timestamps = new long[(int) buckets];
+        double[] values = new double[(int) buckets];
+        for (int b = 0; b < timestamps.length; b++) {
+            timestamps[b] = from + b * step;
+        }
+        Arrays.fill(values, Double.NaN);
+        return new Result(name, timestamps, values);
+    }
+
+    private static double reduce(MetricSeries series, int start, int end, Aggregation aggregation) {
+        switch (aggregation) {
+            case AVG: {
+                double sum = 0;
+                for (int i = start; i < end; i++) {
+                    sum += series.valueAt(i);
+                }
+                return sum / (end - start);
+            }
+            case MIN: {
+                double min = Double.POSITIVE_INFINITY;
+                for (int i = start; i < end; i++) {
+                    min = Math.min(min, series.valueAt(i));
+                }
+                return min;
+            }
+            case MAX: {
+                double max = Double.NEGATIVE_INFINITY;
+                for (int i = start; i < end; i++) {
+                    max = Math.max(max, series.valueAt(i));
+                }
+                return max;
+            }
+            case RATE: {
+                long elapsed = series.timestampAt(end - 1) - series.timestampAt(start);
+                if (elapsed <= 0) {
+                    return Double.NaN;
+                }
+                return (series.valueAt(end - 1) - series.valueAt(start)) * 1000.0 / elapsed;
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported aggregation: " + aggregation);
+        }
+    }
+
+    private static double percentile(MetricSeries series, int start, int end, double percentile, double[] scratch) {
+        int n = end - start;
+        for (int i = 0; i < n; i++) {
+            scratch[i] = series.valueAt(start + i);
+        }
+        Arrays.sort(scratch, 0, n);
+        int rank = (int) Math.ceil(percentile / 100.0 * n);
+        return scratch[Math.max(0, rank - 1)];
+    }
+}
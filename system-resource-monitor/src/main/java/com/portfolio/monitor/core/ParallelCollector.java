@@ -0,0 +1,438 @@
+package com.portfolio.monitor.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * One collection tick that fans every collector out onto the worker pool
+ * and waits for them up to a deadline, so a tick takes as long as its
+ * slowest collector rather than the sum of all of them.
+ *
+ * A collector still running at the deadline is marked stale and left to
+ * finish in the background; its samples land in the store whenever it
+ * completes, with the timestamps it took. It is not started again until
+ * it has finished, so a hung collector occupies at most one worker.
+ *
+ * Per collector and tick it records:
+ * - collector.<name>.duration_ms: run time, recorded when the run ends
+ * - collector.<name>.stale: 1 if the collector missed this tick's deadline
+ *   (or was still busy from an earlier tick), 0 otherwise
+ * and per tick collector.tick_ms, the wall time until all collectors
+ * finished or the deadline passed.
+ *
+ * With an overhead budget (a share of one core), each run's thread CPU
+ * time is also recorded as collector.<name>.cpu_ms and the monitor keeps
+ * its own collection cost under the budget. While the projected cost
+ * (each collector's smoothed CPU per run divided by how often it runs)
+ * exceeds the budget, the collector contributing most has its stride
+ * doubled, so it runs only every 2nd, 4th, ... tick, up to MAX_STRIDE.
+ * Strides are halved again, cheapest contribution first, once that keeps
+ * the projection under 80% of the budget. Per tick it records
+ * collector.<name>.stride, collector.throttled (collectors with a stride
+ * above 1) and collector.overhead_pct (CPU spent by collectors since the
+ * previous tick, in percent of one core).
+ *
+ * The budget covers the whole process, not just the collectors: the CPU
+ * the process used since the previous tick is read as well and recorded
+ * as collector.process_overhead_pct, and whatever of it the collectors do
+ * not account for (schedulers, samplers, JFR streaming, GC and JIT) is
+ * smoothed and taken off the collectors' share before re-balancing. The
+ * collectors always keep MIN_COLLECTOR_SHARE of the budget, since
+ * stretching them cannot reduce CPU they did not spend; beyond that the
+ * background cost is only logged.
+ *
+ * Key Concurrency Concepts:
+ * - CountDownLatch per tick with a timed await
+ * - Volatile busy flag per collector instead of cancelling late work
+ * - Per-thread CPU time from ThreadMXBean, published through volatile counters
+ */
+public class ParallelCollector implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelCollector.class);
+
+    private final ThreadPoolManager threadPool;
+    private final SharedMetricsStore metricsStore;
+    private final long deadlineMillis;
+    private final List<Collector> collectors = new ArrayList<>();
+
+    /** Longest a throttled collector is stretched, in ticks. */
+    static final int MAX_STRIDE = 8;
+    // Strides are relaxed only while the projection stays below this share of the budget
+    private static final double RELAX_FRACTION = 0.8;
+    // Weight of the newest run in the smoothed CPU cost per run
+    private static final double COST_ALPHA = 0.3;
+    /** Share of the budget the collectors keep however busy the rest of the process is. */
+    static final double MIN_COLLECTOR_SHARE = 0.5;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean THREAD_CPU_TIME = enableThreadCpuTime();
+
+    private double budgetFraction;      // of one core; 0 = no budget
+    private long lastTickNanos;
+    private double tickPeriodNanos;
+
+    private LongSupplier processCpu = ParallelCollector::processCpuNanos;
+    private long lastProcessCpuNanos = -1;
+    private double backgroundNanos;     // smoothed process CPU per tick outside the collectors
+    private boolean backgroundOverBudget;
+
+    private static final class Collector {
+        final String name;
+        final Runnable task;
+        final String durationSeries;
+        final String staleSeries;
+        final String cpuSeries;
+        final String strideSeries;
+        volatile boolean running;
+
+        // Written by the worker that ran the collector last
+        volatile long cpuNanos;
+        volatile long runs;
+
+        // Owned by the ticking thread
+        long accountedCpuNanos;
+        long accountedRuns;
+        double costPerRun = -1;         // smoothed CPU nanoseconds per run; -1 until measured
+        int stride = 1;
+        int countdown;
+
+        Collector(String name, Runnable task) {
+            this.name = name;
+            this.task = task;
+            this.durationSeries = "collector." + name + ".duration_ms";
+            this.staleSeries = "collector." + name + ".stale";
+            this.cpuSeries = "collector." + name + ".cpu_ms";
+            this.strideSeries = "collector." + name + ".stride";
+        }
+
+        double contribution() {
+            return costPerRun < 0 ? 0 : costPerRun / stride;
+        }
+    }
+
+    /**
+     * @param deadlineMillis How long a tick waits for its collectors
+     */
+    public ParallelCollector(ThreadPoolManager threadPool, SharedMetricsStore metricsStore, long deadlineMillis) {
+        if (deadlineMillis <= 0) {
+            throw new IllegalArgumentException("deadline must be positive: " + deadlineMillis);
+        }
+        this.threadPool = threadPool;
+        this.metricsStore = metricsStore;
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    /**
+     * Adds a collector; call before the first tick.
+     *
+     * @param name Series-safe name, e.g. "cpu"
+     */
+    public ParallelCollector add(String name, Runnable collector) {
+        collectors.add(new Collector(name, collector));
+        return this;
+    }
+
+    /**
+     * Caps the CPU time collectors may use, e.g. 0.5 for half a percent of
+     * one core; 0 removes the cap. Call before the first tick.
+     */
+    public ParallelCollector overheadBudget(double percentOfCore) {
+        if (percentOfCore < 0) {
+            throw new IllegalArgumentException("budget must not be negative: " + percentOfCore);
+        }
+        this.budgetFraction = percentOfCore / 100;
+        return this;
+    }
+
+    /**
+     * Replaces the process CPU clock (nanoseconds, negative when unknown).
+     */
+    ParallelCollector processCpu(LongSupplier processCpu) {
+        this.processCpu = processCpu;
+        return this;
+    }
+
+    /**
+     * Runs one tick: starts every idle collector that is due and waits until
+     * all have finished or the deadline has passed.
+     *
+     * @return the number of collectors that missed the deadline
+     */
+    public int collect() {
+        return collect(System.nanoTime());
+    }
+
+    /**
+     * Runs one tick scheduled at tickNanos (System.nanoTime() scale); the
+     * budget is measured against the time between ticks.
+     */
+    int collect(long tickNanos) {
+        long timestamp = System.currentTimeMillis();
+        long start = System.nanoTime();
+        if (budgetFraction > 0) {
+            applyBudget(tickNanos, timestamp);
+        }
+        CountDownLatch done = new CountDownLatch(collectors.size());
+
+        for (Collector collector : collectors) {
+            if (collector.countdown > 0) {
+                // Throttled: sits this tick out
+                collector.countdown--;
+                done.countDown();
+                continue;
+            }
+            collector.countdown = collector.stride - 1;
+            if (collector.running) {
+                // Still busy from an earlier tick: do not pile up a second run
+                done.countDown();
+                continue;
+            }
+            collector.running = true;
+            try {
+                threadPool.submit(() -> runCollector(collector, done));
+            } catch (RejectedExecutionException e) {
+                collector.running = false;
+                done.countDown();
+            }
+        }
+
+        try {
+            done.await(deadlineMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        int stale = 0;
+        for (Collector collector : collectors) {
+            boolean late = collector.running;
+            if (late) {
+                stale++;
+                logger.warn("Collector {} missed the {} ms deadline; its results will be stale",
+                        collector.name, deadlineMillis);
+            }
+            metricsStore.recordSeries(collector.staleSeries, timestamp, late ? 1 : 0);
+        }
+        metricsStore.recordSeries("collector.tick_ms", timestamp, (System.nanoTime() - start) / 1e6);
+        return stale;
+    }
+
+    @Override
+    public void run() {
+        collect();
+    }
+
+    private void runCollector(Collector collector, CountDownLatch done) {
+        long start = System.nanoTime();
+        long cpuStart = threadCpuNanos(start);
+        try {
+            collector.task.run();
+        } catch (Exception e) {
+            logger.error("Error in collector {}", collector.name, e);
+        } finally {
+            long end = System.nanoTime();
+            long cpu = threadCpuNanos(end) - cpuStart;
+            collector.cpuNanos += cpu;
+            collector.runs++;
+            collector.running = false;
+            done.countDown();
+            long timestamp = System.currentTimeMillis();
+            metricsStore.recordSeries(collector.durationSeries, timestamp, (end - start) / 1e6);
+            if (budgetFraction > 0) {
+                metricsStore.recordSeries(collector.cpuSeries, timestamp, cpu / 1e6);
+            }
+        }
+    }
+
+    /**
+     * Accounts the CPU used since the previous tick, updates each
+     * collector's cost per run and re-balances the strides.
+     */
+    private void applyBudget(long tickNanos, long timestamp) {
+        if (lastTickNanos != 0 && tickNanos > lastTickNanos) {
+            long period = tickNanos - lastTickNanos;
+            tickPeriodNanos = tickPeriodNanos == 0 ? period : 0.7 * tickPeriodNanos + 0.3 * period;
+
+            long spent = 0;
+            for (Collector collector : collectors) {
+                // runs is read first: its worker updates cpuNanos before runs
+                long runs = collector.runs;
+                long cpu = collector.cpuNanos;
+                long newRuns = runs - collector.accountedRuns;
+                long newCpu = cpu - collector.accountedCpuNanos;
+                if (newRuns > 0) {
+                    // The first run pays for class loading and JIT warm-up; it does not set the cost
+                    if (collector.accountedRuns > 0 || newRuns > 1) {
+                        double perRun = newCpu / (double) newRuns;
+                        collector.costPerRun = collector.costPerRun < 0
+                                ? perRun
+                                : COST_ALPHA * perRun + (1 - COST_ALPHA) * collector.costPerRun;
+                    }
+                    collector.accountedRuns = runs;
+                    collector.accountedCpuNanos = cpu;
+                    spent += newCpu;
+                }
+            }
+            metricsStore.recordSeries("collector.overhead_pct", timestamp, spent * 100.0 / period);
+
+            double budgetNanos = budgetFraction * tickPeriodNanos;
+            accountBackground(spent, period, budgetNanos, timestamp);
+            rebalance(Math.max(MIN_COLLECTOR_SHARE * budgetNanos, budgetNanos - backgroundNanos));
+        }
+        lastTickNanos = tickNanos;
+
+        int throttled = 0;
+        for (Collector collector : collectors) {
+            metricsStore.recordSeries(collector.strideSeries, timestamp, collector.stride);
+            if (collector.stride > 1) {
+                throttled++;
+            }
+        }
+        metricsStore.recordSeries("collector.throttled", timestamp, throttled);
+    }
+
+    /**
+     * Reads the process CPU clock and smooths the part of the CPU used
+     * since the previous tick that the collectors did not spend. The first
+     * period pays for start-up and is not counted.
+     */
+    private void accountBackground(long spent, long period, double budgetNanos, long timestamp) {
+        long processNanos = processCpu.getAsLong();
+        if (processNanos < 0) {
+            return;
+        }
+        if (lastProcessCpuNanos >= 0 && processNanos >= lastProcessCpuNanos) {
+            long processSpent = processNanos - lastProcessCpuNanos;
+            metricsStore.recordSeries("collector.process_overhead_pct", timestamp, processSpent * 100.0 / period);
+            long outside = Math.max(0, processSpent - spent);
+            backgroundNanos = COST_ALPHA * outside + (1 - COST_ALPHA) * backgroundNanos;
+
+            // Collectors are down to their minimum share: the process as a whole is over budget
+            boolean overBudget = backgroundNanos > (1 - MIN_COLLECTOR_SHARE) * budgetNanos;
+            if (overBudget && !backgroundOverBudget) {
+                logger.warn("Overhead budget: {} ms CPU per tick outside the collectors leaves them only {} ms"
+                                + " of the {} ms budget; raise monitor.overheadBudgetPct",
+                        String.format("%.1f", backgroundNanos / 1e6),
+                        String.format("%.1f", MIN_COLLECTOR_SHARE * budgetNanos / 1e6),
+                        String.format("%.1f", budgetNanos / 1e6));
+            }
+            backgroundOverBudget = overBudget;
+        }
+        lastProcessCpuNanos = processNanos;
+    }
+
+    /**
+     * Stretches the most expensive collectors until the projected CPU per
+     * tick fits the budget, or relaxes the cheapest throttled ones while it
+     * stays well under it.
+     */
+    private void rebalance(double budgetNanos) {
+        double projected = 0;
+        for (Collector collector : collectors) {
+            projected += collector.contribution();
+        }
+
+        boolean throttledNow = false;
+        while (projected > budgetNanos) {
+            Collector costliest = null;
+            for (Collector collector : collectors) {
+                if (collector.stride < MAX_STRIDE
+                        && (costliest == null || collector.contribution() > costliest.contribution())) {
+                    costliest = collector;
+                }
+            }
+            if (costliest == null || costliest.contribution() == 0) {
+                break;
+            }
+            projected -= costliest.contribution() / 2;
+            costliest.stride *= 2;
+            throttledNow = true;
+            logger.info("Overhead budget: collector {} now runs every {} ticks ({} ms CPU per run)",
+                    costliest.name, costliest.stride, String.format("%.1f", costliest.costPerRun / 1e6));
+        }
+        if (throttledNow) {
+            return;
+        }
+
+        while (true) {
+            Collector cheapest = null;
+            for (Collector collector : collectors) {
+                if (collector.stride > 1
+                        && (cheapest == null || collector.contribution() < cheapest.contribution())) {
+                    cheapest = collector;
+                }
+            }
+            // Halving the stride doubles the contribution
+            if (cheapest == null || projected + cheapest.contribution() > RELAX_FRACTION * budgetNanos) {
+                return;
+            }
+            projected += cheapest.contribution();
+            cheapest.stride /= 2;
+            cheapest.countdown = Math.min(cheapest.countdown, cheapest.stride - 1);
+            logger.info("Overhead budget: collector {} now runs every {} ticks",
+                    cheapest.name, cheapest.stride);
+        }
+    }
+
+    /**
+     * CPU time of the current thread, or the given wall-clock time where
+     * the JVM cannot measure it (an upper bound of the CPU time).
+     */
+    private static long threadCpuNanos(long wallNanos) {
+        if (THREAD_CPU_TIME) {
+            long cpu = THREADS.getCurrentThreadCpuTime();
+            if (cpu >= 0) {
+                return cpu;
+            }
+        }
+        return wallNanos;
+    }
+
+    /**
+     * Total CPU time of this process, or -1 where the platform does not
+     * report it.
+     */
+    private static long processCpuNanos() {
+        return ProcessHandle.current().info().totalCpuDuration().map(Duration::toNanos).orElse(-1L);
+    }
+
+    private static boolean enableThreadCpuTime() {
+        try {
+            if (!THREADS.isCurrentThreadCpuTimeSupported()) {
+                return false;
+            }
+            if (!THREADS.isThreadCpuTimeEnabled()) {
+                THREADS.setThreadCpuTimeEnabled(true);
+            }
+            return true;
+        } catch (UnsupportedOperationException | SecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns how many ticks a collector currently waits between runs
+     * (1 when it is not throttled).
+     */
+    public int getStride(String name) {
+        for (Collector collector : collectors) {
+            if (collector.name.equals(name)) {
+                return collector.stride;
+            }
+        }
+        throw new IllegalArgumentException("Unknown collector: " + name);
+    }
+
+    public long getDeadlineMillis() {
+        return deadlineMillis;
+    }
+}
@@ -0,0 +1,404 @@
+package com.portfolio.monitor.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Process start and exit events derived by diffing the (PID, start time)
+ * sets of consecutive process ticks, fed by the process collector.
+ *
+ * A process in this tick's set but not the previous one started; one in
+ * the previous set but not this one exited. Matching on start time as well
+ * as PID catches a PID reused between ticks as an exit plus a start. Both
+ * sets are open-addressing tables of primitive PIDs and start times, so a
+ * tick costs O(processes) with no boxing, and the two tables are swapped
+ * rather than reallocated.
+ *
+ * A restart is a start of a command line that exited within the window.
+ * When a command restarts threshold times within the window it is flagged
+ * as a restart loop (a crash-looping daemon), once, until it calms down.
+ *
+ * Events go to listeners (on the collector thread) and to a bounded
+ * history. Per tick the store gets process.started, process.exited,
+ * process.churn_per_sec and process.restart_loops.
+ *
+ * Processes that start and exit between two ticks are not seen.
+ *
+ * Key Concepts:
+ * - Linear-time set difference over primitive hash tables
+ * - Process identity as (PID, start time), robust to PID reuse
+ */
+public class ProcessLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessLifecycle.class);
+
+    public static final int DEFAULT_HISTORY = 1024;
+    public static final int DEFAULT_RESTART_THRESHOLD = 5;
+    public static final long DEFAULT_RESTART_WINDOW_MS = 300_000;
+    private static final int MAX_COMMAND_LENGTH = 256;
+
+    public enum Type {
+        START, EXIT, RESTART_LOOP
+    }
+
+    /**
+     * One lifecycle event. For RESTART_LOOP, pid and startTime are those of
+     * the latest incarnation and restarts counts the restarts in the window;
+     * it is 0 for the other types.
+     *
+     * @param command Command line, or null if it was not known
+     */
+    public record ProcessEvent(Type type, long timestampMillis, int pid, long startTime,
+                               String command, int restarts) {
+    }
+
+    private final SharedMetricsStore metricsStore;
+    private final int restartThreshold;
+    private final long restartWindowMillis;
+    private final int historyCapacity;
+
+    // Collector thread only
+    private PidTable previous = new PidTable();
+    private PidTable current = new PidTable();
+    private boolean baseline = true;
+    private long previousTick;
+    private final Map<String, CommandChurn> churn = new HashMap<>();
+
+    private final List<Consumer<ProcessEvent>> listeners = new CopyOnWriteArrayList<>();
+    private final ArrayDeque<ProcessEvent> history;
+
+    public ProcessLifecycle(SharedMetricsStore metricsStore) {
+        this(metricsStore, DEFAULT_RESTART_THRESHOLD, DEFAULT_RESTART_WINDOW_MS, DEFAULT_HISTORY);
+    }
+
+    /**
+     * @param restartThreshold    Restarts within the window that make a restart loop
+     * @param restartWindowMillis How far back restarts are counted
+     * @param historyCapacity     Events kept for recentEvents
+     */
+    public ProcessLifecycle(SharedMetricsStore metricsStore, int restartThreshold,
+                            long restartWindowMillis, int historyCapacity) {
+        if (restartThreshold < 1 || restartWindowMillis <= 0 || historyCapacity < 1) {
+            throw new IllegalArgumentException("Invalid process lifecycle settings");
+        }
+        this.metricsStore = metricsStore;
+        this.restartThreshold = restartThreshold;
+        this.restartWindowMillis = restartWindowMillis;
+        this.historyCapacity = historyCapacity;
+        this.history = new ArrayDeque<>(historyCapacity);
+    }
+
+    /**
+     * Adds a listener for every event. Listeners run on the collector thread
+     * and should hand off slow work.
+     */
+    public void addListener(Consumer<ProcessEvent> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Starts collecting the process set of a new tick.
+     */
+    public void beginTick() {
+        current.clear();
+    }
+
+    /**
+     * Adds a process to this tick's set.
+     *
+     * @return -1 if this incarnation was already known, otherwise a handle
+     * to pass to describe before the next observe
+     */
+    public int observe(int pid, long startTime) {
+        int known = previous.find(pid);
+        if (known >= 0 && previous.startTimes[known] == startTime) {
+            current.put(pid, startTime, previous.commands[known], false);
+            return -1;
+        }
+        return current.put(pid, startTime, null, true);
+    }
+
+    /**
+     * Attaches the command line to a process observe reported as new.
+     * NUL separators (as in /proc/[pid]/cmdline) become spaces.
+     */
+    public void describe(int handle, String command) {
+        current.commands[handle] = normalize(command);
+    }
+
+    /**
+     * Diffs this tick's set against the previous one, emits the events and
+     * records the per-tick series. The first tick only sets the baseline.
+     */
+    public void endTick(long timestampMillis) {
+        PidTable before = previous;
+        PidTable now = current;
+        previous = now;
+        current = before;
+        if (baseline) {
+            baseline = false;
+            previousTick = timestampMillis;
+            return;
+        }
+
+        int exited = 0;
+        for (int i = 0; i < before.pids.length; i++) {
+            if (before.pids[i] == PidTable.EMPTY) {
+                continue;
+            }
+            int j = now.find(before.pids[i]);
+            if (j < 0 || now.startTimes[j] != before.startTimes[i]) {
+                exited++;
+                emit(new ProcessEvent(Type.EXIT, timestampMillis, before.pids[i], before.startTimes[i],
+                        before.commands[i], 0));
+                if (before.commands[i] != null) {
+                    churn.computeIfAbsent(before.commands[i], c -> new CommandChurn(restartThreshold))
+                            .lastExit = timestampMillis;
+                }
+            }
+        }
+
+        int started = 0;
+        for (int j = 0; j < now.pids.length; j++) {
+            if (now.pids[j] == PidTable.EMPTY || !now.fresh[j]) {
+                continue;
+            }
+            started++;
+            String command = now.commands[j];
+            emit(new ProcessEvent(Type.START, timestampMillis, now.pids[j], now.startTimes[j], command, 0));
+            CommandChurn c = command == null ? null : churn.get(command);
+            if (c != null && c.lastExit >= timestampMillis - restartWindowMillis) {
+                int restarts = c.restart(timestampMillis, restartWindowMillis);
+                if (restarts >= restartThreshold && !c.looping) {
+                    c.looping = true;
+                    logger.warn("🔁 Restart loop: '{}' restarted {} times in {} s",
+                            command, restarts, restartWindowMillis / 1000);
+                    emit(new ProcessEvent(Type.RESTART_LOOP, timestampMillis, now.pids[j], now.startTimes[j],
+                            command, restarts));
+                }
+            }
+        }
+
+        int looping = sweepChurn(timestampMillis);
+        double seconds = (timestampMillis - previousTick) / 1000.0;
+        previousTick = timestampMillis;
+        metricsStore.recordSeries("process.started", timestampMillis, started);
+        metricsStore.recordSeries("process.exited", timestampMillis, exited);
+        if (seconds > 0) {
+            metricsStore.recordSeries("process.churn_per_sec", timestampMillis, (started + exited) / seconds);
+        }
+        metricsStore.recordSeries("process.restart_loops", timestampMillis, looping);
+    }
+
+    /**
+     * Forgets commands with no exit or restart inside the window, clears
+     * the loop flag of those that calmed down, and returns how many are
+     * still looping.
+     */
+    private int sweepChurn(long timestampMillis) {
+        long horizon = timestampMillis - restartWindowMillis;
+        int looping = 0;
+        for (Iterator<Map.Entry<String, CommandChurn>> it = churn.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, CommandChurn> entry = it.next();
+            CommandChurn c = entry.getValue();
+            int restarts = c.count(horizon);
+            if (c.looping && restarts < restartThreshold) {
+                c.looping = false;
+                logger.info("Restart loop of '{}' has calmed down", entry.getKey());
+            }
+            if (c.looping) {
+                looping++;
+            } else if (restarts == 0 && c.lastExit < horizon) {
+                it.remove();
+            }
+        }
+        return looping;
+    }
+
+    private void emit(ProcessEvent event) {
+        synchronized (history) {
+            if (history.size() == historyCapacity) {
+                history.removeFirst();
+            }
+            history.addLast(event);
+        }
+        for (Consumer<ProcessEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (Exception e) {
+                logger.error("Error in process lifecycle listener", e);
+            }
+        }
+    }
+
+    /**
+     * Returns up to n of the most recent events, oldest first.
+     */
+    public List<ProcessEvent> recentEvents(int n) {
+        synchronized (history) {
+            List<ProcessEvent> events = new ArrayList<>(history);
+            return events.size() > n ? new ArrayList<>(events.subList(events.size() - n, events.size())) : events;
+        }
+    }
+
+    /**
+     * Returns the number of processes in the last completed tick.
+     */
+    public int size() {
+        return previous.size;
+    }
+
+    /**
+     * Forgets the process sets, churn and history; the next tick is a new baseline.
+     */
+    public void reset() {
+        previous.clear();
+        current.clear();
+        churn.clear();
+        baseline = true;
+        synchronized (history) {
+            history.clear();
+        }
+    }
+
+    private static String normalize(String command) {
+        if (command == null) {
+            return null;
+        }
+        String s = command.replace('\0', ' ').strip();
+        if (s.isEmpty()) {
+            return null;
+        }
+        return s.length() > MAX_COMMAND_LENGTH ? s.substring(0, MAX_COMMAND_LENGTH) : s;
+    }
+
+    /**
+     * Recent restart times of one command line: a ring of the last
+     * threshold restarts, enough to tell whether threshold fall in the window.
+     */
+    private static final class CommandChurn {
+        final long[] restarts;
+        int next;
+        long lastExit = Long.MIN_VALUE;
+        boolean looping;
+
+        CommandChurn(int threshold) {
+            restarts = new long[threshold];
+            Arrays.fill(restarts, Long.MIN_VALUE);
+        }
+
+        int restart(long timestampMillis, long windowMillis) {
+            restarts[next] = timestampMillis;
+            next = (next + 1) % restarts.length;
+            return count(timestampMillis - windowMillis);
+        }
+
+        int count(long horizon) {
+            int n = 0;
+            for (long t : restarts) {
+                if (t >= horizon) {
+                    n++;
+                }
+            }
+            return n;
+        }
+    }
+
+    /**
+     * Open-addressing map from PID to start time and command with linear
+     * probing, kept at most half full. PIDs are non-negative, so -1 marks
+     * an empty slot.
+     */
+    static final class PidTable {
+        static final int EMPTY = -1;
+
+        int[] pids;
+        long[] startTimes;
+        String[] commands;
+        boolean[] fresh;
+        int size;
+
+        PidTable() {
+            allocate(1024);
+        }
+
+        private void allocate(int capacity) {
+            pids = new int[capacity];
+            Arrays.fill(pids, EMPTY);
+            startTimes = new long[capacity];
+            commands = new String[capacity];
+            fresh = new boolean[capacity];
+            size = 0;
+        }
+
+        private static int hash(int pid, int mask) {
+            int h = pid * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        int find(int pid) {
+            int mask = pids.length - 1;
+            for (int i = hash(pid, mask); ; i = (i + 1) & mask) {
+                if (pids[i] == pid) {
+                    return i;
+                }
+                if (pids[i] == EMPTY) {
+                    return -1;
+                }
+            }
+        }
+
+        /**
+         * Inserts or replaces pid and returns its slot.
+         */
+        int put(int pid, long startTime, String command, boolean isFresh) {
+            if (2 * (size + 1) > pids.length) {
+                grow();
+            }
+            int mask = pids.length - 1;
+            int i = hash(pid, mask);
+            while (pids[i] != EMPTY && pids[i] != pid) {
+                i = (i + 1) & mask;
+            }
+            if (pids[i] == EMPTY) {
+                size++;
+            }
+            pids[i] = pid;
+            startTimes[i] = startTime;
+            commands[i] = command;
+            fresh[i] = isFresh;
+            return i;
+        }
+
+        private void grow() {
+            int[] oldPids = pids;
+            long[] oldStarts = startTimes;
+            String[] oldCommands = commands;
+            boolean[] oldFresh = fresh;
+            allocate(oldPids.length * 2);
+            for (int i = 0; i < oldPids.length; i++) {
+                if (oldPids[i] != EMPTY) {
+                    put(oldPids[i], oldStarts[i], oldCommands[i], oldFresh[i]);
+                }
+            }
+        }
+
+        void clear() {
+            if (size > 0) {
+                Arrays.fill(pids, EMPTY);
+                Arrays.fill(commands, null);
+                size = 0;
+            }
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.portfolio.monitor.core;
 
+import com.portfolio.monitor.model.ProcessHistory;
 import com.portfolio.monitor.model.SystemMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
+import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -37,8 +39,35 @@ public class SharedMetricsStore {
     private final ConcurrentHashMap<String, SystemMetrics> metricsHistory;
     private static final int MAX_HISTORY_SIZE = 100;
 
+    // Per-process histories for the high-frequency watch list, keyed by PID
+    private final ConcurrentHashMap<Integer, ProcessHistory> watchedProcesses;
+
+    // Named primitive series for collectors beyond the four headline metrics
+    private final ConcurrentHashMap<String, MetricSeries> series;
+    private final int seriesCapacity;
+    public static final int DEFAULT_SERIES_CAPACITY = 720; // 1 hour at 5 seconds
+
+    // Derived series computed as samples are recorded
+    private final DerivedMetrics derivedMetrics = new DerivedMetrics(this);
+
+    // Heaviest processes by CPU and I/O over the last hour and day
+    private final TopConsumers topConsumers = new TopConsumers();
+
+    // Process start/exit events and restart loops, diffed on every process tick
+    private final ProcessLifecycle processLifecycle = new ProcessLifecycle(this);
+
     public SharedMetricsStore() {
+        this(DEFAULT_SERIES_CAPACITY);
+    }
+
+    /**
+     * Creates a store whose named series retain the given number of samples.
+     */
+    public SharedMetricsStore(int seriesCapacity) {
         this.metricsHistory = new ConcurrentHashMap<>();
+        this.watchedProcesses = new ConcurrentHashMap<>();
+        this.series = new ConcurrentHashMap<>();
+        this.seriesCapacity = seriesCapacity;
         this.lastUpdateTime = Instant.now();
     }
 
@@ -50,6 +79,7 @@ public class SharedMetricsStore {
         try {
             this.latestCpuUsage = cpuUsage;
             this.lastUpdateTime = Instant.now();
+            recordSeries("cpu.usage", lastUpdateTime.toEpochMilli(), cpuUsage);
             logger.debug("CPU metrics updated: {}%", String.format("%.2f", cpuUsage));
         } finally {
             writeLock.unlock();
@@ -64,6 +94,7 @@ public class SharedMetricsStore {
         try {
             this.latestMemoryUsage = memoryUsage;
             this.lastUpdateTime = Instant.now();
+            recordSeries("memory.usage", lastUpdateTime.toEpochMilli(), memoryUsage);
             logger.debug("Memory metrics updated: {}%", String.format("%.2f", memoryUsage));
         } finally {
             writeLock.unlock();
@@ -78,6 +109,7 @@ public class SharedMetricsStore {
         try {
             this.latestDiskUsage = diskUsage;
             this.lastUpdateTime = Instant.now();
+            recordSeries("disk.usage", lastUpdateTime.toEpochMilli(), diskUsage);
             logger.debug("Disk metrics updated: {}%", String.format("%.2f", diskUsage));
         } finally {
             writeLock.unlock();
@@ -92,6 +124,7 @@ public class SharedMetricsStore {
         try {
             this.latestProcessCount = processCount;
             this.lastUpdateTime = Instant.now();
+            recordSeries("process.count", lastUpdateTime.toEpochMilli(), processCount);
             logger.debug("Process count updated: {}", processCount);
         } finally {
             writeLock.unlock();
@@ -143,6 +176,105 @@ public class SharedMetricsStore {
         return new ConcurrentHashMap<>(metricsHistory);
     }
 
+    /**
+     * Appends a sample to a named series, creating the series on first use.
+     * Series names are dotted paths such as "psi.memory.some.avg10".
+     * Accepted samples are passed on to the derived-metric declarations.
+     */
+    public void recordSeries(String name, long timestampMillis, double value) {
+        if (series.computeIfAbsent(name, n -> new MetricSeries(n, seriesCapacity))
+                .add(timestampMillis, value)) {
+            derivedMetrics.onSample(name, timestampMillis, value);
+        }
+    }
+
+    /**
+     * Returns the derived-metric declarations applied to recorded series.
+     */
+    public DerivedMetrics getDerivedMetrics() {
+        return derivedMetrics;
+    }
+
+    /**
+     * Returns the long-window heavy-hitter sketches fed by the process collector.
+     */
+    public TopConsumers getTopConsumers() {
+        return topConsumers;
+    }
+
+    /**
+     * Returns the process start/exit event stream fed by the process collector.
+     */
+    public ProcessLifecycle getProcessLifecycle() {
+        return processLifecycle;
+    }
+
+    /**
+     * Returns a named series, or null if nothing has been recorded under that name.
+     */
+    public MetricSeries getSeries(String name) {
+        return series.get(name);
+    }
+
+    /**
+     * Returns the latest value of a named series, or NaN if it does not exist.
+     */
+    public double getLatestSeriesValue(String name) {
+        MetricSeries s = series.get(name);
+        return s == null ? Double.NaN : s.latestValue();
+    }
+
+    /**
+     * Returns the latest value of a named series if it was recorded at the
+     * given timestamp, or NaN otherwise, e.g. for a rate on its first tick.
+     */
+    public double valueAt(String name, long timestamp) {
+        MetricSeries s = series.get(name);
+        if (s == null) {
+            return Double.NaN;
+        }
+        synchronized (s) {
+            return s.latestTimestamp() == timestamp ? s.latestValue() : Double.NaN;
+        }
+    }
+
+    /**
+     * Returns a read-only live view of all named series.
+     */
+    public Map<String, MetricSeries> getAllSeries() {
+        return Collections.unmodifiableMap(series);
+    }
+
+    /**
+     * Registers the history of a newly watched process.
+     * Replaces any history left behind by an earlier process with the same PID.
+     */
+    public void registerWatchedProcess(ProcessHistory history) {
+        watchedProcesses.put(history.getPid(), history);
+        logger.debug("Watching process {} ({})", history.getPid(), history.getName());
+    }
+
+    /**
+     * Drops the history of a process that exited or stopped matching.
+     */
+    public void removeWatchedProcess(int pid) {
+        watchedProcesses.remove(pid);
+    }
+
+    /**
+     * Returns the history for a watched PID, or null if it is not watched.
+     */
+    public ProcessHistory getWatchedProcessHistory(int pid) {
+        return watchedProcesses.get(pid);
+    }
+
+    /**
+     * Returns a read-only live view of all watched process histories.
+     */
+    public Map<Integer, ProcessHistory> getWatchedProcesses() {
+        return Collections.unmodifiableMap(watchedProcesses);
+    }
+
     /**
      * Clears all stored metrics.
      */
@@ -154,6 +286,11 @@ public class SharedMetricsStore {
             latestDiskUsage = 0;
             latestProcessCount = 0;
             metricsHistory.clear();
+            watchedProcesses.clear();
+            series.clear();
+            derivedMetrics.reset();
+            topConsumers.clear();
+            processLifecycle.reset();
             lastUpdateTime = Instant.now();
             logger.info("Metrics store cleared");
         } finally {
@@ -0,0 +1,183 @@
+package com.portfolio.monitor.core;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Weighted Space-Saving sketch (Metwally et al.): tracks the heaviest keys
+ * of a stream in a fixed number of counters.
+ *
+ * A key that is already monitored adds its weight to its counter. A new
+ * key takes a free counter, or evicts the smallest one and inherits its
+ * count, which becomes the new key's error bound. Every key whose true
+ * total exceeds (total weight / capacity) is guaranteed to be monitored,
+ * and each estimate is at most error above the true total.
+ *
+ * Not thread-safe; TopConsumers guards each sketch with its monitor.
+ *
+ * Key Concepts:
+ * - Fixed memory: capacity counters, independent of the number of keys
+ * - Indexed binary min-heap, so the smallest counter is found in O(1)
+ *   and an update costs O(log capacity)
+ */
+public final class SpaceSaving {
+
+    private final int capacity;
+    private final long[] keys;
+    private final String[] labels;
+    private final double[] counts;
+    private final double[] errors;
+    private final int[] heap;          // slot indices, min-heap on counts
+    private final int[] heapIndex;     // slot -> position in heap
+    private final Map<Long, Integer> slots;
+    private int size;
+    private double total;
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.keys = new long[capacity];
+        this.labels = new String[capacity];
+        this.counts = new double[capacity];
+        this.errors = new double[capacity];
+        this.heap = new int[capacity];
+        this.heapIndex = new int[capacity];
+        this.slots = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Adds weight to key. Non-positive weights are ignored.
+     *
+     * @param label Display name kept with the counter, e.g. a process name
+     */
+    public void add(long key, String label, double weight) {
+        if (!(weight > 0)) {
+            return;
+        }
+        total += weight;
+        Integer slot = slots.get(key);
+        if (slot != null) {
+            counts[slot] += weight;
+            if (label != null) {
+                labels[slot] = label;
+            }
+            siftDown(heapIndex[slot]);
+            return;
+        }
+        int s;
+        double inherited = 0;
+        if (size < capacity) {
+            s = size;
+            heap[size] = s;
+            heapIndex[s] = size;
+            size++;
+        } else {
+            s = heap[0];
+            slots.remove(keys[s]);
+            inherited = counts[s];
+        }
+        keys[s] = key;
+        labels[s] = label;
+        counts[s] = inherited + weight;
+        errors[s] = inherited;
+        slots.put(key, s);
+        if (inherited == 0) {
+            siftUp(heapIndex[s]);
+        } else {
+            siftDown(heapIndex[s]);
+        }
+    }
+
+    /**
+     * Returns the estimated total of key (an overestimate by at most its
+     * error), or 0 if it is not monitored.
+     */
+    public double estimate(long key) {
+        Integer slot = slots.get(key);
+        return slot == null ? 0 : counts[slot];
+    }
+
+    /**
+     * Upper bound on the total of any key that is not monitored: the
+     * smallest counter once all counters are in use, 0 before that.
+     */
+    public double unmonitoredBound() {
+        return size < capacity ? 0 : counts[heap[0]];
+    }
+
+    /**
+     * Calls visitor with every monitored key, in no particular order.
+     */
+    public void forEach(Visitor visitor) {
+        for (int s = 0; s < size; s++) {
+            visitor.visit(keys[s], labels[s], counts[s], errors[s]);
+        }
+    }
+
+    public void clear() {
+        slots.clear();
+        Arrays.fill(labels, null);
+        size = 0;
+        total = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the sum of all weights added since the last clear.
+     */
+    public double total() {
+        return total;
+    }
+
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(long key, String label, double count, double error);
+    }
+
+    private void siftUp(int i) {
+        int slot = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (counts[heap[parent]] <= counts[slot]) {
+                break;
+            }
+            place(heap[parent], i);
+            i = parent;
+        }
+        place(slot, i);
+    }
+
+    private void siftDown(int i) {
+        int slot = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && counts[heap[child + 1]] < counts[heap[child]]) {
+                child++;
+            }
+            if (counts[heap[child]] >= counts[slot]) {
+                break;
+            }
+            place(heap[child], i);
+            i = child;
+        }
+        place(slot, i);
+    }
+
+    private void place(int slot, int i) {
+        heap[i] = slot;
+        heapIndex[slot] = i;
+    }
+}
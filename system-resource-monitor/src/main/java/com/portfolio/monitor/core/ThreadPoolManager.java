@@ -3,8 +3,7 @@ package com.portfolio.monitor.core;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.*;
 
 /**
@@ -16,14 +15,29 @@ import java.util.concurrent.*;
  * - ScheduledExecutorService: For periodic tasks
  * - ThreadFactory: Custom thread naming
  * - CountDownLatch: Coordination between threads
+ * - HashedWheelScheduler: O(1) scheduling for thousands of periodic tasks
  */
 public class ThreadPoolManager {
 
     private static final Logger logger = LoggerFactory.getLogger(ThreadPoolManager.class);
 
+    private static final long WHEEL_TICK_MS = 10;
+    private static final int WHEEL_SIZE = 512;
+
+    /**
+     * Strategy used for periodic tasks.
+     */
+    public enum SchedulerType {
+        /** ScheduledThreadPoolExecutor: one heap entry per task */
+        EXECUTOR,
+        /** Hashed timing wheel: O(1) schedule/cancel, same-tick tasks batched */
+        TIMING_WHEEL
+    }
+
     private final ScheduledExecutorService scheduledExecutor;
     private final ExecutorService workerPool;
-    private final List<ScheduledFuture<?>> scheduledTasks;
+    private final HashedWheelScheduler wheelScheduler;
+    private final Queue<ScheduledFuture<?>> scheduledTasks;
     private final CountDownLatch shutdownLatch;
 
     private volatile boolean isRunning;
@@ -35,14 +49,29 @@ public class ThreadPoolManager {
      * @param poolSize Number of threads in the worker pool
      */
     public ThreadPoolManager(int poolSize) {
+        this(poolSize, SchedulerType.EXECUTOR);
+    }
+
+    /**
+     * Creates a thread pool manager with the specified pool size and scheduler.
+     * With TIMING_WHEEL, a single ticker thread tracks deadlines and the
+     * scheduled pool only runs the batches of tasks that are due.
+     * 
+     * @param poolSize      Number of threads in the worker pool
+     * @param schedulerType Strategy used by scheduleAtFixedRate
+     */
+    public ThreadPoolManager(int poolSize, SchedulerType schedulerType) {
         this.poolSize = poolSize;
         this.scheduledExecutor = Executors.newScheduledThreadPool(poolSize, new MonitorThreadFactory("monitor"));
         this.workerPool = Executors.newFixedThreadPool(poolSize, new MonitorThreadFactory("worker"));
-        this.scheduledTasks = new ArrayList<>();
+        this.wheelScheduler = schedulerType == SchedulerType.TIMING_WHEEL
+                ? new HashedWheelScheduler(WHEEL_TICK_MS, TimeUnit.MILLISECONDS, WHEEL_SIZE, scheduledExecutor)
+                : null;
+        this.scheduledTasks = new ConcurrentLinkedQueue<>();
         this.shutdownLatch = new CountDownLatch(1);
         this.isRunning = false;
 
-        logger.info("ThreadPoolManager initialized with {} threads", poolSize);
+        logger.info("ThreadPoolManager initialized with {} threads ({} scheduler)", poolSize, schedulerType);
     }
 
     /**
@@ -60,14 +89,22 @@ public class ThreadPoolManager {
             logger.info("Thread pool started");
         }
 
-        ScheduledFuture<?> future = scheduledExecutor.scheduleAtFixedRate(() -> {
+        Runnable guarded = () -> {
             try {
                 task.run();
             } catch (Exception e) {
                 logger.error("Error in scheduled task", e);
             }
-        }, initialDelay, period, unit);
+        };
+
+        // The wheel cancels its own tasks on stop, so only executor futures are tracked
+        if (wheelScheduler != null) {
+            ScheduledFuture<?> future = wheelScheduler.scheduleAtFixedRate(guarded, initialDelay, period, unit);
+            logger.debug("Scheduled new wheel task with period {}ms", unit.toMillis(period));
+            return future;
+        }
 
+        ScheduledFuture<?> future = scheduledExecutor.scheduleAtFixedRate(guarded, initialDelay, period, unit);
         scheduledTasks.add(future);
         logger.debug("Scheduled new task with period {}ms", unit.toMillis(period));
 
@@ -106,7 +143,11 @@ public class ThreadPoolManager {
         isRunning = false;
 
         // Cancel all scheduled tasks
-        for (ScheduledFuture<?> task : scheduledTasks) {
+        if (wheelScheduler != null) {
+            wheelScheduler.stop();
+        }
+        ScheduledFuture<?> task;
+        while ((task = scheduledTasks.poll()) != null) {
             task.cancel(false);
         }
 
@@ -155,6 +196,13 @@ public class ThreadPoolManager {
         return isRunning;
     }
 
+    /**
+     * Returns whether periodic tasks run on the timing wheel.
+     */
+    public boolean isUsingTimingWheel() {
+        return wheelScheduler != null;
+    }
+
     /**
      * Returns the pool size.
      */
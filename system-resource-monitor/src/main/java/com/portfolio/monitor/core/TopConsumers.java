@@ -0,0 +1,223 @@
+package com.portfolio.monitor.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Long-window heavy hitters: which processes used the most CPU time and
+ * I/O over the last hour and the last day, fed with per-process deltas
+ * on every process tick.
+ *
+ * Each (resource, window) pair keeps a ring of panes, each pane a
+ * SpaceSaving sketch of fixed capacity; a window of one hour is 12
+ * five-minute panes, a day is 24 one-hour panes. Panes rotate out as
+ * time advances, so a query covers the current partial pane plus the
+ * full panes before it. Memory is fixed at
+ * resources x (12 + 24) panes x capacity counters.
+ *
+ * A query merges the panes of a window. For each process it reports the
+ * sum of its pane estimates together with bounds: at least the estimate
+ * minus the eviction errors it inherited, at most the estimate plus the
+ * smallest counter of each full pane it is missing from.
+ *
+ * Key Concepts:
+ * - Space-Saving: bounded error, guaranteed to keep every heavy key
+ * - Tumbling panes approximating a sliding window
+ */
+public class TopConsumers {
+
+    public static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * What a consumer used: CPU in seconds, I/O in bytes read plus written.
+     */
+    public enum Resource {
+        CPU, IO;
+
+        public static Resource parse(String name) {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        }
+    }
+
+    public enum Window {
+        HOUR("1h", 3_600_000L, 12),
+        DAY("1d", 86_400_000L, 24);
+
+        private final String label;
+        private final long millis;
+        private final int panes;
+
+        Window(String label, long millis, int panes) {
+            this.label = label;
+            this.millis = millis;
+            this.panes = panes;
+        }
+
+        public String label() {
+            return label;
+        }
+
+        public long millis() {
+            return millis;
+        }
+
+        /**
+         * Accepts "1h"/"1d" as well as the enum names.
+         */
+        public static Window parse(String name) {
+            for (Window window : values()) {
+                if (window.label.equalsIgnoreCase(name) || window.name().equalsIgnoreCase(name)) {
+                    return window;
+                }
+            }
+            throw new IllegalArgumentException("Unknown window: " + name);
+        }
+    }
+
+    /**
+     * One process's consumption over a window; lowerBound <= true total <= upperBound.
+     */
+    public record Consumer(int pid, String name, double estimate, double lowerBound, double upperBound) {
+    }
+
+    private final WindowedSketch[][] sketches;
+
+    public TopConsumers() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity Counters per pane
+     */
+    public TopConsumers(int capacity) {
+        sketches = new WindowedSketch[Resource.values().length][Window.values().length];
+        for (Resource resource : Resource.values()) {
+            for (Window window : Window.values()) {
+                sketches[resource.ordinal()][window.ordinal()] = new WindowedSketch(window, capacity);
+            }
+        }
+    }
+
+    /**
+     * Identifies a process incarnation, so a reused PID is not credited
+     * with its predecessor's usage.
+     *
+     * @param startTime Any per-process start stamp (clock ticks or epoch millis)
+     */
+    public static long processKey(int pid, long startTime) {
+        return (startTime << 22) | (pid & 0x3F_FFFFL);
+    }
+
+    public static int pidOf(long key) {
+        return (int) (key & 0x3F_FFFFL);
+    }
+
+    /**
+     * Adds one process's usage since its previous sample.
+     */
+    public void record(long timestampMillis, long key, String name, double cpuSeconds, double ioBytes) {
+        for (WindowedSketch sketch : sketches[Resource.CPU.ordinal()]) {
+            sketch.add(timestampMillis, key, name, cpuSeconds);
+        }
+        for (WindowedSketch sketch : sketches[Resource.IO.ordinal()]) {
+            sketch.add(timestampMillis, key, name, ioBytes);
+        }
+    }
+
+    /**
+     * Returns the n heaviest consumers of resource over the window ending now.
+     */
+    public List<Consumer> top(Resource resource, Window window, int n) {
+        return top(resource, window, n, System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the n heaviest consumers of resource over the window ending at nowMillis.
+     */
+    public List<Consumer> top(Resource resource, Window window, int n, long nowMillis) {
+        return sketches[resource.ordinal()][window.ordinal()].top(n, nowMillis);
+    }
+
+    public void clear() {
+        for (WindowedSketch[] row : sketches) {
+            for (WindowedSketch sketch : row) {
+                sketch.clear();
+            }
+        }
+    }
+
+    private static final class WindowedSketch {
+        private final long paneMillis;
+        private final SpaceSaving[] panes;
+        private final long[] paneIds;
+
+        WindowedSketch(Window window, int capacity) {
+            this.paneMillis = window.millis / window.panes;
+            this.panes = new SpaceSaving[window.panes];
+            this.paneIds = new long[window.panes];
+            for (int i = 0; i < panes.length; i++) {
+                panes[i] = new SpaceSaving(capacity);
+                paneIds[i] = Long.MIN_VALUE;
+            }
+        }
+
+        synchronized void add(long timestampMillis, long key, String name, double weight) {
+            if (!(weight > 0)) {
+                return;
+            }
+            long id = Math.floorDiv(timestampMillis, paneMillis);
+            int slot = (int) Math.floorMod(id, (long) panes.length);
+            if (id > paneIds[slot]) {
+                panes[slot].clear();
+                paneIds[slot] = id;
+            } else if (id < paneIds[slot]) {
+                return;                     // older than the window
+            }
+            panes[slot].add(key, name, weight);
+        }
+
+        synchronized List<Consumer> top(int n, long nowMillis) {
+            long current = Math.floorDiv(nowMillis, paneMillis);
+            Map<Long, double[]> merged = new HashMap<>();    // estimate, error, missing bound
+            Map<Long, String> names = new HashMap<>();
+            double boundSum = 0;
+            for (int i = 0; i < panes.length; i++) {
+                if (paneIds[i] <= current - panes.length || paneIds[i] > current) {
+                    continue;
+                }
+                SpaceSaving pane = panes[i];
+                double bound = pane.unmonitoredBound();
+                boundSum += bound;
+                pane.forEach((key, label, count, error) -> {
+                    double[] m = merged.computeIfAbsent(key, k -> new double[3]);
+                    m[0] += count;
+                    m[1] += error;
+                    m[2] += bound;              // subtracted below: not missing from this pane
+                    if (label != null) {
+                        names.putIfAbsent(key, label);
+                    }
+                });
+            }
+
+            List<Consumer> consumers = new ArrayList<>(merged.size());
+            for (Map.Entry<Long, double[]> entry : merged.entrySet()) {
+                double[] m = entry.getValue();
+                long key = entry.getKey();
+                consumers.add(new Consumer(pidOf(key), names.get(key), m[0],
+                        Math.max(0, m[0] - m[1]), m[0] + (boundSum - m[2])));
+            }
+            consumers.sort((a, b) -> Double.compare(b.estimate(), a.estimate()));
+            return consumers.size() > n ? new ArrayList<>(consumers.subList(0, n)) : consumers;
+        }
+
+        synchronized void clear() {
+            for (int i = 0; i < panes.length; i++) {
+                panes[i].clear();
+                paneIds[i] = Long.MIN_VALUE;
+            }
+        }
+    }
+}
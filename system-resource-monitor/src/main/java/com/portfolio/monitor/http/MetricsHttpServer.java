@@ -0,0 +1,265 @@
+package com.portfolio.monitor.http;
+
+import com.portfolio.monitor.core.MetricsQuery;
+import com.portfolio.monitor.core.SharedMetricsStore;
+import com.portfolio.monitor.core.TopConsumers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal JSON-over-HTTP front end for MetricsQuery, built on the JDK's
+ * com.sun.net.httpserver so it adds no dependencies.
+ *
+ * Endpoints:
+ * - GET /api/series
+ *     names of all recorded series
+ * - GET /api/query?series=cpu.usage&from=..&to=..&step=..&agg=avg|min|max|rate|p95
+ *     from/to are epoch milliseconds (to defaults to now, from to one hour
+ *     earlier); without agg the raw samples in [from, to) are returned.
+ *     More than MetricsQuery.MAX_BUCKETS buckets is a 400
+ * - GET /api/top?resource=cpu|io&window=1h|1d&n=10
+ *     heaviest processes over the window: estimated CPU seconds or I/O
+ *     bytes with lower and upper bounds
+ *
+ * The server listens on the loopback interface unless given another
+ * address; there is no authentication.
+ *
+ * Key Concepts:
+ * - Single daemon handler thread; queries are short and lock one series at a time
+ * - Hand-written JSON straight from the primitive result arrays
+ */
+public class MetricsHttpServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsHttpServer.class);
+
+    private static final long DEFAULT_RANGE_MS = 3_600_000;
+
+    private final SharedMetricsStore metricsStore;
+    private final MetricsQuery query;
+    private final HttpServer server;
+    private final ExecutorService handler;
+
+    /**
+     * Binds the server to loopback; port 0 picks an ephemeral port.
+     */
+    public MetricsHttpServer(SharedMetricsStore metricsStore, int port) throws IOException {
+        this(metricsStore, InetAddress.getLoopbackAddress(), port);
+    }
+
+    /**
+     * Binds the server to the given address, e.g. 0.0.0.0 for all interfaces.
+     */
+    public MetricsHttpServer(SharedMetricsStore metricsStore, InetAddress address, int port) throws IOException {
+        this.metricsStore = metricsStore;
+        this.query = new MetricsQuery(metricsStore);
+        this.server = HttpServer.create(new InetSocketAddress(address, port), 0);
+        server.createContext("/api/series", this::handleSeries);
+        server.createContext("/api/query", this::handleQuery);
+        server.createContext("/api/top", this::handleTop);
+        this.handler = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(handler);
+    }
+
+    public void start() {
+        server.start();
+        logger.info("Metrics query endpoint listening on {}", getAddress());
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handleSeries(HttpExchange exchange) throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (String name : new TreeSet<>(metricsStore.getAllSeries().keySet())) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            appendString(json, name);
+        }
+        respond(exchange, 200, json.append(']').toString());
+    }
+
+    private void handleQuery(HttpExchange exchange) throws IOException {
+        try {
+            Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+            String series = params.get("series");
+            if (series == null) {
+                respond(exchange, 400, "{\"error\":\"missing series parameter\"}");
+                return;
+            }
+            long to = params.containsKey("to") ? Long.parseLong(params.get("to")) : System.currentTimeMillis();
+            long from = params.containsKey("from") ? Long.parseLong(params.get("from")) : to - DEFAULT_RANGE_MS;
+            long step = params.containsKey("step") ? Long.parseLong(params.get("step")) : 0;
+            String agg = params.get("agg");
+
+            MetricsQuery.Result result;
+            if (agg == null) {
+                result = query.range(series, from, to);
+            } else if (MetricsQuery.Aggregation.parse(agg) == MetricsQuery.Aggregation.PERCENTILE) {
+                result = query.percentile(series, from, to, step, MetricsQuery.Aggregation.parsePercentile(agg));
+            } else {
+                result = query.aggregate(series, from, to, step, MetricsQuery.Aggregation.parse(agg));
+            }
+            respond(exchange, 200, toJson(result));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException, unknown aggregations and too many buckets land here
+            StringBuilder json = new StringBuilder("{\"error\":");
+            appendString(json, e.getMessage() == null ? "bad request" : e.getMessage());
+            respond(exchange, 400, json.append('}').toString());
+        } catch (RuntimeException e) {
+            serverError(exchange, e);
+        }
+    }
+
+    private void handleTop(HttpExchange exchange) throws IOException {
+        try {
+            Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+            TopConsumers.Resource resource = TopConsumers.Resource.parse(params.getOrDefault("resource", "cpu"));
+            TopConsumers.Window window = TopConsumers.Window.parse(params.getOrDefault("window", "1h"));
+            int n = params.containsKey("n") ? Integer.parseInt(params.get("n")) : 10;
+            List<TopConsumers.Consumer> top = metricsStore.getTopConsumers().top(resource, window, n);
+            respond(exchange, 200, toJson(resource, window, top));
+        } catch (IllegalArgumentException e) {
+            StringBuilder json = new StringBuilder("{\"error\":");
+            appendString(json, e.getMessage() == null ? "bad request" : e.getMessage());
+            respond(exchange, 400, json.append('}').toString());
+        } catch (RuntimeException e) {
+            serverError(exchange, e);
+        }
+    }
+
+    /**
+     * Answers 500 instead of letting the exception drop the connection
+     * without a response.
+     */
+    private static void serverError(HttpExchange exchange, RuntimeException e) throws IOException {
+        logger.warn("Failed to serve {}", exchange.getRequestURI(), e);
+        respond(exchange, 500, "{\"error\":\"internal error\"}");
+    }
+
+    static String toJson(TopConsumers.Resource resource, TopConsumers.Window window,
+                         List<TopConsumers.Consumer> consumers) {
+        StringBuilder json = new StringBuilder(64 + consumers.size() * 96);
+        json.append("{\"resource\":");
+        appendString(json, resource.name().toLowerCase(Locale.ROOT));
+        json.append(",\"window\":");
+        appendString(json, window.label());
+        json.append(",\"consumers\":[");
+        for (int i = 0; i < consumers.size(); i++) {
+            TopConsumers.Consumer c = consumers.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"pid\":").append(c.pid()).append(",\"name\":");
+            if (c.name() == null) {
+                json.append("null");
+            } else {
+                appendString(json, c.name());
+            }
+            json.append(",\"estimate\":").append(c.estimate())
+                    .append(",\"lowerBound\":").append(c.lowerBound())
+                    .append(",\"upperBound\":").append(c.upperBound())
+                    .append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    static String toJson(MetricsQuery.Result result) {
+        StringBuilder json = new StringBuilder(32 + result.size() * 24);
+        json.append("{\"series\":");
+        appendString(json, result.series());
+        json.append(",\"timestamps\":[");
+        long[] timestamps = result.timestamps();
+        for (int i = 0; i < timestamps.length; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(timestamps[i]);
+        }
+        json.append("],\"values\":[");
+        double[] values = result.values();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            // JSON has no NaN; empty buckets become null
+            if (Double.isFinite(values[i])) {
+                json.append(values[i]);
+            } else {
+                json.append("null");
+            }
+        }
+        return json.append("]}").toString();
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        handler.shutdownNow();
+        logger.info("Metrics query endpoint stopped");
+    }
+}
@@ -0,0 +1,106 @@
+package com.portfolio.monitor.model;
+
+/**
+ * Fixed-size ring of samples for one watched process.
+ * Columns are kept in parallel primitive arrays, so a sample costs
+ * 28 bytes and appending never allocates.
+ *
+ * Writes come from a single sampler thread; reads and writes are
+ * synchronized on the instance so readers always see whole samples.
+ */
+public class ProcessHistory {
+
+    private final int pid;
+    private final String name;
+    private final int capacity;
+
+    private final long[] timestamps;
+    private final float[] cpuPercent;
+    private final long[] residentBytes;
+    private final int[] threadCounts;
+    private final int[] openFileDescriptors;
+
+    private int head;   // index of the next write
+    private int size;
+
+    public ProcessHistory(int pid, String name, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.pid = pid;
+        this.name = name;
+        this.capacity = capacity;
+        this.timestamps = new long[capacity];
+        this.cpuPercent = new float[capacity];
+        this.residentBytes = new long[capacity];
+        this.threadCounts = new int[capacity];
+        this.openFileDescriptors = new int[capacity];
+    }
+
+    /**
+     * Appends a sample, overwriting the oldest once full.
+     *
+     * @param openFds Open descriptor count, or -1 if /proc/[pid]/fd is not readable
+     */
+    public synchronized void record(long timestampMillis, double cpu, long rssBytes, int threads, int openFds) {
+        timestamps[head] = timestampMillis;
+        cpuPercent[head] = (float) cpu;
+        residentBytes[head] = rssBytes;
+        threadCounts[head] = threads;
+        openFileDescriptors[head] = openFds;
+        head = (head + 1) % capacity;
+        if (size < capacity) {
+            size++;
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns the most recent sample, or null if none has been recorded.
+     */
+    public synchronized Sample latest() {
+        return size == 0 ? null : sampleAt(size - 1);
+    }
+
+    /**
+     * Returns all retained samples, oldest first.
+     */
+    public synchronized Sample[] samples() {
+        Sample[] result = new Sample[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = sampleAt(i);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the i-th retained sample, counting from the oldest.
+     */
+    private Sample sampleAt(int i) {
+        int index = (head - size + i + capacity) % capacity;
+        return new Sample(timestamps[index], cpuPercent[index], residentBytes[index],
+                threadCounts[index], openFileDescriptors[index]);
+    }
+
+    public int getPid() {
+        return pid;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Immutable view of one sample.
+     */
+    public record Sample(long timestampMillis, double cpuPercent, long residentBytes,
+                         int threadCount, int openFileDescriptors) {
+    }
+}
@@ -1,13 +1,17 @@
 package com.portfolio.monitor.monitors;
 
 import com.portfolio.monitor.core.SharedMetricsStore;
+import com.portfolio.monitor.utils.ProcFileReader;
+import com.portfolio.monitor.utils.SystemInfoHolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import oshi.SystemInfo;
 import oshi.hardware.CentralProcessor;
 
+import java.nio.file.Path;
+
 /**
- * Monitors CPU usage using OSHI library.
+ * Monitors CPU usage using OSHI library, or straight from /proc/stat
+ * when constructed with its path (the /proc fast path).
  * Runs as a scheduled task in the thread pool.
  * 
  * Key Concepts:
@@ -19,17 +23,44 @@ public class CPUMonitor implements Runnable {
 
     private static final Logger logger = LoggerFactory.getLogger(CPUMonitor.class);
 
+    public static final Path PROC_STAT = ProcFileReader.PROC.resolve("stat");
+
     private final SharedMetricsStore metricsStore;
     private final CentralProcessor processor;
+    private final Path procStat;
+    private final ProcFileReader reader;
+    private final int logicalProcessors;
+
+    // Shortest baseline that gives a usable first reading at USER_HZ tick resolution
+    private static final long MIN_FIRST_INTERVAL_MS = 250;
 
     private volatile long[] prevTicks;
     private volatile boolean initialized = false;
+    private final long baselineNanos;
 
     public CPUMonitor(SharedMetricsStore metricsStore) {
+        this(metricsStore, null);
+    }
+
+    /**
+     * Creates a monitor reading the given /proc/stat-format file,
+     * or OSHI's CentralProcessor when procStat is null.
+     */
+    public CPUMonitor(SharedMetricsStore metricsStore, Path procStat) {
         this.metricsStore = metricsStore;
-        SystemInfo si = new SystemInfo();
-        this.processor = si.getHardware().getProcessor();
-        this.prevTicks = processor.getSystemCpuLoadTicks();
+        this.procStat = procStat;
+        if (procStat != null) {
+            this.processor = null;
+            this.reader = new ProcFileReader();
+            this.prevTicks = new long[2];
+            this.logicalProcessors = readProcStat(prevTicks);
+        } else {
+            this.processor = SystemInfoHolder.hardware().getProcessor();
+            this.reader = null;
+            this.prevTicks = processor.getSystemCpuLoadTicks();
+            this.logicalProcessors = processor.getLogicalProcessorCount();
+        }
+        this.baselineNanos = System.nanoTime();
     }
 
     @Override
@@ -38,14 +69,26 @@ public class CPUMonitor implements Runnable {
             double cpuLoad;
 
             if (!initialized) {
-                // First run - need baseline ticks
-                Thread.sleep(1000); // Wait for accurate first reading
+                // First run - wait only for whatever part of the baseline interval has not yet passed
+                long elapsedMs = (System.nanoTime() - baselineNanos) / 1_000_000;
+                if (elapsedMs < MIN_FIRST_INTERVAL_MS) {
+                    Thread.sleep(MIN_FIRST_INTERVAL_MS - elapsedMs);
+                }
                 initialized = true;
             }
 
             // Calculate CPU load between tick readings
-            cpuLoad = processor.getSystemCpuLoadBetweenTicks(prevTicks) * 100;
-            prevTicks = processor.getSystemCpuLoadTicks();
+            if (procStat != null) {
+                long[] ticks = new long[2];
+                readProcStat(ticks);
+                long total = ticks[0] - prevTicks[0];
+                long idle = ticks[1] - prevTicks[1];
+                cpuLoad = total > 0 ? (double) (total - idle) / total * 100 : 0;
+                prevTicks = ticks;
+            } else {
+                cpuLoad = processor.getSystemCpuLoadBetweenTicks(prevTicks) * 100;
+                prevTicks = processor.getSystemCpuLoadTicks();
+            }
 
             // Ensure valid reading
             if (cpuLoad < 0) {
@@ -64,6 +107,37 @@ public class CPUMonitor implements Runnable {
         }
     }
 
+    /**
+     * Reads {total, idle} ticks from the aggregate "cpu" line of /proc/stat,
+     * counting iowait as idle like OSHI does. Guest time is already
+     * included in user and nice, so only the first eight columns are summed.
+     *
+     * @return the number of per-CPU lines, i.e. logical processors
+     */
+    private int readProcStat(long[] ticks) {
+        if (!reader.read(procStat)) {
+            return 0;
+        }
+        reader.skipFields(1);                   // "cpu"
+        long total = 0;
+        long idle = 0;
+        for (int column = 0; column < 8; column++) {
+            long value = reader.nextLong();
+            total += value;
+            if (column == 3 || column == 4) {   // idle, iowait
+                idle += value;
+            }
+        }
+        ticks[0] = total;
+        ticks[1] = idle;
+
+        int cpus = 0;
+        while (reader.nextLine() && reader.tokenStartsWith("cpu")) {
+            cpus++;
+        }
+        return cpus;
+    }
+
     /**
      * Creates a visual bar representation of CPU usage.
      */
@@ -77,7 +151,7 @@ public class CPUMonitor implements Runnable {
         sb.append("] ").append(String.format("%.1f%%", cpuLoad));
 
         // Add core info
-        sb.append(" (").append(processor.getLogicalProcessorCount()).append(" cores)");
+        sb.append(" (").append(logicalProcessors).append(" cores)");
 
         return sb.toString();
     }
@@ -1,61 +1,183 @@
 package com.portfolio.monitor.monitors;
 
+import com.portfolio.monitor.core.DerivedMetrics;
 import com.portfolio.monitor.core.SharedMetricsStore;
+import com.portfolio.monitor.utils.ProcFileReader;
+import com.portfolio.monitor.utils.SystemInfoHolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import oshi.SystemInfo;
+import oshi.hardware.HWDiskStore;
+import oshi.hardware.HardwareAbstractionLayer;
 import oshi.software.os.FileSystem;
 import oshi.software.os.OSFileStore;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import static com.portfolio.monitor.core.DerivedMetrics.WRAP_32;
 
 /**
- * Monitors disk usage across all mounted file systems.
+ * Monitors disk usage across all mounted file systems, and I/O load
+ * (IOPS, throughput, queue depth, await) per physical device.
  * Runs as a scheduled task in the thread pool.
+ *
+ * On Linux the set of mounts comes from a MountInventory, which is
+ * rebuilt only when /proc/self/mountinfo changes and skips pseudo and
+ * duplicate filesystems, so each tick statvfs-es just the real ones.
+ * Elsewhere OSHI enumerates the file stores on every run.
+ *
+ * I/O counters come from OSHI's HWDiskStore, topped up with request
+ * times from /proc/diskstats. In procOnly mode (the /proc fast path)
+ * devices are listed from /sys/block and every counter is read from
+ * /proc/diskstats, so OSHI is not used at all.
  * 
  * Key Concepts:
- * - File system iteration
+ * - File system iteration over a cached, filtered mount list
  * - Aggregate disk metrics
  * - Per-partition reporting
+ * - Counter deltas kept flat in primitive arrays at [device * FIELDS + field]
  */
 public class DiskMonitor implements Runnable {
 
     private static final Logger logger = LoggerFactory.getLogger(DiskMonitor.class);
 
+    private static final Path SYS_BLOCK = Paths.get("/sys/block");
+    private static final int SECTOR_BYTES = 512;        // diskstats sectors are always 512 bytes
+    // diskstats fields are unsigned long, so 32 bits wide on 32-bit kernels
+    private static final int DEVICE_REFRESH_RUNS = 60; // re-enumerate devices every ~5 minutes
+    private static final String[] IO_SERIES = {
+            "reads_per_sec", "writes_per_sec", "read_bytes_per_sec", "write_bytes_per_sec",
+            "queue_depth", "await_ms", "util_percent"};
+
+    // Per-device counter layout in current and previous
+    private static final int TIMESTAMP_MS = 0;
+    private static final int READS = 1;
+    private static final int WRITES = 2;
+    private static final int READ_BYTES = 3;
+    private static final int WRITE_BYTES = 4;
+    private static final int BUSY_MS = 5;
+    private static final int IO_MS = 6;         // ms spent on reads + writes (diskstats only)
+    private static final int WEIGHTED_MS = 7;   // queue-weighted ms (diskstats only)
+    private static final int IN_FLIGHT = 8;     // gauge, not a counter
+    private static final int FIELDS = 9;
+
     private final SharedMetricsStore metricsStore;
+    private final MountInventory mountInventory;
+    private final Map<String, String> mountSeriesPrefix = new HashMap<>();
     private final FileSystem fileSystem;
+    private final HardwareAbstractionLayer hardware;
+    private final boolean procOnly;
+    private final ProcFileReader reader = new ProcFileReader(8192);
+    private final Path diskstats;
+    private final Path sysBlock;
+    private final boolean hasDiskstats;
+
+    // Per-device state, indexed by position in deviceNames
+    private List<HWDiskStore> disks;
+    private String[] deviceNames;
+    private Map<String, Integer> deviceIndex;
+    private String[][] seriesNames;
+    private long[] current;
+    private long[] previous;
+    private boolean diskstatsRead;
+    private int runsSinceRefresh;
+    private final double[] rates = new double[IO_SERIES.length];
 
     public DiskMonitor(SharedMetricsStore metricsStore) {
+        this(metricsStore, MountInventory.isSupported() ? new MountInventory() : null);
+    }
+
+    /**
+     * Creates a monitor that polls the mounts of the given inventory,
+     * or every OSHI file store when mountInventory is null.
+     */
+    public DiskMonitor(SharedMetricsStore metricsStore, MountInventory mountInventory) {
+        this(metricsStore, mountInventory, false);
+    }
+
+    /**
+     * @param procOnly read devices and I/O counters from /sys/block and
+     *                 /proc/diskstats only; requires a mount inventory
+     */
+    public DiskMonitor(SharedMetricsStore metricsStore, MountInventory mountInventory, boolean procOnly) {
+        this(metricsStore, mountInventory, procOnly, ProcFileReader.PROC, SYS_BLOCK);
+    }
+
+    /**
+     * Creates a monitor reading diskstats under procRoot and devices from
+     * sysBlock (a captured tree in tests).
+     */
+    public DiskMonitor(SharedMetricsStore metricsStore, MountInventory mountInventory, boolean procOnly,
+                       Path procRoot, Path sysBlock) {
+        this.diskstats = procRoot.resolve("diskstats");
+        this.sysBlock = sysBlock;
+        this.hasDiskstats = diskstats.toFile().canRead();
+        if (procOnly && (mountInventory == null || !hasDiskstats)) {
+            throw new IllegalArgumentException("procOnly needs a mount inventory and /proc/diskstats");
+        }
         this.metricsStore = metricsStore;
-        SystemInfo si = new SystemInfo();
-        this.fileSystem = si.getOperatingSystem().getFileSystem();
+        this.mountInventory = mountInventory;
+        this.procOnly = procOnly;
+        // The OSHI file system is only needed when there is no mount inventory
+        this.fileSystem = mountInventory == null ? SystemInfoHolder.operatingSystem().getFileSystem() : null;
+        this.hardware = procOnly ? null : SystemInfoHolder.hardware();
+        refreshDevices();
     }
 
     @Override
     public void run() {
-        try {
-            List<OSFileStore> fileStores = fileSystem.getFileStores();
+        collectCapacity();
+        collectIo(System.currentTimeMillis());
+    }
 
+    private void collectCapacity() {
+        try {
             long totalSpace = 0;
             long usedSpace = 0;
 
-            for (OSFileStore store : fileStores) {
-                long storeTotal = store.getTotalSpace();
-                long storeUsable = store.getUsableSpace();
-                long storeUsed = storeTotal - storeUsable;
-
-                totalSpace += storeTotal;
-                usedSpace += storeUsed;
-
-                // Log individual partitions (debug level)
-                if (storeTotal > 0) {
-                    double storePercent = (double) storeUsed / storeTotal * 100;
-                    logger.debug("   {} ({}): {} / {} ({}%)",
-                            store.getName(),
-                            store.getMount(),
-                            formatBytes(storeUsed),
-                            formatBytes(storeTotal),
-                            String.format("%.1f", storePercent));
+            if (mountInventory != null) {
+                if (mountInventory.refresh()) {
+                    mountSeriesPrefix.clear();
+                }
+                long timestamp = System.currentTimeMillis();
+                for (MountInventory.Mount mount : mountInventory.getMounts()) {
+                    File root = new File(mount.mountPoint());
+                    long storeTotal = root.getTotalSpace();
+                    long storeUsed = storeTotal - root.getUsableSpace();
+                    if (storeTotal <= 0) {
+                        continue;       // unmounted since the last refresh, or not permitted
+                    }
+                    totalSpace += storeTotal;
+                    usedSpace += storeUsed;
+
+                    String prefix = mountSeriesPrefix.computeIfAbsent(mount.mountPoint(), DiskMonitor::seriesPrefix);
+                    metricsStore.recordSeries(prefix + "used_bytes", timestamp, storeUsed);
+                    metricsStore.recordSeries(prefix + "total_bytes", timestamp, storeTotal);
+                    logPartition(mount.source(), mount.mountPoint(), storeUsed, storeTotal);
+                }
+            } else {
+                long timestamp = System.currentTimeMillis();
+                for (OSFileStore store : fileSystem.getFileStores()) {
+                    long storeTotal = store.getTotalSpace();
+                    long storeUsed = storeTotal - store.getUsableSpace();
+
+                    totalSpace += storeTotal;
+                    usedSpace += storeUsed;
+                    if (storeTotal > 0) {
+                        String prefix = mountSeriesPrefix.computeIfAbsent(store.getMount(), DiskMonitor::seriesPrefix);
+                        metricsStore.recordSeries(prefix + "used_bytes", timestamp, storeUsed);
+                        metricsStore.recordSeries(prefix + "total_bytes", timestamp, storeTotal);
+                    }
+                    logPartition(store.getName(), store.getMount(), storeUsed, storeTotal);
                 }
             }
 
@@ -73,6 +195,246 @@ public class DiskMonitor implements Runnable {
         }
     }
 
+    /**
+     * Logs individual partitions (debug level).
+     */
+    private void logPartition(String name, String mountPoint, long storeUsed, long storeTotal) {
+        if (storeTotal > 0 && logger.isDebugEnabled()) {
+            double storePercent = (double) storeUsed / storeTotal * 100;
+            logger.debug("   {} ({}): {} / {} ({}%)",
+                    name,
+                    mountPoint,
+                    formatBytes(storeUsed),
+                    formatBytes(storeTotal),
+                    String.format("%.1f", storePercent));
+        }
+    }
+
+    /**
+     * Series prefix for a mount point: "/" is fs.root., "/var/lib" is fs.var_lib.
+     */
+    static String seriesPrefix(String mountPoint) {
+        String trimmed = mountPoint.replaceAll("^/+|/+$", "");
+        return "fs." + (trimmed.isEmpty() ? "root" : trimmed.replace('/', '_').replace('.', '_')) + ".";
+    }
+
+    /**
+     * Computes per-device rates from counter deltas since the previous run.
+     * nowMs stamps the diskstats sample and the recorded series.
+     */
+    void collectIo(long nowMs) {
+        try {
+            if (++runsSinceRefresh >= DEVICE_REFRESH_RUNS) {
+                refreshDevices();
+            }
+            diskstatsRead = hasDiskstats && readDiskstats(nowMs);
+            if (!procOnly) {
+                readHwDiskStores();
+            } else if (!diskstatsRead) {
+                return;
+            }
+
+            long timestamp = nowMs;
+            int busiest = -1;
+            double[] busiestRates = new double[IO_SERIES.length];
+            busiestRates[6] = -1;
+
+            for (int i = 0; i < deviceNames.length; i++) {
+                int base = i * FIELDS;
+                long elapsedMs = current[base + TIMESTAMP_MS] - previous[base + TIMESTAMP_MS];
+                double reads = delta(base, READS, WRAP_32);
+                double writes = delta(base, WRITES, WRAP_32);
+                double readBytes = delta(base, READ_BYTES, WRAP_32 * SECTOR_BYTES);
+                double writeBytes = delta(base, WRITE_BYTES, WRAP_32 * SECTOR_BYTES);
+                double busyMs = delta(base, BUSY_MS, WRAP_32);
+                double ioMs = delta(base, IO_MS, WRAP_32);
+                double weightedMs = delta(base, WEIGHTED_MS, WRAP_32);
+
+                // Skip the first sample and counter resets (device re-attached)
+                if (previous[base + TIMESTAMP_MS] > 0 && elapsedMs > 0
+                        && !Double.isNaN(reads + writes + readBytes + writeBytes + busyMs + ioMs + weightedMs)) {
+                    double seconds = elapsedMs / 1000.0;
+                    double ios = reads + writes;
+
+                    rates[0] = reads / seconds;
+                    rates[1] = writes / seconds;
+                    rates[2] = readBytes / seconds;
+                    rates[3] = writeBytes / seconds;
+                    if (diskstatsRead) {
+                        // aqu-sz and await exactly as iostat computes them
+                        rates[4] = weightedMs / elapsedMs;
+                        rates[5] = ios > 0 ? ioMs / ios : 0;
+                    } else {
+                        // Without per-request times, fall back to in-flight count and service time
+                        rates[4] = current[base + IN_FLIGHT];
+                        rates[5] = ios > 0 ? busyMs / ios : 0;
+                    }
+                    rates[6] = Math.min(100, busyMs * 100.0 / elapsedMs);
+
+                    for (int s = 0; s < IO_SERIES.length; s++) {
+                        metricsStore.recordSeries(seriesNames[i][s], timestamp, rates[s]);
+                    }
+                    if (rates[6] > busiestRates[6]) {
+                        System.arraycopy(rates, 0, busiestRates, 0, rates.length);
+                        busiest = i;
+                    }
+                    logger.debug("   {}: {} r/s, {} w/s, {}/s read, {}/s written, aqu {}, await {}ms, {}% util",
+                            deviceNames[i],
+                            String.format("%.1f", rates[0]),
+                            String.format("%.1f", rates[1]),
+                            formatBytes((long) rates[2]),
+                            formatBytes((long) rates[3]),
+                            String.format("%.2f", rates[4]),
+                            String.format("%.2f", rates[5]),
+                            String.format("%.1f", rates[6]));
+                }
+            }
+            System.arraycopy(current, 0, previous, 0, current.length);
+
+            if (busiest >= 0) {
+                logger.info("💿 Disk I/O: busiest {} {}% util, {}/s read, {}/s written, await {}ms",
+                        deviceNames[busiest],
+                        String.format("%.1f", busiestRates[6]),
+                        formatBytes((long) busiestRates[2]),
+                        formatBytes((long) busiestRates[3]),
+                        String.format("%.2f", busiestRates[5]));
+            }
+        } catch (Exception e) {
+            logger.error("Error monitoring disk I/O", e);
+        }
+    }
+
+    /**
+     * Increase of one counter since the previous sample, NaN after a reset.
+     */
+    private double delta(int base, int field, long modulus) {
+        return DerivedMetrics.counterDelta(previous[base + field], current[base + field], modulus);
+    }
+
+    /**
+     * Fills current from OSHI. Request times (IO_MS, WEIGHTED_MS) are left
+     * as read from /proc/diskstats.
+     */
+    private void readHwDiskStores() {
+        for (int i = 0; i < disks.size(); i++) {
+            HWDiskStore disk = disks.get(i);
+            disk.updateAttributes();
+            int base = i * FIELDS;
+            current[base + TIMESTAMP_MS] = disk.getTimeStamp();
+            current[base + READS] = disk.getReads();
+            current[base + WRITES] = disk.getWrites();
+            current[base + READ_BYTES] = disk.getReadBytes();
+            current[base + WRITE_BYTES] = disk.getWriteBytes();
+            current[base + BUSY_MS] = disk.getTransferTime();
+            current[base + IN_FLIGHT] = disk.getCurrentQueueLength();
+        }
+    }
+
+    /**
+     * Reads /proc/diskstats. Only request times are taken unless procOnly,
+     * in which case all counters are.
+     *
+     * @return false if the file could not be read
+     */
+    private boolean readDiskstats(long now) {
+        if (!reader.read(diskstats)) {
+            return false;
+        }
+        while (reader.hasRemaining()) {
+            reader.skipFields(2);                       // major, minor
+            Integer index = deviceIndex.get(reader.nextToken());
+            if (index != null) {
+                int base = index * FIELDS;
+                long reads = reader.nextLong();
+                reader.skipFields(1);                   // reads merged
+                long sectorsRead = reader.nextLong();
+                long readMs = reader.nextLong();
+                long writes = reader.nextLong();
+                reader.skipFields(1);                   // writes merged
+                long sectorsWritten = reader.nextLong();
+                long writeMs = reader.nextLong();
+                long inFlight = reader.nextLong();
+                long ioTicks = reader.nextLong();
+                current[base + IO_MS] = readMs + writeMs;
+                current[base + WEIGHTED_MS] = reader.nextLong();
+                if (procOnly) {
+                    current[base + TIMESTAMP_MS] = now;
+                    current[base + READS] = reads;
+                    current[base + WRITES] = writes;
+                    current[base + READ_BYTES] = sectorsRead * SECTOR_BYTES;
+                    current[base + WRITE_BYTES] = sectorsWritten * SECTOR_BYTES;
+                    current[base + BUSY_MS] = ioTicks;
+                    current[base + IN_FLIGHT] = inFlight;
+                }
+            }
+            if (!reader.nextLine()) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * (Re-)enumerates physical disks, carrying previous counters over by name
+     * so a refresh does not lose a sample.
+     */
+    private void refreshDevices() {
+        runsSinceRefresh = 0;
+        List<String> names = new ArrayList<>();
+        if (procOnly) {
+            names.addAll(listBlockDevices());
+        } else {
+            disks = hardware.getDiskStores();
+            for (HWDiskStore disk : disks) {
+                // OSHI reports /dev/sda on Linux; diskstats uses sda
+                String name = disk.getName();
+                names.add(name.startsWith("/dev/") ? name.substring(5) : name);
+            }
+        }
+        int n = names.size();
+
+        long[] carried = new long[n * FIELDS];
+        Map<String, Integer> index = new HashMap<>();
+        String[][] series = new String[n][IO_SERIES.length];
+        for (int i = 0; i < n; i++) {
+            String name = names.get(i);
+            index.put(name, i);
+            for (int s = 0; s < IO_SERIES.length; s++) {
+                series[i][s] = "disk." + name + "." + IO_SERIES[s];
+            }
+            Integer old = deviceIndex == null ? null : deviceIndex.get(name);
+            if (old != null) {
+                System.arraycopy(previous, old * FIELDS, carried, i * FIELDS, FIELDS);
+            }
+        }
+
+        deviceNames = names.toArray(new String[0]);
+        deviceIndex = index;
+        seriesNames = series;
+        previous = carried;
+        current = carried.clone();
+        logger.debug("Tracking I/O on {} disks", n);
+    }
+
+    /**
+     * Whole-disk block devices from /sys/block, without loop and RAM disks.
+     */
+    private List<String> listBlockDevices() {
+        List<String> names = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(sysBlock)) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                if (!name.startsWith("loop") && !name.startsWith("ram")) {
+                    names.add(name);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot list {}: {}", sysBlock, e.getMessage());
+        }
+        Collections.sort(names);
+        return names;
+    }
+
     /**
      * Creates a visual bar representation of disk usage.
      */
@@ -0,0 +1,432 @@
+package com.portfolio.monitor.monitors;
+
+import com.portfolio.monitor.core.SharedMetricsStore;
+import com.portfolio.monitor.utils.ProcFileReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * High-resolution flight recorder for incidents. A dedicated thread samples
+ * a handful of cheap kernel counters every 100 ms into a fixed ring that
+ * holds the last few minutes; when an alert fires (or an operator creates
+ * the trigger file) the window before the trigger and the window after it
+ * are written to a compact binary file, read back with FlightRecording.
+ *
+ * Channels, computed per sample from /proc/stat, /proc/meminfo and
+ * /proc/pressure (NaN where unavailable):
+ * cpu.busy_pct, cpu.iowait_pct, sched.procs_running, sched.procs_blocked,
+ * sched.ctxt_per_sec, memory.available_bytes and the cpu, memory and io
+ * "some" stall percentages.
+ *
+ * The ring has a single writer and no locks: a sample is written to its
+ * slot before the volatile sample count is advanced, and the dump thread
+ * copies slots, fences, and then re-reads the count to discard any the
+ * writer overtook.
+ * Dumps run on their own thread and wait for the post-trigger window to
+ * fill, so sampling never pauses. Triggers while a dump is pending are
+ * folded into it.
+ *
+ * Key Concurrency Concepts:
+ * - Single-writer ring with a volatile publication index
+ * - Sampling, dumping and collection on separate threads
+ */
+public class FlightRecorder implements Runnable, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecorder.class);
+
+    public static final String[] CHANNELS = {
+            "cpu.busy_pct", "cpu.iowait_pct",
+            "sched.procs_running", "sched.procs_blocked", "sched.ctxt_per_sec",
+            "memory.available_bytes",
+            "psi.cpu.some.stall_pct", "psi.memory.some.stall_pct", "psi.io.some.stall_pct"};
+    private static final int C = CHANNELS.length;
+    private static final String[] PSI_RESOURCES = {"cpu", "memory", "io"};
+
+    static final int MAGIC = 0x53524D46;    // "SRMF"
+    static final short VERSION = 1;
+
+    public static final long DEFAULT_INTERVAL_MS = 100;
+    // Ring slack beyond pre + post, so a dump that starts late still finds its first samples
+    private static final long SLACK_MS = 30_000;
+    private static final long TRIGGER_FILE_CHECK_MS = 1000;
+    private static final DateTimeFormatter FILE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+    private final SharedMetricsStore metricsStore;
+    private final Path procStat;
+    private final Path procMeminfo;
+    private final Path[] pressureFiles;
+    private final Path dumpDir;
+    private final long intervalMs;
+    private final int preSamples;
+    private final int postSamples;
+    private final int capacity;
+
+    // Ring: slot = index % capacity; written is the number of samples published
+    private final long[] timestamps;
+    private final float[] values;
+    private volatile long written;
+
+    // Sampler thread only
+    private final ProcFileReader reader = new ProcFileReader();
+    private final float[] sample = new float[C];
+    private long prevTotal = -1;
+    private long prevIdle;
+    private long prevIowait;
+    private long prevCtxt;
+    private long prevNanos;
+    private final long[] prevStall = {-1, -1, -1};
+
+    private final ScheduledExecutorService sampler;
+    private final ExecutorService dumper;
+    private final AtomicBoolean dumpPending = new AtomicBoolean();
+    private long dumps;
+
+    private volatile Path triggerFile;
+    private final int triggerFileEvery;    // samples between checks for the trigger file
+
+    /**
+     * Creates a recorder of 100 ms samples reading the real /proc.
+     *
+     * @param preSeconds  Seconds before a trigger written to a dump
+     * @param postSeconds Seconds after a trigger written to a dump
+     */
+    public FlightRecorder(SharedMetricsStore metricsStore, Path dumpDir, long preSeconds, long postSeconds) {
+        this(metricsStore, ProcFileReader.PROC, dumpDir, DEFAULT_INTERVAL_MS,
+                TimeUnit.SECONDS.toMillis(preSeconds), TimeUnit.SECONDS.toMillis(postSeconds));
+    }
+
+    public FlightRecorder(SharedMetricsStore metricsStore, Path procRoot, Path dumpDir,
+                          long intervalMs, long preMillis, long postMillis) {
+        if (intervalMs <= 0 || preMillis < 0 || postMillis < 0) {
+            throw new IllegalArgumentException("Invalid flight recorder windows");
+        }
+        this.metricsStore = metricsStore;
+        this.procStat = procRoot.resolve("stat");
+        this.procMeminfo = procRoot.resolve("meminfo");
+        this.pressureFiles = new Path[PSI_RESOURCES.length];
+        for (int r = 0; r < PSI_RESOURCES.length; r++) {
+            pressureFiles[r] = procRoot.resolve("pressure").resolve(PSI_RESOURCES[r]);
+        }
+        this.dumpDir = dumpDir;
+        this.intervalMs = intervalMs;
+        this.preSamples = (int) (preMillis / intervalMs);
+        this.postSamples = (int) (postMillis / intervalMs);
+        this.capacity = preSamples + postSamples + (int) Math.max(SLACK_MS / intervalMs, 1);
+        this.triggerFileEvery = (int) Math.max(TRIGGER_FILE_CHECK_MS / intervalMs, 1);
+        this.timestamps = new long[capacity];
+        this.values = new float[capacity * C];
+        this.sampler = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "flight-recorder"));
+        this.dumper = Executors.newSingleThreadExecutor(r -> daemon(r, "flight-recorder-dump"));
+    }
+
+    /**
+     * Starts sampling on the recorder's own thread.
+     */
+    public void start() {
+        sampler.scheduleAtFixedRate(this, 0, intervalMs, TimeUnit.MILLISECONDS);
+        logger.info("Flight recorder sampling every {} ms, dumps {} s before and {} s after a trigger to {}",
+                intervalMs, preSamples * intervalMs / 1000, postSamples * intervalMs / 1000, dumpDir);
+    }
+
+    @Override
+    public void run() {
+        try {
+            sample(System.currentTimeMillis(), System.nanoTime());
+            if (triggerFile != null && written % triggerFileEvery == 0) {
+                checkTriggerFile();
+            }
+        } catch (Exception e) {
+            logger.error("Error sampling flight recorder", e);
+        }
+    }
+
+    /**
+     * Takes one sample and publishes it into the ring.
+     */
+    void sample(long timestamp, long nanos) {
+        double seconds = prevNanos == 0 ? 0 : (nanos - prevNanos) / 1e9;
+        prevNanos = nanos;
+        readStat(seconds);
+        readMeminfo();
+        readPressure(seconds);
+
+        long index = written;
+        int slot = (int) (index % capacity);
+        timestamps[slot] = timestamp;
+        System.arraycopy(sample, 0, values, slot * C, C);
+        written = index + 1;
+    }
+
+    private void readStat(double seconds) {
+        for (int c = 0; c < 5; c++) {
+            sample[c] = Float.NaN;
+        }
+        if (!reader.read(procStat)) {
+            return;
+        }
+        reader.skipFields(1);                   // "cpu"
+        long total = 0;
+        long idle = 0;
+        long iowait = 0;
+        for (int column = 0; column < 8; column++) {
+            long value = reader.nextLong();
+            total += value;
+            if (column == 3) {
+                idle = value;
+            } else if (column == 4) {
+                iowait = value;
+            }
+        }
+        long dTotal = total - prevTotal;
+        if (prevTotal >= 0 && dTotal > 0) {
+            sample[0] = (float) ((dTotal - (idle - prevIdle) - (iowait - prevIowait)) * 100.0 / dTotal);
+            sample[1] = (float) ((iowait - prevIowait) * 100.0 / dTotal);
+        }
+        long ctxt = -1;
+        while (reader.nextLine()) {
+            if (reader.tokenStartsWith("ctxt ")) {
+                reader.skipFields(1);
+                ctxt = reader.nextLong();
+            } else if (reader.tokenStartsWith("procs_running ")) {
+                reader.skipFields(1);
+                sample[2] = reader.nextLong();
+            } else if (reader.tokenStartsWith("procs_blocked ")) {
+                reader.skipFields(1);
+                sample[3] = reader.nextLong();
+            }
+        }
+        if (prevTotal >= 0 && prevCtxt >= 0 && ctxt >= prevCtxt && seconds > 0) {
+            sample[4] = (float) ((ctxt - prevCtxt) / seconds);
+        }
+        prevTotal = total;
+        prevIdle = idle;
+        prevIowait = iowait;
+        prevCtxt = ctxt;
+    }
+
+    private void readMeminfo() {
+        sample[5] = Float.NaN;
+        if (!reader.read(procMeminfo)) {
+            return;
+        }
+        do {
+            if (reader.tokenStartsWith("MemAvailable:")) {
+                reader.skipPast((byte) ':');
+                sample[5] = reader.nextLong() * 1024f;
+                return;
+            }
+        } while (reader.nextLine());
+    }
+
+    /**
+     * Stall percentage from the "some" total (microseconds) between samples.
+     */
+    private void readPressure(double seconds) {
+        for (int r = 0; r < PSI_RESOURCES.length; r++) {
+            sample[6 + r] = Float.NaN;
+            if (!reader.read(pressureFiles[r]) || !reader.tokenStartsWith("some")) {
+                continue;
+            }
+            for (int i = 0; i < 4; i++) {
+                reader.skipPast((byte) '=');    // avg10, avg60, avg300, total
+            }
+            long total = reader.nextLong();
+            if (prevStall[r] >= 0 && total >= prevStall[r] && seconds > 0) {
+                sample[6 + r] = (float) Math.min(100, (total - prevStall[r]) / (seconds * 1e6) * 100);
+            }
+            prevStall[r] = total;
+        }
+    }
+
+    /**
+     * Schedules a dump of the window around now. Returns immediately; the
+     * file is written once the post-trigger window has been sampled.
+     *
+     * @return false if a dump is already pending (this trigger is part of it)
+     */
+    public boolean trigger(String reason) {
+        if (!dumpPending.compareAndSet(false, true)) {
+            logger.debug("Flight recorder dump already pending; folding in trigger {}", reason);
+            return false;
+        }
+        long triggerIndex = written;
+        long triggerMillis = System.currentTimeMillis();
+        logger.warn("🛫 Flight recorder triggered by {}; dumping in {} ms", reason, postSamples * intervalMs);
+        try {
+            dumper.execute(() -> {
+                try {
+                    awaitSamples(triggerIndex + postSamples);
+                    dump(triggerIndex, triggerMillis, reason);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (IOException e) {
+                    logger.error("Could not write flight recording", e);
+                } finally {
+                    dumpPending.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            dumpPending.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Dumps whenever the given file appears (e.g. touch <dumpDir>/trigger);
+     * the sampler deletes it again, checking about once a second. Creates
+     * the parent directory if needed.
+     *
+     * @return false if the parent directory cannot be created
+     */
+    public boolean triggerOnFile(Path file) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot trigger flight recorder on {}: {}", file, e.getMessage());
+            return false;
+        }
+        this.triggerFile = file;
+        logger.info("Flight recorder dumps when {} is created", file);
+        return true;
+    }
+
+    /**
+     * Consumes the trigger file if it exists; returns whether it did.
+     */
+    boolean checkTriggerFile() {
+        Path file = triggerFile;
+        try {
+            if (file != null && Files.deleteIfExists(file)) {
+                trigger("trigger file");
+                return true;
+            }
+        } catch (IOException e) {
+            logger.debug("Cannot remove flight recorder trigger file {}: {}", file, e.getMessage());
+        }
+        return false;
+    }
+
+    private void awaitSamples(long target) throws InterruptedException {
+        // Bounded: if sampling stalls or stops, dump what there is
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(2 * (postSamples + 10) * intervalMs);
+        while (written < target && System.nanoTime() < deadline && !sampler.isShutdown()) {
+            Thread.sleep(intervalMs);
+        }
+    }
+
+    /**
+     * Writes the samples from preSamples before triggerIndex up to
+     * postSamples after it (or the newest sample) to a new file in dumpDir.
+     *
+     * @return the file written
+     */
+    Path dump(long triggerIndex, long triggerMillis, String reason) throws IOException {
+        long end = Math.min(written, triggerIndex + postSamples);
+        long start = Math.max(0, Math.max(triggerIndex - preSamples, end - capacity));
+        int n = (int) Math.max(0, end - start);
+        long[] ts = new long[n];
+        float[] vs = new float[n * C];
+        for (int i = 0; i < n; i++) {
+            int slot = (int) ((start + i) % capacity);
+            ts[i] = timestamps[slot];
+            System.arraycopy(values, slot * C, vs, i * C, C);
+        }
+        // Keep the plain slot reads above from moving below the re-read of written
+        VarHandle.loadLoadFence();
+        // Slots the writer reached while we copied hold newer samples: drop them
+        long skip = Math.max(0, written - capacity + 1 - start);
+        int first = (int) Math.min(skip, n);
+
+        Files.createDirectories(dumpDir);
+        Path file = dumpDir.resolve("flight-" + FILE_TIME.format(Instant.ofEpochMilli(triggerMillis)) + ".srmf");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(file))))) {
+            writeRecording(out, triggerMillis, reason, ts, vs, first, n,
+                    (int) Math.max(0, Math.min(triggerIndex - start - first, n - first)));
+        }
+        dumps++;
+        metricsStore.recordSeries("flight.dumps", System.currentTimeMillis(), dumps);
+        logger.info("🛬 Flight recording of {} samples written to {} ({} bytes)",
+                n - first, file, Files.size(file));
+        return file;
+    }
+
+    /**
+     * Format (big-endian, gzip-compressed): magic, version, trigger millis,
+     * reason, interval ms, channel names, sample count, index of the first
+     * sample at or after the trigger, first timestamp, then per sample an
+     * int millisecond offset from the first timestamp and one float per channel.
+     */
+    private void writeRecording(DataOutputStream out, long triggerMillis, String reason,
+                                long[] ts, float[] vs, int from, int to, int triggerOffset) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(triggerMillis);
+        out.writeUTF(reason);
+        out.writeInt((int) intervalMs);
+        out.writeShort(C);
+        for (String channel : CHANNELS) {
+            out.writeUTF(channel);
+        }
+        out.writeInt(to - from);
+        out.writeInt(triggerOffset);
+        long base = to > from ? ts[from] : triggerMillis;
+        out.writeLong(base);
+        for (int i = from; i < to; i++) {
+            out.writeInt((int) (ts[i] - base));
+            for (int c = 0; c < C; c++) {
+                out.writeFloat(vs[i * C + c]);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of samples taken so far.
+     */
+    public long getSampleCount() {
+        return written;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public void close() {
+        sampler.shutdownNow();
+        dumper.shutdown();
+        try {
+            // Let a pending dump finish writing
+            dumper.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread thread = new Thread(r, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
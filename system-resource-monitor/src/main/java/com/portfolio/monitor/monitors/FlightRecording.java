@@ -0,0 +1,70 @@
+package com.portfolio.monitor.monitors;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * A flight recording read back from a file written by FlightRecorder.
+ * Values are sample-major: values[sample * channels.length + channel].
+ *
+ * @param triggerIndex index of the first sample taken at or after the trigger
+ */
+public record FlightRecording(long triggerMillis, String reason, int intervalMillis, String[] channels,
+                              long[] timestamps, float[] values, int triggerIndex) {
+
+    public static FlightRecording read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != FlightRecorder.MAGIC) {
+                throw new IOException("Not a flight recording: " + file);
+            }
+            short version = in.readShort();
+            if (version != FlightRecorder.VERSION) {
+                throw new IOException("Unsupported flight recording version " + version + " in " + file);
+            }
+            long triggerMillis = in.readLong();
+            String reason = in.readUTF();
+            int intervalMillis = in.readInt();
+            String[] channels = new String[in.readShort()];
+            for (int c = 0; c < channels.length; c++) {
+                channels[c] = in.readUTF();
+            }
+            int samples = in.readInt();
+            int triggerIndex = in.readInt();
+            long base = in.readLong();
+            long[] timestamps = new long[samples];
+            float[] values = new float[samples * channels.length];
+            for (int i = 0; i < samples; i++) {
+                timestamps[i] = base + in.readInt();
+                for (int c = 0; c < channels.length; c++) {
+                    values[i * channels.length + c] = in.readFloat();
+                }
+            }
+            return new FlightRecording(triggerMillis, reason, intervalMillis, channels, timestamps, values, triggerIndex);
+        }
+    }
+
+    public int size() {
+        return timestamps.length;
+    }
+
+    /**
+     * Returns one channel's values over all samples.
+     */
+    public float[] channel(String name) {
+        for (int c = 0; c < channels.length; c++) {
+            if (channels[c].equals(name)) {
+                float[] series = new float[timestamps.length];
+                for (int i = 0; i < series.length; i++) {
+                    series[i] = values[i * channels.length + c];
+                }
+                return series;
+            }
+        }
+        throw new IllegalArgumentException("Unknown channel: " + name);
+    }
+}
@@ -0,0 +1,454 @@
+package com.portfolio.monitor.monitors;
+
+import com.portfolio.monitor.core.SharedMetricsStore;
+import com.portfolio.monitor.utils.ProcFileReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Watches for file-descriptor, socket and thread exhaustion, system-wide
+ * and per process.
+ *
+ * System-wide, every 5 seconds:
+ * - fd.system.allocated / fd.system.max from /proc/sys/fs/file-nr
+ * - threads.system from /proc/loadavg
+ * - tcp.<state> counts and tcp.sockets from /proc/net/tcp and tcp6, parsed
+ *   in place from the read buffer (no per-line Strings)
+ * - tcp.ephemeral_ports_in_use and tcp.ephemeral_ports_usage: non-listening
+ *   sockets whose local port lies in ip_local_port_range, against its size
+ *
+ * Per process, /proc/[pid]/fd is only listed when the process is due, and
+ * entries are counted without stat-ing them. Each process has its own
+ * interval: it halves (down to 1 s) while the fd or thread count climbs,
+ * drops straight to 1 s once the fd count reaches 80% of RLIMIT_NOFILE,
+ * and doubles (up to 60 s) while steady.
+ * The top processes by fd count, and any that are climbing, are recorded
+ * as process.<pid>.fds, .threads, .fd_limit_usage and .tcp_sockets; only
+ * for those are fd links resolved to count TCP sockets.
+ *
+ * Key Concepts:
+ * - Lazy, adaptive per-process sampling driven by a 1 s base tick
+ * - Zero-copy parsing of /proc/net/tcp with ProcFileReader.nextHex
+ * - Open-addressing long set of socket inodes, reused between passes
+ */
+public class HandleMonitor implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(HandleMonitor.class);
+
+    static final long SYSTEM_INTERVAL_MS = 5000;
+    static final long MIN_INTERVAL_MS = 1000;
+    static final long MAX_INTERVAL_MS = 60_000;
+    private static final long INITIAL_INTERVAL_MS = 5000;
+    private static final int REPORTED_COUNT = 5;
+    private static final int CLIMB_MIN = 4;             // fds or threads per sample
+    private static final double NEAR_LIMIT = 0.8;
+
+    static final String[] TCP_STATES = {
+            null, "established", "syn_sent", "syn_recv", "fin_wait1", "fin_wait2", "time_wait",
+            "close", "close_wait", "last_ack", "listen", "closing", "new_syn_recv"};
+    private static final String[] TCP_SERIES = new String[TCP_STATES.length];
+    private static final int TCP_LISTEN = 0x0A;
+
+    static {
+        for (int s = 1; s < TCP_STATES.length; s++) {
+            TCP_SERIES[s] = "tcp." + TCP_STATES[s];
+        }
+    }
+
+    private final SharedMetricsStore metricsStore;
+    private final Path procRoot;
+    private final ProcFileReader reader = new ProcFileReader(65536);
+
+    private final Map<Integer, Tracked> tracked = new HashMap<>();
+    private final int[] tcpCounts = new int[TCP_STATES.length];
+    private long[] tcpInodes = new long[1024];          // open addressing, 0 = empty
+    private long nextSystemDue;
+    private long generation;
+
+    /**
+     * Per-process state; a fixed handful of fields however many samples are taken.
+     */
+    static final class Tracked {
+        final int pid;
+        final long startTime;
+        long seen;
+        long intervalMillis = INITIAL_INTERVAL_MS;
+        long nextDue;
+        int fds = -1;                   // -1: fd directory not readable
+        int threads;
+        long fdLimit = -1;
+        boolean climbing;
+        boolean reported;
+
+        Tracked(int pid, long startTime) {
+            this.pid = pid;
+            this.startTime = startTime;
+        }
+    }
+
+    public HandleMonitor(SharedMetricsStore metricsStore) {
+        this(metricsStore, ProcFileReader.PROC);
+    }
+
+    /**
+     * Creates a monitor reading the given /proc root (a captured tree in tests).
+     */
+    public HandleMonitor(SharedMetricsStore metricsStore, Path procRoot) {
+        this.metricsStore = metricsStore;
+        this.procRoot = procRoot;
+    }
+
+    public static boolean isSupported() {
+        return ProcFileReader.isProcAvailable();
+    }
+
+    @Override
+    public void run() {
+        try {
+            collect(System.currentTimeMillis());
+        } catch (IOException | RuntimeException e) {
+            logger.error("Error monitoring file descriptors and sockets", e);
+        }
+    }
+
+    /**
+     * One base tick: the system-wide pass and process discovery when due,
+     * then every process whose own interval has elapsed.
+     */
+    void collect(long now) throws IOException {
+        if (now >= nextSystemDue) {
+            nextSystemDue = now + SYSTEM_INTERVAL_MS;
+            collectSystem(now);
+            discover(now);
+            chooseReported();
+        }
+        for (Tracked process : tracked.values()) {
+            if (now >= process.nextDue) {
+                sample(process, now);
+            }
+        }
+    }
+
+    private void collectSystem(long now) {
+        long allocated = -1;
+        long max = -1;
+        if (reader.read(procRoot.resolve("sys/fs/file-nr"))) {
+            allocated = reader.nextLong();
+            reader.nextLong();                          // always 0 since 2.6
+            max = reader.nextLong();
+            metricsStore.recordSeries("fd.system.allocated", now, allocated);
+            metricsStore.recordSeries("fd.system.max", now, max);
+        }
+        if (reader.read(procRoot.resolve("loadavg"))) {
+            reader.skipFields(3);
+            reader.skipPast((byte) '/');
+            metricsStore.recordSeries("threads.system", now, reader.nextLong());
+        }
+
+        int low = 32768;
+        int high = 60999;
+        if (reader.read(procRoot.resolve("sys/net/ipv4/ip_local_port_range"))) {
+            low = (int) reader.nextLong();
+            high = (int) reader.nextLong();
+        }
+        Arrays.fill(tcpCounts, 0);
+        Arrays.fill(tcpInodes, 0);
+        int inodeCount = 0;
+        int ephemeral = 0;
+        for (String file : new String[]{"net/tcp", "net/tcp6"}) {
+            if (!reader.read(procRoot.resolve(file))) {
+                continue;
+            }
+            reader.nextLine();                          // header
+            while (reader.hasRemaining()) {
+                // sl: local_ip:port rem_ip:port st tx:rx tr:when retrnsmt uid timeout inode
+                reader.skipPast((byte) ':');
+                reader.nextHex();                       // address; IPv6 overflows harmlessly
+                reader.skipPast((byte) ':');
+                int port = (int) reader.nextHex();
+                reader.nextHex();
+                reader.skipPast((byte) ':');
+                reader.nextHex();
+                int state = (int) reader.nextHex();
+                reader.nextHex();                       // tx_queue
+                reader.skipPast((byte) ':');
+                reader.nextHex();                       // rx_queue
+                reader.nextHex();                       // tr
+                reader.skipPast((byte) ':');
+                reader.skipFields(4);                   // tm->when retrnsmt uid timeout
+                long inode = reader.nextLong();
+                if (state > 0 && state < tcpCounts.length) {
+                    tcpCounts[state]++;
+                    if (state != TCP_LISTEN && port >= low && port <= high) {
+                        ephemeral++;
+                    }
+                }
+                if (inode != 0) {
+                    if (++inodeCount * 2 > tcpInodes.length) {
+                        growInodes();
+                    }
+                    addInode(tcpInodes, inode);
+                }
+                if (!reader.nextLine()) {
+                    break;
+                }
+            }
+        }
+
+        int sockets = 0;
+        for (int s = 1; s < tcpCounts.length; s++) {
+            sockets += tcpCounts[s];
+            metricsStore.recordSeries(TCP_SERIES[s], now, tcpCounts[s]);
+        }
+        int range = Math.max(1, high - low + 1);
+        metricsStore.recordSeries("tcp.sockets", now, sockets);
+        metricsStore.recordSeries("tcp.ephemeral_ports_in_use", now, ephemeral);
+        metricsStore.recordSeries("tcp.ephemeral_ports_usage", now, (double) ephemeral / range);
+
+        logger.info("🔌 Handles: {} fds open{}, {} TCP sockets ({} established, {} time-wait), {}/{} ephemeral ports",
+                allocated,
+                max > 0 ? String.format(" (%.1f%% of max)", 100.0 * allocated / max) : "",
+                sockets, tcpCounts[1], tcpCounts[6], ephemeral, range);
+    }
+
+    /**
+     * Registers new processes and retires exited ones. New processes get
+     * their first sample spread over the initial interval, so startup does
+     * not list every fd directory at once.
+     */
+    private void discover(long now) throws IOException {
+        generation++;
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(procRoot)) {
+            for (Path entry : entries) {
+                int pid = ProcessMonitor.parsePid(entry.getFileName().toString());
+                if (pid <= 0) {
+                    continue;
+                }
+                Tracked process = tracked.get(pid);
+                if (process == null) {
+                    long startTime = readStartTime(entry);
+                    if (startTime < 0) {
+                        continue;
+                    }
+                    process = track(pid, startTime, now);
+                }
+                process.seen = generation;
+            }
+        }
+        Iterator<Tracked> it = tracked.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().seen != generation) {
+                it.remove();
+            }
+        }
+    }
+
+    private Tracked track(int pid, long startTime, long now) {
+        Tracked process = new Tracked(pid, startTime);
+        process.seen = generation;
+        process.nextDue = now + Math.floorMod(pid * 7919L, INITIAL_INTERVAL_MS);
+        tracked.put(pid, process);
+        return process;
+    }
+
+    /**
+     * Marks the top processes by fd count, plus any that are climbing,
+     * as reported.
+     */
+    private void chooseReported() {
+        List<Tracked> byFds = new ArrayList<>(tracked.values());
+        byFds.sort((a, b) -> Integer.compare(b.fds, a.fds));
+        for (int i = 0; i < byFds.size(); i++) {
+            Tracked process = byFds.get(i);
+            process.reported = process.fds >= 0 && (i < REPORTED_COUNT || process.climbing);
+        }
+    }
+
+    private void sample(Tracked process, long now) {
+        Path dir = procRoot.resolve(Integer.toString(process.pid));
+        int previousFds = process.fds;
+        int previousThreads = process.threads;
+        long startTime = readThreads(dir, process);
+        if (startTime < 0) {
+            process.nextDue = Long.MAX_VALUE;           // exited; dropped at the next discovery
+            return;
+        }
+        if (startTime != process.startTime) {
+            // PID reused since discovery: start over with the new process
+            track(process.pid, startTime, now);
+            return;
+        }
+        int tcpSockets = countFds(dir, process);
+
+        if (process.fds >= 0 && (process.fdLimit < 0 || process.climbing)) {
+            process.fdLimit = readFdLimit(dir);
+        }
+        double limitUsage = process.fds >= 0 && process.fdLimit > 0 ? (double) process.fds / process.fdLimit : 0;
+        boolean wasMeasured = previousFds >= 0 || previousThreads > 0;
+        process.climbing = wasMeasured
+                && (process.fds - previousFds >= Math.max(CLIMB_MIN, previousFds / 20)
+                || process.threads - previousThreads >= Math.max(CLIMB_MIN, previousThreads / 20));
+
+        if (limitUsage >= NEAR_LIMIT) {
+            process.intervalMillis = MIN_INTERVAL_MS;
+            process.reported = true;
+        } else if (process.climbing) {
+            process.intervalMillis = Math.max(MIN_INTERVAL_MS, process.intervalMillis / 2);
+            process.reported |= process.fds >= 0;
+        } else {
+            process.intervalMillis = Math.min(MAX_INTERVAL_MS, process.intervalMillis * 2);
+        }
+        process.nextDue = now + process.intervalMillis;
+
+        if (process.reported) {
+            String prefix = "process." + process.pid + ".";
+            metricsStore.recordSeries(prefix + "fds", now, process.fds);
+            metricsStore.recordSeries(prefix + "threads", now, process.threads);
+            metricsStore.recordSeries(prefix + "fd_limit_usage", now, limitUsage);
+            metricsStore.recordSeries(prefix + "tcp_sockets", now, tcpSockets);
+            if (process.climbing) {
+                logger.debug("PID {} climbing: {} fds, {} threads, sampling every {} ms",
+                        process.pid, process.fds, process.threads, process.intervalMillis);
+            }
+        }
+    }
+
+    /**
+     * Reads num_threads from /proc/[pid]/stat.
+     *
+     * @return the process start time, or -1 if the process has exited
+     */
+    private long readThreads(Path dir, Tracked process) {
+        if (!reader.read(dir.resolve("stat")) || !reader.skipPastLast((byte) ')')) {
+            return -1;
+        }
+        reader.skipFields(17);                          // fields 3-19: state .. nice
+        process.threads = (int) reader.nextLong();
+        reader.skipFields(1);                           // itrealvalue
+        return reader.nextLong();
+    }
+
+    private long readStartTime(Path dir) {
+        if (!reader.read(dir.resolve("stat")) || !reader.skipPastLast((byte) ')')) {
+            return -1;
+        }
+        reader.skipFields(19);                          // fields 3-21: state .. itrealvalue
+        return reader.nextLong();
+    }
+
+    /**
+     * Counts fd directory entries without stat-ing them; for reported
+     * processes also resolves each link to count TCP sockets.
+     *
+     * @return TCP sockets held, or 0 when not resolved
+     */
+    private int countFds(Path dir, Tracked process) {
+        int count = 0;
+        int tcp = 0;
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir.resolve("fd"))) {
+            for (Path entry : entries) {
+                count++;
+                if (process.reported) {
+                    long inode = socketInode(entry);
+                    if (inode != 0 && containsInode(tcpInodes, inode)) {
+                        tcp++;
+                    }
+                }
+            }
+            process.fds = count;
+        } catch (IOException | SecurityException e) {
+            process.fds = -1;                           // another user's process
+        }
+        return tcp;
+    }
+
+    /**
+     * Returns the inode of a "socket:[12345]" link target, or 0.
+     */
+    static long socketInode(Path fd) {
+        String target;
+        try {
+            target = Files.readSymbolicLink(fd).toString();
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            return 0;
+        }
+        if (!target.startsWith("socket:[") || !target.endsWith("]")) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(target, 8, target.length() - 1, 10);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Reads the soft "Max open files" limit from /proc/[pid]/limits.
+     */
+    private long readFdLimit(Path dir) {
+        if (!reader.read(dir.resolve("limits"))) {
+            return -1;
+        }
+        do {
+            if (reader.tokenStartsWith("Max open files")) {
+                reader.skipFields(3);
+                return reader.tokenStartsWith("unlimited") ? -1 : reader.nextLong();
+            }
+        } while (reader.nextLine());
+        return -1;
+    }
+
+    private void growInodes() {
+        long[] old = tcpInodes;
+        tcpInodes = new long[old.length * 2];
+        for (long inode : old) {
+            if (inode != 0) {
+                addInode(tcpInodes, inode);
+            }
+        }
+    }
+
+    private static void addInode(long[] table, long inode) {
+        int mask = table.length - 1;
+        int i = (int) (mix(inode) & mask);
+        while (table[i] != 0 && table[i] != inode) {
+            i = (i + 1) & mask;
+        }
+        table[i] = inode;
+    }
+
+    private static boolean containsInode(long[] table, long inode) {
+        int mask = table.length - 1;
+        int i = (int) (mix(inode) & mask);
+        while (table[i] != 0) {
+            if (table[i] == inode) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    private static long mix(long x) {
+        x *= 0x9E3779B97F4A7C15L;
+        return x ^ (x >>> 32);
+    }
+
+    /**
+     * Returns the state of a tracked process, or null; for tests.
+     */
+    Tracked getTracked(int pid) {
+        return tracked.get(pid);
+    }
+}
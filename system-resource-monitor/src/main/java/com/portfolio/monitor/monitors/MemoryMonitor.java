@@ -1,13 +1,17 @@
 package com.portfolio.monitor.monitors;
 
 import com.portfolio.monitor.core.SharedMetricsStore;
+import com.portfolio.monitor.utils.ProcFileReader;
+import com.portfolio.monitor.utils.SystemInfoHolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import oshi.SystemInfo;
 import oshi.hardware.GlobalMemory;
 
+import java.nio.file.Path;
+
 /**
- * Monitors memory usage (RAM and Swap) using OSHI library.
+ * Monitors memory usage (RAM and Swap) using OSHI library, or straight
+ * from /proc/meminfo when constructed with its path (the /proc fast path).
  * Runs as a scheduled task in the thread pool.
  * 
  * Key Concepts:
@@ -19,20 +23,51 @@ public class MemoryMonitor implements Runnable {
 
     private static final Logger logger = LoggerFactory.getLogger(MemoryMonitor.class);
 
+    public static final Path PROC_MEMINFO = ProcFileReader.PROC.resolve("meminfo");
+
     private final SharedMetricsStore metricsStore;
     private final GlobalMemory memory;
+    private final Path procMeminfo;
+    private final ProcFileReader reader;
+    // MemTotal, MemAvailable, SwapTotal, SwapFree in bytes, filled by readMeminfo()
+    private final long[] meminfo = new long[4];
 
     public MemoryMonitor(SharedMetricsStore metricsStore) {
+        this(metricsStore, null);
+    }
+
+    /**
+     * Creates a monitor reading the given /proc/meminfo-format file,
+     * or OSHI's GlobalMemory when procMeminfo is null.
+     */
+    public MemoryMonitor(SharedMetricsStore metricsStore, Path procMeminfo) {
         this.metricsStore = metricsStore;
-        SystemInfo si = new SystemInfo();
-        this.memory = si.getHardware().getMemory();
+        this.procMeminfo = procMeminfo;
+        this.memory = procMeminfo == null ? SystemInfoHolder.hardware().getMemory() : null;
+        this.reader = procMeminfo == null ? null : new ProcFileReader();
     }
 
     @Override
     public void run() {
         try {
-            long totalMemory = memory.getTotal();
-            long availableMemory = memory.getAvailable();
+            long totalMemory;
+            long availableMemory;
+            long swapTotal;
+            long swapUsed;
+            if (procMeminfo != null) {
+                if (!readMeminfo()) {
+                    return;
+                }
+                totalMemory = meminfo[0];
+                availableMemory = meminfo[1];
+                swapTotal = meminfo[2];
+                swapUsed = meminfo[2] - meminfo[3];
+            } else {
+                totalMemory = memory.getTotal();
+                availableMemory = memory.getAvailable();
+                swapTotal = memory.getVirtualMemory().getSwapTotal();
+                swapUsed = memory.getVirtualMemory().getSwapUsed();
+            }
             long usedMemory = totalMemory - availableMemory;
             double memoryUsagePercent = (double) usedMemory / totalMemory * 100;
 
@@ -45,9 +80,7 @@ public class MemoryMonitor implements Runnable {
                     String.format("%.1f", memoryUsagePercent));
 
             // Log swap if available
-            long swapTotal = memory.getVirtualMemory().getSwapTotal();
             if (swapTotal > 0) {
-                long swapUsed = memory.getVirtualMemory().getSwapUsed();
                 double swapPercent = (double) swapUsed / swapTotal * 100;
                 logger.debug("   Swap: {} / {} ({}%)",
                         formatBytes(swapUsed),
@@ -60,6 +93,32 @@ public class MemoryMonitor implements Runnable {
         }
     }
 
+    /**
+     * Fills meminfo from /proc/meminfo; values there are in kB.
+     */
+    private boolean readMeminfo() {
+        if (!reader.read(procMeminfo)) {
+            return false;
+        }
+        do {
+            int field;
+            if (reader.tokenStartsWith("MemTotal:")) {
+                field = 0;
+            } else if (reader.tokenStartsWith("MemAvailable:")) {
+                field = 1;
+            } else if (reader.tokenStartsWith("SwapTotal:")) {
+                field = 2;
+            } else if (reader.tokenStartsWith("SwapFree:")) {
+                field = 3;
+            } else {
+                continue;
+            }
+            reader.skipPast((byte) ':');
+            meminfo[field] = reader.nextLong() * 1024;
+        } while (reader.nextLine());
+        return meminfo[0] > 0;
+    }
+
     /**
      * Creates a visual bar representation of memory usage.
      */
@@ -0,0 +1,266 @@
+package com.portfolio.monitor.monitors;
+
+import com.portfolio.monitor.utils.ProcFileReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cached list of the mounts worth polling for free space, parsed from
+ * /proc/self/mountinfo and rebuilt only when that file changes.
+ *
+ * Checking for a change costs one read and a hash of the file; the
+ * mount table is re-parsed and re-filtered only when the hash differs.
+ * Filtering drops pseudo filesystems by type, mounts under excluded
+ * paths, and bind mounts or duplicate mounts of a device already listed
+ * (same major:minor), so each filesystem is statvfs-ed once.
+ *
+ * Rules, in order:
+ * 1. A mount point listed with includeMounts is always kept
+ * 2. A type listed with includeTypes is kept even if it is a default pseudo type
+ * 3. Types in excludeTypes and mounts under excludeMounts prefixes are dropped
+ * 4. Of several mounts of one device, only the shortest mount point is kept
+ *    (an included mount point wins over any other)
+ *
+ * Key Concepts:
+ * - Change detection by content hash instead of periodic re-enumeration
+ * - Immutable snapshot swapped on change; readers never see a partial list
+ */
+public class MountInventory {
+
+    private static final Logger logger = LoggerFactory.getLogger(MountInventory.class);
+
+    public static final Path MOUNTINFO = ProcFileReader.PROC.resolve("self/mountinfo");
+
+    /**
+     * Filesystem types that never hold user data, or whose space is
+     * accounted for elsewhere (overlay layers live on the host filesystem).
+     */
+    public static final Set<String> DEFAULT_EXCLUDED_TYPES = Set.of(
+            "proc", "sysfs", "devtmpfs", "devpts", "tmpfs", "ramfs", "cgroup", "cgroup2",
+            "securityfs", "pstore", "bpf", "debugfs", "tracefs", "mqueue", "hugetlbfs",
+            "configfs", "fusectl", "autofs", "binfmt_misc", "nsfs", "overlay", "squashfs",
+            "rpc_pipefs", "efivarfs", "selinuxfs", "nfsd", "fuse.lxcfs", "fuse.gvfsd-fuse");
+
+    /**
+     * One filesystem mount.
+     *
+     * @param device major:minor of the backing device
+     */
+    public record Mount(String mountPoint, String fsType, String source, String device) {
+    }
+
+    private final Path mountinfo;
+    private final ProcFileReader reader = new ProcFileReader(16384);
+    private final Set<String> excludedTypes = new HashSet<>(DEFAULT_EXCLUDED_TYPES);
+    private final Set<String> includedMounts = new LinkedHashSet<>(List.of("/"));
+    private final List<String> excludedMountPrefixes = new ArrayList<>();
+
+    private long lastHash;
+    private boolean loaded;
+    private volatile List<Mount> mounts = List.of();
+
+    public MountInventory() {
+        this(MOUNTINFO);
+    }
+
+    public MountInventory(Path mountinfo) {
+        this.mountinfo = mountinfo;
+    }
+
+    public static boolean isSupported() {
+        return MOUNTINFO.toFile().canRead();
+    }
+
+    /**
+     * Keeps filesystems of these types even if excluded by default.
+     */
+    public MountInventory includeTypes(String... types) {
+        for (String type : types) {
+            excludedTypes.remove(type);
+        }
+        return this;
+    }
+
+    public MountInventory excludeTypes(String... types) {
+        Collections.addAll(excludedTypes, types);
+        return this;
+    }
+
+    /**
+     * Always keeps these exact mount points, whatever their type.
+     */
+    public MountInventory includeMounts(String... mountPoints) {
+        Collections.addAll(includedMounts, mountPoints);
+        return this;
+    }
+
+    /**
+     * Drops every mount at or below these paths (e.g. /var/lib/docker).
+     */
+    public MountInventory excludeMounts(String... prefixes) {
+        Collections.addAll(excludedMountPrefixes, prefixes);
+        return this;
+    }
+
+    /**
+     * Applies rules from a comma-separated spec such as
+     * {@code +type:tmpfs,-type:nfs,+mount:/data,-mount:/var/lib/docker}.
+     */
+    public MountInventory configure(String spec) {
+        for (String entry : spec.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int colon = trimmed.indexOf(':');
+            if (colon < 2 || (trimmed.charAt(0) != '+' && trimmed.charAt(0) != '-')) {
+                throw new IllegalArgumentException("Mount rule must be +type:x, -type:x, +mount:/p or -mount:/p, got: "
+                        + trimmed);
+            }
+            boolean include = trimmed.charAt(0) == '+';
+            String kind = trimmed.substring(1, colon);
+            String value = trimmed.substring(colon + 1);
+            switch (kind) {
+                case "type" -> {
+                    if (include) {
+                        includeTypes(value);
+                    } else {
+                        excludeTypes(value);
+                    }
+                }
+                case "mount" -> {
+                    if (include) {
+                        includeMounts(value);
+                    } else {
+                        excludeMounts(value);
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unknown mount rule kind: " + trimmed);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Re-reads the mount table if it changed since the last call.
+     *
+     * @return true if the mount list was rebuilt
+     */
+    public boolean refresh() {
+        if (!reader.read(mountinfo)) {
+            return false;
+        }
+        long hash = reader.contentHash();
+        if (loaded && hash == lastHash) {
+            return false;
+        }
+        lastHash = hash;
+        loaded = true;
+        mounts = Collections.unmodifiableList(parse(reader.contentAsString()));
+        logger.debug("Mount table changed, polling {} filesystems", mounts.size());
+        return true;
+    }
+
+    /**
+     * Returns the filtered mounts from the last refresh.
+     */
+    public List<Mount> getMounts() {
+        return mounts;
+    }
+
+    private List<Mount> parse(String content) {
+        List<Mount> candidates = new ArrayList<>();
+        Map<String, Mount> byDevice = new HashMap<>();
+        for (String line : content.split("\n")) {
+            // id parent major:minor root mountpoint options [optional...] - fstype source superoptions
+            String[] fields = line.split(" ");
+            int separator = indexOf(fields, "-", 6);
+            if (separator < 0 || separator + 2 >= fields.length) {
+                continue;
+            }
+            Mount mount = new Mount(unescape(fields[4]), fields[separator + 1],
+                    unescape(fields[separator + 2]), fields[2]);
+
+            if (!includedMounts.contains(mount.mountPoint())
+                    && (excludedTypes.contains(mount.fsType()) || isExcludedPath(mount.mountPoint()))) {
+                continue;
+            }
+            candidates.add(mount);
+            byDevice.merge(mount.device(), mount, this::preferred);
+        }
+
+        // Keep mountinfo order, which lists parents before children
+        List<Mount> result = new ArrayList<>();
+        for (Mount mount : candidates) {
+            if (byDevice.get(mount.device()) == mount) {
+                result.add(mount);
+            }
+        }
+        return result;
+    }
+
+    private Mount preferred(Mount a, Mount b) {
+        boolean aIncluded = includedMounts.contains(a.mountPoint());
+        if (aIncluded != includedMounts.contains(b.mountPoint())) {
+            return aIncluded ? a : b;
+        }
+        return b.mountPoint().length() < a.mountPoint().length() ? b : a;
+    }
+
+    private boolean isExcludedPath(String mountPoint) {
+        for (String prefix : excludedMountPrefixes) {
+            if (mountPoint.equals(prefix) || mountPoint.startsWith(prefix.endsWith("/") ? prefix : prefix + "/")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int indexOf(String[] fields, String value, int from) {
+        for (int i = from; i < fields.length; i++) {
+            if (fields[i].equals(value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Decodes the octal escapes mountinfo uses for space, tab, newline and backslash.
+     */
+    static String unescape(String field) {
+        if (field.indexOf('\\') < 0) {
+            return field;
+        }
+        StringBuilder sb = new StringBuilder(field.length());
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '\\' && i + 3 < field.length() && isOctal(field, i + 1)) {
+                sb.append((char) Integer.parseInt(field.substring(i + 1, i + 4), 8));
+                i += 3;
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isOctal(String s, int start) {
+        for (int i = start; i < start + 3; i++) {
+            if (s.charAt(i) < '0' || s.charAt(i) > '7') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,216 @@
+package com.portfolio.monitor.monitors;
+
+import com.portfolio.monitor.core.MetricSeries;
+import com.portfolio.monitor.core.SharedMetricsStore;
+import com.portfolio.monitor.utils.ProcFileReader;
+import com.portfolio.monitor.utils.SystemInfoHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import oshi.hardware.NetworkIF;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Monitors per-interface network throughput, packet rates, drops and errors.
+ * Runs as a scheduled task in the thread pool.
+ *
+ * On Linux the counters come straight from /proc/net/dev (one small read
+ * per tick); elsewhere from OSHI NetworkIF.
+ *
+ * Key Concepts:
+ * - Raw counters recorded as series; per-second rates declared once as
+ *   derived series, with 32-bit wraparound and reset handling
+ * - Series names built once per interface, not per sample
+ */
+public class NetworkMonitor implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(NetworkMonitor.class);
+
+    public static final Path PROC_NET_DEV = ProcFileReader.PROC.resolve("net/dev");
+
+    static final String[] COUNTERS = {
+            "rx_bytes", "rx_packets", "rx_errors", "rx_drops",
+            "tx_bytes", "tx_packets", "tx_errors", "tx_drops"};
+    private static final int N = COUNTERS.length;
+
+    private final SharedMetricsStore metricsStore;
+    private final Path procNetDev;
+    private final ProcFileReader reader = new ProcFileReader();
+    private List<NetworkIF> networkIFs;
+
+    // Per-interface series names: raw counters and their derived rates
+    private final Map<String, Integer> interfaceIndex = new HashMap<>();
+    private String[] interfaceNames = new String[0];
+    private String[][] counterNames = new String[0][];
+    private String[][] rateNames = new String[0][];
+    private final long[] current = new long[N];
+    private final double[] rates = new double[N];
+
+    /**
+     * Creates a monitor that uses /proc/net/dev when readable, OSHI otherwise.
+     */
+    public NetworkMonitor(SharedMetricsStore metricsStore) {
+        this(metricsStore, PROC_NET_DEV.toFile().canRead() ? PROC_NET_DEV : null);
+    }
+
+    /**
+     * Creates a monitor reading the given /proc/net/dev-format file,
+     * or OSHI NetworkIF when procNetDev is null.
+     */
+    public NetworkMonitor(SharedMetricsStore metricsStore, Path procNetDev) {
+        this.metricsStore = metricsStore;
+        this.procNetDev = procNetDev;
+        if (procNetDev == null) {
+            this.networkIFs = SystemInfoHolder.hardware().getNetworkIFs();
+        }
+        for (String counter : COUNTERS) {
+            metricsStore.getDerivedMetrics().rate("net.*." + counter, "net.*." + counter + "_per_sec", true);
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            long timestamp = System.currentTimeMillis();
+            double totalRx = 0;
+            double totalTx = 0;
+            long totalErrors = 0;
+
+            if (procNetDev != null) {
+                if (!reader.read(procNetDev)) {
+                    return;
+                }
+                // Two header lines
+                reader.nextLine();
+                reader.nextLine();
+                while (reader.hasRemaining()) {
+                    String name = reader.nextToken();
+                    reader.skipPast((byte) ':');
+                    current[0] = reader.nextLong();
+                    current[1] = reader.nextLong();
+                    current[2] = reader.nextLong();
+                    current[3] = reader.nextLong();
+                    reader.skipFields(4);           // fifo, frame, compressed, multicast
+                    current[4] = reader.nextLong();
+                    current[5] = reader.nextLong();
+                    current[6] = reader.nextLong();
+                    current[7] = reader.nextLong();
+
+                    double[] ifRates = update(name, timestamp);
+                    if (ifRates != null && !"lo".equals(name)) {
+                        totalRx += ifRates[0];
+                        totalTx += ifRates[4];
+                        totalErrors += (long) (ifRates[2] + ifRates[3] + ifRates[6] + ifRates[7]);
+                    }
+                    if (!reader.nextLine()) {
+                        break;
+                    }
+                }
+            } else {
+                for (NetworkIF net : networkIFs) {
+                    net.updateAttributes();
+                    current[0] = net.getBytesRecv();
+                    current[1] = net.getPacketsRecv();
+                    current[2] = net.getInErrors();
+                    current[3] = net.getInDrops();
+                    current[4] = net.getBytesSent();
+                    current[5] = net.getPacketsSent();
+                    current[6] = net.getOutErrors();
+                    current[7] = 0;                 // not exposed by NetworkIF
+                    double[] ifRates = update(net.getName(), net.getTimeStamp());
+                    if (ifRates != null) {
+                        totalRx += ifRates[0];
+                        totalTx += ifRates[4];
+                        totalErrors += (long) (ifRates[2] + ifRates[3] + ifRates[6]);
+                    }
+                }
+            }
+
+            logger.info("🌐 Network: {}/s in, {}/s out{}",
+                    formatBytes((long) totalRx),
+                    formatBytes((long) totalTx),
+                    totalErrors > 0 ? ", " + totalErrors + " errors+drops/s" : "");
+
+        } catch (Exception e) {
+            logger.error("Error monitoring network", e);
+        }
+    }
+
+    /**
+     * Records the counters in current for one interface; the store derives
+     * the per-second rates.
+     *
+     * @return the rates derived for this timestamp, or null on the first
+     *         sample of an interface
+     */
+    private double[] update(String name, long timestamp) {
+        int index = indexOf(name);
+        for (int c = 0; c < N; c++) {
+            metricsStore.recordSeries(counterNames[index][c], timestamp, current[c]);
+        }
+        for (int c = 0; c < N; c++) {
+            MetricSeries rate = metricsStore.getSeries(rateNames[index][c]);
+            if (rate == null || rate.latestTimestamp() != timestamp) {
+                return null;
+            }
+            rates[c] = rate.latestValue();
+        }
+        return rates;
+    }
+
+    private int indexOf(String name) {
+        Integer index = interfaceIndex.get(name);
+        if (index != null) {
+            return index;
+        }
+        int i = interfaceNames.length;
+        interfaceIndex.put(name, i);
+        interfaceNames = Arrays.copyOf(interfaceNames, i + 1);
+        interfaceNames[i] = name;
+        counterNames = Arrays.copyOf(counterNames, i + 1);
+        rateNames = Arrays.copyOf(rateNames, i + 1);
+        counterNames[i] = new String[N];
+        rateNames[i] = new String[N];
+        for (int c = 0; c < N; c++) {
+            counterNames[i][c] = "net." + seriesSegment(name) + "." + COUNTERS[c];
+            rateNames[i][c] = counterNames[i][c] + "_per_sec";
+        }
+        logger.debug("Tracking network interface {}", name);
+        return i;
+    }
+
+    /**
+     * Series name segment for an interface: VLAN and other sub-interfaces
+     * such as eth0.100 become eth0_100, so the name stays one segment and
+     * the net.*.&lt;counter&gt; rate declarations still match it.
+     */
+    static String seriesSegment(String interfaceName) {
+        return interfaceName.replace('.', '_');
+    }
+
+    /**
+     * Returns the names of all interfaces seen so far.
+     */
+    public String[] getInterfaceNames() {
+        return interfaceNames.clone();
+    }
+
+    /**
+     * Formats bytes into human-readable format.
+     */
+    private String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        } else if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        } else if (bytes < 1024 * 1024 * 1024) {
+            return String.format("%.1f MB", bytes / (1024.0 * 1024));
+        } else {
+            return String.format("%.2f GB", bytes / (1024.0 * 1024 * 1024));
+        }
+    }
+}
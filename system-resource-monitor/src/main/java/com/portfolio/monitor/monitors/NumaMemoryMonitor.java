@@ -0,0 +1,364 @@
+package com.portfolio.monitor.monitors;
+
+import com.portfolio.monitor.core.SharedMetricsStore;
+import com.portfolio.monitor.utils.ProcFileReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the memory detail that one total and one available number
+ * hide on multi-socket hosts: memory per NUMA node, hugepage pools, page
+ * faults and swapping.
+ *
+ * Sources:
+ * - /sys/devices/system/node/node[N]/meminfo, numastat and
+ *   hugepages/hugepages-[size]kB, for every node listed in "online"
+ * - /proc/meminfo for the system-wide hugepage pool and swap
+ * - /proc/vmstat for page faults and pages swapped in and out
+ *
+ * The node list and each node's hugepage sizes are discovered once and
+ * again only when the "online" file changes, so a tick costs a fixed set
+ * of small reads with precomputed series names.
+ *
+ * Series:
+ * - numa.node[N].total_bytes, free_bytes, used_bytes, file_bytes,
+ *   anon_bytes and the derived used_pct
+ * - numa.node[N].numa_hit, numa_miss and their *_per_sec rates
+ *   (allocations that had to fall back to another node)
+ * - numa.node[N].hugepages.[size]kB.total and .free
+ * - numa.nodes and numa.free_imbalance_pct, the spread between the
+ *   nodes with the most and the least free memory in percent
+ * - memory.hugepages.total, free, reserved, surplus, page_bytes and the
+ *   derived used_pct
+ * - memory.swap.total_bytes, free_bytes and the derived used_pct
+ * - vm.pgfault, vm.pswpin, vm.pswpout and their *_per_sec rates (pages)
+ *
+ * Key Concepts:
+ * - Discovery cached behind a cheap change check
+ * - Raw counters plus declared rates and ratios
+ */
+public class NumaMemoryMonitor implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(NumaMemoryMonitor.class);
+
+    public static final Path SYS = Paths.get("/sys");
+
+    private final SharedMetricsStore metricsStore;
+    private final Path nodeRoot;
+    private final Path procMeminfo;
+    private final Path procVmstat;
+    private final ProcFileReader reader = new ProcFileReader();
+
+    private List<Node> nodes = List.of();
+    private long onlineHash;
+
+    /**
+     * One NUMA node's files and series names.
+     */
+    private static final class Node {
+        final int id;
+        final Path meminfo;
+        final Path numastat;
+        final String total;
+        final String free;
+        final String used;
+        final String file;
+        final String anon;
+        final String usedPct;
+        final String hit;
+        final String miss;
+        final HugePool[] hugePools;
+
+        Node(int id, Path dir, HugePool[] hugePools) {
+            String prefix = "numa.node" + id + ".";
+            this.id = id;
+            this.meminfo = dir.resolve("meminfo");
+            this.numastat = dir.resolve("numastat");
+            this.total = prefix + "total_bytes";
+            this.free = prefix + "free_bytes";
+            this.used = prefix + "used_bytes";
+            this.file = prefix + "file_bytes";
+            this.anon = prefix + "anon_bytes";
+            this.usedPct = prefix + "used_pct";
+            this.hit = prefix + "numa_hit";
+            this.miss = prefix + "numa_miss";
+            this.hugePools = hugePools;
+        }
+    }
+
+    /**
+     * One hugepage size on one node.
+     */
+    private record HugePool(Path nrFile, Path freeFile, String totalSeries, String freeSeries) {
+    }
+
+    public NumaMemoryMonitor(SharedMetricsStore metricsStore) {
+        this(metricsStore, SYS, ProcFileReader.PROC);
+    }
+
+    /**
+     * Creates a monitor reading devices/system/node under sysRoot and
+     * meminfo and vmstat under procRoot.
+     */
+    public NumaMemoryMonitor(SharedMetricsStore metricsStore, Path sysRoot, Path procRoot) {
+        this.metricsStore = metricsStore;
+        this.nodeRoot = sysRoot.resolve("devices").resolve("system").resolve("node");
+        this.procMeminfo = procRoot.resolve("meminfo");
+        this.procVmstat = procRoot.resolve("vmstat");
+
+        metricsStore.getDerivedMetrics()
+                .expression("100 * numa.*.used_bytes / numa.*.total_bytes", "numa.*.used_pct")
+                .rate("numa.*.numa_hit", "numa.*.numa_hit_per_sec")
+                .rate("numa.*.numa_miss", "numa.*.numa_miss_per_sec")
+                .expression("100 * (memory.hugepages.total - memory.hugepages.free) / memory.hugepages.total",
+                        "memory.hugepages.used_pct")
+                .expression("100 * (memory.swap.total_bytes - memory.swap.free_bytes) / memory.swap.total_bytes",
+                        "memory.swap.used_pct")
+                .rate("vm.pgfault", "vm.pgfault_per_sec")
+                .rate("vm.pswpin", "vm.pswpin_per_sec")
+                .rate("vm.pswpout", "vm.pswpout_per_sec");
+    }
+
+    /**
+     * Returns whether /proc/vmstat is readable, i.e. this is Linux.
+     * Per-node series additionally need /sys/devices/system/node.
+     */
+    public static boolean isSupported() {
+        return ProcFileReader.PROC.resolve("vmstat").toFile().canRead();
+    }
+
+    @Override
+    public void run() {
+        try {
+            collect(System.currentTimeMillis());
+        } catch (Exception e) {
+            logger.error("Error monitoring NUMA memory", e);
+        }
+    }
+
+    void collect(long timestamp) {
+        refreshNodes();
+        double minFree = Double.NaN;
+        double maxFree = Double.NaN;
+        for (Node node : nodes) {
+            double freePct = readNode(node, timestamp);
+            if (!Double.isNaN(freePct)) {
+                minFree = Double.isNaN(minFree) ? freePct : Math.min(minFree, freePct);
+                maxFree = Double.isNaN(maxFree) ? freePct : Math.max(maxFree, freePct);
+            }
+        }
+        if (!nodes.isEmpty()) {
+            metricsStore.recordSeries("numa.nodes", timestamp, nodes.size());
+        }
+        if (!Double.isNaN(minFree)) {
+            metricsStore.recordSeries("numa.free_imbalance_pct", timestamp, maxFree - minFree);
+        }
+        readMeminfo(timestamp);
+        readVmstat(timestamp);
+
+        if (logger.isInfoEnabled()) {
+            StringBuilder perNode = new StringBuilder();
+            for (Node node : nodes) {
+                double used = metricsStore.valueAt(node.usedPct, timestamp);
+                perNode.append(perNode.length() == 0 ? "" : ", ")
+                        .append("node").append(node.id).append(' ')
+                        .append(SchedulerMonitor.format(used, "%.0f")).append("% used");
+            }
+            logger.info("🧮 NUMA: {}; hugepages {}/{} free; {} faults/s, swap in {} out {} pages/s",
+                    perNode.length() == 0 ? "no nodes" : perNode,
+                    SchedulerMonitor.format(metricsStore.getLatestSeriesValue("memory.hugepages.free"), "%.0f"),
+                    SchedulerMonitor.format(metricsStore.getLatestSeriesValue("memory.hugepages.total"), "%.0f"),
+                    SchedulerMonitor.format(metricsStore.valueAt("vm.pgfault_per_sec", timestamp), "%.0f"),
+                    SchedulerMonitor.format(metricsStore.valueAt("vm.pswpin_per_sec", timestamp), "%.0f"),
+                    SchedulerMonitor.format(metricsStore.valueAt("vm.pswpout_per_sec", timestamp), "%.0f"));
+        }
+    }
+
+    /**
+     * Rebuilds the node list when the "online" node mask has changed.
+     */
+    private void refreshNodes() {
+        if (!reader.read(nodeRoot.resolve("online"))) {
+            nodes = List.of();
+            return;
+        }
+        long hash = reader.contentHash();
+        if (hash == onlineHash && !nodes.isEmpty()) {
+            return;
+        }
+        onlineHash = hash;
+        List<Node> discovered = new ArrayList<>();
+        for (int id : parseNodeList(reader.restOfLine())) {
+            Path dir = nodeRoot.resolve("node" + id);
+            if (Files.isDirectory(dir)) {
+                discovered.add(new Node(id, dir, discoverHugePools(id, dir.resolve("hugepages"))));
+            }
+        }
+        nodes = discovered;
+        logger.debug("NUMA nodes online: {}", discovered.size());
+    }
+
+    /**
+     * Parses a kernel node list such as "0", "0-1" or "0-3,8".
+     */
+    static int[] parseNodeList(String list) {
+        List<Integer> ids = new ArrayList<>();
+        for (String range : list.trim().split(",")) {
+            if (range.isEmpty()) {
+                continue;
+            }
+            int dash = range.indexOf('-');
+            int from = Integer.parseInt(range.substring(0, dash < 0 ? range.length() : dash).trim());
+            int to = dash < 0 ? from : Integer.parseInt(range.substring(dash + 1).trim());
+            for (int id = from; id <= to; id++) {
+                ids.add(id);
+            }
+        }
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static HugePool[] discoverHugePools(int id, Path hugepages) {
+        List<HugePool> pools = new ArrayList<>();
+        if (Files.isDirectory(hugepages)) {
+            try (DirectoryStream<Path> sizes = Files.newDirectoryStream(hugepages, "hugepages-*")) {
+                for (Path size : sizes) {
+                    // "hugepages-2048kB" -> numa.node0.hugepages.2048kB.*
+                    String prefix = "numa.node" + id + ".hugepages."
+                            + size.getFileName().toString().substring("hugepages-".length()) + ".";
+                    pools.add(new HugePool(size.resolve("nr_hugepages"), size.resolve("free_hugepages"),
+                            prefix + "total", prefix + "free"));
+                }
+            } catch (IOException e) {
+                logger.debug("Cannot list {}: {}", hugepages, e.getMessage());
+            }
+        }
+        return pools.toArray(new HugePool[0]);
+    }
+
+    /**
+     * Records one node's memory, allocation counters and hugepage pools.
+     *
+     * @return the node's free memory in percent, or NaN if unreadable
+     */
+    private double readNode(Node node, long timestamp) {
+        double freePct = Double.NaN;
+        if (reader.read(node.meminfo)) {
+            long total = -1;
+            long free = -1;
+            do {
+                // "Node 0 MemTotal:        4554488 kB"
+                reader.skipFields(2);
+                String series;
+                if (reader.tokenStartsWith("MemTotal:")) {
+                    series = node.total;
+                } else if (reader.tokenStartsWith("MemFree:")) {
+                    series = node.free;
+                } else if (reader.tokenStartsWith("MemUsed:")) {
+                    series = node.used;
+                } else if (reader.tokenStartsWith("FilePages:")) {
+                    series = node.file;
+                } else if (reader.tokenStartsWith("AnonPages:")) {
+                    series = node.anon;
+                } else {
+                    continue;
+                }
+                reader.skipPast((byte) ':');
+                long bytes = reader.nextLong() * 1024;
+                if (series == node.total) {
+                    total = bytes;
+                } else if (series == node.free) {
+                    free = bytes;
+                }
+                metricsStore.recordSeries(series, timestamp, bytes);
+            } while (reader.nextLine());
+            if (total > 0 && free >= 0) {
+                freePct = 100.0 * free / total;
+            }
+        }
+
+        if (reader.read(node.numastat)) {
+            do {
+                if (reader.tokenStartsWith("numa_hit ")) {
+                    reader.skipFields(1);
+                    metricsStore.recordSeries(node.hit, timestamp, reader.nextLong());
+                } else if (reader.tokenStartsWith("numa_miss ")) {
+                    reader.skipFields(1);
+                    metricsStore.recordSeries(node.miss, timestamp, reader.nextLong());
+                }
+            } while (reader.nextLine());
+        }
+
+        for (HugePool pool : node.hugePools) {
+            if (reader.read(pool.nrFile())) {
+                metricsStore.recordSeries(pool.totalSeries(), timestamp, reader.nextLong());
+            }
+            if (reader.read(pool.freeFile())) {
+                metricsStore.recordSeries(pool.freeSeries(), timestamp, reader.nextLong());
+            }
+        }
+        return freePct;
+    }
+
+    /**
+     * Reads the hugepage pool and swap lines of /proc/meminfo.
+     */
+    private void readMeminfo(long timestamp) {
+        if (!reader.read(procMeminfo)) {
+            return;
+        }
+        do {
+            if (reader.tokenStartsWith("SwapTotal:")) {
+                reader.skipPast((byte) ':');
+                metricsStore.recordSeries("memory.swap.total_bytes", timestamp, reader.nextLong() * 1024);
+            } else if (reader.tokenStartsWith("SwapFree:")) {
+                reader.skipPast((byte) ':');
+                metricsStore.recordSeries("memory.swap.free_bytes", timestamp, reader.nextLong() * 1024);
+            } else if (reader.tokenStartsWith("HugePages_Total:")) {
+                reader.skipPast((byte) ':');
+                metricsStore.recordSeries("memory.hugepages.total", timestamp, reader.nextLong());
+            } else if (reader.tokenStartsWith("HugePages_Free:")) {
+                reader.skipPast((byte) ':');
+                metricsStore.recordSeries("memory.hugepages.free", timestamp, reader.nextLong());
+            } else if (reader.tokenStartsWith("HugePages_Rsvd:")) {
+                reader.skipPast((byte) ':');
+                metricsStore.recordSeries("memory.hugepages.reserved", timestamp, reader.nextLong());
+            } else if (reader.tokenStartsWith("HugePages_Surp:")) {
+                reader.skipPast((byte) ':');
+                metricsStore.recordSeries("memory.hugepages.surplus", timestamp, reader.nextLong());
+            } else if (reader.tokenStartsWith("Hugepagesize:")) {
+                reader.skipPast((byte) ':');
+                metricsStore.recordSeries("memory.hugepages.page_bytes", timestamp, reader.nextLong() * 1024);
+            }
+        } while (reader.nextLine());
+    }
+
+    private void readVmstat(long timestamp) {
+        if (!reader.read(procVmstat)) {
+            return;
+        }
+        int found = 0;
+        do {
+            String series;
+            if (reader.tokenStartsWith("pgfault ")) {
+                series = "vm.pgfault";
+            } else if (reader.tokenStartsWith("pswpin ")) {
+                series = "vm.pswpin";
+            } else if (reader.tokenStartsWith("pswpout ")) {
+                series = "vm.pswpout";
+            } else {
+                continue;
+            }
+            reader.skipFields(1);
+            metricsStore.recordSeries(series, timestamp, reader.nextLong());
+            found++;
+        } while (found < 3 && reader.nextLine());
+    }
+}
@@ -0,0 +1,148 @@
+package com.portfolio.monitor.monitors;
+
+import com.portfolio.monitor.core.SharedMetricsStore;
+import com.portfolio.monitor.utils.ProcFileReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects Linux pressure stall information (PSI) from /proc/pressure.
+ * Unlike utilisation percentages, PSI reports the share of wall time in
+ * which tasks were actually stalled waiting for CPU, memory or I/O.
+ *
+ * Key Concepts:
+ * - Kernel-averaged avg10/avg60/avg300 stored as-is
+ * - Stall rate derived from the cumulative total counter between ticks
+ * - Synchronized run() so trigger-driven samples can interleave safely
+ */
+public class PressureMonitor implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PressureMonitor.class);
+
+    public static final Path DEFAULT_PRESSURE_DIR = ProcFileReader.PROC.resolve("pressure");
+    static final String[] RESOURCES = {"cpu", "memory", "io"};
+    static final String[] KINDS = {"some", "full"};
+
+    private final SharedMetricsStore metricsStore;
+    private final Path[] files;
+    private final ProcFileReader reader = new ProcFileReader(256);
+
+    // Previous total stall microseconds, indexed [resource * 2 + kind]
+    private final long[] prevTotals = new long[RESOURCES.length * KINDS.length];
+    private final long[] prevNanos = new long[RESOURCES.length];
+    private final String[] seriesPrefixes = new String[RESOURCES.length * KINDS.length];
+    private final AtomicLong triggerEvents = new AtomicLong();
+
+    public PressureMonitor(SharedMetricsStore metricsStore) {
+        this(metricsStore, DEFAULT_PRESSURE_DIR);
+    }
+
+    public PressureMonitor(SharedMetricsStore metricsStore, Path pressureDir) {
+        this.metricsStore = metricsStore;
+        this.files = new Path[RESOURCES.length];
+        for (int r = 0; r < RESOURCES.length; r++) {
+            files[r] = pressureDir.resolve(RESOURCES[r]);
+            for (int k = 0; k < KINDS.length; k++) {
+                seriesPrefixes[r * KINDS.length + k] = "psi." + RESOURCES[r] + "." + KINDS[k] + ".";
+            }
+        }
+        Arrays.fill(prevTotals, -1);
+    }
+
+    /**
+     * Returns whether the kernel exposes PSI (Linux 4.20+ with CONFIG_PSI).
+     */
+    public static boolean isSupported() {
+        return DEFAULT_PRESSURE_DIR.resolve("cpu").toFile().canRead();
+    }
+
+    @Override
+    public synchronized void run() {
+        try {
+            long timestamp = System.currentTimeMillis();
+            double worstSome = 0;
+            String worstResource = null;
+
+            for (int r = 0; r < RESOURCES.length; r++) {
+                if (!reader.read(files[r])) {
+                    continue;
+                }
+                long now = System.nanoTime();
+                double elapsedMicros = prevNanos[r] == 0 ? 0 : (now - prevNanos[r]) / 1000.0;
+                prevNanos[r] = now;
+
+                while (reader.hasRemaining()) {
+                    int k = reader.tokenStartsWith("some") ? 0 : reader.tokenStartsWith("full") ? 1 : -1;
+                    if (k >= 0) {
+                        double stall = parseLine(r * KINDS.length + k, timestamp, elapsedMicros);
+                        if (k == 0 && stall > worstSome) {
+                            worstSome = stall;
+                            worstResource = RESOURCES[r];
+                        }
+                    }
+                    if (!reader.nextLine()) {
+                        break;
+                    }
+                }
+            }
+
+            if (worstResource != null) {
+                logger.info("⏳ Pressure: {} stalled {}% of the last interval",
+                        worstResource, String.format("%.1f", worstSome));
+            } else {
+                logger.debug("⏳ Pressure: no stalls");
+            }
+        } catch (Exception e) {
+            logger.error("Error monitoring pressure", e);
+        }
+    }
+
+    /**
+     * Parses "avg10=X avg60=Y avg300=Z total=T" and records the series.
+     *
+     * @return the derived stall percentage, or 0 on the first sample
+     */
+    private double parseLine(int slot, long timestamp, double elapsedMicros) {
+        String prefix = seriesPrefixes[slot];
+        reader.skipPast((byte) '=');
+        double avg10 = reader.nextDouble();
+        reader.skipPast((byte) '=');
+        double avg60 = reader.nextDouble();
+        reader.skipPast((byte) '=');
+        double avg300 = reader.nextDouble();
+        reader.skipPast((byte) '=');
+        long total = reader.nextLong();
+
+        metricsStore.recordSeries(prefix + "avg10", timestamp, avg10);
+        metricsStore.recordSeries(prefix + "avg60", timestamp, avg60);
+        metricsStore.recordSeries(prefix + "avg300", timestamp, avg300);
+
+        double stallPercent = 0;
+        long prev = prevTotals[slot];
+        if (prev >= 0 && elapsedMicros > 0 && total >= prev) {
+            stallPercent = Math.min(100, (total - prev) / elapsedMicros * 100);
+            metricsStore.recordSeries(prefix + "stall", timestamp, stallPercent);
+        }
+        prevTotals[slot] = total;
+        return stallPercent;
+    }
+
+    /**
+     * Called by PressureTriggerWatcher when a kernel trigger fires:
+     * counts the event and samples immediately instead of waiting for the next poll.
+     */
+    public void onTrigger(String resource) {
+        long events = triggerEvents.incrementAndGet();
+        metricsStore.recordSeries("psi." + resource + ".trigger_events", System.currentTimeMillis(), events);
+        logger.warn("⚠️  Pressure trigger fired for {}", resource);
+        run();
+    }
+
+    public long getTriggerEventCount() {
+        return triggerEvents.get();
+    }
+}
@@ -0,0 +1,260 @@
+package com.portfolio.monitor.monitors;
+
+import com.sun.jna.Library;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+import com.sun.jna.Structure;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Waits on PSI trigger file descriptors so pressure events are handled
+ * within milliseconds instead of at the next polling interval.
+ *
+ * A trigger is registered by writing "some|full STALL_US WINDOW_US" to an
+ * open /proc/pressure/* descriptor; the kernel then raises POLLPRI on that
+ * descriptor whenever the stall threshold is exceeded within the window.
+ * Java has no API for POLLPRI, so open/write/poll go through JNA (already
+ * on the classpath via OSHI).
+ *
+ * Key Concepts:
+ * - Dedicated blocking thread instead of a polled task
+ * - CopyOnWriteArrayList for rarely-changing listener lists
+ * - AutoCloseable ownership of native descriptors
+ */
+public class PressureTriggerWatcher implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PressureTriggerWatcher.class);
+
+    private static final int O_RDWR = 0x2;
+    private static final int O_NONBLOCK = 0x800;
+    private static final short POLLPRI = 0x2;
+    private static final short POLLERR = 0x8;
+    private static final int POLL_TIMEOUT_MS = 500;
+    private static final int EINTR = 4;
+
+    private final Path pressureDir;
+    private final Poller poller;
+    private final List<Trigger> triggers = new ArrayList<>();
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+    private Thread pollThread;
+
+    public PressureTriggerWatcher() {
+        this(PressureMonitor.DEFAULT_PRESSURE_DIR);
+    }
+
+    public PressureTriggerWatcher(Path pressureDir) {
+        this(pressureDir, new Poller() {
+            @Override
+            public int poll(PollFd[] fds, int timeoutMs) {
+                return CLib.INSTANCE.poll(fds, fds.length, timeoutMs);
+            }
+
+            @Override
+            public int lastError() {
+                return Native.getLastError();
+            }
+        });
+    }
+
+    PressureTriggerWatcher(Path pressureDir, Poller poller) {
+        this.pressureDir = pressureDir;
+        this.poller = poller;
+    }
+
+    /**
+     * Registers a kernel trigger. Unprivileged processes need a window that
+     * is a multiple of 2 seconds.
+     *
+     * @param resource     "cpu", "memory" or "io"
+     * @param kind         "some" or "full"
+     * @param stallMicros  Stall time within the window that fires the trigger
+     * @param windowMicros Tracking window (500ms to 10s)
+     * @throws IllegalStateException if the kernel rejects the trigger
+     */
+    public synchronized void addTrigger(String resource, String kind, long stallMicros, long windowMicros) {
+        if (running) {
+            throw new IllegalStateException("Triggers must be added before start()");
+        }
+        String path = pressureDir.resolve(resource).toString();
+        int fd = CLib.INSTANCE.open(path, O_RDWR | O_NONBLOCK);
+        if (fd < 0) {
+            throw new IllegalStateException("Cannot open " + path + " (errno " + Native.getLastError() + ")");
+        }
+        byte[] spec = (kind + " " + stallMicros + " " + windowMicros + "\0").getBytes(StandardCharsets.US_ASCII);
+        if (CLib.INSTANCE.write(fd, spec, new NativeLong(spec.length)) < 0) {
+            int errno = Native.getLastError();
+            CLib.INSTANCE.close(fd);
+            throw new IllegalStateException("Kernel rejected PSI trigger '" + kind + " " + stallMicros
+                    + " " + windowMicros + "' on " + path + " (errno " + errno + ")");
+        }
+        triggers.add(new Trigger(resource, fd));
+        logger.info("PSI trigger armed: {} {} {}us/{}us", resource, kind, stallMicros, windowMicros);
+    }
+
+    /**
+     * Adds triggers from a comma-separated spec such as
+     * {@code memory:some:150000:2000000,io:full:100000:2000000}.
+     * Triggers the kernel rejects are logged and skipped.
+     */
+    public PressureTriggerWatcher addTriggers(String spec) {
+        for (String entry : spec.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            String[] parts = trimmed.split(":");
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("PSI trigger must be resource:kind:stallUs:windowUs, got: " + trimmed);
+            }
+            try {
+                addTrigger(parts[0], parts[1], Long.parseLong(parts[2]), Long.parseLong(parts[3]));
+            } catch (IllegalStateException | UnsatisfiedLinkError e) {
+                logger.warn("Skipping PSI trigger {}: {}", trimmed, e.getMessage());
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Adds a listener that receives the resource name of each fired trigger.
+     * Listeners run on the trigger thread and should hand off slow work.
+     */
+    public void addListener(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    public synchronized boolean hasTriggers() {
+        return !triggers.isEmpty();
+    }
+
+    /**
+     * Starts the blocking poll thread.
+     */
+    public synchronized void start() {
+        if (running || triggers.isEmpty()) {
+            return;
+        }
+        PollFd[] fds = (PollFd[]) new PollFd().toArray(triggers.size());
+        String[] resources = new String[triggers.size()];
+        for (int i = 0; i < fds.length; i++) {
+            fds[i].fd = triggers.get(i).fd;
+            fds[i].events = POLLPRI;
+            resources[i] = triggers.get(i).resource;
+        }
+        startPolling(fds, resources);
+    }
+
+    /**
+     * Starts the poll thread on the given descriptors.
+     */
+    synchronized void startPolling(PollFd[] fds, String[] resources) {
+        running = true;
+        pollThread = new Thread(() -> pollLoop(fds, resources), "psi-trigger");
+        pollThread.setDaemon(true);
+        pollThread.start();
+    }
+
+    private void pollLoop(PollFd[] fds, String[] resources) {
+        while (running) {
+            for (PollFd fd : fds) {
+                fd.revents = 0;
+            }
+            int ready = poller.poll(fds, POLL_TIMEOUT_MS);
+            if (ready < 0) {
+                int errno = poller.lastError();
+                if (errno == EINTR) {
+                    // A signal interrupted the wait; the triggers are still armed
+                    continue;
+                }
+                logger.error("poll() on PSI triggers failed (errno {}), stopping", errno);
+                running = false;
+                break;
+            }
+            for (int i = 0; i < fds.length && ready > 0; i++) {
+                short revents = fds[i].revents;
+                if ((revents & POLLERR) != 0) {
+                    logger.error("PSI trigger on {} was invalidated, stopping", resources[i]);
+                    running = false;
+                } else if ((revents & POLLPRI) != 0) {
+                    for (Consumer<String> listener : listeners) {
+                        try {
+                            listener.accept(resources[i]);
+                        } catch (Exception e) {
+                            logger.error("Error in PSI trigger listener", e);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether the poll thread is (still) waiting for triggers.
+     */
+    boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops the poll thread and closes every trigger descriptor.
+     */
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (pollThread != null) {
+            try {
+                pollThread.join(POLL_TIMEOUT_MS * 2L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (Trigger trigger : triggers) {
+            CLib.INSTANCE.close(trigger.fd);
+        }
+        triggers.clear();
+    }
+
+    private record Trigger(String resource, int fd) {
+    }
+
+    /**
+     * poll(2) and the errno it left behind; replaced in tests.
+     */
+    interface Poller {
+        int poll(PollFd[] fds, int timeoutMs);
+
+        int lastError();
+    }
+
+    /**
+     * struct pollfd from poll(2).
+     */
+    @Structure.FieldOrder({"fd", "events", "revents"})
+    public static class PollFd extends Structure {
+        public int fd;
+        public short events;
+        public short revents;
+    }
+
+    private interface CLib extends Library {
+        CLib INSTANCE = Native.load("c", CLib.class);
+
+        int open(String path, int flags);
+
+        int write(int fd, byte[] buffer, NativeLong count);
+
+        int poll(PollFd[] fds, int nfds, int timeoutMs);
+
+        int close(int fd);
+    }
+}
@@ -1,23 +1,44 @@
 package com.portfolio.monitor.monitors;
 
+import com.portfolio.monitor.core.ProcessLifecycle;
 import com.portfolio.monitor.core.SharedMetricsStore;
+import com.portfolio.monitor.core.TopConsumers;
+import com.portfolio.monitor.utils.ProcFileReader;
+import com.portfolio.monitor.utils.SystemInfoHolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import oshi.SystemInfo;
 import oshi.software.os.OSProcess;
 import oshi.software.os.OperatingSystem;
 
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.Collectors;
 
 /**
  * Monitors running processes and tracks top CPU/memory consumers.
  * Runs as a scheduled task in the thread pool.
+ *
+ * With a /proc root (the /proc fast path) each process costs one read of
+ * /proc/[pid]/stat and only the top entries are kept, instead of building
+ * a full OSProcess object per process.
+ *
+ * Every run also feeds each process's CPU time and I/O since the previous
+ * run into the store's TopConsumers, which answers "who used the most
+ * over the last hour or day" beyond this point-in-time top 5, and the
+ * (PID, start time) of each process into the store's ProcessLifecycle,
+ * which turns the difference between runs into start and exit events.
+ * The command line is read only for processes that are new since the
+ * previous run.
  * 
  * Key Concepts:
  * - Process enumeration
  * - Sorting and limiting results
  * - Stream API usage
+ * - Bounded top-k insertion into primitive arrays
+ * - Per-process deltas keyed by PID and start time
  */
 public class ProcessMonitor implements Runnable {
 
@@ -26,17 +47,54 @@ public class ProcessMonitor implements Runnable {
 
     private final SharedMetricsStore metricsStore;
     private final OperatingSystem os;
+    private final Path procRoot;
+    private final ProcFileReader reader = new ProcFileReader(1024);
 
-    private volatile Map<Integer, long[]> previousProcessTicks = new HashMap<>();
+    // Top-k by CPU and by RSS, refilled on every fast-path run
+    private final int[] topCpuPids = new int[TOP_PROCESSES_COUNT];
+    private final double[] topCpuLoads = new double[TOP_PROCESSES_COUNT];
+    private final long[] topCpuRss = new long[TOP_PROCESSES_COUNT];
+    private final int[] topMemPids = new int[TOP_PROCESSES_COUNT];
+    private final long[] topMemRss = new long[TOP_PROCESSES_COUNT];
+
+    // Cumulative usage per PID as of the previous run, for the heavy-hitter deltas
+    private final Map<Integer, Usage> previousUsage = new HashMap<>();
+    private long generation;
+
+    private static final class Usage {
+        final long startTime;
+        long cpu;                   // clock ticks (/proc) or milliseconds (OSHI)
+        long ioBytes;               // read + written, -1 if unreadable
+        String name;
+        long seen;
+
+        Usage(long startTime, long cpu, long ioBytes) {
+            this.startTime = startTime;
+            this.cpu = cpu;
+            this.ioBytes = ioBytes;
+        }
+    }
 
     public ProcessMonitor(SharedMetricsStore metricsStore) {
+        this(metricsStore, null);
+    }
+
+    /**
+     * Creates a monitor that scans the given /proc root directly,
+     * or uses OSHI when procRoot is null.
+     */
+    public ProcessMonitor(SharedMetricsStore metricsStore, Path procRoot) {
         this.metricsStore = metricsStore;
-        SystemInfo si = new SystemInfo();
-        this.os = si.getOperatingSystem();
+        this.procRoot = procRoot;
+        this.os = procRoot == null ? SystemInfoHolder.operatingSystem() : null;
     }
 
     @Override
     public void run() {
+        if (procRoot != null) {
+            runProc();
+            return;
+        }
         try {
             List<OSProcess> processes = os.getProcesses(
                     null,
@@ -46,6 +104,20 @@ public class ProcessMonitor implements Runnable {
             int processCount = processes.size();
             metricsStore.updateProcessCount(processCount);
 
+            long timestamp = System.currentTimeMillis();
+            ProcessLifecycle lifecycle = metricsStore.getProcessLifecycle();
+            lifecycle.beginTick();
+            for (OSProcess p : processes) {
+                trackUsage(timestamp, p);
+                int handle = lifecycle.observe(p.getProcessID(), p.getStartTime());
+                if (handle >= 0) {
+                    String command = p.getCommandLine();
+                    lifecycle.describe(handle, command == null || command.isBlank() ? "[" + p.getName() + "]" : command);
+                }
+            }
+            sweepUsage();
+            lifecycle.endTick(timestamp);
+
             logger.info("⚙️  Processes: {} running", processCount);
 
             // Get top CPU consuming processes
@@ -62,11 +134,11 @@ public class ProcessMonitor implements Runnable {
                 for (int i = 0; i < topCpuProcesses.size(); i++) {
                     OSProcess p = topCpuProcesses.get(i);
                     double cpuPercent = p.getProcessCpuLoadCumulative() * 100;
-                    logger.info("      {}. {} (PID {}): {:.1f}% CPU, {} memory",
+                    logger.info("      {}. {} (PID {}): {}% CPU, {} memory",
                             i + 1,
                             truncateName(p.getName(), 20),
                             p.getProcessID(),
-                            cpuPercent,
+                            String.format("%.1f", cpuPercent),
                             formatBytes(p.getResidentSetSize()));
                 }
             }
@@ -96,6 +168,228 @@ public class ProcessMonitor implements Runnable {
         }
     }
 
+    /**
+     * Fast path: one /proc/[pid]/stat read per process, keeping only the
+     * top entries. CPU load is cumulative over the process lifetime, the
+     * same measure OSHI's getProcessCpuLoadCumulative reports.
+     */
+    private void runProc() {
+        try {
+            if (!reader.read(procRoot.resolve("uptime"))) {
+                return;
+            }
+            double uptimeSeconds = reader.nextDouble();
+            double hz = ProcFileReader.clockTicksPerSecond();
+            long pageSize = ProcFileReader.pageSize();
+
+            Arrays.fill(topCpuPids, 0);
+            Arrays.fill(topMemPids, 0);
+            int processCount = 0;
+            long timestamp = System.currentTimeMillis();
+            ProcessLifecycle lifecycle = metricsStore.getProcessLifecycle();
+            lifecycle.beginTick();
+
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(procRoot)) {
+                for (Path entry : entries) {
+                    int pid = parsePid(entry.getFileName().toString());
+                    if (pid <= 0 || !reader.read(entry.resolve("stat")) || !reader.skipPastLast((byte) ')')) {
+                        continue;
+                    }
+                    processCount++;
+                    reader.skipFields(11);              // fields 3-13: state .. cmajflt
+                    long ticks = reader.nextLong() + reader.nextLong();
+                    reader.skipFields(6);               // cutime .. itrealvalue
+                    long startTicks = reader.nextLong();
+                    reader.skipFields(1);               // vsize
+                    long rss = reader.nextLong() * pageSize;
+
+                    double lifetime = uptimeSeconds - startTicks / hz;
+                    double cpuLoad = lifetime > 0 ? ticks / hz / lifetime : 0;
+                    insertTopCpu(pid, cpuLoad, rss);
+                    insertTopMem(pid, rss);
+                    trackUsage(timestamp, pid, startTicks, ticks, hz, entry);
+                    int handle = lifecycle.observe(pid, startTicks);
+                    if (handle >= 0) {
+                        lifecycle.describe(handle, readCommand(pid, entry));
+                    }
+                }
+            }
+            sweepUsage();
+            lifecycle.endTick(timestamp);
+
+            metricsStore.updateProcessCount(processCount);
+            logger.info("⚙️  Processes: {} running", processCount);
+
+            if (topCpuPids[0] != 0) {
+                logger.info("   Top {} by CPU:", TOP_PROCESSES_COUNT);
+                for (int i = 0; i < TOP_PROCESSES_COUNT && topCpuPids[i] != 0; i++) {
+                    logger.info("      {}. {} (PID {}): {}% CPU, {} memory",
+                            i + 1,
+                            truncateName(readComm(topCpuPids[i]), 20),
+                            topCpuPids[i],
+                            String.format("%.1f", topCpuLoads[i] * 100),
+                            formatBytes(topCpuRss[i]));
+                }
+            }
+            if (logger.isDebugEnabled() && topMemPids[0] != 0) {
+                logger.debug("   Top {} by Memory:", TOP_PROCESSES_COUNT);
+                for (int i = 0; i < TOP_PROCESSES_COUNT && topMemPids[i] != 0; i++) {
+                    logger.debug("      {}. {} (PID {}): {}",
+                            i + 1,
+                            truncateName(readComm(topMemPids[i]), 20),
+                            topMemPids[i],
+                            formatBytes(topMemRss[i]));
+                }
+            }
+
+        } catch (IOException | RuntimeException e) {
+            logger.error("Error monitoring processes", e);
+        }
+    }
+
+    /**
+     * Fast path: credits the CPU ticks since the previous run to the
+     * process. /proc/[pid]/io (and comm, once) is read only when the
+     * process used CPU, since moving data costs CPU time too; I/O done
+     * in between is credited with the next active run.
+     */
+    private void trackUsage(long timestamp, int pid, long startTicks, long ticks, double hz, Path dir) {
+        Usage usage = previousUsage.get(pid);
+        if (usage == null || usage.startTime != startTicks) {
+            // First sight: only a baseline, its lifetime usage is not attributable to a window
+            usage = new Usage(startTicks, ticks, readIoBytes(dir));
+            usage.seen = generation;
+            previousUsage.put(pid, usage);
+            return;
+        }
+        usage.seen = generation;
+        long cpuDelta = ticks - usage.cpu;
+        if (cpuDelta <= 0) {
+            return;
+        }
+        usage.cpu = ticks;
+        long io = readIoBytes(dir);
+        long ioDelta = io >= 0 && usage.ioBytes >= 0 ? Math.max(0, io - usage.ioBytes) : 0;
+        usage.ioBytes = io;
+        if (usage.name == null) {
+            usage.name = readComm(pid);
+        }
+        metricsStore.getTopConsumers().record(timestamp, TopConsumers.processKey(pid, startTicks),
+                usage.name, cpuDelta / hz, ioDelta);
+    }
+
+    /**
+     * OSHI path: the same deltas from OSProcess counters.
+     */
+    private void trackUsage(long timestamp, OSProcess p) {
+        int pid = p.getProcessID();
+        long cpu = p.getKernelTime() + p.getUserTime();
+        long io = p.getBytesRead() + p.getBytesWritten();
+        Usage usage = previousUsage.get(pid);
+        if (usage == null || usage.startTime != p.getStartTime()) {
+            usage = new Usage(p.getStartTime(), cpu, io);
+            usage.seen = generation;
+            previousUsage.put(pid, usage);
+            return;
+        }
+        usage.seen = generation;
+        long cpuDelta = Math.max(0, cpu - usage.cpu);
+        long ioDelta = Math.max(0, io - usage.ioBytes);
+        usage.cpu = cpu;
+        usage.ioBytes = io;
+        if (cpuDelta > 0 || ioDelta > 0) {
+            metricsStore.getTopConsumers().record(timestamp, TopConsumers.processKey(pid, p.getStartTime()),
+                    p.getName(), cpuDelta / 1000.0, ioDelta);
+        }
+    }
+
+    /**
+     * Forgets processes that were not seen in this run.
+     */
+    private void sweepUsage() {
+        long current = generation++;
+        previousUsage.values().removeIf(usage -> usage.seen != current);
+    }
+
+    /**
+     * Returns read_bytes + write_bytes from /proc/[pid]/io, or -1 if it is
+     * not readable (other users' processes without privileges).
+     */
+    private long readIoBytes(Path dir) {
+        if (!reader.read(dir.resolve("io"))) {
+            return -1;
+        }
+        long bytes = 0;
+        int found = 0;
+        do {
+            if (reader.tokenStartsWith("read_bytes") || reader.tokenStartsWith("write_bytes")) {
+                reader.skipPast((byte) ':');
+                bytes += reader.nextLong();
+                found++;
+            }
+        } while (found < 2 && reader.nextLine());
+        return found == 2 ? bytes : -1;
+    }
+
+    private void insertTopCpu(int pid, double cpuLoad, long rss) {
+        int i = TOP_PROCESSES_COUNT - 1;
+        if (topCpuPids[i] != 0 && topCpuLoads[i] >= cpuLoad) {
+            return;
+        }
+        for (; i > 0 && (topCpuPids[i - 1] == 0 || topCpuLoads[i - 1] < cpuLoad); i--) {
+            topCpuPids[i] = topCpuPids[i - 1];
+            topCpuLoads[i] = topCpuLoads[i - 1];
+            topCpuRss[i] = topCpuRss[i - 1];
+        }
+        topCpuPids[i] = pid;
+        topCpuLoads[i] = cpuLoad;
+        topCpuRss[i] = rss;
+    }
+
+    private void insertTopMem(int pid, long rss) {
+        int i = TOP_PROCESSES_COUNT - 1;
+        if (topMemPids[i] != 0 && topMemRss[i] >= rss) {
+            return;
+        }
+        for (; i > 0 && (topMemPids[i - 1] == 0 || topMemRss[i - 1] < rss); i--) {
+            topMemPids[i] = topMemPids[i - 1];
+            topMemRss[i] = topMemRss[i - 1];
+        }
+        topMemPids[i] = pid;
+        topMemRss[i] = rss;
+    }
+
+    /**
+     * Returns the PID for a numeric /proc entry name, or -1.
+     */
+    static int parsePid(String name) {
+        int pid = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            pid = pid * 10 + (c - '0');
+        }
+        return name.isEmpty() ? -1 : pid;
+    }
+
+    /**
+     * Returns the command line, or the name in brackets for kernel threads
+     * (which have none), or null if the process is gone.
+     */
+    private String readCommand(int pid, Path dir) {
+        if (reader.read(dir.resolve("cmdline")) && reader.length() > 0) {
+            return reader.contentAsString();
+        }
+        String comm = readComm(pid);
+        return comm == null ? null : "[" + comm + "]";
+    }
+
+    private String readComm(int pid) {
+        return reader.read(procRoot.resolve(Integer.toString(pid)).resolve("comm")) ? reader.restOfLine() : null;
+    }
+
     /**
      * Truncates a process name to the specified length.
      */
@@ -0,0 +1,277 @@
+package com.portfolio.monitor.monitors;
+
+import com.portfolio.monitor.core.SharedMetricsStore;
+import com.portfolio.monitor.core.ThreadPoolManager;
+import com.portfolio.monitor.model.ProcessHistory;
+import com.portfolio.monitor.utils.ProcFileReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Tracks a small set of critical processes at high frequency.
+ * Processes are matched by PID, by name regex (against /proc/[pid]/comm)
+ * or by cgroup path fragment. Each match gets its own sampler scheduled
+ * on a fast interval, while this resolver runs on the slow interval to
+ * pick up new matches and retire exited processes.
+ *
+ * Key Concepts:
+ * - Split fast path (per-PID sampling) from slow path (matching)
+ * - One periodic task per watched process
+ * - ConcurrentHashMap for sampler bookkeeping
+ */
+public class ProcessWatchList implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessWatchList.class);
+    private static final int DEFAULT_HISTORY_CAPACITY = 1200; // 5 minutes at 250ms
+
+    private final SharedMetricsStore metricsStore;
+    private final ThreadPoolManager threadPool;
+    private final long sampleIntervalMs;
+    private final int historyCapacity;
+    private final Path procRoot;
+
+    private final Set<Integer> pidTargets = new HashSet<>();
+    private final List<Pattern> nameTargets = new ArrayList<>();
+    private final List<String> cgroupTargets = new ArrayList<>();
+
+    private final Map<Integer, ActiveSampler> samplers = new ConcurrentHashMap<>();
+    private final ProcFileReader reader = new ProcFileReader();
+
+    public ProcessWatchList(SharedMetricsStore metricsStore, ThreadPoolManager threadPool, long sampleIntervalMs) {
+        this(metricsStore, threadPool, sampleIntervalMs, DEFAULT_HISTORY_CAPACITY);
+    }
+
+    public ProcessWatchList(SharedMetricsStore metricsStore, ThreadPoolManager threadPool,
+                            long sampleIntervalMs, int historyCapacity) {
+        this(metricsStore, threadPool, sampleIntervalMs, historyCapacity, ProcFileReader.PROC);
+    }
+
+    /**
+     * @param historyCapacity Samples kept per process; older ones are overwritten
+     * @param procRoot        Usually /proc; a captured tree in tests
+     */
+    public ProcessWatchList(SharedMetricsStore metricsStore, ThreadPoolManager threadPool,
+                            long sampleIntervalMs, int historyCapacity, Path procRoot) {
+        if (sampleIntervalMs <= 0) {
+            throw new IllegalArgumentException("sample interval must be positive: " + sampleIntervalMs);
+        }
+        if (historyCapacity <= 0) {
+            throw new IllegalArgumentException("history capacity must be positive: " + historyCapacity);
+        }
+        this.metricsStore = metricsStore;
+        this.threadPool = threadPool;
+        this.sampleIntervalMs = sampleIntervalMs;
+        this.historyCapacity = historyCapacity;
+        this.procRoot = procRoot;
+    }
+
+    /**
+     * Watches a process by PID.
+     */
+    public ProcessWatchList watchPid(int pid) {
+        pidTargets.add(pid);
+        return this;
+    }
+
+    /**
+     * Watches every process whose name (comm) matches the regex.
+     */
+    public ProcessWatchList watchName(String regex) {
+        nameTargets.add(Pattern.compile(regex));
+        return this;
+    }
+
+    /**
+     * Watches every process whose /proc/[pid]/cgroup contains the fragment,
+     * e.g. "/system.slice/postgresql.service" or a container ID.
+     */
+    public ProcessWatchList watchCgroup(String pathFragment) {
+        cgroupTargets.add(pathFragment);
+        return this;
+    }
+
+    /**
+     * Adds targets from a comma-separated spec such as
+     * {@code pid:1234,name:nginx.*,cgroup:docker}.
+     *
+     * @throws IllegalArgumentException for an unknown target kind
+     */
+    public ProcessWatchList watchAll(String spec) {
+        for (String entry : spec.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int colon = trimmed.indexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("Watch target must be kind:value, got: " + trimmed);
+            }
+            String kind = trimmed.substring(0, colon);
+            String value = trimmed.substring(colon + 1);
+            switch (kind) {
+                case "pid" -> watchPid(Integer.parseInt(value));
+                case "name" -> watchName(value);
+                case "cgroup" -> watchCgroup(value);
+                default -> throw new IllegalArgumentException("Unknown watch target kind: " + kind);
+            }
+        }
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return pidTargets.isEmpty() && nameTargets.isEmpty() && cgroupTargets.isEmpty();
+    }
+
+    @Override
+    public void run() {
+        try {
+            retireExited();
+
+            Set<Integer> matched = nameTargets.isEmpty() && cgroupTargets.isEmpty()
+                    ? new HashSet<>(pidTargets)
+                    : scanProcesses();
+
+            for (int pid : matched) {
+                if (!samplers.containsKey(pid)) {
+                    startSampling(pid);
+                }
+            }
+
+            // Processes that moved out of a watched cgroup or were renamed
+            for (Integer pid : samplers.keySet()) {
+                if (!matched.contains(pid)) {
+                    stopSampling(pid);
+                }
+            }
+
+            logger.info("👁️  Watching {} processes every {}ms", samplers.size(), sampleIntervalMs);
+            for (ActiveSampler active : samplers.values()) {
+                ProcessHistory.Sample latest = active.sampler.getHistory().latest();
+                if (latest != null) {
+                    logger.debug("   {} (PID {}): {}% CPU, {} KB RSS, {} threads, {} fds",
+                            active.sampler.getHistory().getName(),
+                            active.sampler.getPid(),
+                            String.format("%.1f", latest.cpuPercent()),
+                            latest.residentBytes() / 1024,
+                            latest.threadCount(),
+                            latest.openFileDescriptors());
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Error resolving process watch list", e);
+        }
+    }
+
+    /**
+     * Enumerates /proc once and returns the PIDs matching any target.
+     */
+    private Set<Integer> scanProcesses() {
+        Set<Integer> matched = new HashSet<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(procRoot)) {
+            for (Path entry : entries) {
+                int pid = parsePid(entry.getFileName().toString());
+                if (pid > 0 && matches(pid, entry)) {
+                    matched.add(pid);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not enumerate {}: {}", procRoot, e.getMessage());
+        }
+        return matched;
+    }
+
+    private boolean matches(int pid, Path procDir) {
+        if (pidTargets.contains(pid)) {
+            return true;
+        }
+        if (!nameTargets.isEmpty() && reader.read(procDir.resolve("comm"))) {
+            String name = reader.restOfLine();
+            for (Pattern pattern : nameTargets) {
+                if (pattern.matcher(name).matches()) {
+                    return true;
+                }
+            }
+        }
+        if (!cgroupTargets.isEmpty() && reader.read(procDir.resolve("cgroup"))) {
+            String cgroups = reader.contentAsString();
+            for (String fragment : cgroupTargets) {
+                if (cgroups.contains(fragment)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void startSampling(int pid) {
+        String name = reader.read(procRoot.resolve(pid + "/comm")) ? reader.restOfLine() : "pid-" + pid;
+        ProcessHistory history = new ProcessHistory(pid, name, historyCapacity);
+        WatchedProcessSampler sampler = new WatchedProcessSampler(pid, history, procRoot, System.nanoTime());
+        if (sampler.hasExited()) {
+            return;
+        }
+        metricsStore.registerWatchedProcess(history);
+        ScheduledFuture<?> future = threadPool.scheduleAtFixedRate(
+                sampler, sampleIntervalMs, sampleIntervalMs, TimeUnit.MILLISECONDS);
+        samplers.put(pid, new ActiveSampler(sampler, future));
+        logger.info("   Started watching {} (PID {})", name, pid);
+    }
+
+    private void stopSampling(int pid) {
+        ActiveSampler active = samplers.remove(pid);
+        if (active != null) {
+            active.future.cancel(false);
+            metricsStore.removeWatchedProcess(pid);
+        }
+    }
+
+    private void retireExited() {
+        Iterator<Map.Entry<Integer, ActiveSampler>> it = samplers.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, ActiveSampler> entry = it.next();
+            if (entry.getValue().sampler.hasExited()) {
+                entry.getValue().future.cancel(false);
+                metricsStore.removeWatchedProcess(entry.getKey());
+                it.remove();
+                logger.info("   Stopped watching PID {} (exited)", entry.getKey());
+            }
+        }
+    }
+
+    private static int parsePid(String name) {
+        int pid = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            pid = pid * 10 + (c - '0');
+        }
+        return pid;
+    }
+
+    /**
+     * Returns the PIDs currently being sampled.
+     */
+    public Set<Integer> getWatchedPids() {
+        return Set.copyOf(samplers.keySet());
+    }
+
+    private record ActiveSampler(WatchedProcessSampler sampler, ScheduledFuture<?> future) {
+    }
+}
@@ -0,0 +1,181 @@
+package com.portfolio.monitor.monitors;
+
+import com.portfolio.monitor.core.DerivedMetrics;
+import com.portfolio.monitor.core.SharedMetricsStore;
+import com.portfolio.monitor.utils.ProcFileReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+
+/**
+ * Collects scheduler-level CPU metrics that tell apart a busy machine,
+ * one starved by its neighbours and one thrashing: context switches,
+ * interrupts, forks, runnable and blocked tasks, load averages, steal
+ * time and major page faults.
+ *
+ * Sources are /proc/stat, /proc/loadavg and /proc/vmstat, one small read
+ * each per tick. Cumulative counters are recorded raw and turned into
+ * per-second rates by derived series, so the history keeps both.
+ *
+ * Series:
+ * - sched.ctxt, sched.intr, sched.forks and their *_per_sec rates
+ * - sched.procs_running, sched.procs_blocked (instantaneous)
+ * - sched.load1, sched.load5, sched.load15 and sched.load1_per_cpu
+ * - sched.cpu.steal_ticks, sched.cpu.total_ticks and sched.steal_pct,
+ *   the share of CPU time the hypervisor gave to someone else
+ * - vm.pgmajfault and vm.pgmajfault_per_sec
+ *
+ * Key Concepts:
+ * - Raw counters plus declared rates, ratios and expressions
+ * - Line dispatch by token prefix, no per-line allocation
+ */
+public class SchedulerMonitor implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchedulerMonitor.class);
+
+    private final SharedMetricsStore metricsStore;
+    private final Path procStat;
+    private final Path procLoadavg;
+    private final Path procVmstat;
+    private final ProcFileReader reader = new ProcFileReader();
+
+    public SchedulerMonitor(SharedMetricsStore metricsStore) {
+        this(metricsStore, ProcFileReader.PROC);
+    }
+
+    /**
+     * Creates a monitor reading stat, loadavg and vmstat under the given /proc root.
+     */
+    public SchedulerMonitor(SharedMetricsStore metricsStore, Path procRoot) {
+        this.metricsStore = metricsStore;
+        this.procStat = procRoot.resolve("stat");
+        this.procLoadavg = procRoot.resolve("loadavg");
+        this.procVmstat = procRoot.resolve("vmstat");
+
+        DerivedMetrics derived = metricsStore.getDerivedMetrics();
+        derived.rate("sched.ctxt", "sched.ctxt_per_sec")
+                .rate("sched.intr", "sched.intr_per_sec")
+                .rate("sched.forks", "sched.forks_per_sec")
+                .rate("sched.cpu.steal_ticks", "sched.cpu.steal_ticks_per_sec")
+                .rate("sched.cpu.total_ticks", "sched.cpu.total_ticks_per_sec")
+                .rate("vm.pgmajfault", "vm.pgmajfault_per_sec")
+                .expression("100 * sched.cpu.steal_ticks_per_sec / sched.cpu.total_ticks_per_sec", "sched.steal_pct")
+                .ratio("sched.load1", "sched.cpus", "sched.load1_per_cpu");
+    }
+
+    /**
+     * Returns whether /proc/stat is readable, i.e. this is Linux.
+     */
+    public static boolean isSupported() {
+        return CPUMonitor.PROC_STAT.toFile().canRead();
+    }
+
+    @Override
+    public void run() {
+        try {
+            collect(System.currentTimeMillis());
+        } catch (Exception e) {
+            logger.error("Error monitoring scheduler", e);
+        }
+    }
+
+    void collect(long timestamp) {
+        readStat(timestamp);
+        readLoadavg(timestamp);
+        readVmstat(timestamp);
+
+        if (logger.isInfoEnabled()) {
+            logger.info("🔀 Scheduler: {} ctx/s, {} intr/s, {} running, {} blocked, load {}, steal {}%",
+                    format(metricsStore.valueAt("sched.ctxt_per_sec", timestamp), "%.0f"),
+                    format(metricsStore.valueAt("sched.intr_per_sec", timestamp), "%.0f"),
+                    (long) metricsStore.getLatestSeriesValue("sched.procs_running"),
+                    (long) metricsStore.getLatestSeriesValue("sched.procs_blocked"),
+                    format(metricsStore.getLatestSeriesValue("sched.load1"), "%.2f"),
+                    format(metricsStore.valueAt("sched.steal_pct", timestamp), "%.1f"));
+        }
+    }
+
+    /**
+     * Reads the aggregate cpu line (total and steal ticks), the per-CPU
+     * line count and the ctxt, intr, processes and procs_* counters.
+     */
+    private void readStat(long timestamp) {
+        if (!reader.read(procStat)) {
+            return;
+        }
+        reader.skipFields(1);                   // "cpu"
+        long total = 0;
+        long steal = 0;
+        for (int column = 0; column < 8; column++) {
+            long value = reader.nextLong();
+            total += value;
+            if (column == 7) {
+                steal = value;
+            }
+        }
+        metricsStore.recordSeries("sched.cpu.total_ticks", timestamp, total);
+        metricsStore.recordSeries("sched.cpu.steal_ticks", timestamp, steal);
+
+        int cpus = 0;
+        while (reader.nextLine()) {
+            if (reader.tokenStartsWith("cpu")) {
+                cpus++;
+            } else if (reader.tokenStartsWith("intr ")) {
+                reader.skipFields(1);
+                metricsStore.recordSeries("sched.intr", timestamp, reader.nextLong());
+            } else if (reader.tokenStartsWith("ctxt ")) {
+                reader.skipFields(1);
+                metricsStore.recordSeries("sched.ctxt", timestamp, reader.nextLong());
+            } else if (reader.tokenStartsWith("processes ")) {
+                reader.skipFields(1);
+                metricsStore.recordSeries("sched.forks", timestamp, reader.nextLong());
+            } else if (reader.tokenStartsWith("procs_running ")) {
+                reader.skipFields(1);
+                metricsStore.recordSeries("sched.procs_running", timestamp, reader.nextLong());
+            } else if (reader.tokenStartsWith("procs_blocked ")) {
+                reader.skipFields(1);
+                metricsStore.recordSeries("sched.procs_blocked", timestamp, reader.nextLong());
+            }
+        }
+        if (cpus > 0) {
+            metricsStore.recordSeries("sched.cpus", timestamp, cpus);
+        }
+    }
+
+    /**
+     * Reads "0.05 0.46 0.60 2/72 10214"; the load averages come first.
+     * load1 is recorded last so its per-CPU ratio joins this tick's CPU count.
+     */
+    private void readLoadavg(long timestamp) {
+        if (!reader.read(procLoadavg)) {
+            return;
+        }
+        double load1 = reader.nextDouble();
+        double load5 = reader.nextDouble();
+        double load15 = reader.nextDouble();
+        metricsStore.recordSeries("sched.load5", timestamp, load5);
+        metricsStore.recordSeries("sched.load15", timestamp, load15);
+        metricsStore.recordSeries("sched.load1", timestamp, load1);
+    }
+
+    private void readVmstat(long timestamp) {
+        if (!reader.read(procVmstat)) {
+            return;
+        }
+        do {
+            if (reader.tokenStartsWith("pgmajfault ")) {
+                reader.skipFields(1);
+                metricsStore.recordSeries("vm.pgmajfault", timestamp, reader.nextLong());
+                return;
+            }
+        } while (reader.nextLine());
+    }
+
+    /**
+     * Formats a value for the log line, "-" where it is NaN.
+     */
+    static String format(double value, String pattern) {
+        return Double.isNaN(value) ? "-" : String.format(pattern, value);
+    }
+}
@@ -0,0 +1,139 @@
+package com.portfolio.monitor.monitors;
+
+import com.portfolio.monitor.model.ProcessHistory;
+import com.portfolio.monitor.utils.ProcFileReader;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Samples a single watched process on its own fast interval.
+ * Reads only /proc/[pid]/stat and the /proc/[pid]/fd directory, so a
+ * sample costs two small reads instead of a full process enumeration.
+ *
+ * Key Concepts:
+ * - Per-process scheduling (one periodic task per watched PID)
+ * - Tick deltas between samples for CPU percentage
+ * - PID reuse detection via the process start time
+ */
+class WatchedProcessSampler implements Runnable {
+
+    private final int pid;
+    private final Path statPath;
+    private final Path fdPath;
+    private final ProcFileReader reader = new ProcFileReader(1024);
+    private final ProcessHistory history;
+
+    private long startTime;
+    private long prevTicks;
+    private long prevNanos;
+    private volatile boolean exited;
+
+    // Values parsed by readStat()
+    private long ticks;
+    private long threads;
+    private long rssPages;
+    private long parsedStartTime;
+
+    /**
+     * @param nowNanos System.nanoTime() of the baseline reading
+     */
+    WatchedProcessSampler(int pid, ProcessHistory history, Path procRoot, long nowNanos) {
+        this.pid = pid;
+        this.history = history;
+        Path procDir = procRoot.resolve(Integer.toString(pid));
+        this.statPath = procDir.resolve("stat");
+        this.fdPath = procDir.resolve("fd");
+
+        // Baseline reading so the first scheduled sample already has a CPU delta
+        if (readStat()) {
+            this.startTime = parsedStartTime;
+            this.prevTicks = ticks;
+            this.prevNanos = nowNanos;
+        } else {
+            exited = true;
+        }
+    }
+
+    @Override
+    public void run() {
+        sample(System.currentTimeMillis(), System.nanoTime());
+    }
+
+    /**
+     * Takes one sample at the given wall-clock and System.nanoTime() times.
+     */
+    void sample(long timestamp, long now) {
+        if (exited) {
+            return;
+        }
+        if (!readStat() || parsedStartTime != startTime) {
+            // Process is gone, or the PID now belongs to a different process
+            exited = true;
+            return;
+        }
+
+        double elapsedSeconds = (now - prevNanos) / 1_000_000_000.0;
+        double cpuPercent = elapsedSeconds > 0
+                ? (ticks - prevTicks) / (double) ProcFileReader.clockTicksPerSecond() / elapsedSeconds * 100
+                : 0;
+        prevTicks = ticks;
+        prevNanos = now;
+
+        history.record(timestamp,
+                Math.max(0, cpuPercent),
+                rssPages * ProcFileReader.pageSize(),
+                (int) threads,
+                countOpenFileDescriptors());
+    }
+
+    /**
+     * Parses utime+stime (fields 14-15), num_threads (20), starttime (22)
+     * and rss (24) from /proc/[pid]/stat.
+     */
+    private boolean readStat() {
+        if (!reader.read(statPath) || !reader.skipPastLast((byte) ')')) {
+            return false;
+        }
+        reader.skipFields(11);              // fields 3-13: state .. cmajflt
+        ticks = reader.nextLong() + reader.nextLong();
+        reader.skipFields(4);               // cutime, cstime, priority, nice
+        threads = reader.nextLong();
+        reader.skipFields(1);               // itrealvalue
+        parsedStartTime = reader.nextLong();
+        reader.skipFields(1);               // vsize
+        rssPages = reader.nextLong();
+        return true;
+    }
+
+    /**
+     * Counts directory entries without stat-ing each descriptor.
+     *
+     * @return the count, or -1 if the directory is not readable (other user's process)
+     */
+    private int countOpenFileDescriptors() {
+        int count = 0;
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(fdPath)) {
+            for (Path ignored : entries) {
+                count++;
+            }
+            return count;
+        } catch (IOException | SecurityException e) {
+            return -1;
+        }
+    }
+
+    int getPid() {
+        return pid;
+    }
+
+    boolean hasExited() {
+        return exited;
+    }
+
+    ProcessHistory getHistory() {
+        return history;
+    }
+}
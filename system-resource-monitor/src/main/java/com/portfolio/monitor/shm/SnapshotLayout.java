@@ -0,0 +1,106 @@
+package com.portfolio.monitor.shm;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Binary layout of the shared-memory snapshot file, shared by
+ * SnapshotPublisher and SnapshotReader. All values are little-endian and
+ * naturally aligned, so a C reader can overlay a struct:
+ *
+ * <pre>
+ * offset  size  field
+ *      0     4  magic        0x534D5253 ("SRMS")
+ *      4     4  version      incremented only on incompatible changes
+ *      8     8  sequence     seqlock: odd while the writer is mid-update
+ *     16     4  fieldCount   number of doubles in values
+ *     20     4  reserved
+ *     24     8  timestamp    epoch milliseconds of the snapshot
+ *     32    32  reserved
+ *     64  8*n   values       one double per Field, NaN when not collected
+ * </pre>
+ *
+ * New fields are only ever appended. A reader built against fewer fields
+ * reads the prefix it knows; one built against more sees NaN for the rest.
+ *
+ * Reading protocol: load sequence with acquire semantics and retry while
+ * it is odd, copy timestamp and values, issue a load fence, reload
+ * sequence; the copy is consistent if both loads are equal.
+ *
+ * Key Concepts:
+ * - Seqlock: a single writer never waits and readers never block it
+ * - Fixed-width record at fixed offsets, no parsing on the read path
+ */
+public final class SnapshotLayout {
+
+    public static final int MAGIC = 0x534D5253;
+    public static final int VERSION = 1;
+
+    public static final int MAGIC_OFFSET = 0;
+    public static final int VERSION_OFFSET = 4;
+    public static final int SEQUENCE_OFFSET = 8;
+    public static final int FIELD_COUNT_OFFSET = 16;
+    public static final int TIMESTAMP_OFFSET = 24;
+    public static final int VALUES_OFFSET = 64;
+
+    /**
+     * Snapshot fields in file order, each taken from the latest value of a series.
+     */
+    public enum Field {
+        CPU_USAGE("cpu.usage"),
+        MEMORY_USAGE("memory.usage"),
+        DISK_USAGE("disk.usage"),
+        PROCESS_COUNT("process.count"),
+        LOAD1("sched.load1"),
+        LOAD5("sched.load5"),
+        LOAD15("sched.load15"),
+        PROCS_RUNNING("sched.procs_running"),
+        PROCS_BLOCKED("sched.procs_blocked"),
+        CONTEXT_SWITCHES_PER_SEC("sched.ctxt_per_sec"),
+        STEAL_PCT("sched.steal_pct"),
+        PSI_CPU_SOME_AVG10("psi.cpu.some.avg10"),
+        PSI_MEMORY_SOME_AVG10("psi.memory.some.avg10"),
+        PSI_IO_SOME_AVG10("psi.io.some.avg10"),
+        FDS_ALLOCATED("fd.system.allocated"),
+        TCP_SOCKETS("tcp.sockets");
+
+        private final String series;
+
+        Field(String series) {
+            this.series = series;
+        }
+
+        /**
+         * Returns the name of the series this field is published from.
+         */
+        public String series() {
+            return series;
+        }
+
+        /**
+         * Returns the byte offset of this field in the file.
+         */
+        public int offset() {
+            return VALUES_OFFSET + ordinal() * Double.BYTES;
+        }
+    }
+
+    public static final int FIELD_COUNT = Field.values().length;
+
+    /**
+     * Size of a file holding the given number of fields.
+     */
+    public static int fileSize(int fieldCount) {
+        return VALUES_OFFSET + fieldCount * Double.BYTES;
+    }
+
+    /**
+     * Atomic, ordered access to the sequence word of a direct or mapped buffer.
+     */
+    static final VarHandle SEQUENCE =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private SnapshotLayout() {
+    }
+}
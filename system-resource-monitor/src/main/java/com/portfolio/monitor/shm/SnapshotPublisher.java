@@ -0,0 +1,129 @@
+package com.portfolio.monitor.shm;
+
+import com.portfolio.monitor.core.SharedMetricsStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static com.portfolio.monitor.shm.SnapshotLayout.*;
+
+/**
+ * Publishes the latest value of every snapshot field into a memory-mapped
+ * file (ideally on tmpfs, e.g. /dev/shm) so co-located processes can read
+ * the host's state without HTTP, parsing or locks. See SnapshotLayout for
+ * the format and the read protocol.
+ *
+ * There must be a single publisher per file. The file is kept on close
+ * and reused by the next publisher, so a reader that keeps it mapped
+ * across a monitor restart simply sees the sequence move on.
+ *
+ * Key Concurrency Concepts:
+ * - Seqlock writer: odd sequence, store fence, data, release store of the
+ *   next even sequence
+ * - Shared mapping: stores become visible to other processes without syscalls
+ */
+public class SnapshotPublisher implements Runnable, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotPublisher.class);
+
+    private static final Field[] FIELDS = Field.values();
+
+    private final SharedMetricsStore metricsStore;
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final double[] values = new double[FIELD_COUNT];
+    private long sequence;
+
+    public SnapshotPublisher(SharedMetricsStore metricsStore, Path file) throws IOException {
+        this.metricsStore = metricsStore;
+        this.file = file;
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            int size = fileSize(FIELD_COUNT);
+            if (channel.size() > size) {
+                channel.truncate(size);
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        // Continue the sequence of an earlier publisher so readers that kept
+        // the file mapped never see it repeat; an odd value left by a crash
+        // is overwritten by the NaN record below.
+        if (buffer.getInt(MAGIC_OFFSET) == MAGIC) {
+            sequence = ((long) SEQUENCE.getVolatile(buffer, SEQUENCE_OFFSET) + 1) & ~1L;
+        }
+        SEQUENCE.setVolatile(buffer, SEQUENCE_OFFSET, sequence + 1);
+        buffer.putInt(VERSION_OFFSET, VERSION);
+        buffer.putInt(FIELD_COUNT_OFFSET, FIELD_COUNT);
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        Arrays.fill(values, Double.NaN);
+        publish(0, values);
+        logger.info("Publishing metrics snapshots to {}", file);
+    }
+
+    /**
+     * Publishes the latest value of each field's series.
+     */
+    @Override
+    public void run() {
+        try {
+            for (int i = 0; i < FIELDS.length; i++) {
+                values[i] = metricsStore.getLatestSeriesValue(FIELDS[i].series());
+            }
+            publish(System.currentTimeMillis(), values);
+        } catch (Exception e) {
+            logger.error("Error publishing metrics snapshot", e);
+        }
+    }
+
+    /**
+     * Writes one record. Not thread-safe: callers must not publish concurrently.
+     *
+     * @param values One value per Field, in field order
+     */
+    public void publish(long timestampMillis, double[] values) {
+        if (values.length != FIELD_COUNT) {
+            throw new IllegalArgumentException("Expected " + FIELD_COUNT + " values, got " + values.length);
+        }
+        // Odd: readers that started before this point will retry
+        SEQUENCE.setOpaque(buffer, SEQUENCE_OFFSET, sequence + 1);
+        VarHandle.storeStoreFence();
+        buffer.putLong(TIMESTAMP_OFFSET, timestampMillis);
+        for (int i = 0; i < values.length; i++) {
+            buffer.putDouble(VALUES_OFFSET + i * Double.BYTES, values[i]);
+        }
+        sequence += 2;
+        SEQUENCE.setRelease(buffer, SEQUENCE_OFFSET, sequence);
+    }
+
+    /**
+     * Returns the sequence of the last published record.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+}
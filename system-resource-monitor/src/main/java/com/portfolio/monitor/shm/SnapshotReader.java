@@ -0,0 +1,163 @@
+package com.portfolio.monitor.shm;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static com.portfolio.monitor.shm.SnapshotLayout.*;
+
+/**
+ * Lock-free reader for the snapshot file written by SnapshotPublisher.
+ * Depends only on the JDK and SnapshotLayout, so agents can embed these
+ * two classes without the rest of the monitor.
+ *
+ * A read copies the record between two loads of the seqlock sequence and
+ * retries if the writer was active in between. Reads never allocate and
+ * never make a system call; a consistent read takes well under a
+ * microsecond.
+ *
+ * Not thread-safe; give each thread its own reader (they can share the file).
+ *
+ * <pre>
+ * try (SnapshotReader reader = SnapshotReader.open(Path.of("/dev/shm/monitor.snapshot"))) {
+ *     double[] values = new double[SnapshotLayout.FIELD_COUNT];
+ *     long timestamp = reader.read(values);
+ *     double cpu = values[SnapshotLayout.Field.CPU_USAGE.ordinal()];
+ * }
+ * </pre>
+ */
+public final class SnapshotReader implements AutoCloseable {
+
+    /** Retries before a read gives up on a writer that never finishes. */
+    static final int MAX_ATTEMPTS = 10_000;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int fieldCount;
+    private long retries;
+
+    private SnapshotReader(FileChannel channel, MappedByteBuffer buffer, int fieldCount) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.fieldCount = fieldCount;
+    }
+
+    /**
+     * Maps an existing snapshot file read-only.
+     *
+     * @throws IOException if the file is missing, truncated, not a snapshot
+     *                     file or written with an incompatible version
+     */
+    public static SnapshotReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < VALUES_OFFSET) {
+                throw new IOException("Not a snapshot file (too short): " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(MAGIC_OFFSET) != MAGIC) {
+                throw new IOException("Not a snapshot file (bad magic): " + file);
+            }
+            int version = buffer.getInt(VERSION_OFFSET);
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + " in " + file);
+            }
+            int fieldCount = buffer.getInt(FIELD_COUNT_OFFSET);
+            if (fieldCount < 0 || fileSize(fieldCount) > size) {
+                throw new IOException("Corrupt snapshot header in " + file);
+            }
+            return new SnapshotReader(channel, buffer, fieldCount);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Copies a consistent record into values: as many fields as both the
+     * file and the array hold, with NaN for array slots the file lacks.
+     *
+     * @return the record's timestamp in epoch milliseconds (0 before the
+     *         first sample), or -1 if the writer stayed mid-update for
+     *         every attempt
+     */
+    public long read(double[] values) {
+        int count = Math.min(values.length, fieldCount);
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            long before = (long) SEQUENCE.getAcquire(buffer, SEQUENCE_OFFSET);
+            if ((before & 1) == 0) {
+                long timestamp = buffer.getLong(TIMESTAMP_OFFSET);
+                for (int i = 0; i < count; i++) {
+                    values[i] = buffer.getDouble(VALUES_OFFSET + i * Double.BYTES);
+                }
+                VarHandle.loadLoadFence();
+                if ((long) SEQUENCE.getOpaque(buffer, SEQUENCE_OFFSET) == before) {
+                    if (count < values.length) {
+                        Arrays.fill(values, count, values.length, Double.NaN);
+                    }
+                    return timestamp;
+                }
+            }
+            retries++;
+            Thread.onSpinWait();
+        }
+        return -1;
+    }
+
+    /**
+     * Reads a single field consistently, or NaN if the file does not have it
+     * or no consistent read succeeded.
+     */
+    public double read(Field field) {
+        if (field.ordinal() >= fieldCount) {
+            return Double.NaN;
+        }
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            long before = (long) SEQUENCE.getAcquire(buffer, SEQUENCE_OFFSET);
+            if ((before & 1) == 0) {
+                double value = buffer.getDouble(field.offset());
+                VarHandle.loadLoadFence();
+                if ((long) SEQUENCE.getOpaque(buffer, SEQUENCE_OFFSET) == before) {
+                    return value;
+                }
+            }
+            retries++;
+            Thread.onSpinWait();
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Returns the current sequence; it grows by two with every record, so
+     * an unchanged value means nothing new was published.
+     */
+    public long sequence() {
+        return (long) SEQUENCE.getAcquire(buffer, SEQUENCE_OFFSET);
+    }
+
+    /**
+     * Returns the number of fields in the file.
+     */
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Returns how many read attempts so far collided with the writer.
+     */
+    public long retries() {
+        return retries;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
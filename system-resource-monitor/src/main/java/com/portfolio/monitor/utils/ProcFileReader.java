@@ -0,0 +1,361 @@
+package com.portfolio.monitor.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reusable reader for small Linux pseudo-files under /proc and /sys.
+ * The file is read into a buffer owned by this instance and parsed with a
+ * cursor. Once the buffer has grown to fit the file, read, the cursor
+ * methods (skipPast, skipFields, nextLine, tokenStartsWith), the number
+ * parsers (nextLong, nextDouble, nextHex) and contentHash allocate no
+ * Strings or arrays; nextToken, restOfLine and contentAsString return new
+ * Strings and are meant for the slow path.
+ *
+ * Not thread-safe: each collector owns its own reader.
+ */
+public final class ProcFileReader {
+
+    public static final Path PROC = Paths.get("/proc");
+
+    private static final int DEFAULT_CAPACITY = 4096;
+    private static final long DEFAULT_CLOCK_TICKS = 100;
+    private static final long DEFAULT_PAGE_SIZE = 4096;
+    private static final long AT_PAGESZ = 6;
+    private static final long AT_CLKTCK = 17;
+
+    private static volatile long clockTicksPerSecond;
+    private static volatile long pageSize;
+
+    private ByteBuffer buffer;
+    private int length;
+    private int pos;
+
+    public ProcFileReader() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ProcFileReader(int initialCapacity) {
+        this.buffer = ByteBuffer.allocate(initialCapacity);
+    }
+
+    /**
+     * Returns whether /proc is mounted (i.e. we are on Linux).
+     */
+    public static boolean isProcAvailable() {
+        return PROC.resolve("self/stat").toFile().canRead();
+    }
+
+    /**
+     * Reads the whole file into the internal buffer and rewinds the cursor.
+     * The buffer grows as needed, so later reads of the same file do not.
+     *
+     * @return false if the file does not exist or cannot be read
+     */
+    public boolean read(Path path) {
+        length = 0;
+        pos = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer.clear();
+            while (true) {
+                int n = channel.read(buffer);
+                if (n < 0) {
+                    break;
+                }
+                if (!buffer.hasRemaining()) {
+                    ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+                    buffer.flip();
+                    larger.put(buffer);
+                    buffer = larger;
+                }
+            }
+            length = buffer.position();
+            return true;
+        } catch (IOException | SecurityException e) {
+            return false;
+        }
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public int position() {
+        return pos;
+    }
+
+    public void position(int position) {
+        this.pos = Math.min(position, length);
+    }
+
+    public boolean hasRemaining() {
+        return pos < length;
+    }
+
+    public byte byteAt(int index) {
+        return buffer.array()[index];
+    }
+
+    /**
+     * Moves the cursor just past the last occurrence of b.
+     * Used for /proc/[pid]/stat, where the comm field may contain spaces.
+     *
+     * @return false if b does not occur
+     */
+    public boolean skipPastLast(byte b) {
+        byte[] data = buffer.array();
+        for (int i = length - 1; i >= 0; i--) {
+            if (data[i] == b) {
+                pos = i + 1;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves the cursor just past the next occurrence of b.
+     *
+     * @return false if b does not occur before the end of the buffer
+     */
+    public boolean skipPast(byte b) {
+        byte[] data = buffer.array();
+        while (pos < length) {
+            if (data[pos++] == b) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves the cursor to the start of the next line.
+     */
+    public boolean nextLine() {
+        return skipPast((byte) '\n') && pos < length;
+    }
+
+    /**
+     * Skips the given number of whitespace-separated fields.
+     */
+    public void skipFields(int count) {
+        byte[] data = buffer.array();
+        for (int i = 0; i < count; i++) {
+            skipSpaces();
+            while (pos < length && !isSeparator(data[pos])) {
+                pos++;
+            }
+        }
+    }
+
+    /**
+     * Returns whether the token at the cursor (after spaces) starts with prefix.
+     * The cursor is left on the first byte of the token.
+     */
+    public boolean tokenStartsWith(String prefix) {
+        skipSpaces();
+        if (pos + prefix.length() > length) {
+            return false;
+        }
+        byte[] data = buffer.array();
+        for (int i = 0; i < prefix.length(); i++) {
+            if (data[pos + i] != (byte) prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses the next decimal integer, skipping leading spaces.
+     * A fractional part (as in "avg10=1.50") is consumed and ignored.
+     *
+     * @return the value, or 0 if no digits are present
+     */
+    public long nextLong() {
+        skipSpaces();
+        byte[] data = buffer.array();
+        boolean negative = pos < length && data[pos] == '-';
+        if (negative) {
+            pos++;
+        }
+        long value = 0;
+        while (pos < length && data[pos] >= '0' && data[pos] <= '9') {
+            value = value * 10 + (data[pos++] - '0');
+        }
+        if (pos < length && data[pos] == '.') {
+            pos++;
+            while (pos < length && data[pos] >= '0' && data[pos] <= '9') {
+                pos++;
+            }
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses the next decimal number including any fractional part.
+     */
+    public double nextDouble() {
+        skipSpaces();
+        byte[] data = buffer.array();
+        boolean negative = pos < length && data[pos] == '-';
+        if (negative) {
+            pos++;
+        }
+        double value = 0;
+        while (pos < length && data[pos] >= '0' && data[pos] <= '9') {
+            value = value * 10 + (data[pos++] - '0');
+        }
+        if (pos < length && data[pos] == '.') {
+            pos++;
+            double scale = 0.1;
+            while (pos < length && data[pos] >= '0' && data[pos] <= '9') {
+                value += (data[pos++] - '0') * scale;
+                scale /= 10;
+            }
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses the next hexadecimal integer (as used by /proc/net/tcp).
+     */
+    public long nextHex() {
+        skipSpaces();
+        byte[] data = buffer.array();
+        long value = 0;
+        while (pos < length) {
+            int digit = Character.digit(data[pos], 16);
+            if (digit < 0) {
+                break;
+            }
+            value = (value << 4) | digit;
+            pos++;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the next whitespace-separated token as a String.
+     * Allocates; intended for identifiers read once per device or interface.
+     */
+    public String nextToken() {
+        skipSpaces();
+        int start = pos;
+        byte[] data = buffer.array();
+        while (pos < length && !isSeparator(data[pos])) {
+            pos++;
+        }
+        return new String(data, start, pos - start, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Returns the file contents from the cursor to the end of the line, trimmed.
+     * Allocates; intended for names read once per process.
+     */
+    public String restOfLine() {
+        skipSpaces();
+        int start = pos;
+        byte[] data = buffer.array();
+        while (pos < length && data[pos] != '\n') {
+            pos++;
+        }
+        int end = pos;
+        while (end > start && data[end - 1] == ' ') {
+            end--;
+        }
+        return new String(data, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the whole file as a String. Allocates; for slow-path matching only.
+     */
+    public String contentAsString() {
+        return new String(buffer.array(), 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns a 64-bit FNV-1a hash of the whole file, for cheap change
+     * detection without allocating.
+     */
+    public long contentHash() {
+        byte[] data = buffer.array();
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < length; i++) {
+            hash ^= data[i] & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private void skipSpaces() {
+        byte[] data = buffer.array();
+        while (pos < length && (data[pos] == ' ' || data[pos] == '\t')) {
+            pos++;
+        }
+    }
+
+    private static boolean isSeparator(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '=' || b == ':';
+    }
+
+    /**
+     * Returns USER_HZ, the unit of the tick counters in /proc/[pid]/stat.
+     */
+    public static long clockTicksPerSecond() {
+        if (clockTicksPerSecond == 0) {
+            long hz = auxv(AT_CLKTCK);
+            // USER_HZ is 100 on every mainstream kernel
+            clockTicksPerSecond = hz > 0 ? hz : DEFAULT_CLOCK_TICKS;
+        }
+        return clockTicksPerSecond;
+    }
+
+    /**
+     * Returns the page size used for RSS values in /proc/[pid]/stat.
+     */
+    public static long pageSize() {
+        if (pageSize == 0) {
+            long size = auxv(AT_PAGESZ);
+            // Fall back to the x86-64/arm64 default
+            pageSize = size > 0 ? size : DEFAULT_PAGE_SIZE;
+        }
+        return pageSize;
+    }
+
+    /**
+     * Looks up an entry of the ELF auxiliary vector the kernel passed to
+     * this process: native-endian (type, value) word pairs, ended by type 0.
+     * Reading it directly avoids a native sysconf() call.
+     *
+     * @return the value, or -1 if unavailable
+     */
+    private static long auxv(long type) {
+        try {
+            ByteBuffer auxv = ByteBuffer.wrap(Files.readAllBytes(PROC.resolve("self/auxv")))
+                    .order(ByteOrder.nativeOrder());
+            boolean words32 = "32".equals(System.getProperty("sun.arch.data.model"));
+            int entry = words32 ? 8 : 16;
+            while (auxv.remaining() >= entry) {
+                long key = words32 ? auxv.getInt() : auxv.getLong();
+                long value = words32 ? auxv.getInt() : auxv.getLong();
+                if (key == type) {
+                    return value;
+                }
+                if (key == 0) {
+                    break;
+                }
+            }
+        } catch (IOException | SecurityException e) {
+            // Not Linux, or /proc not mounted
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,40 @@
+package com.portfolio.monitor.utils;
+
+import oshi.SystemInfo;
+import oshi.hardware.HardwareAbstractionLayer;
+import oshi.software.os.OperatingSystem;
+
+/**
+ * The process-wide OSHI handle, shared by Main and every collector.
+ *
+ * Each SystemInfo instance memoizes its own hardware and OS objects, so
+ * separate instances repeat the JNA binding, /proc and sysfs parsing and
+ * class loading that the first one already paid for. Sharing one means
+ * the processor identification done for the startup banner is reused by
+ * CPUMonitor, and so on. OSHI's memoized objects are safe to share
+ * across threads.
+ *
+ * Key Concepts:
+ * - Initialization-on-demand holder: lazy, thread-safe, no locking on access
+ */
+public final class SystemInfoHolder {
+
+    private SystemInfoHolder() {
+    }
+
+    private static final class Holder {
+        static final SystemInfo SYSTEM_INFO = new SystemInfo();
+    }
+
+    public static SystemInfo get() {
+        return Holder.SYSTEM_INFO;
+    }
+
+    public static HardwareAbstractionLayer hardware() {
+        return Holder.SYSTEM_INFO.getHardware();
+    }
+
+    public static OperatingSystem operatingSystem() {
+        return Holder.SYSTEM_INFO.getOperatingSystem();
+    }
+}
@@ -0,0 +1,122 @@
+package com.portfolio.monitor.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares startup and steady-state memory of any monitor launch command,
+ * e.g. the shaded jar against the native image:
+ *
+ * <pre>
+ * java -cp ... com.portfolio.monitor.bench.FootprintBenchmark 30 java -jar target/system-resource-monitor-1.0.0.jar
+ * java -cp ... com.portfolio.monitor.bench.FootprintBenchmark 30 target/system-resource-monitor
+ * </pre>
+ *
+ * System properties are inserted right after the executable, which works
+ * for both a java launcher and a native image. Startup is the median of
+ * five -Dmonitor.once=true runs; RSS is read from /proc/[pid]/status after
+ * the given number of seconds of normal operation (several collection
+ * intervals, so every collector has run and the heap has settled).
+ * Not a unit test (surefire ignores it).
+ */
+public class FootprintBenchmark {
+
+    private static final Pattern FIRST_SAMPLE = Pattern.compile("First sample collected (\\d+) ms");
+    private static final int STARTUP_RUNS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int seconds = Integer.parseInt(args[0]);
+        List<String> command = Arrays.asList(args).subList(1, args.length);
+
+        long[] firstSample = new long[STARTUP_RUNS];
+        long[] exit = new long[STARTUP_RUNS];
+        runOnce(command, new long[2]); // warm the page cache
+        long[] result = new long[2];
+        for (int i = 0; i < STARTUP_RUNS; i++) {
+            runOnce(command, result);
+            firstSample[i] = result[0];
+            exit[i] = result[1];
+        }
+
+        Process process = start(command, "-Dmonitor.http.port=-1").start();
+        drain(process);
+        long peakKb = 0;
+        long rssKb = 0;
+        for (int i = 0; i < seconds && process.isAlive(); i++) {
+            TimeUnit.SECONDS.sleep(1);
+            rssKb = statusKb(process.pid(), "VmRSS:");
+            peakKb = Math.max(peakKb, statusKb(process.pid(), "VmHWM:"));
+        }
+        process.destroy();
+        process.waitFor(10, TimeUnit.SECONDS);
+
+        System.out.printf("command       %s%n", String.join(" ", command));
+        System.out.printf("first sample  %d ms (median of %d, wall to exit %d ms)%n",
+                median(firstSample), STARTUP_RUNS, median(exit));
+        System.out.printf("RSS after %ds %.1f MB (peak %.1f MB)%n", seconds, rssKb / 1024.0, peakKb / 1024.0);
+    }
+
+    private static void runOnce(List<String> command, long[] result) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = start(command, "-Dmonitor.once=true").start();
+        result[0] = -1;
+        try (BufferedReader out = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = out.readLine()) != null) {
+                Matcher m = FIRST_SAMPLE.matcher(line);
+                if (m.find()) {
+                    result[0] = Long.parseLong(m.group(1));
+                }
+            }
+        }
+        process.waitFor();
+        result[1] = (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static ProcessBuilder start(List<String> command, String property) {
+        List<String> full = new ArrayList<>(command);
+        full.add(1, property);
+        return new ProcessBuilder(full).redirectErrorStream(true);
+    }
+
+    /**
+     * Discards the child's output so it never blocks on a full pipe.
+     */
+    private static void drain(Process process) {
+        Thread drainer = new Thread(() -> {
+            try {
+                process.getInputStream().transferTo(java.io.OutputStream.nullOutputStream());
+            } catch (IOException ignored) {
+                // Child exited
+            }
+        }, "drain");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    private static long statusKb(long pid, String field) throws IOException {
+        for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+            if (line.startsWith(field)) {
+                return Long.parseLong(line.substring(field.length()).trim().split("\\s+")[0]);
+            }
+        }
+        return 0;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,69 @@
+package com.portfolio.monitor.bench;
+
+import com.portfolio.monitor.core.SharedMetricsStore;
+import com.portfolio.monitor.monitors.JvmTelemetryMonitor;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the process CPU cost of JvmTelemetryMonitor's JFR stream
+ * under a steady allocation load, with and without the stream running.
+ * Not a unit test (surefire ignores it); run it like SchedulerOverheadBenchmark:
+ *
+ * <pre>
+ * java -cp ... com.portfolio.monitor.bench.JfrOverheadBenchmark [seconds]
+ * </pre>
+ */
+public class JfrOverheadBenchmark {
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) throws InterruptedException {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+
+        Thread load = new Thread(JfrOverheadBenchmark::allocate, "allocation-load");
+        load.setDaemon(true);
+        load.start();
+        TimeUnit.SECONDS.sleep(3); // warm up
+
+        double baseline = measure(seconds);
+        JvmTelemetryMonitor monitor = new JvmTelemetryMonitor(new SharedMetricsStore());
+        monitor.start();
+        TimeUnit.SECONDS.sleep(3);
+        double withJfr = measure(seconds);
+        monitor.close();
+
+        System.out.printf("baseline  %.2f%% of one core%n", baseline);
+        System.out.printf("with JFR  %.2f%% of one core%n", withJfr);
+        System.out.printf("overhead  %.2f%% of one core%n", withJfr - baseline);
+    }
+
+    /**
+     * Allocates ~50 MB/s in small objects, paced so the load itself is steady.
+     */
+    private static void allocate() {
+        while (true) {
+            for (int i = 0; i < 5_000; i++) {
+                sink = new byte[1024];
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(100);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private static double measure(int seconds) throws InterruptedException {
+        long cpuBefore = processCpuNanos();
+        long wallBefore = System.nanoTime();
+        TimeUnit.SECONDS.sleep(seconds);
+        return 100.0 * (processCpuNanos() - cpuBefore) / (System.nanoTime() - wallBefore);
+    }
+
+    private static long processCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+                .getProcessCpuTime();
+    }
+}
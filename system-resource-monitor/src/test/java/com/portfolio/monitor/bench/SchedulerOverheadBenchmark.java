@@ -0,0 +1,71 @@
+package com.portfolio.monitor.bench;
+
+import com.portfolio.monitor.core.ThreadPoolManager;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares the CPU cost of driving many periodic tasks through the
+ * ScheduledThreadPoolExecutor versus the hashed timing wheel.
+ * Not a unit test (surefire ignores it); run it manually:
+ *
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     com.portfolio.monitor.bench.SchedulerOverheadBenchmark [tasks] [periodMs] [seconds]
+ * </pre>
+ */
+public class SchedulerOverheadBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int tasks = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        long periodMs = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 15;
+
+        // Warm up both paths so JIT compilation is not billed to either
+        run(ThreadPoolManager.SchedulerType.EXECUTOR, tasks, periodMs, 3);
+        run(ThreadPoolManager.SchedulerType.TIMING_WHEEL, tasks, periodMs, 3);
+
+        System.out.printf("%d periodic tasks, period %dms, %ds per run%n", tasks, periodMs, seconds);
+        report(ThreadPoolManager.SchedulerType.EXECUTOR, run(ThreadPoolManager.SchedulerType.EXECUTOR, tasks, periodMs, seconds));
+        report(ThreadPoolManager.SchedulerType.TIMING_WHEEL, run(ThreadPoolManager.SchedulerType.TIMING_WHEEL, tasks, periodMs, seconds));
+    }
+
+    private static Result run(ThreadPoolManager.SchedulerType type, int tasks, long periodMs, int seconds)
+            throws InterruptedException {
+        ThreadPoolManager manager = new ThreadPoolManager(4, type);
+        LongAdder executions = new LongAdder();
+
+        long cpuBefore = processCpuNanos();
+        long wallBefore = System.nanoTime();
+        for (int i = 0; i < tasks; i++) {
+            long initialDelay = ThreadLocalRandom.current().nextLong(periodMs);
+            manager.scheduleAtFixedRate(executions::increment, initialDelay, periodMs, TimeUnit.MILLISECONDS);
+        }
+        TimeUnit.SECONDS.sleep(seconds);
+        long cpuNanos = processCpuNanos() - cpuBefore;
+        long wallNanos = System.nanoTime() - wallBefore;
+        manager.shutdown(5, TimeUnit.SECONDS);
+
+        return new Result(cpuNanos, wallNanos, executions.sum());
+    }
+
+    private static void report(ThreadPoolManager.SchedulerType type, Result result) {
+        System.out.printf("%-13s cpu=%6dms  (%.2f%% of one core)  executions=%d%n",
+                type,
+                TimeUnit.NANOSECONDS.toMillis(result.cpuNanos),
+                100.0 * result.cpuNanos / result.wallNanos,
+                result.executions);
+    }
+
+    private static long processCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+                .getProcessCpuTime();
+    }
+
+    private record Result(long cpuNanos, long wallNanos, long executions) {
+    }
+}
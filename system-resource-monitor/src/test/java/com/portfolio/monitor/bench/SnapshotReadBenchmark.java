@@ -0,0 +1,69 @@
+package com.portfolio.monitor.bench;
+
+import com.portfolio.monitor.core.SharedMetricsStore;
+import com.portfolio.monitor.shm.SnapshotLayout;
+import com.portfolio.monitor.shm.SnapshotPublisher;
+import com.portfolio.monitor.shm.SnapshotReader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Measures the latency of a full snapshot read from the shared-memory
+ * file, once with an idle writer and once with a writer publishing
+ * continuously on another thread:
+ *
+ * <pre>
+ * java -cp ... com.portfolio.monitor.bench.SnapshotReadBenchmark [/dev/shm/bench.snapshot]
+ * </pre>
+ *
+ * Not a unit test (surefire ignores it).
+ */
+public class SnapshotReadBenchmark {
+
+    private static final int WARMUP = 2_000_000;
+    private static final int READS = 10_000_000;
+
+    public static void main(String[] args) throws Exception {
+        Path file = args.length > 0 ? Path.of(args[0]) : Files.createTempFile("snapshot", ".bin");
+        try (SnapshotPublisher publisher = new SnapshotPublisher(new SharedMetricsStore(), file);
+             SnapshotReader reader = SnapshotReader.open(file)) {
+            double[] values = new double[SnapshotLayout.FIELD_COUNT];
+            publisher.publish(System.currentTimeMillis(), values);
+
+            measure("idle writer", reader, values);
+
+            Thread writer = new Thread(() -> {
+                double[] next = new double[SnapshotLayout.FIELD_COUNT];
+                while (!Thread.currentThread().isInterrupted()) {
+                    next[0]++;
+                    publisher.publish(System.currentTimeMillis(), next);
+                }
+            });
+            writer.setDaemon(true);
+            writer.start();
+            measure("busy writer", reader, values);
+            writer.interrupt();
+            writer.join();
+        } finally {
+            if (args.length == 0) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static void measure(String label, SnapshotReader reader, double[] values) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += reader.read(values);
+        }
+        long retriesBefore = reader.retries();
+        long start = System.nanoTime();
+        for (int i = 0; i < READS; i++) {
+            sink += reader.read(values);
+        }
+        double nanosPerRead = (System.nanoTime() - start) / (double) READS;
+        System.out.printf("%-12s %6.1f ns/read, %d retries (%s)%n",
+                label, nanosPerRead, reader.retries() - retriesBefore, sink == 42 ? "" : "ok");
+    }
+}
@@ -0,0 +1,95 @@
+package com.portfolio.monitor.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures time-to-first-sample of the monitor: fresh JVMs are started
+ * with -Dmonitor.once=true, which collects one sample from every
+ * collector and exits. Reports the median of the "First sample collected"
+ * time logged by Main, and of the wall time to process exit, with and
+ * without an Application CDS archive.
+ * Not a unit test (surefire ignores it):
+ *
+ * <pre>
+ * java -cp ... com.portfolio.monitor.bench.StartupBenchmark app.jar [archive.jsa] [runs]
+ * </pre>
+ *
+ * The jar must be the shaded jar (or any jar classpath): CDS only archives
+ * classes loaded from jar files.
+ */
+public class StartupBenchmark {
+
+    private static final Pattern FIRST_SAMPLE = Pattern.compile("First sample collected (\\d+) ms");
+
+    public static void main(String[] args) throws Exception {
+        String classpath = args[0];
+        Path archive = args.length > 1 ? Path.of(args[1]) : null;
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        report("default", classpath, runs);
+        if (archive != null && Files.exists(archive)) {
+            report("app CDS", classpath, runs, "-XX:SharedArchiveFile=" + archive);
+        }
+    }
+
+    private static void report(String label, String classpath, int runs, String... jvmArgs)
+            throws IOException, InterruptedException {
+        run(classpath, jvmArgs, new long[2]); // warm the page cache
+        long[] firstSample = new long[runs];
+        long[] exit = new long[runs];
+        long[] result = new long[2];
+        for (int i = 0; i < runs; i++) {
+            run(classpath, jvmArgs, result);
+            firstSample[i] = result[0];
+            exit[i] = result[1];
+        }
+        System.out.printf("%-8s first sample %5d ms   exit %5d ms   (median of %d)%n",
+                label, median(firstSample), median(exit), runs);
+    }
+
+    /**
+     * Runs one JVM and stores {first-sample ms, wall ms to exit} in result.
+     */
+    private static void run(String classpath, String[] jvmArgs, long[] result)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(Arrays.asList(jvmArgs));
+        command.add("-Dmonitor.once=true");
+        command.add("-cp");
+        command.add(classpath);
+        command.add("com.portfolio.monitor.Main");
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        result[0] = -1;
+        try (BufferedReader out = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = out.readLine()) != null) {
+                Matcher m = FIRST_SAMPLE.matcher(line);
+                if (m.find()) {
+                    result[0] = Long.parseLong(m.group(1));
+                }
+            }
+        }
+        process.waitFor();
+        result[1] = (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,88 @@
+package com.portfolio.monitor.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CapacityForecast.
+ * Tests the linear fill rate, the Holt-Winters seasonal forecast and the horizon cap.
+ */
+@DisplayName("CapacityForecast Tests")
+class CapacityForecastTest {
+
+    @Test
+    @DisplayName("Should extrapolate a steady fill rate")
+    void testLinear() {
+        CapacityForecast forecast = new CapacityForecast();
+        assertTrue(Double.isNaN(forecast.secondsToFull()));
+
+        // 10 units/s for 100 s: 1000 of 2000 used, 100 s to go
+        for (int t = 0; t <= 100; t += 5) {
+            forecast.update(t * 1000L, t * 10.0, 2000);
+        }
+
+        assertEquals(10, forecast.growthPerSecond(), 1e-6);
+        assertEquals(100, forecast.secondsToFull(), 1e-3);
+    }
+
+    @Test
+    @DisplayName("Should follow the recent rate when growth speeds up")
+    void testRecentRateWins() {
+        CapacityForecast forecast = new CapacityForecast(3_600_000, 24, 60_000, 86_400);
+        double used = 0;
+        for (int t = 0; t < 3600; t += 5) {
+            used += t < 3000 ? 5 : 500;   // 1/s, then 100/s for the last 10 minutes
+            forecast.update(t * 1000L, used, 200_000);
+        }
+
+        assertTrue(forecast.growthPerSecond() > 80, "slope " + forecast.growthPerSecond());
+        assertTrue(forecast.secondsToFull() < 2500, "eta " + forecast.secondsToFull());
+    }
+
+    @Test
+    @DisplayName("Should report the horizon when usage is flat or shrinking, and 0 when full")
+    void testBounds() {
+        CapacityForecast forecast = new CapacityForecast(1000, 4, 10_000, 500);
+        for (int t = 0; t < 20; t++) {
+            forecast.update(t * 1000L, 100 - t, 200);
+        }
+        assertEquals(500, forecast.secondsToFull(), 1e-9);
+
+        forecast.update(21_000, 200, 200);
+        assertEquals(0, forecast.secondsToFull(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should predict a recurring peak once a season has been learned")
+    void testSeasonal() {
+        // 1 s buckets, 4 per season; the last bucket of each season peaks at 90
+        CapacityForecast forecast = new CapacityForecast(1000, 4, 1_000_000_000L, 100);
+        CapacityForecast roomy = new CapacityForecast(1000, 4, 1_000_000_000L, 100);
+        long t = 0;
+        for (; t < 40_000; t += 250) {
+            double used = (t / 1000) % 4 == 3 ? 90 : 50;
+            forecast.update(t, used, 85);
+            roomy.update(t, used, 95);
+        }
+        // Now at the start of slot 0: the next peak is 3 buckets away
+        forecast.update(t, 50, 85);
+        roomy.update(t, 50, 95);
+
+        assertTrue(forecast.isSeasoned());
+        double eta = forecast.secondsToFull();
+        assertTrue(eta >= 2 && eta <= 3, "eta " + eta);
+        assertEquals(100, roomy.secondsToFull(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should ignore out-of-order samples")
+    void testOutOfOrder() {
+        CapacityForecast forecast = new CapacityForecast();
+        forecast.update(2000, 10, 100);
+        forecast.update(1000, 99, 100);
+
+        assertEquals(CapacityForecast.DEFAULT_HORIZON_SECONDS, forecast.secondsToFull(), 1e-9);
+    }
+}
@@ -0,0 +1,211 @@
+package com.portfolio.monitor.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DerivedMetrics.
+ * Tests rates, ratios, expressions and wildcard declarations.
+ */
+@DisplayName("DerivedMetrics Tests")
+class DerivedMetricsTest {
+
+    private SharedMetricsStore store;
+    private DerivedMetrics derived;
+
+    @BeforeEach
+    void setUp() {
+        store = new SharedMetricsStore();
+        derived = store.getDerivedMetrics();
+    }
+
+    @Test
+    @DisplayName("Should derive a per-second rate from the second sample on")
+    void testRate() {
+        derived.rate("ctxt", "ctxt_per_sec");
+
+        store.recordSeries("ctxt", 1000, 5000);
+        assertNull(store.getSeries("ctxt_per_sec"));
+
+        store.recordSeries("ctxt", 3000, 9000);
+        assertEquals(2000, store.getLatestSeriesValue("ctxt_per_sec"), 1e-9);
+        assertEquals(3000, store.getSeries("ctxt_per_sec").latestTimestamp());
+    }
+
+    @Test
+    @DisplayName("Should skip the sample where a counter goes backwards")
+    void testRateReset() {
+        derived.rate("requests", "requests_per_sec");
+
+        store.recordSeries("requests", 1000, 10_000);
+        store.recordSeries("requests", 2000, 300);
+        assertNull(store.getSeries("requests_per_sec"));
+
+        store.recordSeries("requests", 3000, 800);
+        assertEquals(500, store.getLatestSeriesValue("requests_per_sec"), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should carry a 32-bit counter across its wrap")
+    void testRateWrap() {
+        derived.rate("rx_bytes", "rx_bytes_per_sec", true);
+
+        store.recordSeries("rx_bytes", 1000, 0xFFFF_FF00L);
+        store.recordSeries("rx_bytes", 2000, 0x40);
+
+        assertEquals(0x140, store.getLatestSeriesValue("rx_bytes_per_sec"), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should skip a reset of a 32-bit counter instead of reporting a wrap")
+    void testRateResetOfWrappingCounter() {
+        derived.rate("rx_bytes", "rx_bytes_per_sec", true);
+
+        // Interface re-created: the counter restarts well below 2^31
+        store.recordSeries("rx_bytes", 1000, 50_000_000);
+        store.recordSeries("rx_bytes", 2000, 1000);
+        assertNull(store.getSeries("rx_bytes_per_sec"));
+
+        store.recordSeries("rx_bytes", 3000, 3000);
+        assertEquals(2000, store.getLatestSeriesValue("rx_bytes_per_sec"), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should tell 32-bit wraps from counter resets")
+    void testCounterDelta() {
+        long wrap = DerivedMetrics.WRAP_32;
+        assertEquals(100, DerivedMetrics.counterDelta(1000, 1100, wrap));
+        // Wrapped past 2^32 from the upper half of the range
+        assertEquals(0x100 + 0x40, DerivedMetrics.counterDelta(0xFFFF_FF00L, 0x40, wrap));
+        assertEquals(20, DerivedMetrics.counterDelta(wrap - 10, 10, wrap));
+        // Dropped from the lower half: a reset, not a wrap
+        assertTrue(Double.isNaN(DerivedMetrics.counterDelta(1000, 10, wrap)));
+        assertTrue(Double.isNaN(DerivedMetrics.counterDelta(0x7FFF_FFFFL, 10, wrap)));
+        // A "wrap" that would add more than half the range is a reset too
+        assertTrue(Double.isNaN(DerivedMetrics.counterDelta(0x8000_0000L, 0x7000_0000L, wrap)));
+        // Above the modulus the counter is wider than 32 bits
+        assertTrue(Double.isNaN(DerivedMetrics.counterDelta(10_000_000_000L, 500, wrap)));
+        // Without a modulus any drop is a reset
+        assertTrue(Double.isNaN(DerivedMetrics.counterDelta(0xFFFF_FF00L, 0x40, 0)));
+        // Sector counters wrap at 2^32 sectors of 512 bytes
+        assertEquals(1000 * 512.0, DerivedMetrics.counterDelta((wrap - 500) * 512, 500 * 512, wrap * 512));
+    }
+
+    @Test
+    @DisplayName("Should join ratio inputs on timestamp and skip zero denominators")
+    void testRatio() {
+        derived.ratio("hits", "lookups", "hit_ratio");
+
+        store.recordSeries("hits", 1000, 30);
+        assertNull(store.getSeries("hit_ratio"));
+        store.recordSeries("lookups", 1000, 40);
+        assertEquals(0.75, store.getLatestSeriesValue("hit_ratio"), 1e-9);
+
+        store.recordSeries("hits", 2000, 0);
+        store.recordSeries("lookups", 2000, 0);
+        assertEquals(1, store.getSeries("hit_ratio").size());
+    }
+
+    @Test
+    @DisplayName("Should apply wildcard declarations per captured segment")
+    void testWildcard() {
+        derived.rate("disk.*.read_bytes", "disk.*.read_bytes_per_sec")
+                .rate("disk.*.write_bytes", "disk.*.write_bytes_per_sec")
+                .expression("100 * disk.*.read_bytes_per_sec"
+                        + " / (disk.*.read_bytes_per_sec + disk.*.write_bytes_per_sec)", "disk.*.read_share");
+
+        for (String device : new String[]{"sda", "nvme0n1"}) {
+            store.recordSeries("disk." + device + ".read_bytes", 1000, 0);
+            store.recordSeries("disk." + device + ".write_bytes", 1000, 0);
+        }
+        store.recordSeries("disk.sda.read_bytes", 2000, 300);
+        store.recordSeries("disk.sda.write_bytes", 2000, 100);
+        store.recordSeries("disk.nvme0n1.read_bytes", 2000, 100);
+        store.recordSeries("disk.nvme0n1.write_bytes", 2000, 100);
+
+        assertEquals(300, store.getLatestSeriesValue("disk.sda.read_bytes_per_sec"), 1e-9);
+        assertEquals(75, store.getLatestSeriesValue("disk.sda.read_share"), 1e-9);
+        assertEquals(50, store.getLatestSeriesValue("disk.nvme0n1.read_share"), 1e-9);
+        // '*' matches exactly one segment
+        store.recordSeries("disk.md.0.read_bytes", 1000, 0);
+        store.recordSeries("disk.md.0.read_bytes", 2000, 10);
+        assertNull(store.getSeries("disk.md.0.read_bytes_per_sec"));
+    }
+
+    @Test
+    @DisplayName("Should pick up declarations made after series exist and forget state on clear")
+    void testRedeclareAndClear() {
+        store.recordSeries("ticks", 1000, 100);
+        derived.rate("ticks", "ticks_per_sec");
+        store.recordSeries("ticks", 2000, 200);
+        store.recordSeries("ticks", 3000, 400);
+        assertEquals(200, store.getLatestSeriesValue("ticks_per_sec"), 1e-9);
+
+        store.clear();
+        store.recordSeries("ticks", 4000, 0);
+        assertNull(store.getSeries("ticks_per_sec"));
+    }
+
+    @Test
+    @DisplayName("Should forecast time to full per mount and alert once below the threshold")
+    void testTimeToFull() {
+        List<String> alerts = new ArrayList<>();
+        derived.timeToFull("fs.*.used_bytes", "fs.*.total_bytes", "fs.*.time_to_full_sec", 60);
+        derived.addExhaustionListener((series, seconds) -> alerts.add(series));
+
+        // root fills at 1 byte/s with 100 s to go; data is flat
+        for (long t = 0; t <= 20; t++) {
+            store.recordSeries("fs.root.used_bytes", t * 1000, 1000 + t);
+            store.recordSeries("fs.root.total_bytes", t * 1000, 1120);
+            store.recordSeries("fs.data.used_bytes", t * 1000, 500);
+            store.recordSeries("fs.data.total_bytes", t * 1000, 1000);
+        }
+        assertEquals(100, store.getLatestSeriesValue("fs.root.time_to_full_sec"), 1e-6);
+        assertEquals(CapacityForecast.DEFAULT_HORIZON_SECONDS,
+                store.getLatestSeriesValue("fs.data.time_to_full_sec"), 1e-9);
+        assertTrue(alerts.isEmpty());
+
+        for (long t = 21; t <= 80; t++) {
+            store.recordSeries("fs.root.used_bytes", t * 1000, 1000 + t);
+            store.recordSeries("fs.root.total_bytes", t * 1000, 1120);
+        }
+        assertEquals(40, store.getLatestSeriesValue("fs.root.time_to_full_sec"), 1e-6);
+        assertEquals(List.of("fs.root.time_to_full_sec"), alerts);
+    }
+
+    @Test
+    @DisplayName("Should accept a constant capacity")
+    void testTimeToFullConstant() {
+        derived.timeToFull("memory.usage", "100", "memory.time_to_full_sec");
+
+        store.recordSeries("memory.usage", 0, 50);
+        store.recordSeries("memory.usage", 10_000, 60);
+
+        assertEquals(40, store.getLatestSeriesValue("memory.time_to_full_sec"), 1e-6);
+    }
+
+    @Test
+    @DisplayName("Should reject mismatched wildcards")
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> derived.rate("net.*.rx_bytes", "rx_per_sec"));
+        assertThrows(IllegalArgumentException.class, () -> derived.rate("a.*.*", "b.*.*"));
+        assertThrows(IllegalArgumentException.class, () -> derived.expression("a + b", "c.*"));
+        assertThrows(IllegalArgumentException.class, () -> derived.expression("a +", "c"));
+    }
+
+    @Test
+    @DisplayName("Should match at most one segment per wildcard")
+    void testMatch() {
+        assertEquals("eth0", DerivedMetrics.match("net.*.rx_bytes", "net.eth0.rx_bytes"));
+        assertEquals("", DerivedMetrics.match("cpu.usage", "cpu.usage"));
+        assertNull(DerivedMetrics.match("net.*.rx_bytes", "net..rx_bytes"));
+        assertNull(DerivedMetrics.match("net.*.rx_bytes", "net.eth0.rx_bytes_per_sec"));
+        assertNull(DerivedMetrics.match("net.*.rx_bytes", "net.a.b.rx_bytes"));
+    }
+}
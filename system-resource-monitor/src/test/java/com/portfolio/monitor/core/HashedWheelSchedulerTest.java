@@ -0,0 +1,161 @@
+package com.portfolio.monitor.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HashedWheelScheduler.
+ * Tests periodic execution, cancellation and same-tick batching.
+ */
+@DisplayName("HashedWheelScheduler Tests")
+class HashedWheelSchedulerTest {
+
+    private ExecutorService dispatcher;
+    private HashedWheelScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = Executors.newSingleThreadExecutor();
+        scheduler = new HashedWheelScheduler(10, TimeUnit.MILLISECONDS, 64, dispatcher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+        dispatcher.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should run periodic task repeatedly")
+    void testPeriodicTask() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(3);
+
+        scheduler.scheduleAtFixedRate(latch::countDown, 0, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(1, scheduler.getActiveCount());
+    }
+
+    @Test
+    @DisplayName("Should run one-shot task once and complete its future")
+    void testOneShotTask() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+
+        ScheduledFuture<?> future = scheduler.schedule(counter::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+
+        assertNull(future.get(2, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals(1, counter.get());
+        assertTrue(future.isDone());
+        assertEquals(0, scheduler.getActiveCount());
+    }
+
+    @Test
+    @DisplayName("Should stop running a task once cancelled")
+    void testCancel() throws InterruptedException {
+        AtomicInteger counter = new AtomicInteger();
+        ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(counter::incrementAndGet, 0, 20, TimeUnit.MILLISECONDS);
+
+        Thread.sleep(100);
+        assertTrue(future.cancel(false));
+        Thread.sleep(50);
+        int afterCancel = counter.get();
+        Thread.sleep(150);
+
+        assertTrue(future.isCancelled());
+        assertEquals(afterCancel, counter.get());
+        assertEquals(0, scheduler.getActiveCount());
+        assertThrows(CancellationException.class, future::get);
+    }
+
+    @Test
+    @DisplayName("Should handle delays longer than one wheel rotation")
+    void testMultipleRounds() throws Exception {
+        // 64 buckets * 10ms = 640ms per rotation
+        long start = System.nanoTime();
+        ScheduledFuture<?> future = scheduler.schedule(() -> { }, 800, TimeUnit.MILLISECONDS);
+
+        future.get(3, TimeUnit.SECONDS);
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMs >= 790, "fired after " + elapsedMs + "ms");
+    }
+
+    @Test
+    @DisplayName("Should keep a period equal to the wheel span on time")
+    void testPeriodOfOneRotation() throws InterruptedException {
+        // 8 buckets * 10ms = 80ms per rotation; a future first deadline
+        // puts every re-placement exactly one rotation ahead
+        HashedWheelScheduler small = new HashedWheelScheduler(10, TimeUnit.MILLISECONDS, 8, dispatcher);
+        long[] runs = new long[4];
+        CountDownLatch latch = new CountDownLatch(runs.length);
+
+        try {
+            small.scheduleAtFixedRate(() -> {
+                int run = runs.length - (int) latch.getCount();
+                if (run < runs.length) {
+                    runs[run] = System.nanoTime();
+                    latch.countDown();
+                }
+            }, 30, 80, TimeUnit.MILLISECONDS);
+            assertTrue(latch.await(2, TimeUnit.SECONDS));
+        } finally {
+            small.stop();
+        }
+
+        // A run a rotation late is 160ms after the previous one; the
+        // catch-up run that follows would hide it in an average
+        for (int i = 1; i < runs.length; i++) {
+            long gapMs = TimeUnit.NANOSECONDS.toMillis(runs[i] - runs[i - 1]);
+            assertTrue(gapMs < 120, "run " + i + " came " + gapMs + "ms after the previous one");
+        }
+    }
+
+    @Test
+    @DisplayName("Should dispatch tasks due on the same tick as one batch")
+    void testSameTickBatching() throws InterruptedException {
+        int taskCount = 100;
+        CountDownLatch latch = new CountDownLatch(taskCount);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        AtomicInteger dispatches = new AtomicInteger();
+        Executor countingDispatcher = task -> {
+            dispatches.incrementAndGet();
+            dispatcher.execute(task);
+        };
+        HashedWheelScheduler batching = new HashedWheelScheduler(50, TimeUnit.MILLISECONDS, 16, countingDispatcher);
+
+        try {
+            for (int i = 0; i < taskCount; i++) {
+                batching.schedule(() -> {
+                    threads.add(Thread.currentThread());
+                    latch.countDown();
+                }, 60, TimeUnit.MILLISECONDS);
+            }
+            assertTrue(latch.await(2, TimeUnit.SECONDS));
+            assertTrue(dispatches.get() <= 2, "dispatches: " + dispatches.get());
+        } finally {
+            batching.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject tasks after stop and cancel outstanding ones")
+    void testStop() {
+        ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(() -> { }, 1, 1, TimeUnit.SECONDS);
+
+        scheduler.stop();
+
+        assertTrue(future.isCancelled());
+        assertFalse(scheduler.isRunning());
+        assertThrows(RejectedExecutionException.class,
+                () -> scheduler.schedule(() -> { }, 0, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,63 @@
+package com.portfolio.monitor.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MetricExpression.
+ * Tests precedence, references and syntax errors.
+ */
+@DisplayName("MetricExpression Tests")
+class MetricExpressionTest {
+
+    @Test
+    @DisplayName("Should honour precedence, parentheses and unary minus")
+    void testArithmetic() {
+        assertEquals(7, MetricExpression.compile("1 + 2 * 3").evaluate(new double[0]), 1e-9);
+        assertEquals(9, MetricExpression.compile("(1 + 2) * 3").evaluate(new double[0]), 1e-9);
+        assertEquals(-2, MetricExpression.compile("-4 / 2").evaluate(new double[0]), 1e-9);
+        assertEquals(1.5e3, MetricExpression.compile("1.5e3").evaluate(new double[0]), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should accept a signed exponent")
+    void testSignedExponent() {
+        assertEquals(1e-3, MetricExpression.compile("1e-3").evaluate(new double[0]), 1e-12);
+        assertEquals(2.5e6, MetricExpression.compile("2.5E+6").evaluate(new double[0]), 1e-9);
+        assertEquals(1.999, MetricExpression.compile("2 - 1e-3").evaluate(new double[0]), 1e-12);
+        assertEquals(4e-3, MetricExpression.compile("a * 1e-3").evaluate(new double[]{4}), 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> MetricExpression.compile("1e-"));
+    }
+
+    @Test
+    @DisplayName("Should map each distinct series name to one input slot")
+    void testReferences() {
+        MetricExpression e = MetricExpression.compile(
+                "100 * disk.*.busy_ms / (disk.*.busy_ms + cpu.idle_2)");
+
+        assertEquals(List.of("disk.*.busy_ms", "cpu.idle_2"), e.references());
+        assertEquals(25, e.evaluate(new double[]{1, 3}), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should treat '*' after a name as multiplication")
+    void testStarAfterName() {
+        MetricExpression e = MetricExpression.compile("a.b*2");
+
+        assertEquals(List.of("a.b"), e.references());
+        assertEquals(8, e.evaluate(new double[]{4}), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should reject malformed expressions")
+    void testSyntaxErrors() {
+        assertThrows(IllegalArgumentException.class, () -> MetricExpression.compile("(a + b"));
+        assertThrows(IllegalArgumentException.class, () -> MetricExpression.compile("a b"));
+        assertThrows(IllegalArgumentException.class, () -> MetricExpression.compile(""));
+        assertThrows(IllegalArgumentException.class, () -> MetricExpression.compile("1..2"));
+    }
+}
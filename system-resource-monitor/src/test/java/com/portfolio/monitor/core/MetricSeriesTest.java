@@ -0,0 +1,67 @@
+package com.portfolio.monitor.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MetricSeries.
+ * Tests ring buffer ordering, overwrite and out-of-order rejection.
+ */
+@DisplayName("MetricSeries Tests")
+class MetricSeriesTest {
+
+    @Test
+    @DisplayName("Should report NaN and -1 when empty")
+    void testEmpty() {
+        MetricSeries series = new MetricSeries("cpu", 4);
+
+        assertEquals(0, series.size());
+        assertTrue(Double.isNaN(series.latestValue()));
+        assertEquals(-1, series.latestTimestamp());
+    }
+
+    @Test
+    @DisplayName("Should keep the most recent samples oldest first")
+    void testWrapAround() {
+        MetricSeries series = new MetricSeries("cpu", 3);
+
+        for (int i = 1; i <= 5; i++) {
+            series.add(i * 1000L, i * 10.0);
+        }
+
+        assertEquals(3, series.size());
+        assertArrayEquals(new long[]{3000, 4000, 5000}, series.timestamps());
+        assertArrayEquals(new double[]{30, 40, 50}, series.values(), 1e-9);
+        assertEquals(50.0, series.latestValue(), 1e-9);
+        assertEquals(5000, series.latestTimestamp());
+    }
+
+    @Test
+    @DisplayName("Should drop out-of-order samples")
+    void testOutOfOrder() {
+        MetricSeries series = new MetricSeries("cpu", 4);
+
+        assertTrue(series.add(2000, 1.0));
+        assertFalse(series.add(1000, 2.0));
+        assertTrue(series.add(2000, 3.0));
+
+        assertEquals(2, series.size());
+        assertEquals(3.0, series.latestValue(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should be created on first record through the store")
+    void testStoreSeries() {
+        SharedMetricsStore store = new SharedMetricsStore(8);
+
+        store.recordSeries("psi.cpu.some.avg10", 1000, 1.5);
+        store.recordSeries("psi.cpu.some.avg10", 2000, 2.5);
+
+        assertEquals(2, store.getSeries("psi.cpu.some.avg10").size());
+        assertEquals(2.5, store.getLatestSeriesValue("psi.cpu.some.avg10"), 1e-9);
+        assertTrue(Double.isNaN(store.getLatestSeriesValue("missing")));
+        assertEquals(8, store.getSeries("psi.cpu.some.avg10").getCapacity());
+    }
+}
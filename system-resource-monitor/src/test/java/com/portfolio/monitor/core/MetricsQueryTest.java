@@ -0,0 +1,110 @@
+package com.portfolio.monitor.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MetricsQuery.
+ * Tests range selection, bucketing and each aggregation function.
+ */
+@DisplayName("MetricsQuery Tests")
+class MetricsQueryTest {
+
+    private SharedMetricsStore store;
+    private MetricsQuery query;
+
+    @BeforeEach
+    void setUp() {
+        store = new SharedMetricsStore(8);
+        query = new MetricsQuery(store);
+        // Capacity 8 with 10 samples: 1000..2000 have been overwritten
+        for (int i = 1; i <= 10; i++) {
+            store.recordSeries("load", i * 1000L, i);
+        }
+    }
+
+    @Test
+    @DisplayName("Should return raw samples in [from, to)")
+    void testRange() {
+        MetricsQuery.Result result = query.range("load", 2500, 6000);
+
+        assertArrayEquals(new long[]{3000, 4000, 5000}, result.timestamps());
+        assertArrayEquals(new double[]{3, 4, 5}, result.values(), 1e-9);
+        assertEquals(0, query.range("load", 0, 3000).size());
+        assertEquals(0, query.range("missing", 0, 10_000).size());
+    }
+
+    @Test
+    @DisplayName("Should aggregate into fixed buckets with NaN for empty ones")
+    void testBuckets() {
+        MetricsQuery.Result avg = query.aggregate("load", 1000, 11_000, 4000, MetricsQuery.Aggregation.AVG);
+
+        assertArrayEquals(new long[]{1000, 5000, 9000}, avg.timestamps());
+        assertEquals(3.5, avg.values()[0], 1e-9);     // 3, 4
+        assertEquals(6.5, avg.values()[1], 1e-9);     // 5..8
+        assertEquals(9.5, avg.values()[2], 1e-9);     // 9, 10
+
+        MetricsQuery.Result empty = query.aggregate("load", 20_000, 30_000, 5000, MetricsQuery.Aggregation.MAX);
+        assertEquals(2, empty.size());
+        assertTrue(Double.isNaN(empty.values()[0]));
+    }
+
+    @Test
+    @DisplayName("Should start buckets at the oldest retained sample and cap their number")
+    void testBucketLimits() {
+        // Reaches back ~11 days in 1s steps, but only 3000..10000 is retained
+        MetricsQuery.Result clamped = query.aggregate("load", 10_000 - 1_000_000_000L, 11_000, 1000,
+                MetricsQuery.Aggregation.MAX);
+
+        assertEquals(3000, clamped.timestamps()[0]);
+        assertEquals(8, clamped.size());
+        assertEquals(3.0, clamped.values()[0], 1e-9);
+
+        assertEquals(MetricsQuery.MAX_BUCKETS,
+                query.aggregate("load", 3000, 3000 + MetricsQuery.MAX_BUCKETS, 1, MetricsQuery.Aggregation.MAX).size());
+        assertThrows(IllegalArgumentException.class,
+                () -> query.aggregate("load", 3000, 3001 + MetricsQuery.MAX_BUCKETS, 1, MetricsQuery.Aggregation.MAX));
+        assertThrows(IllegalArgumentException.class,
+                () -> query.percentile("missing", 0, Long.MAX_VALUE, 1, 50));
+        assertThrows(IllegalArgumentException.class,
+                () -> query.aggregate("load", Long.MIN_VALUE, Long.MAX_VALUE, 1, MetricsQuery.Aggregation.AVG));
+    }
+
+    @Test
+    @DisplayName("Should compute min, max, rate and percentiles")
+    void testAggregations() {
+        assertEquals(3.0, single(MetricsQuery.Aggregation.MIN), 1e-9);
+        assertEquals(10.0, single(MetricsQuery.Aggregation.MAX), 1e-9);
+        // One unit per second across the whole range
+        assertEquals(1.0, single(MetricsQuery.Aggregation.RATE), 1e-9);
+
+        assertEquals(10.0, query.percentile("load", 0, 20_000, 0, 100).values()[0], 1e-9);
+        assertEquals(3.0, query.percentile("load", 0, 20_000, 0, 0).values()[0], 1e-9);
+        assertEquals(6.0, query.percentile("load", 0, 20_000, 0, 50).values()[0], 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> query.percentile("load", 0, 1, 0, 101));
+    }
+
+    @Test
+    @DisplayName("Should parse aggregation names")
+    void testParse() {
+        assertEquals(MetricsQuery.Aggregation.AVG, MetricsQuery.Aggregation.parse("avg"));
+        assertEquals(MetricsQuery.Aggregation.PERCENTILE, MetricsQuery.Aggregation.parse("p99.9"));
+        assertEquals(99.9, MetricsQuery.Aggregation.parsePercentile("p99.9"), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> MetricsQuery.Aggregation.parse("median"));
+    }
+
+    @Test
+    @DisplayName("Should make the headline metrics queryable")
+    void testHeadlineSeries() {
+        store.updateCpuMetrics(42.0);
+
+        assertEquals(42.0, store.getLatestSeriesValue("cpu.usage"), 1e-9);
+    }
+
+    private double single(MetricsQuery.Aggregation aggregation) {
+        return query.aggregate("load", 0, 20_000, 0, aggregation).values()[0];
+    }
+}
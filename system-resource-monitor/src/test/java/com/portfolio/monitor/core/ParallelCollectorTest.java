@@ -0,0 +1,264 @@
+package com.portfolio.monitor.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ParallelCollector.
+ * Tests fan-out, deadlines, stale marking and the overhead budget.
+ */
+@DisplayName("ParallelCollector Tests")
+class ParallelCollectorTest {
+
+    private ThreadPoolManager poolManager;
+    private SharedMetricsStore store;
+    // Fake process CPU clock: only what spinCpu burns, unless a test adds more
+    private final AtomicLong processCpuNanos = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        poolManager = new ThreadPoolManager(4);
+        store = new SharedMetricsStore();
+    }
+
+    @AfterEach
+    void tearDown() {
+        poolManager.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Should take as long as the slowest collector, not the sum")
+    void testFanOut() throws InterruptedException {
+        ParallelCollector collector = new ParallelCollector(poolManager, store, 2000)
+                .add("a", sleeper(300))
+                .add("b", sleeper(300))
+                .add("c", sleeper(300));
+
+        long start = System.nanoTime();
+        int stale = collector.collect();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(0, stale);
+        assertTrue(elapsedMs < 800, "tick took " + elapsedMs + " ms");
+        assertEquals(0, store.getLatestSeriesValue("collector.a.stale"));
+        waitFor(() -> store.getSeries("collector.b.duration_ms") != null);
+        assertTrue(store.getLatestSeriesValue("collector.b.duration_ms") >= 300);
+        assertTrue(store.getLatestSeriesValue("collector.tick_ms") >= 300);
+    }
+
+    @Test
+    @DisplayName("Should mark a late collector stale without waiting for it or starting it twice")
+    void testDeadline() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger slowRuns = new AtomicInteger();
+        ParallelCollector collector = new ParallelCollector(poolManager, store, 100)
+                .add("fast", () -> { })
+                .add("slow", () -> {
+                    slowRuns.incrementAndGet();
+                    awaitQuietly(release);
+                });
+
+        long start = System.nanoTime();
+        assertEquals(1, collector.collect());
+        assertTrue((System.nanoTime() - start) / 1_000_000 < 1000);
+        assertEquals(1, store.getLatestSeriesValue("collector.slow.stale"));
+        assertEquals(0, store.getLatestSeriesValue("collector.fast.stale"));
+
+        // Still running: skipped, and stale again
+        assertEquals(1, collector.collect());
+        assertEquals(1, slowRuns.get());
+
+        release.countDown();
+        waitFor(() -> store.getSeries("collector.slow.duration_ms") != null);
+        assertEquals(0, collector.collect());
+        assertEquals(2, slowRuns.get());
+        assertEquals(0, store.getLatestSeriesValue("collector.slow.stale"));
+    }
+
+    @Test
+    @DisplayName("Should isolate a failing collector")
+    void testFailure() {
+        AtomicInteger runs = new AtomicInteger();
+        ParallelCollector collector = new ParallelCollector(poolManager, store, 1000)
+                .add("broken", () -> {
+                    throw new IllegalStateException("boom");
+                })
+                .add("ok", runs::incrementAndGet);
+
+        assertEquals(0, collector.collect());
+        assertEquals(0, collector.collect());
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    @DisplayName("Should stretch the most expensive collector until the budget fits")
+    void testOverheadBudget() {
+        AtomicInteger heavyRuns = new AtomicInteger();
+        ParallelCollector collector = new ParallelCollector(poolManager, store, 2000)
+                .overheadBudget(0.5)
+                .processCpu(processCpuNanos::get)
+                .add("light", () -> { })
+                .add("heavy", () -> {
+                    heavyRuns.incrementAndGet();
+                    spinCpu(18);
+                });
+
+        // One tick per simulated second: 0.5% of a core is 5 ms of CPU per tick
+        long second = TimeUnit.SECONDS.toNanos(1);
+        collector.collect(second);
+        collector.collect(2 * second);
+        // The first run is warm-up and not costed
+        assertEquals(1, collector.getStride("heavy"));
+        collector.collect(3 * second);
+
+        // 18 ms per run needs a stride of 4 to fit 5 ms per tick
+        assertEquals(4, collector.getStride("heavy"));
+        assertEquals(1, collector.getStride("light"));
+        assertEquals(1, store.getLatestSeriesValue("collector.throttled"));
+        assertEquals(4, store.getLatestSeriesValue("collector.heavy.stride"));
+        assertTrue(store.getLatestSeriesValue("collector.heavy.cpu_ms") >= 18);
+        assertTrue(store.getLatestSeriesValue("collector.overhead_pct") >= 1.8);
+
+        heavyRuns.set(0);
+        for (int tick = 4; tick <= 11; tick++) {
+            collector.collect(tick * second);
+        }
+        assertEquals(2, heavyRuns.get());
+    }
+
+    @Test
+    @DisplayName("Should relax a throttled collector once it becomes cheap")
+    void testOverheadBudgetRelaxes() {
+        AtomicLong costMillis = new AtomicLong(18);
+        ParallelCollector collector = new ParallelCollector(poolManager, store, 2000)
+                .overheadBudget(0.5)
+                .processCpu(processCpuNanos::get)
+                .add("varying", () -> spinCpu(costMillis.get()));
+
+        long second = TimeUnit.SECONDS.toNanos(1);
+        for (int tick = 1; tick <= 3; tick++) {
+            collector.collect(tick * second);
+        }
+        assertEquals(4, collector.getStride("varying"));
+
+        costMillis.set(0);
+        for (int tick = 4; tick < 200 && collector.getStride("varying") > 1; tick++) {
+            collector.collect(tick * second);
+        }
+        assertEquals(1, collector.getStride("varying"));
+        assertEquals(0, store.getLatestSeriesValue("collector.throttled"));
+    }
+
+    @Test
+    @DisplayName("Should take process CPU outside the collectors off their budget")
+    void testBackgroundOverhead() {
+        ParallelCollector collector = new ParallelCollector(poolManager, store, 2000)
+                .overheadBudget(0.5)
+                .processCpu(processCpuNanos::get)
+                .add("medium", () -> spinCpu(3));
+
+        // 3 ms per run fits 5 ms per tick, but not what is left while other threads burn 2.5 ms
+        long second = TimeUnit.SECONDS.toNanos(1);
+        int tick = 1;
+        for (; tick <= 30 && collector.getStride("medium") == 1; tick++) {
+            processCpuNanos.addAndGet(TimeUnit.MICROSECONDS.toNanos(2500));
+            collector.collect(tick * second);
+        }
+        assertEquals(2, collector.getStride("medium"));
+        assertTrue(store.getLatestSeriesValue("collector.process_overhead_pct") >= 0.25);
+
+        // Once the background goes quiet the collector gets its budget back
+        for (int end = tick + 200; tick < end && collector.getStride("medium") > 1; tick++) {
+            collector.collect(tick * second);
+        }
+        assertEquals(1, collector.getStride("medium"));
+    }
+
+    @Test
+    @DisplayName("Should leave collectors their minimum share however busy the rest of the process is")
+    void testBackgroundOverBudget() {
+        ParallelCollector collector = new ParallelCollector(poolManager, store, 2000)
+                .overheadBudget(0.5)
+                .processCpu(processCpuNanos::get)
+                .add("cheap", () -> spinCpu(2));
+
+        // Other threads burn 20 ms per tick, four times the whole budget
+        long second = TimeUnit.SECONDS.toNanos(1);
+        for (int tick = 1; tick <= 10; tick++) {
+            processCpuNanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(20));
+            collector.collect(tick * second);
+        }
+
+        // 2 ms per run fits the half of the budget the collectors always keep
+        assertEquals(1, collector.getStride("cheap"));
+        assertEquals(0, store.getLatestSeriesValue("collector.throttled"));
+        assertTrue(store.getLatestSeriesValue("collector.process_overhead_pct") >= 2.0);
+    }
+
+    @Test
+    @DisplayName("Should neither measure nor throttle without a budget")
+    void testNoBudget() {
+        ParallelCollector collector = new ParallelCollector(poolManager, store, 2000)
+                .add("heavy", () -> spinCpu(20));
+
+        long second = TimeUnit.SECONDS.toNanos(1);
+        for (int tick = 1; tick <= 3; tick++) {
+            collector.collect(tick * second);
+        }
+        assertEquals(1, collector.getStride("heavy"));
+        assertNull(store.getSeries("collector.heavy.cpu_ms"));
+        assertNull(store.getSeries("collector.throttled"));
+    }
+
+    /**
+     * Burns the given amount of thread CPU time and adds it to the fake
+     * process CPU clock.
+     */
+    private void spinCpu(long millis) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long start = threads.getCurrentThreadCpuTime();
+        long end = start + TimeUnit.MILLISECONDS.toNanos(millis);
+        long now;
+        while ((now = threads.getCurrentThreadCpuTime()) < end) {
+            Thread.onSpinWait();
+        }
+        processCpuNanos.addAndGet(now - start);
+    }
+
+    private static Runnable sleeper(long millis) {
+        return () -> {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,158 @@
+package com.portfolio.monitor.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProcessLifecycle.
+ * Tests set diffing, PID reuse, restart-loop detection and churn series.
+ */
+@DisplayName("ProcessLifecycle Tests")
+class ProcessLifecycleTest {
+
+    private static final long TICK = 5_000;
+
+    private SharedMetricsStore store;
+    private ProcessLifecycle lifecycle;
+    private List<ProcessLifecycle.ProcessEvent> events;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        store = new SharedMetricsStore();
+        // Loop after 3 restarts within a minute
+        lifecycle = new ProcessLifecycle(store, 3, 60_000, 100);
+        events = new ArrayList<>();
+        lifecycle.addListener(events::add);
+        now = 1_000_000;
+    }
+
+    @Test
+    @DisplayName("Should treat the first tick as a baseline")
+    void testBaseline() {
+        tick(new int[]{1, 2, 3}, new long[]{10, 20, 30});
+
+        assertTrue(events.isEmpty());
+        assertEquals(3, lifecycle.size());
+        assertTrue(Double.isNaN(store.getLatestSeriesValue("process.started")));
+    }
+
+    @Test
+    @DisplayName("Should emit starts and exits from the difference between ticks")
+    void testStartAndExit() {
+        tick(new int[]{1, 2, 3}, new long[]{10, 20, 30});
+        tick(new int[]{1, 3, 4, 5}, new long[]{10, 30, 40, 50});
+
+        assertEquals(List.of(2), pids(ProcessLifecycle.Type.EXIT));
+        assertEquals(List.of(4, 5), pids(ProcessLifecycle.Type.START).stream().sorted().toList());
+        assertEquals("cmd 2", events.stream()
+                .filter(e -> e.type() == ProcessLifecycle.Type.EXIT).findFirst().orElseThrow().command());
+        assertEquals(2.0, store.getLatestSeriesValue("process.started"), 1e-9);
+        assertEquals(1.0, store.getLatestSeriesValue("process.exited"), 1e-9);
+        assertEquals(3.0 / 5, store.getLatestSeriesValue("process.churn_per_sec"), 1e-9);
+        assertEquals(events, lifecycle.recentEvents(10));
+    }
+
+    @Test
+    @DisplayName("Should see a reused PID as an exit plus a start")
+    void testPidReuse() {
+        tick(new int[]{7}, new long[]{100});
+        tick(new int[]{7}, new long[]{200});
+
+        assertEquals(2, events.size());
+        assertEquals(ProcessLifecycle.Type.EXIT, events.get(0).type());
+        assertEquals(100, events.get(0).startTime());
+        assertEquals(ProcessLifecycle.Type.START, events.get(1).type());
+        assertEquals(200, events.get(1).startTime());
+    }
+
+    @Test
+    @DisplayName("Should flag a command that keeps restarting once, until it calms down")
+    void testRestartLoop() {
+        tick(new int[]{1, 100}, new long[]{1, 1}, "init", "crashy --serve");
+        for (int i = 1; i <= 4; i++) {
+            // The previous incarnation died and a new one took its place
+            tick(new int[]{1, 100 + i}, new long[]{1, 1 + i}, "init", "crashy --serve");
+        }
+
+        List<ProcessLifecycle.ProcessEvent> loops = events.stream()
+                .filter(e -> e.type() == ProcessLifecycle.Type.RESTART_LOOP).toList();
+        assertEquals(1, loops.size());
+        assertEquals("crashy --serve", loops.get(0).command());
+        assertEquals(3, loops.get(0).restarts());
+        assertEquals(103, loops.get(0).pid());
+        assertEquals(1.0, store.getLatestSeriesValue("process.restart_loops"), 1e-9);
+
+        // Stable for longer than the window
+        for (int i = 0; i < 13; i++) {
+            tick(new int[]{1, 104}, new long[]{1, 5}, "init", "crashy --serve");
+        }
+        assertEquals(0.0, store.getLatestSeriesValue("process.restart_loops"), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should not count distinct commands or unrelated starts as restarts")
+    void testNoFalseLoop() {
+        tick(new int[]{1}, new long[]{1}, "init");
+        for (int i = 1; i <= 5; i++) {
+            tick(new int[]{1, 100 + i}, new long[]{1, i}, "init", "job " + i);
+        }
+        assertTrue(events.stream().noneMatch(e -> e.type() == ProcessLifecycle.Type.RESTART_LOOP));
+    }
+
+    @Test
+    @DisplayName("Should grow its tables and diff thousands of processes")
+    void testLargeSets() {
+        int n = 5000;
+        int[] pids = new int[n];
+        long[] starts = new long[n];
+        for (int i = 0; i < n; i++) {
+            pids[i] = i * 7;
+            starts[i] = i;
+        }
+        tick(pids, starts);
+        // Every other process replaced by one with a new PID
+        for (int i = 0; i < n; i += 2) {
+            pids[i] = 100_000 + i;
+        }
+        tick(pids, starts);
+
+        assertEquals(n, lifecycle.size());
+        assertEquals(n / 2, pids(ProcessLifecycle.Type.START).size());
+        assertEquals(n / 2, pids(ProcessLifecycle.Type.EXIT).size());
+        assertEquals(100, lifecycle.recentEvents(1000).size());
+    }
+
+    @Test
+    @DisplayName("Should start over after a reset")
+    void testReset() {
+        tick(new int[]{1}, new long[]{1});
+        lifecycle.reset();
+        tick(new int[]{2}, new long[]{2});
+
+        assertTrue(events.isEmpty());
+        assertTrue(lifecycle.recentEvents(10).isEmpty());
+    }
+
+    private void tick(int[] pids, long[] starts, String... commands) {
+        lifecycle.beginTick();
+        for (int i = 0; i < pids.length; i++) {
+            int handle = lifecycle.observe(pids[i], starts[i]);
+            if (handle >= 0) {
+                lifecycle.describe(handle, commands.length > 0 ? commands[i] : "cmd " + pids[i]);
+            }
+        }
+        lifecycle.endTick(now);
+        now += TICK;
+    }
+
+    private List<Integer> pids(ProcessLifecycle.Type type) {
+        return events.stream().filter(e -> e.type() == type).map(ProcessLifecycle.ProcessEvent::pid).toList();
+    }
+}
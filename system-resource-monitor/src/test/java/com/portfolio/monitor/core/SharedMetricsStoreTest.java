@@ -97,4 +97,14 @@ class SharedMetricsStoreTest {
         assertEquals(0.0, metricsStore.getLatestDiskUsage());
         assertEquals(0, metricsStore.getLatestProcessCount());
     }
+
+    @Test
+    @DisplayName("Should return a series value only when recorded at the given timestamp")
+    void testValueAt() {
+        metricsStore.recordSeries("sched.ctxt_per_sec", 1000, 42.0);
+
+        assertEquals(42.0, metricsStore.valueAt("sched.ctxt_per_sec", 1000));
+        assertTrue(Double.isNaN(metricsStore.valueAt("sched.ctxt_per_sec", 2000)));
+        assertTrue(Double.isNaN(metricsStore.valueAt("missing", 1000)));
+    }
 }
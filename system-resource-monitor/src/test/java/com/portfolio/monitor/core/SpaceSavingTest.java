@@ -0,0 +1,100 @@
+package com.portfolio.monitor.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SpaceSaving.
+ * Tests exact counting below capacity, eviction and the error guarantees.
+ */
+@DisplayName("SpaceSaving Tests")
+class SpaceSavingTest {
+
+    @Test
+    @DisplayName("Should count exactly while keys fit")
+    void testExactBelowCapacity() {
+        SpaceSaving sketch = new SpaceSaving(4);
+        sketch.add(1, "a", 2.5);
+        sketch.add(2, "b", 1.0);
+        sketch.add(1, "a", 0.5);
+        sketch.add(3, "c", 0);      // ignored
+
+        assertEquals(3.0, sketch.estimate(1), 1e-9);
+        assertEquals(1.0, sketch.estimate(2), 1e-9);
+        assertEquals(0.0, sketch.estimate(3), 1e-9);
+        assertEquals(2, sketch.size());
+        assertEquals(0.0, sketch.unmonitoredBound(), 1e-9);
+        assertEquals(4.0, sketch.total(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should evict the smallest counter and inherit its count as error")
+    void testEviction() {
+        SpaceSaving sketch = new SpaceSaving(2);
+        sketch.add(1, "a", 10);
+        sketch.add(2, "b", 3);
+        sketch.add(3, "c", 1);
+
+        assertEquals(0.0, sketch.estimate(2), 1e-9);
+        assertEquals(4.0, sketch.estimate(3), 1e-9);
+        assertEquals(4.0, sketch.unmonitoredBound(), 1e-9);
+        double[] error = new double[1];
+        sketch.forEach((key, label, count, err) -> {
+            if (key == 3) {
+                error[0] = err;
+                assertEquals("c", label);
+            }
+        });
+        assertEquals(3.0, error[0], 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should keep every heavy key of a skewed stream within its error bound")
+    void testGuarantees() {
+        SpaceSaving sketch = new SpaceSaving(32);
+        Map<Long, Double> truth = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            // Zipf-like: a few heavy processes, a long tail of light ones
+            long key = (long) Math.floor(Math.pow(1000, random.nextDouble()));
+            double weight = random.nextDouble();
+            sketch.add(key, null, weight);
+            truth.merge(key, weight, Double::sum);
+        }
+
+        double threshold = sketch.total() / sketch.capacity();
+        for (Map.Entry<Long, Double> entry : truth.entrySet()) {
+            if (entry.getValue() > threshold) {
+                assertTrue(sketch.estimate(entry.getKey()) > 0, "heavy key " + entry.getKey() + " dropped");
+            }
+        }
+        sketch.forEach((key, label, count, error) -> {
+            double actual = truth.get(key);
+            assertTrue(count >= actual - 1e-6, "underestimate for " + key);
+            assertTrue(count - error <= actual + 1e-6, "error bound violated for " + key);
+        });
+        // The heaviest key is counted almost exactly
+        assertEquals(truth.get(1L), sketch.estimate(1), truth.get(1L) * 0.05);
+    }
+
+    @Test
+    @DisplayName("Should start over after clear")
+    void testClear() {
+        SpaceSaving sketch = new SpaceSaving(2);
+        sketch.add(1, "a", 1);
+        sketch.add(2, "b", 1);
+        sketch.add(3, "c", 1);
+        sketch.clear();
+
+        assertEquals(0, sketch.size());
+        assertEquals(0.0, sketch.total(), 1e-9);
+        sketch.add(3, "c", 1);
+        assertEquals(1.0, sketch.estimate(3), 1e-9);
+    }
+}
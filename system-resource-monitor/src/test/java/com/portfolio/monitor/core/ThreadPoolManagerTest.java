@@ -54,6 +54,27 @@ class ThreadPoolManagerTest {
         assertTrue(poolManager.isRunning());
     }
 
+    @Test
+    @DisplayName("Should execute scheduled task on the timing wheel")
+    void testTimingWheelScheduledTask() throws InterruptedException {
+        ThreadPoolManager wheelManager = new ThreadPoolManager(2, ThreadPoolManager.SchedulerType.TIMING_WHEEL);
+        CountDownLatch latch = new CountDownLatch(3);
+
+        try {
+            ScheduledFuture<?> future = wheelManager.scheduleAtFixedRate(latch::countDown, 0, 50, TimeUnit.MILLISECONDS);
+
+            assertTrue(latch.await(2, TimeUnit.SECONDS));
+            assertTrue(wheelManager.isUsingTimingWheel());
+
+            wheelManager.shutdown(5, TimeUnit.SECONDS);
+            assertTrue(future.isCancelled());
+        } finally {
+            if (wheelManager.isRunning()) {
+                wheelManager.shutdown(5, TimeUnit.SECONDS);
+            }
+        }
+    }
+
     @Test
     @DisplayName("Should submit and execute callable task")
     void testSubmitCallable() throws ExecutionException, InterruptedException, TimeoutException {
@@ -0,0 +1,120 @@
+package com.portfolio.monitor.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TopConsumers.
+ * Tests pane rotation, merging across panes and PID reuse.
+ */
+@DisplayName("TopConsumers Tests")
+class TopConsumersTest {
+
+    private static final long MINUTE = 60_000;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long T0 = 1_000 * HOUR;   // aligned to a pane
+
+    private TopConsumers consumers;
+
+    @BeforeEach
+    void setUp() {
+        consumers = new TopConsumers(4);
+    }
+
+    @Test
+    @DisplayName("Should rank processes by usage summed across panes")
+    void testMergeAcrossPanes() {
+        long db = TopConsumers.processKey(100, 1);
+        long web = TopConsumers.processKey(200, 1);
+        for (int minute = 0; minute < 30; minute++) {
+            long t = T0 + minute * MINUTE;
+            consumers.record(t, db, "postgres", 2.0, 1000);
+            consumers.record(t, web, "nginx", 1.0, 5000);
+        }
+
+        List<TopConsumers.Consumer> cpu = consumers.top(TopConsumers.Resource.CPU, TopConsumers.Window.HOUR, 5,
+                T0 + 30 * MINUTE);
+        assertEquals(2, cpu.size());
+        assertEquals(100, cpu.get(0).pid());
+        assertEquals("postgres", cpu.get(0).name());
+        assertEquals(60.0, cpu.get(0).estimate(), 1e-9);
+        assertEquals(60.0, cpu.get(0).lowerBound(), 1e-9);
+        assertEquals(60.0, cpu.get(0).upperBound(), 1e-9);
+
+        List<TopConsumers.Consumer> io = consumers.top(TopConsumers.Resource.IO, TopConsumers.Window.DAY, 1,
+                T0 + 30 * MINUTE);
+        assertEquals(200, io.get(0).pid());
+        assertEquals(150_000.0, io.get(0).estimate(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should drop usage older than the window")
+    void testRotation() {
+        long early = TopConsumers.processKey(1, 1);
+        long late = TopConsumers.processKey(2, 1);
+        consumers.record(T0, early, "batch", 100, 0);
+        consumers.record(T0 + 2 * HOUR, late, "cron", 1, 0);
+
+        List<TopConsumers.Consumer> hour = consumers.top(TopConsumers.Resource.CPU, TopConsumers.Window.HOUR, 5,
+                T0 + 2 * HOUR);
+        assertEquals(1, hour.size());
+        assertEquals(2, hour.get(0).pid());
+
+        List<TopConsumers.Consumer> day = consumers.top(TopConsumers.Resource.CPU, TopConsumers.Window.DAY, 5,
+                T0 + 2 * HOUR);
+        assertEquals(2, day.size());
+        assertEquals(1, day.get(0).pid());
+
+        assertTrue(consumers.top(TopConsumers.Resource.CPU, TopConsumers.Window.DAY, 5, T0 + 30 * HOUR).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should bound a process evicted from some panes")
+    void testBoundsWithEviction() {
+        long steady = TopConsumers.processKey(1, 1);
+        // Pane 1: steady is the heaviest of four
+        consumers.record(T0, steady, "steady", 10, 0);
+        for (int pid = 10; pid < 13; pid++) {
+            consumers.record(T0, TopConsumers.processKey(pid, 1), "p" + pid, 1, 0);
+        }
+        // Pane 2: a crowd of other processes, steady idle
+        long t = T0 + 5 * MINUTE;
+        for (int pid = 20; pid < 30; pid++) {
+            consumers.record(t, TopConsumers.processKey(pid, 1), "q" + pid, 3, 0);
+        }
+
+        TopConsumers.Consumer top = consumers.top(TopConsumers.Resource.CPU, TopConsumers.Window.HOUR, 1,
+                T0 + 6 * MINUTE).get(0);
+        assertEquals(1, top.pid());
+        assertEquals(10.0, top.lowerBound(), 1e-9);
+        // Missing from pane 2, where it could have used up to the smallest counter
+        assertTrue(top.upperBound() > 10.0);
+    }
+
+    @Test
+    @DisplayName("Should keep a reused PID apart from its predecessor")
+    void testPidReuse() {
+        consumers.record(T0, TopConsumers.processKey(500, 1), "old", 5, 0);
+        consumers.record(T0, TopConsumers.processKey(500, 900), "new", 1, 0);
+
+        List<TopConsumers.Consumer> top = consumers.top(TopConsumers.Resource.CPU, TopConsumers.Window.HOUR, 5, T0);
+        assertEquals(2, top.size());
+        assertEquals("old", top.get(0).name());
+        assertEquals(500, top.get(1).pid());
+        assertEquals("new", top.get(1).name());
+    }
+
+    @Test
+    @DisplayName("Should parse window and resource names")
+    void testParse() {
+        assertEquals(TopConsumers.Window.HOUR, TopConsumers.Window.parse("1h"));
+        assertEquals(TopConsumers.Window.DAY, TopConsumers.Window.parse("day"));
+        assertEquals(TopConsumers.Resource.IO, TopConsumers.Resource.parse("io"));
+        assertThrows(IllegalArgumentException.class, () -> TopConsumers.Window.parse("1w"));
+    }
+}
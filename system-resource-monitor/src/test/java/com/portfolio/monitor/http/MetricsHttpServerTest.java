@@ -0,0 +1,87 @@
+package com.portfolio.monitor.http;
+
+import com.portfolio.monitor.core.SharedMetricsStore;
+import com.portfolio.monitor.core.TopConsumers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MetricsHttpServer.
+ * Runs the server on an ephemeral port and queries it over HTTP.
+ */
+@DisplayName("MetricsHttpServer Tests")
+class MetricsHttpServerTest {
+
+    private MetricsHttpServer server;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SharedMetricsStore store = new SharedMetricsStore();
+        for (int i = 0; i < 4; i++) {
+            store.recordSeries("disk.sda.await_ms", 1000L + i * 1000, i);
+        }
+        long now = System.currentTimeMillis();
+        store.getTopConsumers().record(now, TopConsumers.processKey(42, 1), "postgres", 12.5, 4096);
+        store.getTopConsumers().record(now, TopConsumers.processKey(7, 1), "nginx", 2.0, 0);
+        server = new MetricsHttpServer(store, 0);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Should serve raw and aggregated queries as JSON")
+    void testQuery() throws Exception {
+        assertEquals("{\"series\":\"disk.sda.await_ms\",\"timestamps\":[2000,3000],\"values\":[1.0,2.0]}",
+                get("/api/query?series=disk.sda.await_ms&from=2000&to=4000").body());
+        assertEquals("{\"series\":\"disk.sda.await_ms\",\"timestamps\":[0,3000,6000],\"values\":[1.0,3.0,null]}",
+                get("/api/query?series=disk.sda.await_ms&from=0&to=7000&step=3000&agg=max").body());
+        assertEquals("[\"disk.sda.await_ms\"]", get("/api/series").body());
+    }
+
+    @Test
+    @DisplayName("Should serve top consumers over a window")
+    void testTop() throws Exception {
+        assertEquals("{\"resource\":\"cpu\",\"window\":\"1h\",\"consumers\":["
+                        + "{\"pid\":42,\"name\":\"postgres\",\"estimate\":12.5,\"lowerBound\":12.5,\"upperBound\":12.5}]}",
+                get("/api/top?resource=cpu&window=1h&n=1").body());
+        assertTrue(get("/api/top?resource=io&window=1d").body().contains("\"estimate\":4096.0"));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed queries")
+    void testBadRequest() throws Exception {
+        assertEquals(400, get("/api/top?window=1w").statusCode());
+        assertEquals(400, get("/api/top?resource=gpu").statusCode());
+        assertEquals(400, get("/api/query").statusCode());
+        assertEquals(400, get("/api/query?series=x&agg=median").statusCode());
+        assertEquals(400, get("/api/query?series=x&from=abc").statusCode());
+        HttpResponse<String> tooMany = get("/api/query?series=x&from=0&to=100000000&step=1&agg=avg");
+        assertEquals(400, tooMany.statusCode());
+        assertTrue(tooMany.body().contains("buckets"), tooMany.body());
+    }
+
+    @Test
+    @DisplayName("Should listen on loopback by default")
+    void testLoopbackBinding() {
+        assertTrue(server.getAddress().getAddress().isLoopbackAddress());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path)).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,64 @@
+package com.portfolio.monitor.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProcessHistory.
+ * Tests ring buffer ordering and overwrite behaviour.
+ */
+@DisplayName("ProcessHistory Tests")
+class ProcessHistoryTest {
+
+    @Test
+    @DisplayName("Should return null latest sample when empty")
+    void testEmpty() {
+        ProcessHistory history = new ProcessHistory(42, "postgres", 4);
+
+        assertEquals(0, history.size());
+        assertNull(history.latest());
+        assertEquals(0, history.samples().length);
+    }
+
+    @Test
+    @DisplayName("Should return samples oldest first")
+    void testOrdering() {
+        ProcessHistory history = new ProcessHistory(42, "postgres", 4);
+
+        history.record(1000, 10.0, 4096, 3, 12);
+        history.record(1250, 20.0, 8192, 4, 13);
+
+        ProcessHistory.Sample[] samples = history.samples();
+        assertEquals(2, samples.length);
+        assertEquals(1000, samples[0].timestampMillis());
+        assertEquals(1250, samples[1].timestampMillis());
+        assertEquals(20.0, history.latest().cpuPercent(), 0.001);
+        assertEquals(8192, history.latest().residentBytes());
+        assertEquals(4, history.latest().threadCount());
+        assertEquals(13, history.latest().openFileDescriptors());
+    }
+
+    @Test
+    @DisplayName("Should overwrite oldest samples once full")
+    void testWrapAround() {
+        ProcessHistory history = new ProcessHistory(42, "postgres", 3);
+
+        for (int i = 0; i < 5; i++) {
+            history.record(i, i, i, i, i);
+        }
+
+        ProcessHistory.Sample[] samples = history.samples();
+        assertEquals(3, samples.length);
+        assertEquals(2, samples[0].timestampMillis());
+        assertEquals(4, samples[2].timestampMillis());
+        assertEquals(4, history.latest().timestampMillis());
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive capacity")
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ProcessHistory(1, "init", 0));
+    }
+}
@@ -0,0 +1,124 @@
+package com.portfolio.monitor.monitors;
+
+import com.portfolio.monitor.core.SharedMetricsStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DiskMonitor I/O rates in procOnly mode.
+ * Feeds diskstats from a temp /proc root and devices from a temp /sys/block.
+ */
+@DisplayName("DiskMonitor Tests")
+class DiskMonitorTest {
+
+    private static final long WRAP_32 = 1L << 32;
+
+    @TempDir
+    Path root;
+
+    private Path procRoot;
+    private SharedMetricsStore metricsStore;
+    private DiskMonitor monitor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        procRoot = Files.createDirectories(root.resolve("proc"));
+        Path sysBlock = Files.createDirectories(root.resolve("sys/block"));
+        Files.createDirectory(sysBlock.resolve("sda"));
+        Files.createDirectory(sysBlock.resolve("loop0"));
+        metricsStore = new SharedMetricsStore();
+        writeDiskstats(1000, 8000, 500, 2000, 16_000, 1500, 2, 3000, 4000);
+        monitor = new DiskMonitor(metricsStore, new MountInventory(procRoot.resolve("self/mountinfo")),
+                true, procRoot, sysBlock);
+    }
+
+    @Test
+    @DisplayName("Should record nothing until a second sample")
+    void testFirstSample() {
+        monitor.collectIo(10_000);
+
+        assertNull(metricsStore.getSeries("disk.sda.reads_per_sec"));
+        assertNull(metricsStore.getSeries("disk.loop0.reads_per_sec"));
+    }
+
+    @Test
+    @DisplayName("Should derive rates, queue depth, await and utilization between samples")
+    void testRates() throws IOException {
+        monitor.collectIo(10_000);
+        // 2s later: 200 reads of 2000 sectors in 400ms, 600 writes of 4000 sectors in 1200ms
+        writeDiskstats(1200, 10_000, 900, 2600, 20_000, 2700, 1, 4000, 7000);
+        monitor.collectIo(12_000);
+
+        assertEquals(100.0, metricsStore.getLatestSeriesValue("disk.sda.reads_per_sec"), 1e-9);
+        assertEquals(300.0, metricsStore.getLatestSeriesValue("disk.sda.writes_per_sec"), 1e-9);
+        assertEquals(512_000.0, metricsStore.getLatestSeriesValue("disk.sda.read_bytes_per_sec"), 1e-9);
+        assertEquals(1_024_000.0, metricsStore.getLatestSeriesValue("disk.sda.write_bytes_per_sec"), 1e-9);
+        assertEquals(1.5, metricsStore.getLatestSeriesValue("disk.sda.queue_depth"), 1e-9);
+        // (400 + 1200) ms over 800 completed I/Os
+        assertEquals(2.0, metricsStore.getLatestSeriesValue("disk.sda.await_ms"), 1e-9);
+        assertEquals(50.0, metricsStore.getLatestSeriesValue("disk.sda.util_percent"), 1e-9);
+        assertEquals(12_000, metricsStore.getSeries("disk.sda.await_ms").latestTimestamp());
+    }
+
+    @Test
+    @DisplayName("Should report zero await when no I/O completed")
+    void testIdleDisk() {
+        monitor.collectIo(10_000);
+        monitor.collectIo(11_000);
+
+        assertEquals(0.0, metricsStore.getLatestSeriesValue("disk.sda.reads_per_sec"), 1e-9);
+        assertEquals(0.0, metricsStore.getLatestSeriesValue("disk.sda.await_ms"), 1e-9);
+        assertEquals(0.0, metricsStore.getLatestSeriesValue("disk.sda.queue_depth"), 1e-9);
+        assertEquals(0.0, metricsStore.getLatestSeriesValue("disk.sda.util_percent"), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should carry on across a 32-bit counter wrap")
+    void testCounterWrap() throws IOException {
+        writeDiskstats(WRAP_32 - 100, WRAP_32 - 1000, 500, 2000, 16_000, 1500, 0, WRAP_32 - 500, 4000);
+        monitor.collectIo(10_000);
+        writeDiskstats(100, 1000, 900, 2000, 16_000, 1500, 0, 500, 5000);
+        monitor.collectIo(11_000);
+
+        assertEquals(200.0, metricsStore.getLatestSeriesValue("disk.sda.reads_per_sec"), 1e-9);
+        assertEquals(2000.0 * 512, metricsStore.getLatestSeriesValue("disk.sda.read_bytes_per_sec"), 1e-9);
+        assertEquals(2.0, metricsStore.getLatestSeriesValue("disk.sda.await_ms"), 1e-9);
+        assertEquals(100.0, metricsStore.getLatestSeriesValue("disk.sda.util_percent"), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should skip the sample after a counter reset")
+    void testCounterReset() throws IOException {
+        monitor.collectIo(10_000);
+        monitor.collectIo(11_000);
+        // Device re-attached: counters start again from zero
+        writeDiskstats(10, 80, 5, 0, 0, 0, 0, 10, 10);
+        monitor.collectIo(12_000);
+
+        assertEquals(1, metricsStore.getSeries("disk.sda.reads_per_sec").size());
+        writeDiskstats(20, 160, 10, 0, 0, 0, 0, 20, 20);
+        monitor.collectIo(13_000);
+        assertEquals(10.0, metricsStore.getLatestSeriesValue("disk.sda.reads_per_sec"), 1e-9);
+    }
+
+    /**
+     * Writes diskstats with sda and a loop device, in the 4.18+ layout
+     * (discard and flush fields after the ones DiskMonitor reads).
+     */
+    private void writeDiskstats(long reads, long sectorsRead, long readMs, long writes, long sectorsWritten,
+                                long writeMs, long inFlight, long ioTicks, long weightedMs) throws IOException {
+        Files.writeString(procRoot.resolve("diskstats"), String.format(
+                "   7       0 loop0 57 0 2260 13 0 0 0 0 0 36 13 0 0 0 0 0 0%n"
+                        + "   8       0 sda %d 11 %d %d %d 22 %d %d %d %d %d 0 0 0 0 4 7%n"
+                        + "   8       1 sda1 900 11 7000 450 1900 22 15000 1400 0 2900 3900 0 0 0 0 0 0%n",
+                reads, sectorsRead, readMs, writes, sectorsWritten, writeMs, inFlight, ioTicks, weightedMs));
+    }
+}
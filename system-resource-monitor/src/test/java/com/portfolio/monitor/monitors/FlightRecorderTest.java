@@ -0,0 +1,190 @@
+package com.portfolio.monitor.monitors;
+
+import com.portfolio.monitor.core.SharedMetricsStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FlightRecorder and FlightRecording.
+ * Feeds /proc files from a temp directory and reads dumps back.
+ */
+@DisplayName("FlightRecorder Tests")
+class FlightRecorderTest {
+
+    private static final long MS = 1_000_000;
+
+    @TempDir
+    Path procRoot;
+
+    @TempDir
+    Path dumpDir;
+
+    private SharedMetricsStore metricsStore;
+    private FlightRecorder recorder;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.createDirectories(procRoot.resolve("pressure"));
+        metricsStore = new SharedMetricsStore();
+        // 100 ms samples, 1 s before and 0.5 s after a trigger
+        recorder = new FlightRecorder(metricsStore, procRoot, dumpDir, 100, 1000, 500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recorder.close();
+    }
+
+    @Test
+    @DisplayName("Should dump the pre- and post-trigger windows with derived channels")
+    void testDumpWindows() throws IOException {
+        sampleSteps(0, 30);
+
+        Path file = recorder.dump(20, 5_000, "test");
+        FlightRecording recording = FlightRecording.read(file);
+
+        assertEquals(15, recording.size());
+        assertEquals(10, recording.triggerIndex());
+        assertEquals("test", recording.reason());
+        assertEquals(100, recording.intervalMillis());
+        assertEquals(1000 + 10 * 100, recording.timestamps()[0]);
+        assertEquals(1000 + 20 * 100, recording.timestamps()[recording.triggerIndex()]);
+
+        // Each 100 ms step: 10 ticks of which 4 busy, 2 iowait, 4 idle; 50 context switches; 20 ms stalled
+        float[] busy = recording.channel("cpu.busy_pct");
+        assertEquals(40.0f, busy[0], 1e-3f);
+        assertEquals(20.0f, recording.channel("cpu.iowait_pct")[5], 1e-3f);
+        assertEquals(500.0f, recording.channel("sched.ctxt_per_sec")[3], 1e-2f);
+        assertEquals(3.0f, recording.channel("sched.procs_running")[0], 0f);
+        assertEquals(2048f * 1024, recording.channel("memory.available_bytes")[0], 0f);
+        assertEquals(20.0f, recording.channel("psi.memory.some.stall_pct")[2], 1e-3f);
+        assertEquals(1.0, metricsStore.getLatestSeriesValue("flight.dumps"), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should record NaN for sources that are missing")
+    void testMissingSources() throws IOException {
+        sampleSteps(0, 3);
+
+        FlightRecording recording = FlightRecording.read(recorder.dump(3, 0, "missing"));
+        assertTrue(Float.isNaN(recording.channel("psi.cpu.some.stall_pct")[2]));
+        assertFalse(Float.isNaN(recording.channel("psi.memory.some.stall_pct")[2]));
+        // No baseline for the first sample
+        assertTrue(Float.isNaN(recording.channel("cpu.busy_pct")[0]));
+    }
+
+    @Test
+    @DisplayName("Should never dump samples the ring has already overwritten")
+    void testOverwritten() throws IOException {
+        int samples = recorder.getCapacity() * 3;
+        sampleSteps(0, samples);
+
+        FlightRecording stale = FlightRecording.read(recorder.dump(100, 0, "late"));
+        assertEquals(0, stale.size());
+
+        FlightRecording recent = FlightRecording.read(recorder.dump(samples - 2, 0, "recent"));
+        assertEquals(12, recent.size());
+        assertEquals(1000 + (samples - 1) * 100L, recent.timestamps()[recent.size() - 1]);
+    }
+
+    @Test
+    @DisplayName("Should dump asynchronously after the post-trigger window and fold repeated triggers")
+    void testTrigger() throws Exception {
+        writeProc(0);
+        recorder.close();
+        recorder = new FlightRecorder(metricsStore, procRoot, dumpDir, 20, 200, 100);
+        recorder.start();
+        waitFor(() -> recorder.getSampleCount() > 15);
+
+        assertTrue(recorder.trigger("alert"));
+        assertFalse(recorder.trigger("again"));
+        waitFor(() -> !Double.isNaN(metricsStore.getLatestSeriesValue("flight.dumps")));
+
+        Path file;
+        try (Stream<Path> files = Files.list(dumpDir)) {
+            file = files.findFirst().orElseThrow();
+        }
+        FlightRecording recording = FlightRecording.read(file);
+        assertEquals("alert", recording.reason());
+        assertEquals(10, recording.triggerIndex());
+        assertEquals(15, recording.size());
+        // Sampling carried on while the dump was pending
+        assertTrue(recorder.getSampleCount() >= 16 + 5);
+        // Ready for the next incident
+        waitFor(() -> recorder.trigger("next"));
+    }
+
+    @Test
+    @DisplayName("Should dump once when the trigger file appears and remove it")
+    void testTriggerFile() throws Exception {
+        Path file = dumpDir.resolve("control").resolve("trigger");
+        assertTrue(recorder.triggerOnFile(file));
+        assertTrue(Files.isDirectory(file.getParent()));
+        assertFalse(recorder.checkTriggerFile());
+
+        Files.createFile(file);
+        assertTrue(recorder.checkTriggerFile());
+        assertFalse(Files.exists(file));
+        assertFalse(recorder.checkTriggerFile());
+        // The dump it started is pending
+        assertFalse(recorder.trigger("alert"));
+    }
+
+    @Test
+    @DisplayName("Should reject files that are not flight recordings")
+    void testReadRejectsForeignFile() throws IOException {
+        Path other = dumpDir.resolve("other.srmf");
+        try (var out = new java.util.zip.GZIPOutputStream(Files.newOutputStream(other))) {
+            out.write(new byte[16]);
+        }
+        assertThrows(IOException.class, () -> FlightRecording.read(other));
+    }
+
+    /**
+     * Takes samples first..last-1, one per 100 ms starting at t = 1 s.
+     */
+    private void sampleSteps(int first, int last) throws IOException {
+        for (int i = first; i < last; i++) {
+            writeProc(i);
+            recorder.sample(1000 + i * 100L, (1 + i) * 100 * MS);
+        }
+    }
+
+    private void writeProc(int step) throws IOException {
+        long user = 4L * step;
+        long iowait = 2L * step;
+        long idle = 4L * step;
+        Files.writeString(procRoot.resolve("stat"), String.format(
+                "cpu  %d 0 0 %d %d 0 0 0 0 0%n"
+                        + "cpu0 %d 0 0 %d %d 0 0 0 0 0%n"
+                        + "ctxt %d%n"
+                        + "procs_running 3%n"
+                        + "procs_blocked 1%n",
+                user, idle, iowait, user, idle, iowait, 1000 + 50L * step));
+        Files.writeString(procRoot.resolve("meminfo"),
+                "MemTotal:        8192 kB\nMemFree:         1024 kB\nMemAvailable:    2048 kB\n");
+        Files.writeString(procRoot.resolve("pressure").resolve("memory"), String.format(
+                "some avg10=0.00 avg60=0.00 avg300=0.00 total=%d%n"
+                        + "full avg10=0.00 avg60=0.00 avg300=0.00 total=0%n", 20_000L * step));
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        boolean met;
+        while (!(met = condition.getAsBoolean()) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(met);
+    }
+}
@@ -0,0 +1,160 @@
+package com.portfolio.monitor.monitors;
+
+import com.portfolio.monitor.core.SharedMetricsStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HandleMonitor.
+ * Runs against a captured /proc tree in a temp directory with a controlled clock.
+ */
+@DisplayName("HandleMonitor Tests")
+class HandleMonitorTest {
+
+    private static final String TCP_HEADER = "  sl  local_address rem_address   st tx_queue rx_queue tr tm->when"
+            + " retrnsmt   uid  timeout inode\n";
+
+    @TempDir
+    Path proc;
+
+    private SharedMetricsStore store;
+    private HandleMonitor monitor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new SharedMetricsStore();
+        monitor = new HandleMonitor(store, proc);
+        write("sys/fs/file-nr", "1234\t0\t100000\n");
+        write("loadavg", "0.10 0.20 0.30 2/345 6789\n");
+        write("sys/net/ipv4/ip_local_port_range", "32768\t60999\n");
+        write("net/tcp", TCP_HEADER
+                + "   0: 00000000:1F90 00000000:0000 0A 00000000:00000000 00:00000000 00000000  1000        0 555 1 0\n"
+                + "   1: 0100007F:8001 0100007F:1F90 01 00000000:00000000 00:00000000 00000000  1000        0 556 1 0\n"
+                + "   2: 0100007F:9000 0100007F:1F90 06 00000000:00000000 03:00000F8C 00000000     0        0 0 3 0\n");
+        write("net/tcp6", TCP_HEADER
+                + "   0: 0000000000000000FFFF00000100007F:1F90 0000000000000000FFFF00000100007F:8002 01"
+                + " 00000000:00000000 00:00000000 00000000  1000        0 557 1 0\n");
+        writeProcess(100, 7, 5000);
+        write("100/limits", "Limit                     Soft Limit           Hard Limit           Units\n"
+                + "Max open files            1024                 4096                 files\n");
+        openFds(100, 0, 3);
+    }
+
+    @Test
+    @DisplayName("Should count TCP states, ephemeral ports and system-wide fds and threads")
+    void testSystemWide() throws IOException {
+        monitor.collect(0);
+
+        assertEquals(1234, store.getLatestSeriesValue("fd.system.allocated"));
+        assertEquals(100000, store.getLatestSeriesValue("fd.system.max"));
+        assertEquals(345, store.getLatestSeriesValue("threads.system"));
+        assertEquals(2, store.getLatestSeriesValue("tcp.established"));
+        assertEquals(1, store.getLatestSeriesValue("tcp.listen"));
+        assertEquals(1, store.getLatestSeriesValue("tcp.time_wait"));
+        assertEquals(4, store.getLatestSeriesValue("tcp.sockets"));
+        // 0x8001 and 0x9000 are in the range; the listener and the v6 server side are not
+        assertEquals(2, store.getLatestSeriesValue("tcp.ephemeral_ports_in_use"));
+        assertEquals(2.0 / 28232, store.getLatestSeriesValue("tcp.ephemeral_ports_usage"), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Should sample faster while fds climb and back off while steady")
+    void testAdaptiveSampling() throws IOException {
+        monitor.collect(0);
+        HandleMonitor.Tracked process = monitor.getTracked(100);
+        assertNotNull(process);
+        assertEquals(-1, process.fds);          // not listed until due
+
+        monitor.collect(process.nextDue);
+        assertEquals(3, process.fds);
+        assertEquals(7, process.threads);
+        assertEquals(10_000, process.intervalMillis);
+
+        openFds(100, 3, 13);
+        Files.createSymbolicLink(proc.resolve("100/fd/13"), Path.of("socket:[556]"));
+        Files.createSymbolicLink(proc.resolve("100/fd/14"), Path.of("socket:[999]"));
+        monitor.collect(process.nextDue);
+        assertTrue(process.climbing);
+        assertEquals(5000, process.intervalMillis);
+        assertEquals(15, store.getLatestSeriesValue("process.100.fds"));
+        assertEquals(1, store.getLatestSeriesValue("process.100.tcp_sockets"));
+        assertEquals(15.0 / 1024, store.getLatestSeriesValue("process.100.fd_limit_usage"), 1e-12);
+
+        monitor.collect(process.nextDue);
+        assertFalse(process.climbing);
+        assertEquals(10_000, process.intervalMillis);
+    }
+
+    @Test
+    @DisplayName("Should sample at the fastest rate near the fd limit")
+    void testNearLimit() throws IOException {
+        write("100/limits", "Max open files            3                    4096                 files\n");
+        monitor.collect(0);
+        HandleMonitor.Tracked process = monitor.getTracked(100);
+
+        monitor.collect(process.nextDue);
+        assertEquals(HandleMonitor.MIN_INTERVAL_MS, process.intervalMillis);
+        assertEquals(1.0, store.getLatestSeriesValue("process.100.fd_limit_usage"), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Should forget exited processes and restart on PID reuse")
+    void testLifecycle() throws IOException {
+        monitor.collect(0);
+        HandleMonitor.Tracked first = monitor.getTracked(100);
+
+        writeProcess(100, 7, 9999);             // same PID, new start time
+        monitor.collect(first.nextDue);
+        assertNotSame(first, monitor.getTracked(100));
+        assertEquals(9999, monitor.getTracked(100).startTime);
+
+        Files.delete(proc.resolve("100/stat"));
+        Files.delete(proc.resolve("100/limits"));
+        try (var fds = Files.list(proc.resolve("100/fd"))) {
+            for (Path fd : fds.toList()) {
+                Files.delete(fd);
+            }
+        }
+        Files.delete(proc.resolve("100/fd"));
+        Files.delete(proc.resolve("100"));
+        monitor.collect(HandleMonitor.SYSTEM_INTERVAL_MS * 10);
+        assertNull(monitor.getTracked(100));
+    }
+
+    @Test
+    @DisplayName("Should parse socket inodes from fd link targets")
+    void testSocketInode() throws IOException {
+        Path dir = Files.createDirectories(proc.resolve("links"));
+        assertEquals(12345, HandleMonitor.socketInode(
+                Files.createSymbolicLink(dir.resolve("a"), Path.of("socket:[12345]"))));
+        assertEquals(0, HandleMonitor.socketInode(
+                Files.createSymbolicLink(dir.resolve("b"), Path.of("pipe:[12345]"))));
+        assertEquals(0, HandleMonitor.socketInode(Files.writeString(dir.resolve("c"), "")));
+    }
+
+    private void writeProcess(int pid, int threads, long startTime) throws IOException {
+        write(pid + "/stat", pid + " (svc) S 1 " + pid + " " + pid + " 0 -1 4194560 100 0 0 0 10 5 0 0 20 0 "
+                + threads + " 0 " + startTime + " 100000 50\n");
+    }
+
+    private void openFds(int pid, int from, int to) throws IOException {
+        Path fd = Files.createDirectories(proc.resolve(pid + "/fd"));
+        for (int i = from; i < to; i++) {
+            Files.writeString(fd.resolve(Integer.toString(i)), "");
+        }
+    }
+
+    private void write(String relative, String content) throws IOException {
+        Path file = proc.resolve(relative);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
@@ -0,0 +1,70 @@
+package com.portfolio.monitor.monitors;
+
+import com.portfolio.monitor.core.SharedMetricsStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JvmTelemetryMonitor.
+ * Runs a real JFR stream against the test JVM.
+ */
+@DisplayName("JvmTelemetryMonitor Tests")
+class JvmTelemetryMonitorTest {
+
+    private SharedMetricsStore metricsStore;
+    private JvmTelemetryMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        metricsStore = new SharedMetricsStore();
+        monitor = new JvmTelemetryMonitor(metricsStore);
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.close();
+    }
+
+    @Test
+    @DisplayName("Should publish GC, heap, allocation and thread series")
+    void testPublishesSeries() throws InterruptedException {
+        monitor.start();
+        assertTrue(monitor.isRunning());
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        byte[][] garbage = new byte[64][];
+        while (System.currentTimeMillis() < deadline && !allPublished()) {
+            for (int i = 0; i < 10_000; i++) {
+                garbage[i % garbage.length] = new byte[1024];
+            }
+            System.gc();
+            Thread.sleep(200);
+        }
+
+        assertNotNull(metricsStore.getSeries("jvm.gc.pause_ms"));
+        assertNotNull(metricsStore.getSeries("jvm.heap.used_after_gc_bytes"));
+        assertNotNull(metricsStore.getSeries("jvm.alloc.bytes_per_sec"));
+        assertTrue(metricsStore.getLatestSeriesValue("jvm.threads.active") >= 1);
+    }
+
+    @Test
+    @DisplayName("Should stop cleanly and allow close twice")
+    void testClose() {
+        monitor.start();
+        monitor.close();
+        monitor.close();
+
+        assertFalse(monitor.isRunning());
+    }
+
+    private boolean allPublished() {
+        return metricsStore.getSeries("jvm.gc.pause_ms") != null
+                && metricsStore.getSeries("jvm.heap.used_after_gc_bytes") != null
+                && metricsStore.getSeries("jvm.alloc.bytes_per_sec") != null
+                && metricsStore.getSeries("jvm.threads.active") != null;
+    }
+}
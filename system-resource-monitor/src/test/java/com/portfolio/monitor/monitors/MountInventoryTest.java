@@ -0,0 +1,87 @@
+package com.portfolio.monitor.monitors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MountInventory.
+ * Feeds a container-style mountinfo from a temp file.
+ */
+@DisplayName("MountInventory Tests")
+class MountInventoryTest {
+
+    private static final String MOUNTINFO = String.join("\n",
+            "23 28 0:22 / /proc rw,relatime - proc proc rw",
+            "26 25 0:24 / /dev/shm rw,relatime - tmpfs tmpfs rw,size=6158152k",
+            "28 1 0:50 / / rw,relatime master:1 - overlay overlay rw,lowerdir=/l,upperdir=/u",
+            "29 28 254:1 /docker/hosts /etc/hosts rw,relatime - ext4 /dev/sda1 rw",
+            "30 28 254:1 / /data rw,relatime shared:2 - ext4 /dev/sda1 rw",
+            "31 28 254:2 / /mnt/my\\040disk rw,relatime - xfs /dev/sdb rw",
+            "32 28 254:3 / /var/lib/docker/volumes rw - ext4 /dev/sdc rw",
+            "");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should drop pseudo, excluded and duplicate mounts")
+    void testFiltering() throws Exception {
+        Path file = tempDir.resolve("mountinfo");
+        Files.writeString(file, MOUNTINFO);
+        MountInventory inventory = new MountInventory(file).excludeMounts("/var/lib/docker");
+
+        assertTrue(inventory.refresh());
+
+        // Root is kept although overlay is excluded; the /etc/hosts bind mount loses to /data
+        assertEquals(List.of("/", "/data", "/mnt/my disk"), mountPoints(inventory));
+        assertEquals("xfs", inventory.getMounts().get(2).fsType());
+    }
+
+    @Test
+    @DisplayName("Should rebuild only when mountinfo changes")
+    void testChangeDetection() throws Exception {
+        Path file = tempDir.resolve("mountinfo");
+        Files.writeString(file, MOUNTINFO);
+        MountInventory inventory = new MountInventory(file);
+
+        assertTrue(inventory.refresh());
+        List<MountInventory.Mount> first = inventory.getMounts();
+        assertFalse(inventory.refresh());
+        assertSame(first, inventory.getMounts());
+
+        Files.writeString(file, MOUNTINFO + "40 28 254:4 / /backup rw - ext4 /dev/sdd rw\n");
+        assertTrue(inventory.refresh());
+        assertTrue(mountPoints(inventory).contains("/backup"));
+    }
+
+    @Test
+    @DisplayName("Should apply include and exclude rules from a spec")
+    void testConfigure() throws Exception {
+        Path file = tempDir.resolve("mountinfo");
+        Files.writeString(file, MOUNTINFO);
+        MountInventory inventory = new MountInventory(file).configure("+type:tmpfs,-type:xfs,+mount:/proc");
+
+        inventory.refresh();
+
+        assertEquals(List.of("/proc", "/dev/shm", "/", "/data", "/var/lib/docker/volumes"), mountPoints(inventory));
+        assertThrows(IllegalArgumentException.class, () -> inventory.configure("type:tmpfs"));
+    }
+
+    @Test
+    @DisplayName("Should derive series prefixes from mount points")
+    void testSeriesPrefix() {
+        assertEquals("fs.root.", DiskMonitor.seriesPrefix("/"));
+        assertEquals("fs.var_lib_data.", DiskMonitor.seriesPrefix("/var/lib/data"));
+    }
+
+    private List<String> mountPoints(MountInventory inventory) {
+        return inventory.getMounts().stream().map(MountInventory.Mount::mountPoint).toList();
+    }
+}
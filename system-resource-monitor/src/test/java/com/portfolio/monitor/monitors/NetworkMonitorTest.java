@@ -0,0 +1,127 @@
+package com.portfolio.monitor.monitors;
+
+import com.portfolio.monitor.core.SharedMetricsStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NetworkMonitor.
+ * Feeds captured /proc/net/dev contents from a temp file.
+ */
+@DisplayName("NetworkMonitor Tests")
+class NetworkMonitorTest {
+
+    private static final String HEADER =
+            "Inter-|   Receive                                                |  Transmit\n"
+                    + " face |bytes    packets errs drop fifo frame compressed multicast|bytes    packets errs drop fifo colls carrier compressed\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should derive per-second rates for every interface")
+    void testRates() throws Exception {
+        Path dev = tempDir.resolve("dev");
+        SharedMetricsStore store = new SharedMetricsStore();
+        NetworkMonitor monitor = new NetworkMonitor(store, dev);
+
+        // The monitor's own interval lies between these two brackets
+        long outerStart = System.nanoTime();
+        writeDev(dev, 1_000_000, 1000, 0, 500_000, 500);
+        monitor.run();
+        long innerStart = System.nanoTime();
+        assertNull(store.getSeries("net.eth0.rx_bytes_per_sec"));
+
+        Thread.sleep(200);
+        writeDev(dev, 1_200_000, 1200, 3, 600_000, 600);
+        long innerEnd = System.nanoTime();
+        monitor.run();
+        long outerEnd = System.nanoTime();
+
+        assertBetween(200_000, outerEnd - outerStart, innerEnd - innerStart,
+                store.getLatestSeriesValue("net.eth0.rx_bytes_per_sec"));
+        assertBetween(100_000, outerEnd - outerStart, innerEnd - innerStart,
+                store.getLatestSeriesValue("net.eth0.tx_bytes_per_sec"));
+        assertTrue(store.getLatestSeriesValue("net.eth0.rx_errors_per_sec") > 0);
+        assertEquals(0.0, store.getLatestSeriesValue("net.lo.rx_bytes_per_sec"), 1e-9);
+        assertEquals(1_200_000, store.getLatestSeriesValue("net.eth0.rx_bytes"), 1e-9);
+        assertArrayEquals(new String[]{"lo", "eth0"}, monitor.getInterfaceNames());
+    }
+
+    @Test
+    @DisplayName("Should derive rates for VLAN interfaces with dotted names")
+    void testVlanInterface() throws Exception {
+        Path dev = tempDir.resolve("dev");
+        SharedMetricsStore store = new SharedMetricsStore();
+        NetworkMonitor monitor = new NetworkMonitor(store, dev);
+
+        Files.writeString(dev, HEADER
+                + "eth0.100: 1000 10 0 0 0 0 0 0 2000 20 0 0 0 0 0 0\n"
+                + "bond0.20: 5000 50 0 0 0 0 0 0 6000 60 0 0 0 0 0 0\n");
+        monitor.run();
+        Thread.sleep(50);
+        Files.writeString(dev, HEADER
+                + "eth0.100: 9000 90 0 0 0 0 0 0 2000 20 0 0 0 0 0 0\n"
+                + "bond0.20: 5000 50 0 0 0 0 0 0 6000 60 0 0 0 0 0 0\n");
+        monitor.run();
+
+        assertArrayEquals(new String[]{"eth0.100", "bond0.20"}, monitor.getInterfaceNames());
+        assertEquals(9000, store.getLatestSeriesValue("net.eth0_100.rx_bytes"), 1e-9);
+        assertTrue(store.getLatestSeriesValue("net.eth0_100.rx_bytes_per_sec") > 0);
+        assertEquals(0.0, store.getLatestSeriesValue("net.bond0_20.tx_bytes_per_sec"), 1e-9);
+        assertNull(store.getSeries("net.eth0.100.rx_bytes"));
+    }
+
+    @Test
+    @DisplayName("Should skip the sample where an interface's counters reset")
+    void testCounterReset() throws Exception {
+        Path dev = tempDir.resolve("dev");
+        SharedMetricsStore store = new SharedMetricsStore();
+        NetworkMonitor monitor = new NetworkMonitor(store, dev);
+
+        writeDev(dev, 1_000_000, 1000, 0, 500_000, 500);
+        monitor.run();
+        Thread.sleep(20);
+        writeDev(dev, 1_100_000, 1100, 0, 550_000, 550);
+        monitor.run();
+        assertEquals(1, store.getSeries("net.eth0.rx_bytes_per_sec").size());
+
+        // veth re-created: counters start again from zero
+        Thread.sleep(20);
+        writeDev(dev, 2000, 2, 0, 1000, 1);
+        monitor.run();
+
+        assertEquals(1, store.getSeries("net.eth0.rx_bytes_per_sec").size());
+        assertTrue(store.getLatestSeriesValue("net.eth0.rx_bytes_per_sec") < 1e8);
+        Thread.sleep(20);
+        writeDev(dev, 4000, 4, 0, 2000, 2);
+        monitor.run();
+        assertEquals(2, store.getSeries("net.eth0.rx_bytes_per_sec").size());
+        assertTrue(store.getLatestSeriesValue("net.eth0.rx_bytes_per_sec") < 1e6);
+    }
+
+    /**
+     * Rates are derived from millisecond timestamps, so the monitor's
+     * interval may be up to 1 ms outside the nanosecond brackets.
+     */
+    private void assertBetween(long delta, long longestNanos, long shortestNanos, double rate) {
+        assertTrue(rate >= delta / ((longestNanos + 1_000_000) / 1e9)
+                        && rate <= delta / ((shortestNanos - 1_000_000) / 1e9),
+                "rate " + rate + " outside the measured interval");
+    }
+
+    private void writeDev(Path dev, long rxBytes, long rxPackets, long rxErrors, long txBytes, long txPackets)
+            throws IOException {
+        Files.writeString(dev, HEADER
+                + "    lo:    4096      10    0    0    0     0          0         0     4096      10    0    0    0     0       0          0\n"
+                + String.format("  eth0: %d %d %d 0 0 0 0 0 %d %d 0 0 0 0 0 0%n",
+                rxBytes, rxPackets, rxErrors, txBytes, txPackets));
+    }
+}
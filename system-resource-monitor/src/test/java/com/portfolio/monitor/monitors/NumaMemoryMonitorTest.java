@@ -0,0 +1,142 @@
+package com.portfolio.monitor.monitors;
+
+import com.portfolio.monitor.core.SharedMetricsStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NumaMemoryMonitor.
+ * Feeds sysfs node directories and /proc files from temp directories.
+ */
+@DisplayName("NumaMemoryMonitor Tests")
+class NumaMemoryMonitorTest {
+
+    private static final long T0 = 1_000_000;
+
+    @TempDir
+    Path sys;
+
+    @TempDir
+    Path proc;
+
+    private Path nodeRoot;
+    private SharedMetricsStore metricsStore;
+    private NumaMemoryMonitor monitor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        nodeRoot = Files.createDirectories(sys.resolve("devices/system/node"));
+        metricsStore = new SharedMetricsStore();
+        monitor = new NumaMemoryMonitor(metricsStore, sys, proc);
+    }
+
+    @Test
+    @DisplayName("Should record memory, allocation misses and hugepages per node")
+    void testPerNode() throws IOException {
+        Files.writeString(nodeRoot.resolve("online"), "0-1\n");
+        writeNode(0, 8_000_000, 6_000_000, 1000, 10, 512, 500);
+        writeNode(1, 8_000_000, 2_000_000, 1000, 10, 512, 12);
+        monitor.collect(T0);
+        writeNode(0, 8_000_000, 6_000_000, 2000, 10, 512, 500);
+        writeNode(1, 8_000_000, 1_600_000, 1500, 60, 512, 0);
+        monitor.collect(T0 + 5000);
+
+        assertEquals(2.0, value("numa.nodes"), 1e-9);
+        assertEquals(8_000_000 * 1024.0, value("numa.node1.total_bytes"), 1e-3);
+        assertEquals(1_600_000 * 1024.0, value("numa.node1.free_bytes"), 1e-3);
+        assertEquals(80.0, value("numa.node1.used_pct"), 1e-9);
+        assertEquals(25.0, value("numa.node0.used_pct"), 1e-9);
+        // 75% free on node 0 vs 20% on node 1
+        assertEquals(55.0, value("numa.free_imbalance_pct"), 1e-9);
+        assertEquals(200.0, value("numa.node0.numa_hit_per_sec"), 1e-9);
+        assertEquals(10.0, value("numa.node1.numa_miss_per_sec"), 1e-9);
+        assertEquals(512.0, value("numa.node1.hugepages.2048kB.total"), 1e-9);
+        assertEquals(0.0, value("numa.node1.hugepages.2048kB.free"), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should pick up nodes that come online")
+    void testNodeHotplug() throws IOException {
+        Files.writeString(nodeRoot.resolve("online"), "0\n");
+        writeNode(0, 4_000_000, 1_000_000, 0, 0, 0, 0);
+        writeNode(1, 4_000_000, 3_000_000, 0, 0, 0, 0);
+        monitor.collect(T0);
+        assertEquals(1.0, value("numa.nodes"), 1e-9);
+        assertNull(metricsStore.getSeries("numa.node1.total_bytes"));
+
+        Files.writeString(nodeRoot.resolve("online"), "0-1\n");
+        monitor.collect(T0 + 5000);
+        assertEquals(2.0, value("numa.nodes"), 1e-9);
+        assertEquals(50.0, value("numa.free_imbalance_pct"), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should record hugepage pool, swap, page-fault and swap rates")
+    void testSystemWide() throws IOException {
+        writeProc(1_000_000, 0, 0, 512, 128);
+        monitor.collect(T0);
+        writeProc(1_050_000, 100, 400, 512, 64);
+        monitor.collect(T0 + 5000);
+
+        assertEquals(10_000.0, value("vm.pgfault_per_sec"), 1e-9);
+        assertEquals(20.0, value("vm.pswpin_per_sec"), 1e-9);
+        assertEquals(80.0, value("vm.pswpout_per_sec"), 1e-9);
+        assertEquals(87.5, value("memory.hugepages.used_pct"), 1e-9);
+        assertEquals(2048 * 1024.0, value("memory.hugepages.page_bytes"), 1e-9);
+        assertEquals(25.0, value("memory.swap.used_pct"), 1e-9);
+        // No node directory: no per-node series
+        assertNull(metricsStore.getSeries("numa.nodes"));
+    }
+
+    @Test
+    @DisplayName("Should parse kernel node lists")
+    void testParseNodeList() {
+        assertArrayEquals(new int[]{0}, NumaMemoryMonitor.parseNodeList("0"));
+        assertArrayEquals(new int[]{0, 1, 2, 3, 8}, NumaMemoryMonitor.parseNodeList("0-3,8\n"));
+        assertArrayEquals(new int[0], NumaMemoryMonitor.parseNodeList(""));
+    }
+
+    private double value(String series) {
+        return metricsStore.getLatestSeriesValue(series);
+    }
+
+    private void writeNode(int id, long totalKb, long freeKb, long hits, long misses,
+                           long hugeTotal, long hugeFree) throws IOException {
+        Path dir = Files.createDirectories(nodeRoot.resolve("node" + id));
+        Files.writeString(dir.resolve("meminfo"), String.format(
+                "Node %1$d MemTotal:       %2$d kB%n"
+                        + "Node %1$d MemFree:        %3$d kB%n"
+                        + "Node %1$d MemUsed:        %4$d kB%n"
+                        + "Node %1$d FilePages:      1000 kB%n"
+                        + "Node %1$d AnonPages:      2000 kB%n"
+                        + "Node %1$d HugePages_Total:     %5$d%n",
+                id, totalKb, freeKb, totalKb - freeKb, hugeTotal));
+        Files.writeString(dir.resolve("numastat"), String.format(
+                "numa_hit %d%nnuma_miss %d%nnuma_foreign 0%nlocal_node %d%nother_node 0%n", hits, misses, hits));
+        Path pool = Files.createDirectories(dir.resolve("hugepages/hugepages-2048kB"));
+        Files.writeString(pool.resolve("nr_hugepages"), hugeTotal + "\n");
+        Files.writeString(pool.resolve("free_hugepages"), hugeFree + "\n");
+    }
+
+    private void writeProc(long pgfault, long pswpin, long pswpout, long hugeTotal, long hugeFree) throws IOException {
+        Files.writeString(proc.resolve("meminfo"), String.format(
+                "MemTotal:        8000000 kB%n"
+                        + "SwapTotal:       1000000 kB%n"
+                        + "SwapFree:         750000 kB%n"
+                        + "HugePages_Total:     %d%n"
+                        + "HugePages_Free:      %d%n"
+                        + "HugePages_Rsvd:        0%n"
+                        + "HugePages_Surp:        0%n"
+                        + "Hugepagesize:       2048 kB%n", hugeTotal, hugeFree));
+        Files.writeString(proc.resolve("vmstat"), String.format(
+                "nr_free_pages 1000%npswpin %d%npswpout %d%npgfault %d%npgmajfault 3%n", pswpin, pswpout, pgfault));
+    }
+}
@@ -0,0 +1,84 @@
+package com.portfolio.monitor.monitors;
+
+import com.portfolio.monitor.core.SharedMetricsStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PressureMonitor.
+ * Feeds captured /proc/pressure files from a temp directory.
+ */
+@DisplayName("PressureMonitor Tests")
+class PressureMonitorTest {
+
+    @TempDir
+    Path pressureDir;
+
+    private SharedMetricsStore metricsStore;
+    private PressureMonitor monitor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        metricsStore = new SharedMetricsStore();
+        writePressure("cpu", 1.5, 0);
+        writePressure("memory", 0, 0);
+        writePressure("io", 0, 0);
+        monitor = new PressureMonitor(metricsStore, pressureDir);
+    }
+
+    @Test
+    @DisplayName("Should record kernel averages for some and full")
+    void testAverages() {
+        monitor.run();
+
+        assertEquals(1.5, metricsStore.getLatestSeriesValue("psi.cpu.some.avg10"), 1e-9);
+        assertEquals(0.75, metricsStore.getLatestSeriesValue("psi.cpu.some.avg60"), 1e-9);
+        assertEquals(0.0, metricsStore.getLatestSeriesValue("psi.io.full.avg300"), 1e-9);
+        // No stall rate until there are two samples
+        assertNull(metricsStore.getSeries("psi.cpu.some.stall"));
+    }
+
+    @Test
+    @DisplayName("Should derive stall percentage from total counter deltas")
+    void testStallRate() throws Exception {
+        monitor.run();
+        long start = System.nanoTime();
+        Thread.sleep(200);
+        // 50ms of stall added
+        writePressure("cpu", 1.5, 50_000);
+        monitor.run();
+        double elapsedMicros = (System.nanoTime() - start) / 1000.0;
+
+        double stall = metricsStore.getLatestSeriesValue("psi.cpu.some.stall");
+        double expected = 50_000 / elapsedMicros * 100;
+        assertTrue(stall > 0 && stall <= 25.0, "stall=" + stall);
+        assertEquals(expected, stall, 5.0);
+        assertEquals(0.0, metricsStore.getLatestSeriesValue("psi.memory.some.stall"), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should count trigger events and sample immediately")
+    void testTrigger() {
+        monitor.onTrigger("memory");
+        monitor.onTrigger("memory");
+
+        assertEquals(2, monitor.getTriggerEventCount());
+        assertEquals(2.0, metricsStore.getLatestSeriesValue("psi.memory.trigger_events"), 1e-9);
+        assertNotNull(metricsStore.getSeries("psi.memory.some.avg10"));
+    }
+
+    private void writePressure(String resource, double avg10, long total) throws IOException {
+        Files.writeString(pressureDir.resolve(resource), String.format(
+                "some avg10=%.2f avg60=%.2f avg300=0.00 total=%d%n"
+                        + "full avg10=0.00 avg60=0.00 avg300=0.00 total=0%n",
+                avg10, avg10 / 2, total));
+    }
+}
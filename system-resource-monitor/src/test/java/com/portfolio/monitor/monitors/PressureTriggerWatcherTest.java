@@ -0,0 +1,117 @@
+package com.portfolio.monitor.monitors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PressureTriggerWatcher's poll loop.
+ * Replaces poll(2) with a scripted fake, so no kernel triggers are needed.
+ */
+@DisplayName("PressureTriggerWatcher Tests")
+class PressureTriggerWatcherTest {
+
+    private static final int EINTR = 4;
+    private static final int EBADF = 9;
+    private static final short POLLPRI = 0x2;
+
+    @TempDir
+    Path pressureDir;
+
+    @Test
+    @DisplayName("Should retry poll after EINTR and stop only on a real error")
+    void testRetryOnInterrupt() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger errno = new AtomicInteger();
+        PressureTriggerWatcher watcher = new PressureTriggerWatcher(pressureDir, new PressureTriggerWatcher.Poller() {
+            @Override
+            public int poll(PressureTriggerWatcher.PollFd[] fds, int timeoutMs) {
+                switch (calls.incrementAndGet()) {
+                    case 1, 2, 4 -> errno.set(EINTR);
+                    case 3 -> {
+                        fds[0].revents = POLLPRI;
+                        return 1;
+                    }
+                    default -> errno.set(EBADF);
+                }
+                return -1;
+            }
+
+            @Override
+            public int lastError() {
+                return errno.get();
+            }
+        });
+        List<String> fired = new CopyOnWriteArrayList<>();
+        watcher.addListener(fired::add);
+
+        watcher.startPolling(pollFds(1), new String[] {"memory"});
+        awaitStopped(watcher);
+
+        assertEquals(List.of("memory"), fired);
+        assertEquals(5, calls.get());
+        watcher.close();
+    }
+
+    @Test
+    @DisplayName("Should stop retrying once closed")
+    void testCloseWhileInterrupted() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        PressureTriggerWatcher watcher = new PressureTriggerWatcher(pressureDir, new PressureTriggerWatcher.Poller() {
+            @Override
+            public int poll(PressureTriggerWatcher.PollFd[] fds, int timeoutMs) {
+                calls.incrementAndGet();
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return -1;
+            }
+
+            @Override
+            public int lastError() {
+                return EINTR;
+            }
+        });
+
+        watcher.startPolling(pollFds(1), new String[] {"io"});
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls.get() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(watcher.isRunning());
+
+        watcher.close();
+        assertFalse(watcher.isRunning());
+        int afterClose = calls.get();
+        Thread.sleep(50);
+        assertTrue(calls.get() <= afterClose + 1);
+    }
+
+    private static PressureTriggerWatcher.PollFd[] pollFds(int count) {
+        PressureTriggerWatcher.PollFd[] fds =
+                (PressureTriggerWatcher.PollFd[]) new PressureTriggerWatcher.PollFd().toArray(count);
+        for (PressureTriggerWatcher.PollFd fd : fds) {
+            fd.fd = -1;
+            fd.events = POLLPRI;
+        }
+        return fds;
+    }
+
+    private static void awaitStopped(PressureTriggerWatcher watcher) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (watcher.isRunning() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertFalse(watcher.isRunning());
+    }
+}
@@ -0,0 +1,115 @@
+package com.portfolio.monitor.monitors;
+
+import com.portfolio.monitor.core.ProcessLifecycle;
+import com.portfolio.monitor.core.SharedMetricsStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the /proc fast paths of CPUMonitor, MemoryMonitor and ProcessMonitor.
+ * Feeds captured /proc contents from a temp directory.
+ */
+@DisplayName("/proc Fast Path Tests")
+class ProcFastPathTest {
+
+    @TempDir
+    Path proc;
+
+    @Test
+    @DisplayName("Should compute CPU load from /proc/stat tick deltas")
+    void testCpu() throws Exception {
+        Path stat = proc.resolve("stat");
+        // user nice system idle iowait irq softirq steal guest guest_nice
+        writeStat(stat, 1000, 1000);
+        SharedMetricsStore store = new SharedMetricsStore();
+        CPUMonitor monitor = new CPUMonitor(store, stat);
+
+        // 400 busy ticks and 100 idle+iowait ticks since the baseline
+        writeStat(stat, 1400, 1100);
+        monitor.run();
+
+        assertEquals(80.0, store.getLatestCpuUsage(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should compute memory usage from MemTotal and MemAvailable")
+    void testMemory() throws Exception {
+        Path meminfo = proc.resolve("meminfo");
+        Files.writeString(meminfo, """
+                MemTotal:        8000000 kB
+                MemFree:         1000000 kB
+                MemAvailable:    2000000 kB
+                Buffers:          100000 kB
+                SwapTotal:       1000000 kB
+                SwapFree:         500000 kB
+                """);
+        SharedMetricsStore store = new SharedMetricsStore();
+
+        new MemoryMonitor(store, meminfo).run();
+
+        assertEquals(75.0, store.getLatestMemoryUsage(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should count processes and skip non-numeric entries")
+    void testProcesses() throws Exception {
+        Files.writeString(proc.resolve("uptime"), "1000.00 900.00\n");
+        writeProcess(1, "init", 500, 100);
+        writeProcess(42, "my worker (x)", 80_000, 10_000);
+        Files.createDirectories(proc.resolve("sys"));
+        Files.writeString(proc.resolve("loadavg"), "0.00 0.00 0.00 1/1 1\n");
+        SharedMetricsStore store = new SharedMetricsStore();
+
+        new ProcessMonitor(store, proc).run();
+
+        assertEquals(2, store.getLatestProcessCount());
+    }
+
+    @Test
+    @DisplayName("Should report process starts and exits with their command lines")
+    void testProcessLifecycle() throws Exception {
+        Files.writeString(proc.resolve("uptime"), "1000.00 900.00\n");
+        writeProcess(1, "init", 500, 100);
+        writeProcess(42, "my worker (x)", 80_000, 10_000);
+        SharedMetricsStore store = new SharedMetricsStore();
+        ProcessMonitor monitor = new ProcessMonitor(store, proc);
+        monitor.run();
+
+        Files.walk(proc.resolve("42")).sorted(java.util.Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        writeProcess(43, "worker", 10, 20_000);
+        Files.writeString(proc.resolve("43").resolve("cmdline"), "/usr/bin/worker\0--fast\0");
+        monitor.run();
+
+        List<ProcessLifecycle.ProcessEvent> events = store.getProcessLifecycle().recentEvents(10);
+        assertEquals(2, events.size());
+        assertEquals(ProcessLifecycle.Type.EXIT, events.get(0).type());
+        assertEquals(42, events.get(0).pid());
+        assertEquals("[my worker (x)]", events.get(0).command());
+        assertEquals(ProcessLifecycle.Type.START, events.get(1).type());
+        assertEquals(43, events.get(1).pid());
+        assertEquals("/usr/bin/worker --fast", events.get(1).command());
+        assertEquals(1.0, store.getLatestSeriesValue("process.started"), 1e-9);
+    }
+
+    private void writeStat(Path stat, long busy, long idle) throws IOException {
+        // busy split across user and system; idle split across idle and iowait
+        Files.writeString(stat, String.format(
+                "cpu  %d 0 %d %d %d 0 0 0 0 0%ncpu0 %d 0 %d %d %d 0 0 0 0 0%nintr 0%n",
+                busy / 2, busy - busy / 2, idle - 10, 10, busy / 2, busy - busy / 2, idle - 10, 10));
+    }
+
+    private void writeProcess(int pid, String comm, long ticks, long startTicks) throws IOException {
+        Path dir = Files.createDirectories(proc.resolve(Integer.toString(pid)));
+        Files.writeString(dir.resolve("comm"), comm + "\n");
+        Files.writeString(dir.resolve("stat"), pid + " (" + comm + ") S 0 1 1 0 -1 4194560 100 0 0 0 "
+                + ticks + " 0 0 0 20 0 3 0 " + startTicks + " 1000000 250 0\n");
+    }
+}
@@ -0,0 +1,199 @@
+package com.portfolio.monitor.monitors;
+
+import com.portfolio.monitor.core.SharedMetricsStore;
+import com.portfolio.monitor.core.ThreadPoolManager;
+import com.portfolio.monitor.model.ProcessHistory;
+import com.portfolio.monitor.utils.ProcFileReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProcessWatchList and WatchedProcessSampler.
+ * Runs against a captured /proc tree in a temp directory.
+ */
+@DisplayName("ProcessWatchList Tests")
+class ProcessWatchListTest {
+
+    // Long enough that scheduled samplers never fire during a test
+    private static final long IDLE_INTERVAL_MS = 3_600_000;
+
+    @TempDir
+    Path proc;
+
+    private SharedMetricsStore store;
+    private ThreadPoolManager threadPool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new SharedMetricsStore();
+        threadPool = new ThreadPoolManager(2);
+        writeProcess(100, "nginx", "0::/system.slice/nginx.service", 0, 5000);
+        writeProcess(101, "nginx-worker", "0::/system.slice/nginx.service", 0, 5001);
+        writeProcess(200, "postgres", "0::/system.slice/postgresql.service", 0, 6000);
+        writeProcess(300, "bash", "0::/user.slice/user-1000.slice", 0, 7000);
+        Files.writeString(proc.resolve("loadavg"), "0.10 0.20 0.30 2/345 6789\n");
+    }
+
+    @AfterEach
+    void tearDown() {
+        threadPool.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Should match whole process names by regex and cgroups by fragment")
+    void testPatternMatching() {
+        ProcessWatchList watchList = watchList(IDLE_INTERVAL_MS, 10)
+                .watchName("nginx")
+                .watchCgroup("postgresql.service");
+
+        watchList.run();
+
+        // "nginx" must match the whole name, so nginx-worker is not picked up
+        assertEquals(Set.of(100, 200), watchList.getWatchedPids());
+        assertEquals("nginx", store.getWatchedProcessHistory(100).getName());
+        assertEquals("postgres", store.getWatchedProcessHistory(200).getName());
+        assertNull(store.getWatchedProcessHistory(101));
+    }
+
+    @Test
+    @DisplayName("Should parse a watch spec and reject malformed entries")
+    void testWatchSpec() {
+        ProcessWatchList watchList = watchList(IDLE_INTERVAL_MS, 10)
+                .watchAll("pid:300, name:nginx.* ,,cgroup:postgresql");
+
+        watchList.run();
+
+        assertEquals(Set.of(100, 101, 200, 300), watchList.getWatchedPids());
+        assertThrows(IllegalArgumentException.class, () -> watchList(IDLE_INTERVAL_MS, 10).watchAll("nginx"));
+        assertThrows(IllegalArgumentException.class, () -> watchList(IDLE_INTERVAL_MS, 10).watchAll("user:root"));
+    }
+
+    @Test
+    @DisplayName("Should skip PID targets that do not exist")
+    void testMissingPid() {
+        ProcessWatchList watchList = watchList(IDLE_INTERVAL_MS, 10)
+                .watchPid(100)
+                .watchPid(999);
+
+        watchList.run();
+
+        assertEquals(Set.of(100), watchList.getWatchedPids());
+        assertNull(store.getWatchedProcessHistory(999));
+    }
+
+    @Test
+    @DisplayName("Should stop watching a process that no longer matches")
+    void testStopsWhenNoLongerMatching() throws IOException {
+        ProcessWatchList watchList = watchList(IDLE_INTERVAL_MS, 10).watchName("nginx");
+        watchList.run();
+        assertEquals(Set.of(100), watchList.getWatchedPids());
+
+        Files.writeString(proc.resolve("100/comm"), "bash\n");
+        watchList.run();
+
+        assertTrue(watchList.getWatchedPids().isEmpty());
+        assertNull(store.getWatchedProcessHistory(100));
+    }
+
+    @Test
+    @DisplayName("Should sample on the configured interval and keep only the newest samples")
+    void testSamplingIntervalAndTrimming() throws InterruptedException {
+        ProcessWatchList watchList = watchList(20, 3).watchPid(100);
+        watchList.run();
+        ProcessHistory history = store.getWatchedProcessHistory(100);
+        assertEquals(3, history.getCapacity());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (history.size() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(3, history.size());
+        long newest = history.latest().timestampMillis();
+        while (history.latest().timestampMillis() == newest && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Still three samples, oldest first, about one interval apart
+        ProcessHistory.Sample[] samples = history.samples();
+        assertEquals(3, samples.length);
+        assertTrue(samples[2].timestampMillis() > newest);
+        for (int i = 1; i < samples.length; i++) {
+            long gap = samples[i].timestampMillis() - samples[i - 1].timestampMillis();
+            assertTrue(gap >= 10 && gap < 1000, "gap " + gap);
+        }
+        assertThrows(IllegalArgumentException.class, () -> watchList(0, 3));
+        assertThrows(IllegalArgumentException.class, () -> watchList(250, 0));
+    }
+
+    @Test
+    @DisplayName("Should derive CPU from tick deltas over elapsed time and read RSS, threads and fds")
+    void testSampler() throws IOException {
+        ProcessHistory history = new ProcessHistory(100, "nginx", 4);
+        long second = TimeUnit.SECONDS.toNanos(1);
+        WatchedProcessSampler sampler = new WatchedProcessSampler(100, history, proc, second);
+
+        long ticksPerSecond = ProcFileReader.clockTicksPerSecond();
+        writeStat(100, "nginx", ticksPerSecond, 5000);
+        // Half a second later: one second of CPU is 200% of a core
+        sampler.sample(1500, second + second / 2);
+
+        ProcessHistory.Sample sample = history.latest();
+        assertEquals(1500, sample.timestampMillis());
+        assertEquals(200.0, sample.cpuPercent(), 1e-3);
+        assertEquals(25 * ProcFileReader.pageSize(), sample.residentBytes());
+        assertEquals(4, sample.threadCount());
+        assertEquals(3, sample.openFileDescriptors());
+        assertFalse(sampler.hasExited());
+    }
+
+    @Test
+    @DisplayName("Should treat a reused PID or a vanished process as exited")
+    void testSamplerExit() throws IOException {
+        ProcessHistory history = new ProcessHistory(100, "nginx", 4);
+        WatchedProcessSampler sampler = new WatchedProcessSampler(100, history, proc, 0);
+
+        // Same PID, different start time: another process
+        writeStat(100, "nginx", 0, 9999);
+        sampler.sample(1000, TimeUnit.SECONDS.toNanos(1));
+
+        assertTrue(sampler.hasExited());
+        assertEquals(0, history.size());
+        assertTrue(new WatchedProcessSampler(999, history, proc, 0).hasExited());
+    }
+
+    private ProcessWatchList watchList(long intervalMs, int historyCapacity) {
+        return new ProcessWatchList(store, threadPool, intervalMs, historyCapacity, proc);
+    }
+
+    private void writeProcess(int pid, String comm, String cgroup, long ticks, long startTime) throws IOException {
+        Path dir = Files.createDirectories(proc.resolve(Integer.toString(pid)));
+        Files.writeString(dir.resolve("comm"), comm + "\n");
+        Files.writeString(dir.resolve("cgroup"), cgroup + "\n");
+        Path fd = Files.createDirectories(dir.resolve("fd"));
+        for (int i = 0; i < 3; i++) {
+            Files.createFile(fd.resolve(Integer.toString(i)));
+        }
+        writeStat(pid, comm, ticks, startTime);
+    }
+
+    /**
+     * Writes /proc/[pid]/stat with the ticks split over utime and stime,
+     * 4 threads and an RSS of 25 pages.
+     */
+    private void writeStat(int pid, String comm, long ticks, long startTime) throws IOException {
+        Files.writeString(proc.resolve(pid + "/stat"), String.format(
+                "%d (%s) S 1 %d %d 0 -1 4194560 100 0 0 0 %d %d 0 0 20 0 4 0 %d 123456 25 18446744073709551615%n",
+                pid, comm, pid, pid, ticks / 2, ticks - ticks / 2, startTime));
+    }
+}
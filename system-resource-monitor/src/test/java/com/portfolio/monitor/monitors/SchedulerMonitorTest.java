@@ -0,0 +1,102 @@
+package com.portfolio.monitor.monitors;
+
+import com.portfolio.monitor.core.SharedMetricsStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SchedulerMonitor.
+ * Feeds stat, loadavg and vmstat files from a temp /proc root.
+ */
+@DisplayName("SchedulerMonitor Tests")
+class SchedulerMonitorTest {
+
+    @TempDir
+    Path procRoot;
+
+    private SharedMetricsStore metricsStore;
+    private SchedulerMonitor monitor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        metricsStore = new SharedMetricsStore();
+        writeProc(1000, 0, 50_000, 20_000, 300, 3, 1, 1.50, 0);
+        monitor = new SchedulerMonitor(metricsStore, procRoot);
+    }
+
+    @Test
+    @DisplayName("Should record gauges and raw counters on the first sample")
+    void testFirstSample() {
+        monitor.collect(10_000);
+
+        assertEquals(3.0, metricsStore.getLatestSeriesValue("sched.procs_running"), 1e-9);
+        assertEquals(1.0, metricsStore.getLatestSeriesValue("sched.procs_blocked"), 1e-9);
+        assertEquals(1.5, metricsStore.getLatestSeriesValue("sched.load1"), 1e-9);
+        assertEquals(0.75, metricsStore.getLatestSeriesValue("sched.load5"), 1e-9);
+        assertEquals(0.25, metricsStore.getLatestSeriesValue("sched.load15"), 1e-9);
+        assertEquals(2.0, metricsStore.getLatestSeriesValue("sched.cpus"), 1e-9);
+        assertEquals(0.75, metricsStore.getLatestSeriesValue("sched.load1_per_cpu"), 1e-9);
+        assertEquals(50_000.0, metricsStore.getLatestSeriesValue("sched.ctxt"), 1e-9);
+        // Rates need two samples
+        assertNull(metricsStore.getSeries("sched.ctxt_per_sec"));
+        assertNull(metricsStore.getSeries("sched.steal_pct"));
+    }
+
+    @Test
+    @DisplayName("Should derive per-second rates between samples")
+    void testRates() throws IOException {
+        monitor.collect(10_000);
+        writeProc(1400, 0, 60_000, 22_000, 310, 5, 0, 2.0, 40);
+        monitor.collect(12_000);
+
+        assertEquals(5_000.0, metricsStore.getLatestSeriesValue("sched.ctxt_per_sec"), 1e-9);
+        assertEquals(1_000.0, metricsStore.getLatestSeriesValue("sched.intr_per_sec"), 1e-9);
+        assertEquals(5.0, metricsStore.getLatestSeriesValue("sched.forks_per_sec"), 1e-9);
+        assertEquals(20.0, metricsStore.getLatestSeriesValue("vm.pgmajfault_per_sec"), 1e-9);
+        assertEquals(0.0, metricsStore.getLatestSeriesValue("sched.steal_pct"), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should report steal as a share of all CPU ticks")
+    void testSteal() throws IOException {
+        monitor.collect(10_000);
+        // 400 more ticks in total, 100 of them stolen
+        writeProc(1400, 100, 50_000, 20_000, 300, 3, 1, 1.5, 0);
+        monitor.collect(11_000);
+
+        assertEquals(25.0, metricsStore.getLatestSeriesValue("sched.steal_pct"), 1e-9);
+    }
+
+    /**
+     * Writes stat with two CPUs whose aggregate line has the given total
+     * ticks (steal included), plus loadavg and vmstat.
+     */
+    private void writeProc(long totalTicks, long steal, long ctxt, long intr, long forks,
+                           int running, int blocked, double load1, long majorFaults) throws IOException {
+        long user = totalTicks - steal - 100;
+        Files.writeString(procRoot.resolve("stat"), String.format(
+                "cpu  %d 0 50 50 0 0 0 %d 0 0%n"
+                        + "cpu0 %d 0 25 25 0 0 0 %d 0 0%n"
+                        + "cpu1 0 0 25 25 0 0 0 0 0 0%n"
+                        + "intr %d 0 0 7 0%n"
+                        + "ctxt %d%n"
+                        + "btime 1792372636%n"
+                        + "processes %d%n"
+                        + "procs_running %d%n"
+                        + "procs_blocked %d%n"
+                        + "softirq 161806 0 73007 5%n",
+                user, steal, user, steal, intr, ctxt, forks, running, blocked));
+        Files.writeString(procRoot.resolve("loadavg"),
+                String.format("%.2f %.2f %.2f 2/72 10214%n", load1, load1 / 2, load1 / 6));
+        Files.writeString(procRoot.resolve("vmstat"), String.format(
+                "nr_free_pages 12345%npgfault 99999%npgmajfault %d%npgmajfault_s 0%n", majorFaults));
+    }
+}
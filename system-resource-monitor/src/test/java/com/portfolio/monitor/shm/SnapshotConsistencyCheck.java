@@ -0,0 +1,39 @@
+package com.portfolio.monitor.shm;
+
+import java.nio.file.Path;
+
+/**
+ * Reader process for the multi-process consistency test: reads the
+ * snapshot file in a tight loop for the given number of milliseconds and
+ * checks every record against the pattern the test writer publishes
+ * (value i == timestamp + i). Prints "reads=N torn=T retries=R".
+ * Not a unit test (surefire ignores it).
+ */
+public class SnapshotConsistencyCheck {
+
+    public static void main(String[] args) throws Exception {
+        Path file = Path.of(args[0]);
+        long durationNanos = Long.parseLong(args[1]) * 1_000_000;
+
+        long reads = 0;
+        long torn = 0;
+        double[] values = new double[SnapshotLayout.FIELD_COUNT];
+        try (SnapshotReader reader = SnapshotReader.open(file)) {
+            long end = System.nanoTime() + durationNanos;
+            while (System.nanoTime() < end) {
+                long timestamp = reader.read(values);
+                if (timestamp <= 0) {
+                    continue;
+                }
+                reads++;
+                for (int i = 0; i < values.length; i++) {
+                    if (values[i] != timestamp + i) {
+                        torn++;
+                        break;
+                    }
+                }
+            }
+            System.out.println("reads=" + reads + " torn=" + torn + " retries=" + reader.retries());
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.portfolio.monitor.shm;
+
+import com.portfolio.monitor.core.SharedMetricsStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SnapshotPublisher and SnapshotReader.
+ * The consistency test runs its readers in separate JVMs.
+ */
+@DisplayName("SnapshotReader Tests")
+class SnapshotReaderTest {
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private SharedMetricsStore metricsStore;
+
+    @BeforeEach
+    void setUp() {
+        file = dir.resolve("monitor.snapshot");
+        metricsStore = new SharedMetricsStore();
+    }
+
+    @Test
+    @DisplayName("Should publish the latest series values and NaN for missing ones")
+    void testRoundTrip() throws IOException {
+        metricsStore.updateCpuMetrics(42.5);
+        metricsStore.recordSeries("sched.load1", 1000, 1.25);
+
+        try (SnapshotPublisher publisher = new SnapshotPublisher(metricsStore, file);
+             SnapshotReader reader = SnapshotReader.open(file)) {
+            assertEquals(0, reader.read(new double[SnapshotLayout.FIELD_COUNT]));
+
+            publisher.run();
+            double[] values = new double[SnapshotLayout.FIELD_COUNT];
+            long timestamp = reader.read(values);
+
+            assertTrue(timestamp > 0);
+            assertEquals(SnapshotLayout.FIELD_COUNT, reader.fieldCount());
+            assertEquals(42.5, values[SnapshotLayout.Field.CPU_USAGE.ordinal()], 1e-9);
+            assertEquals(1.25, reader.read(SnapshotLayout.Field.LOAD1), 1e-9);
+            assertTrue(Double.isNaN(reader.read(SnapshotLayout.Field.TCP_SOCKETS)));
+            assertEquals(publisher.getSequence(), reader.sequence());
+            assertEquals(0, reader.sequence() % 2);
+        }
+    }
+
+    @Test
+    @DisplayName("Should fill array slots beyond the file's fields with NaN")
+    void testShortAndLongArrays() throws IOException {
+        try (SnapshotPublisher publisher = new SnapshotPublisher(metricsStore, file);
+             SnapshotReader reader = SnapshotReader.open(file)) {
+            publisher.publish(7, pattern(7));
+
+            double[] shorter = new double[3];
+            assertEquals(7, reader.read(shorter));
+            assertArrayEquals(new double[]{7, 8, 9}, shorter);
+
+            double[] longer = new double[SnapshotLayout.FIELD_COUNT + 2];
+            assertEquals(7, reader.read(longer));
+            assertEquals(7.0 + SnapshotLayout.FIELD_COUNT - 1, longer[SnapshotLayout.FIELD_COUNT - 1]);
+            assertTrue(Double.isNaN(longer[SnapshotLayout.FIELD_COUNT + 1]));
+        }
+    }
+
+    @Test
+    @DisplayName("Should continue the sequence of an earlier publisher")
+    void testRestart() throws IOException {
+        long sequence;
+        try (SnapshotPublisher publisher = new SnapshotPublisher(metricsStore, file)) {
+            publisher.publish(1, pattern(1));
+            publisher.publish(2, pattern(2));
+            sequence = publisher.getSequence();
+        }
+        try (SnapshotReader reader = SnapshotReader.open(file)) {
+            assertEquals(sequence, reader.sequence());
+            try (SnapshotPublisher publisher = new SnapshotPublisher(metricsStore, file)) {
+                // The mapping held by the reader sees the new publisher
+                assertTrue(reader.sequence() > sequence);
+                publisher.publish(3, pattern(3));
+                assertEquals(3, reader.read(new double[SnapshotLayout.FIELD_COUNT]));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should give up instead of spinning forever on a stuck writer")
+    void testStuckWriter() throws IOException {
+        try (SnapshotPublisher publisher = new SnapshotPublisher(metricsStore, file);
+             SnapshotReader reader = SnapshotReader.open(file)) {
+            // Simulate a writer that died mid-update
+            SnapshotLayout.SEQUENCE.setVolatile(mapped(), SnapshotLayout.SEQUENCE_OFFSET, publisher.getSequence() + 1);
+
+            assertEquals(-1, reader.read(new double[SnapshotLayout.FIELD_COUNT]));
+            assertTrue(Double.isNaN(reader.read(SnapshotLayout.Field.CPU_USAGE)));
+            assertEquals(2L * SnapshotReader.MAX_ATTEMPTS, reader.retries());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject files that are not snapshots or have another version")
+    void testRejectsForeignFiles() throws IOException {
+        Path other = dir.resolve("other");
+        Files.write(other, new byte[128]);
+        assertThrows(IOException.class, () -> SnapshotReader.open(other));
+        assertThrows(IOException.class, () -> SnapshotReader.open(dir.resolve("missing")));
+
+        ByteBuffer header = ByteBuffer.allocate(128).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(SnapshotLayout.MAGIC_OFFSET, SnapshotLayout.MAGIC);
+        header.putInt(SnapshotLayout.VERSION_OFFSET, SnapshotLayout.VERSION + 1);
+        Files.write(other, header.array());
+        IOException e = assertThrows(IOException.class, () -> SnapshotReader.open(other));
+        assertTrue(e.getMessage().contains("version"));
+    }
+
+    @Test
+    @DisplayName("Should never return a torn record to readers in other processes")
+    void testConcurrentReadersInSeparateProcesses() throws Exception {
+        try (SnapshotPublisher publisher = new SnapshotPublisher(metricsStore, file)) {
+            AtomicBoolean stop = new AtomicBoolean();
+            Thread writer = new Thread(() -> {
+                double[] values = new double[SnapshotLayout.FIELD_COUNT];
+                for (long timestamp = 1; !stop.get(); timestamp++) {
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = timestamp + i;
+                    }
+                    publisher.publish(timestamp, values);
+                }
+            }, "snapshot-writer");
+            writer.start();
+
+            List<Process> readers = new ArrayList<>();
+            try {
+                for (int i = 0; i < 2; i++) {
+                    readers.add(startReader(1500));
+                }
+                Pattern result = Pattern.compile("reads=(\\d+) torn=(\\d+) retries=(\\d+)");
+                for (Process reader : readers) {
+                    String output = readOutput(reader);
+                    assertTrue(reader.waitFor(60, TimeUnit.SECONDS), "reader did not finish");
+                    assertEquals(0, reader.exitValue(), output);
+                    Matcher m = result.matcher(output);
+                    assertTrue(m.find(), output);
+                    assertTrue(Long.parseLong(m.group(1)) > 0, output);
+                    assertEquals(0, Long.parseLong(m.group(2)), output);
+                }
+            } finally {
+                stop.set(true);
+                writer.join();
+                readers.forEach(Process::destroyForcibly);
+            }
+        }
+    }
+
+    private Process startReader(long millis) throws IOException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                SnapshotConsistencyCheck.class.getName(), file.toString(), Long.toString(millis))
+                .redirectErrorStream(true)
+                .start();
+    }
+
+    private static String readOutput(Process process) throws IOException {
+        StringBuilder output = new StringBuilder();
+        try (BufferedReader in = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                output.append(line).append('\n');
+            }
+        }
+        return output.toString();
+    }
+
+    private ByteBuffer mapped() throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+    }
+
+    private static double[] pattern(long timestamp) {
+        double[] values = new double[SnapshotLayout.FIELD_COUNT];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = timestamp + i;
+        }
+        return values;
+    }
+}
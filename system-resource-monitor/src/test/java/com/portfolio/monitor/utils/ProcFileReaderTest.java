@@ -0,0 +1,96 @@
+package com.portfolio.monitor.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProcFileReader.
+ * Tests cursor parsing against captured /proc file contents.
+ */
+@DisplayName("ProcFileReader Tests")
+class ProcFileReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should parse /proc/[pid]/stat fields after a comm containing spaces")
+    void testPidStat() throws IOException {
+        Path stat = write("stat",
+                "1234 (my (odd) daemon) S 1 1234 1234 0 -1 4194560 500 0 0 0 "
+                        + "150 50 0 0 20 0 7 0 98765 123456789 2048 18446744073709551615\n");
+        ProcFileReader reader = new ProcFileReader();
+
+        assertTrue(reader.read(stat));
+        assertTrue(reader.skipPastLast((byte) ')'));
+        reader.skipFields(11);
+        assertEquals(150, reader.nextLong());
+        assertEquals(50, reader.nextLong());
+        reader.skipFields(4);
+        assertEquals(7, reader.nextLong());
+        reader.skipFields(1);
+        assertEquals(98765, reader.nextLong());
+        reader.skipFields(1);
+        assertEquals(2048, reader.nextLong());
+    }
+
+    @Test
+    @DisplayName("Should walk lines and parse decimals and hex")
+    void testLinesAndNumbers() throws IOException {
+        Path file = write("mixed", "some avg10=1.50 avg60=0.25\nsl 0100007F:1F90 0A\n");
+        ProcFileReader reader = new ProcFileReader();
+
+        assertTrue(reader.read(file));
+        assertTrue(reader.tokenStartsWith("some"));
+        assertTrue(reader.skipPast((byte) '='));
+        assertEquals(1.5, reader.nextDouble(), 1e-9);
+        assertTrue(reader.skipPast((byte) '='));
+        assertEquals(0.25, reader.nextDouble(), 1e-9);
+
+        assertTrue(reader.nextLine());
+        assertEquals("sl", reader.nextToken());
+        assertEquals(0x0100007FL, reader.nextHex());
+        assertTrue(reader.skipPast((byte) ':'));
+        assertEquals(0x1F90, reader.nextHex());
+        assertEquals(0x0A, reader.nextHex());
+        assertFalse(reader.nextLine());
+    }
+
+    @Test
+    @DisplayName("Should grow the buffer for files larger than its capacity")
+    void testBufferGrowth() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append(i).append('\n');
+        }
+        Path file = write("large", content.toString());
+        ProcFileReader reader = new ProcFileReader(16);
+
+        assertTrue(reader.read(file));
+        assertEquals(content.length(), reader.length());
+        reader.position(content.lastIndexOf("999"));
+        assertEquals(999, reader.nextLong());
+    }
+
+    @Test
+    @DisplayName("Should report missing files")
+    void testMissingFile() {
+        ProcFileReader reader = new ProcFileReader();
+
+        assertFalse(reader.read(tempDir.resolve("does-not-exist")));
+        assertEquals(0, reader.length());
+    }
+
+    private Path write(String name, String content) throws IOException {
+        Path file = tempDir.resolve(name);
+        Files.writeString(file, content);
+        return file;
+    }
+}